@@ -0,0 +1,177 @@
+/*
+ * BinaryTreeBenchmarkFactory.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import java.util.HashMap;
+import java.util.Map;
+import model.tree.AVLTree;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import model.tree.BinarySearchNode;
+import model.tree.BinarySearchTree;
+import model.tree.IBinarySearchNode;
+import model.tree.IBinarySearchTree;
+import model.tree.RedBlackTree;
+
+/**
+ * This class creates the binary trees, the strategies and the fast paths used
+ * by the benchmarks. The trees are filled with the fast path, so that the
+ * preparation of the benchmarks on large trees stays short. A binary search
+ * tree filled with sorted keys is a list, that would take a quadratic time to
+ * fill key by key, so it is linked directly from the last node to the first.
+ * This class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public final class BinaryTreeBenchmarkFactory {
+
+    private BinaryTreeBenchmarkFactory() {
+    }
+
+    /**
+     * Creates an empty binary tree of the type {@code type}.
+     *
+     * @param type the type of the binary tree
+     * @return the empty binary tree
+     */
+    public static IBinarySearchTree createBinaryTree(String type) {
+        if (type.equals(BinaryTreeType.AVLTREE.toString())) {
+            return new AVLTree();
+        } else if (type.equals(BinaryTreeType.REDBLACKTREE.toString())) {
+            return new RedBlackTree();
+        } else {
+            return new BinarySearchTree();
+        }
+    }
+
+    /**
+     * Creates the algorithm strategy of the binary tree {@code tree}.
+     *
+     * @param tree the binary tree
+     * @return the algorithm strategy of the binary tree
+     */
+    public static IBinaryTreeAlgorithmStrategy createStrategy(IBinarySearchTree tree) {
+        if (tree instanceof AVLTree) {
+            return new AVLTreeAlgorithmStrategy((AVLTree) tree);
+        } else if (tree instanceof RedBlackTree) {
+            return new RedBlackTreeAlgorithmStrategy((RedBlackTree) tree);
+        } else {
+            return new BinarySearchTreeAlgorithmStrategy((BinarySearchTree) tree);
+        }
+    }
+
+    /**
+     * Creates the fast path of the binary tree {@code tree}.
+     *
+     * @param tree the binary tree
+     * @return the fast path of the binary tree
+     */
+    public static AbstractBinarySearchTreeFastPath<?, ?> createFastPath(
+            IBinarySearchTree tree) {
+        if (tree instanceof AVLTree) {
+            return new AVLTreeFastPath((AVLTree) tree);
+        } else if (tree instanceof RedBlackTree) {
+            return new RedBlackTreeFastPath((RedBlackTree) tree);
+        } else {
+            return new BinarySearchTreeFastPath((BinarySearchTree) tree);
+        }
+    }
+
+    /**
+     * Creates a binary tree of the type {@code type} and inserts the keys one
+     * by one in the order of the array. A binary search tree filled with
+     * sorted or reverse sorted keys is a list, it is built in linear time with
+     * the same shape as if the keys were inserted one by one.
+     *
+     * @param type the type of the binary tree
+     * @param keys the keys to insert
+     * @param distribution the distribution of the keys
+     * @return the filled binary tree
+     */
+    public static IBinarySearchTree createBinaryTree(String type, int[] keys,
+            KeyDistribution distribution) {
+        IBinarySearchTree tree = createBinaryTree(type);
+
+        if ((tree instanceof BinarySearchTree)
+                && ((distribution == KeyDistribution.SORTED)
+                        || (distribution == KeyDistribution.REVERSE))) {
+            BinarySearchNode node = null;
+
+            for (int i = keys.length - 1; i >= 0; i--) {
+                BinarySearchNode father = new BinarySearchNode(keys[i]);
+
+                if (distribution == KeyDistribution.SORTED) {
+                    father.setRight(node);
+                } else {
+                    father.setLeft(node);
+                }
+                node = father;
+            }
+            tree.setRoot(node);
+        } else {
+            AbstractBinarySearchTreeFastPath<?, ?> fastPath = createFastPath(tree);
+
+            for (int key : keys) {
+                fastPath.insert(key);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the nodes of the tree {@code tree} which keys are {@code keys},
+     * in the same order, or null for the keys that are not in the tree. The
+     * tree is traversed once, so the time does not depend on its height.
+     *
+     * @param tree the binary tree
+     * @param keys the keys of the nodes
+     * @return the nodes which keys are {@code keys}
+     */
+    public static IBinarySearchNode[] findNodes(IBinarySearchTree tree,
+            int[] keys) {
+        Map<Integer, IBinarySearchNode> nodes =
+                new HashMap<Integer, IBinarySearchNode>();
+        IBinarySearchNode[] foundNodes = new IBinarySearchNode[keys.length];
+        IBinarySearchNode node = tree.getRoot();
+
+        while (node != null) {
+            nodes.put(node.getKey(), node);
+            if (node.getLeft() != null) {
+                node = node.getLeft();
+            } else if (node.getRight() != null) {
+                node = node.getRight();
+            } else {
+                while ((node.getFather() != null)
+                        && ((node == node.getFather().getRight())
+                                || (node.getFather().getRight() == null))) {
+                    node = node.getFather();
+                }
+                node = (node.getFather() == null) ? null
+                        : node.getFather().getRight();
+            }
+        }
+        for (int i = 0; i < keys.length; i++) {
+            foundNodes[i] = nodes.get(keys[i]);
+        }
+        return foundNodes;
+    }
+}
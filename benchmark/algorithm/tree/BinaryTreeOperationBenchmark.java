@@ -0,0 +1,133 @@
+/*
+ * BinaryTreeOperationBenchmark.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import model.tree.IBinarySearchNode;
+import model.tree.IBinarySearchTree;
+
+/**
+ * Benchmark of the search, the insertion, the deletion and the successor in
+ * the binary search trees. The tree is filled once for each combination of
+ * parameters, then each operation is applied on the key of the next access
+ * given by the distribution. The insertion and the deletion are measured
+ * together in order to keep the size of the tree constant. They are applied
+ * either with the step by step algorithms or with the fast path. This class is
+ * not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see KeyDistribution
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss256m")
+@State(Scope.Thread)
+public class BinaryTreeOperationBenchmark {
+
+    private static final int NB_ACCESSES = 1 << 16;
+
+    @Param({"BINARYSEARCHTREE", "AVLTREE", "REDBLACKTREE"})
+    public String treeType;
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"SORTED", "REVERSE", "RANDOM", "ZIPFIAN"})
+    public KeyDistribution distribution;
+
+    @Param({"false", "true"})
+    public boolean fastPathEnabled;
+
+    private IBinarySearchTree tree;
+
+    private IBinaryTreeAlgorithmStrategy strategy;
+
+    private AbstractBinarySearchTreeFastPath<?, ?> fastPath;
+
+    private int[] accesses;
+
+    private IBinarySearchNode[] accessedNodes;
+
+    private int accessIndex;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int[] keys = distribution.generateKeys(size, random);
+
+        tree = BinaryTreeBenchmarkFactory.createBinaryTree(treeType, keys,
+                distribution);
+        strategy = BinaryTreeBenchmarkFactory.createStrategy(tree);
+        strategy.setFastPathEnabled(fastPathEnabled);
+        fastPath = BinaryTreeBenchmarkFactory.createFastPath(tree);
+        accesses = distribution.generateAccesses(keys, NB_ACCESSES, random);
+        accessedNodes = BinaryTreeBenchmarkFactory.findNodes(tree, accesses);
+        accessIndex = 0;
+    }
+
+    private int nextAccess() {
+        accessIndex = (accessIndex + 1) & (NB_ACCESSES - 1);
+        return accessIndex;
+    }
+
+    @Benchmark
+    public Object search() {
+        int key = accesses[nextAccess()];
+
+        if (fastPathEnabled) {
+            return fastPath.search(key);
+        } else {
+            return new BinarySearchTreeSearchAlgorithm(tree.getRoot(), key)
+                    .applyAlgorithm();
+        }
+    }
+
+    @Benchmark
+    public Object insertAndDelete() {
+        int key = accesses[nextAccess()];
+
+        strategy.insertNode(key);
+        strategy.deleteNode(key);
+        return tree.getRoot();
+    }
+
+    @Benchmark
+    public Object successor() {
+        return new BinarySearchTreeSuccessorAlgorithm(
+                accessedNodes[nextAccess()]).applyAlgorithm();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * BinaryTreeRotationBenchmark.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import model.tree.AVLTree;
+import model.tree.RedBlackTree;
+
+/**
+ * Benchmark of the rotations of the balanced binary search trees. A left
+ * rotation is applied on the root of the tree and a right rotation on the new
+ * root, so that the tree gets back its shape after each invocation. The binary
+ * search trees have no rotation algorithm. This class is not designed for
+ * inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see KeyDistribution
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss256m")
+@State(Scope.Thread)
+public class BinaryTreeRotationBenchmark {
+
+    @Param({"AVLTREE", "REDBLACKTREE"})
+    public String treeType;
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"SORTED", "REVERSE", "RANDOM", "ZIPFIAN"})
+    public KeyDistribution distribution;
+
+    private AVLTree avlTree;
+
+    private RedBlackTree rbTree;
+
+    @Setup
+    public void setUp() {
+        Object tree = BinaryTreeBenchmarkFactory.createBinaryTree(treeType,
+                distribution.generateKeys(size, new Random(42)), distribution);
+
+        if (tree instanceof AVLTree) {
+            avlTree = (AVLTree) tree;
+        } else {
+            rbTree = (RedBlackTree) tree;
+        }
+    }
+
+    @Benchmark
+    public Object leftAndRightRotations() {
+        if (avlTree != null) {
+            new AVLTreeLeftRotationAlgorithm(avlTree, avlTree.getRoot())
+                    .applyAlgorithm();
+            return new AVLTreeRightRotationAlgorithm(avlTree,
+                    avlTree.getRoot()).applyAlgorithm();
+        } else {
+            new RedBlackTreeLeftRotationAlgorithm(rbTree, rbTree.getRoot())
+                    .applyAlgorithm();
+            return new RedBlackTreeRightRotationAlgorithm(rbTree,
+                    rbTree.getRoot()).applyAlgorithm();
+        }
+    }
+}
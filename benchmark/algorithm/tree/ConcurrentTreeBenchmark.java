@@ -0,0 +1,145 @@
+/*
+ * ConcurrentTreeBenchmark.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import model.tree.BinaryTreeModel;
+import model.tree.ConcurrentBinaryTreeModel;
+import model.tree.SkipListTree;
+
+/**
+ * Benchmark of the throughput of the binary trees shared by several threads.
+ * The AVL trees and the red black trees are wrapped in a
+ * <tt>ConcurrentBinaryTreeModel</tt> and used through the same methods as the
+ * software, that is to say the insertions and the deletions of the model under
+ * its write lock and the searches of {@code boolean containsKey(int key)}. The
+ * skip list is used directly through its lock-free methods
+ * {@code void insertKey(int key)}, {@code boolean deleteKey(int key)} and
+ * {@code boolean containsKey(int key)}, so that the writers are not
+ * serialized by the lock of the model. The insertion and the deletion are
+ * measured together in order to keep the size of the tree constant. The
+ * number of threads can be changed with the option {@literal -t} of JMH. This
+ * class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see ConcurrentBinaryTreeModel
+ * @see SkipListTree
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentTreeBenchmark {
+
+    private static final int NB_ACCESSES = 1 << 16;
+
+    @Param({"AVLTREE", "REDBLACKTREE", "SKIPLIST"})
+    public String treeType;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private ConcurrentBinaryTreeModel model;
+
+    private SkipListTree skipList;
+
+    private int[] accesses;
+
+    /**
+     * This class contains the index of the next access of each thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadAccess {
+
+        private int accessIndex;
+
+        @Setup
+        public void setUp() {
+            accessIndex = (int) Thread.currentThread().getId() * 7919;
+        }
+
+        int nextAccess() {
+            accessIndex = (accessIndex + 1) & (NB_ACCESSES - 1);
+            return accessIndex;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int[] keys = KeyDistribution.RANDOM.generateKeys(size, random);
+
+        accesses = KeyDistribution.RANDOM.generateAccesses(keys, NB_ACCESSES,
+                random);
+        if (BinaryTreeType.valueOf(treeType) == BinaryTreeType.SKIPLIST) {
+            skipList = new SkipListTree();
+            for (int key : keys) {
+                skipList.insertKey(key);
+            }
+        } else {
+            model = new ConcurrentBinaryTreeModel(new BinaryTreeModel(
+                    BinaryTreeType.valueOf(treeType)));
+            model.insertAll(keys);
+        }
+    }
+
+    @Benchmark
+    public boolean search(ThreadAccess access) {
+        int key = accesses[access.nextAccess()];
+
+        if (skipList != null) {
+            return skipList.containsKey(key);
+        }
+        return model.containsKey(key);
+    }
+
+    @Benchmark
+    public long insertAndDelete(ThreadAccess access) {
+        int key = accesses[access.nextAccess()];
+
+        if (skipList != null) {
+            skipList.insertKey(key);
+            return skipList.deleteKey(key) ? 1 : 0;
+        }
+        model.insertNode(key);
+        model.deleteNode(key);
+        return model.getVersion();
+    }
+}
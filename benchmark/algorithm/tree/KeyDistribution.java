@@ -0,0 +1,116 @@
+/*
+ * KeyDistribution.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Enumeration that defines the distributions of keys used by the benchmarks.
+ * The keys of a tree of size n are the integers from 0 to n - 1. The
+ * distribution defines the order in which they are inserted and the order in
+ * which they are then accessed. The sorted and reverse distributions insert and
+ * access the keys in ascending and descending order. The random distribution
+ * inserts the keys in a random order and accesses them uniformly. The zipfian
+ * distribution inserts them in a random order too, but a few keys are accessed
+ * much more often than the others, the probability of the key of rank r being
+ * proportional to 1 / r.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public enum KeyDistribution {
+    SORTED, REVERSE, RANDOM, ZIPFIAN;
+
+    /**
+     * Returns the keys from 0 to {@code size - 1} in the order in which they
+     * are inserted.
+     *
+     * @param size the number of keys
+     * @param random the random generator
+     * @return the keys in order of insertion
+     */
+    public int[] generateKeys(int size, Random random) {
+        int[] keys = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = (this == REVERSE) ? size - 1 - i : i;
+        }
+        if ((this == RANDOM) || (this == ZIPFIAN)) {
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int key = keys[i];
+
+                keys[i] = keys[j];
+                keys[j] = key;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns {@code nbAccesses} keys among {@code keys} in the order in which
+     * they are accessed.
+     *
+     * @param keys the keys returned by {@code int[] generateKeys(int size,
+     *        Random random)}
+     * @param nbAccesses the number of accesses
+     * @param random the random generator
+     * @return the keys in order of access
+     */
+    public int[] generateAccesses(int[] keys, int nbAccesses, Random random) {
+        int[] accesses = new int[nbAccesses];
+
+        switch (this) {
+            case SORTED:
+            case REVERSE:
+                for (int i = 0; i < nbAccesses; i++) {
+                    accesses[i] = keys[i % keys.length];
+                }
+                break;
+            case RANDOM:
+                for (int i = 0; i < nbAccesses; i++) {
+                    accesses[i] = keys[random.nextInt(keys.length)];
+                }
+                break;
+            default:
+                double[] cumulativeProbabilities = new double[keys.length];
+                double sum = 0;
+
+                for (int i = 0; i < keys.length; i++) {
+                    sum += 1.0 / (i + 1);
+                    cumulativeProbabilities[i] = sum;
+                }
+                for (int i = 0; i < nbAccesses; i++) {
+                    int rank = Arrays.binarySearch(cumulativeProbabilities,
+                            random.nextDouble() * sum);
+
+                    if (rank < 0) {
+                        rank = -rank - 1;
+                    }
+                    accesses[i] = keys[Math.min(rank, keys.length - 1)];
+                }
+                break;
+        }
+        return accesses;
+    }
+}
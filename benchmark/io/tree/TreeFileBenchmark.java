@@ -0,0 +1,111 @@
+/*
+ * TreeFileBenchmark.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import algorithm.tree.BinaryTreeBenchmarkFactory;
+import algorithm.tree.KeyDistribution;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import model.tree.IBinarySearchTree;
+
+/**
+ * Benchmark of the loading and the saving of the tree files, in the readable
+ * format or in the compact binary format. The tree is saved once in a
+ * temporary file that is then loaded at each invocation. This class is not
+ * designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see TreeFile
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss256m")
+@State(Scope.Thread)
+public class TreeFileBenchmark {
+
+    @Param({"BINARYSEARCHTREE", "AVLTREE", "REDBLACKTREE"})
+    public String treeType;
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM"})
+    public KeyDistribution distribution;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private IBinarySearchTree tree;
+
+    private File loadFile;
+
+    private File saveFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        tree = BinaryTreeBenchmarkFactory.createBinaryTree(treeType,
+                distribution.generateKeys(size, new Random(42)), distribution);
+        String extension = compact ? CompactTreeFile.FILE_EXTENSION
+                : TreeFile.FILE_EXTENSION;
+
+        loadFile = File.createTempFile("load", "." + extension);
+        saveFile = File.createTempFile("save", "." + extension);
+        save(loadFile);
+    }
+
+    @TearDown
+    public void tearDown() {
+        loadFile.delete();
+        saveFile.delete();
+    }
+
+    @Benchmark
+    public Object load() throws Exception {
+        return TreeFiles.load(loadFile, null);
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        save(saveFile);
+    }
+
+    private void save(File file) throws IOException {
+        TreeFiles.save(tree, file, null);
+    }
+}
@@ -31,12 +31,14 @@ import model.tree.AVLTree;
  *
  * @author Julien Hannier
  * @version 0.10 18/04/10
- * @see IBinaryTreeAlgorithmStrategy
+ * @see AbstractBinaryTreeAlgorithmStrategy
  */
-public final class AVLTreeAlgorithmStrategy implements IBinaryTreeAlgorithmStrategy {
+public final class AVLTreeAlgorithmStrategy extends AbstractBinaryTreeAlgorithmStrategy {
 
     private AVLTree avlTree;
 
+    private AVLTreeFastPath fastPath;
+
     /**
      * Builds the AVL tree algorithm strategy. It is composed by an AVL tree.
      *
@@ -44,20 +46,40 @@ public final class AVLTreeAlgorithmStrategy implements IBinaryTreeAlgorithmStrat
      */
     public AVLTreeAlgorithmStrategy(AVLTree tree) {
         avlTree = tree;
+        fastPath = new AVLTreeFastPath(tree);
     }
 
     @Override
     public void insertNode(int key) {
-        new AVLTreeInsertAlgorithm(avlTree, new AVLNode(key)).applyAlgorithm();
+        if (isFastPathEnabled()) {
+            fastPath.insert(key);
+        } else {
+            new AVLTreeInsertAlgorithm(avlTree, new AVLNode(key)).applyAlgorithm();
+        }
     }
 
     @Override
     public void deleteNode(int key) {
-        Object node = new BinarySearchTreeSearchAlgorithm(avlTree.getRoot(),
-                key).applyAlgorithm();
+        if (isFastPathEnabled()) {
+            fastPath.delete(key);
+        } else {
+            Object node = new BinarySearchTreeSearchAlgorithm(avlTree.getRoot(),
+                    key).applyAlgorithm();
 
-        if (node != null) {
-            new AVLTreeDeleteAlgorithm(avlTree, (AVLNode) node).applyAlgorithm();
+            if (node != null) {
+                new AVLTreeDeleteAlgorithm(avlTree, (AVLNode) node).applyAlgorithm();
+            }
         }
     }
+
+    @Override
+    protected boolean isBinaryTreeEmpty() {
+        return avlTree.getRoot() == null;
+    }
+
+    @Override
+    protected boolean buildBinaryTree(int[] sortedKeys) {
+        new AVLTreeBuildAlgorithm(avlTree, sortedKeys).applyAlgorithm();
+        return true;
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * AVLTreeBuildAlgorithm.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import model.tree.AVLNode;
+import model.tree.AVLTree;
+
+/**
+ * This class defines the AVL tree build algorithm. The built tree is perfectly
+ * balanced so the balance factor of each node is between -1 and 1. The height
+ * of each node is computed once its subtrees are built. It is not designed for
+ * inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see AbstractBinarySearchTreeBuildAlgorithm
+ */
+public final class AVLTreeBuildAlgorithm
+        extends AbstractBinarySearchTreeBuildAlgorithm<AVLNode, AVLTree> {
+
+    /**
+     * Builds the AVL tree build algorithm.
+     *
+     * @param t the AVL tree on which the algorithm is applied
+     * @param sortedKeys the keys of the tree sorted in ascending order
+     * @throws IllegalArgumentException
+     */
+    public AVLTreeBuildAlgorithm(AVLTree t, int[] sortedKeys)
+            throws IllegalArgumentException {
+        super(t, sortedKeys);
+    }
+
+    @Override
+    protected AVLNode createNode(int key, int depth, int maxDepthOfTree) {
+        return new AVLNode(key);
+    }
+
+    @Override
+    protected void specificProcess(AVLNode node) {
+        node.computeAndSetHeight();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * AVLTreeFastPath.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import model.tree.AVLNode;
+import model.tree.AVLTree;
+
+/**
+ * This class defines the fast path of the AVL tree algorithms. The heights are
+ * maintained by the nodes themselves, so after an insertion or a deletion the
+ * path from the father of the modified node to the root is only checked for
+ * unbalanced nodes, which are rotated on the side of their highest child. It is
+ * not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see AbstractBinarySearchTreeFastPath
+ */
+public final class AVLTreeFastPath
+        extends AbstractBinarySearchTreeFastPath<AVLNode, AVLTree> {
+
+    /**
+     * Builds the fast path of the AVL tree algorithms.
+     *
+     * @param t the AVL tree on which the algorithms are applied
+     */
+    public AVLTreeFastPath(AVLTree t) {
+        super(t, AVLNode.class);
+    }
+
+    @Override
+    protected AVLNode createNode(int key) {
+        return new AVLNode(key);
+    }
+
+    @Override
+    protected void insertCorrection(AVLNode z) {
+        rebalance(z.getFather());
+    }
+
+    @Override
+    protected void deleteCorrection(AVLNode x, AVLNode xFather, AVLNode y) {
+        rebalance(xFather);
+    }
+
+    @Override
+    protected void rotationProcess(AVLNode x, AVLNode y) {
+    }
+
+    private void rebalance(AVLNode node) {
+        while (node != null) {
+            int balanceFactor = node.computeBalanceFactor();
+
+            if (balanceFactor == -2) {
+                if (node.getLeft().computeBalanceFactor() > 0) {
+                    rotateLeft(node.getLeft());
+                }
+                rotateRight(node);
+                node = node.getFather();
+            } else if (balanceFactor == 2) {
+                if (node.getRight().computeBalanceFactor() < 0) {
+                    rotateRight(node.getRight());
+                }
+                rotateLeft(node);
+                node = node.getFather();
+            }
+            node = node.getFather();
+        }
+    }
+}
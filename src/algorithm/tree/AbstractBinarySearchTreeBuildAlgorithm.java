@@ -0,0 +1,123 @@
+/*
+ * AbstractBinarySearchTreeBuildAlgorithm.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import model.tree.IBinarySearchNode;
+import model.tree.IBinarySearchTree;
+
+/**
+ * This class defines the binary search tree build algorithm. It builds a
+ * perfectly balanced binary search tree from sorted keys in linear time : the
+ * middle key becomes the root and the two halves become the subtrees. The
+ * subtrees are completely built before being attached to their father. The
+ * previous nodes of the tree are replaced. This class is designed for
+ * inheritance in order to create the nodes of the concrete type of binary
+ * search tree and to set their specific attributes.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see IBinaryTreeAlgorithm
+ */
+public abstract class AbstractBinarySearchTreeBuildAlgorithm<NodeType extends IBinarySearchNode, TreeType extends IBinarySearchTree>
+        implements IBinaryTreeAlgorithm {
+
+    private TreeType tree;
+
+    private int[] keys;
+
+    private int maxDepth;
+
+    /**
+     * Builds the binary search tree build algorithm. If the keys are not
+     * sorted in ascending order, an IllegalArgumentException is thrown.
+     *
+     * @param t the binary search tree on which the algorithm is applied
+     * @param sortedKeys the keys of the tree sorted in ascending order
+     * @throws IllegalArgumentException
+     */
+    protected AbstractBinarySearchTreeBuildAlgorithm(TreeType t, int[] sortedKeys)
+            throws IllegalArgumentException {
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i - 1] > sortedKeys[i]) {
+                throw new IllegalArgumentException("You have to pass keys" +
+                        " sorted in ascending order");
+            }
+        }
+        tree = t;
+        keys = sortedKeys;
+        maxDepth = (keys.length == 0) ? -1
+                : 31 - Integer.numberOfLeadingZeros(keys.length);
+    }
+
+    /**
+     * Handle to create a node of the concrete type of binary search tree. The
+     * depth of the node and the maximal depth of the built tree are given in
+     * order to set the specific attributes like the color.
+     *
+     * @param key the key of the node
+     * @param depth the depth of the node in the built tree
+     * @param maxDepthOfTree the depth of the deepest nodes of the built tree
+     * @return the created node
+     */
+    protected abstract NodeType createNode(int key, int depth, int maxDepthOfTree);
+
+    /**
+     * Handle to perform specific process on a node once its two subtrees are
+     * built and attached.
+     *
+     * @param node the node which subtrees are built
+     */
+    protected abstract void specificProcess(NodeType node);
+
+    @Override
+    public final Object applyAlgorithm() {
+        NodeType root = buildSubtree(0, keys.length - 1, 0);
+
+        tree.setRoot(root);
+        tree.recordTreeBuilt(keys.length);
+
+        return root;
+    }
+
+    private NodeType buildSubtree(int first, int last, int depth) {
+        if (first > last) {
+            return null;
+        } else {
+            int middle = (first + last) >>> 1;
+            NodeType node = createNode(keys[middle], depth, maxDepth);
+            NodeType left = buildSubtree(first, middle - 1, depth + 1);
+            NodeType right = buildSubtree(middle + 1, last, depth + 1);
+
+            node.setLeft(left);
+            node.setRight(right);
+            if (left != null) {
+                left.setFather(node);
+            }
+            if (right != null) {
+                right.setFather(node);
+            }
+            specificProcess(node);
+
+            return node;
+        }
+    }
+}
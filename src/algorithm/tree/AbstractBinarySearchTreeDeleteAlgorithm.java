@@ -21,6 +21,7 @@
 
 package algorithm.tree;
 
+import model.tree.BinaryTreeChange.BinaryTreeChangeType;
 import model.tree.IBinarySearchNode;
 import model.tree.IBinarySearchTree;
 
@@ -91,7 +92,9 @@ public abstract class AbstractBinarySearchTreeDeleteAlgorithm<NodeType extends I
             y.getFather().setRight(x);
         }
 
+        tree.recordChange(BinaryTreeChangeType.NODE_REMOVED, y.getKey());
         if (y != deleteNode) {
+            tree.recordKeyReplacement(deleteNode.getKey(), y.getKey());
             deleteNode.setKey(y.getKey());
         }
         specificCorrectionProcess(tree, x, y);
@@ -0,0 +1,259 @@
+/*
+ * AbstractBinarySearchTreeFastPath.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import model.tree.BinaryTreeChange.BinaryTreeChangeType;
+import model.tree.IBinarySearchNode;
+import model.tree.IBinarySearchTree;
+
+/**
+ * This class defines the fast path of the binary search tree algorithms. The
+ * search, the insertion, the deletion and the rotations are written in a single
+ * object that is reused for all the operations on the same tree, without
+ * recursion and without creating any object apart from the inserted node.
+ * Contrary to the classes implementing {@code IBinaryTreeAlgorithm}, which
+ * describe each step of the algorithms, it is meant for the operations on large
+ * trees. The changes of the tree are recorded in the same way. This class is
+ * designed for inheritance in order to define the nodes and the corrections of
+ * the concrete type of binary search tree.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see IBinaryTreeAlgorithmStrategy
+ */
+public abstract class AbstractBinarySearchTreeFastPath<NodeType extends IBinarySearchNode, TreeType extends IBinarySearchTree> {
+
+    private TreeType tree;
+
+    private Class<NodeType> nodeClass;
+
+    /**
+     * Builds the fast path of the binary search tree algorithms. The class of
+     * the nodes is used to check the nodes read from the tree, which only
+     * gives them as binary search nodes.
+     *
+     * @param t the binary search tree on which the algorithms are applied
+     * @param c the class of the nodes of the tree
+     */
+    protected AbstractBinarySearchTreeFastPath(TreeType t, Class<NodeType> c) {
+        tree = t;
+        nodeClass = c;
+    }
+
+    /**
+     * Returns the binary search tree on which the algorithms are applied.
+     *
+     * @return the binary search tree
+     */
+    protected final TreeType getTree() {
+        return tree;
+    }
+
+    /**
+     * Handle to create a node of the concrete type of binary search tree.
+     *
+     * @param key the key of the node
+     * @return the created node
+     */
+    protected abstract NodeType createNode(int key);
+
+    /**
+     * Handle to correct the tree after the insertion of a node.
+     *
+     * @param z the inserted node
+     */
+    protected abstract void insertCorrection(NodeType z);
+
+    /**
+     * Handle to correct the tree after the deletion of a node. The node x may
+     * be null, that is why its father is given.
+     *
+     * @param x the node that has replaced the removed node, it may be null
+     * @param xFather the father of x
+     * @param y the removed node
+     */
+    protected abstract void deleteCorrection(NodeType x, NodeType xFather, NodeType y);
+
+    /**
+     * Handle to perform specific process at the end of a rotation.
+     *
+     * @param x the node on which the rotation is applied
+     * @param y the node that has taken the place of x
+     */
+    protected abstract void rotationProcess(NodeType x, NodeType y);
+
+    /**
+     * Returns the first node which key is {@code key} on the path from the
+     * root, or null if there is no such node.
+     *
+     * @param key the key to research
+     * @return the node found or null
+     */
+    public final NodeType search(int key) {
+        IBinarySearchNode node = tree.getRoot();
+
+        while ((node != null) && (key != node.getKey())) {
+            if (key < node.getKey()) {
+                node = node.getLeft();
+            } else {
+                node = node.getRight();
+            }
+        }
+        return toNode(node);
+    }
+
+    /**
+     * Inserts a node which key is {@code key} and corrects the tree.
+     *
+     * @param key the key of the node to insert
+     */
+    public final void insert(int key) {
+        NodeType insertNode = createNode(key);
+        IBinarySearchNode y = null;
+        IBinarySearchNode z = tree.getRoot();
+
+        while (z != null) {
+            y = z;
+            if (key < z.getKey()) {
+                z = z.getLeft();
+            } else {
+                z = z.getRight();
+            }
+        }
+        insertNode.setFather(y);
+        if (y == null) {
+            tree.setRoot(insertNode);
+        } else if (key < y.getKey()) {
+            y.setLeft(insertNode);
+        } else {
+            y.setRight(insertNode);
+        }
+        tree.recordChange(BinaryTreeChangeType.NODE_INSERTED, key);
+        insertCorrection(insertNode);
+    }
+
+    /**
+     * Deletes a node which key is {@code key} and corrects the tree. It
+     * returns false if there is no such node.
+     *
+     * @param key the key of the node to delete
+     * @return true if a node has been deleted, or else false
+     */
+    public final boolean delete(int key) {
+        NodeType deleteNode = search(key);
+
+        if (deleteNode == null) {
+            return false;
+        }
+
+        IBinarySearchNode y = deleteNode;
+
+        if ((deleteNode.getLeft() != null) && (deleteNode.getRight() != null)) {
+            y = deleteNode.getRight();
+            while (y.getLeft() != null) {
+                y = y.getLeft();
+            }
+        }
+
+        IBinarySearchNode x = (y.getLeft() != null) ? y.getLeft() : y.getRight();
+        IBinarySearchNode xFather = y.getFather();
+
+        if (x != null) {
+            x.setFather(xFather);
+        }
+        if (xFather == null) {
+            tree.setRoot(x);
+        } else if (y == xFather.getLeft()) {
+            xFather.setLeft(x);
+        } else {
+            xFather.setRight(x);
+        }
+        tree.recordChange(BinaryTreeChangeType.NODE_REMOVED, y.getKey());
+        if (y != deleteNode) {
+            tree.recordKeyReplacement(deleteNode.getKey(), y.getKey());
+            deleteNode.setKey(y.getKey());
+        }
+        deleteCorrection(toNode(x), toNode(xFather), toNode(y));
+
+        return true;
+    }
+
+    /**
+     * Applies a left rotation on the node {@code x}, which right child must
+     * not be null.
+     *
+     * @param x the node on which the rotation is applied
+     */
+    protected final void rotateLeft(NodeType x) {
+        IBinarySearchNode y = x.getRight();
+        IBinarySearchNode father = x.getFather();
+
+        tree.recordChange(BinaryTreeChangeType.LEFT_ROTATION, x.getKey());
+        x.setRight(y.getLeft());
+        if (y.getLeft() != null) {
+            y.getLeft().setFather(x);
+        }
+        y.setFather(father);
+        if (father == null) {
+            tree.setRoot(y);
+        } else if (x == father.getLeft()) {
+            father.setLeft(y);
+        } else {
+            father.setRight(y);
+        }
+        y.setLeft(x);
+        x.setFather(y);
+        rotationProcess(x, toNode(y));
+    }
+
+    /**
+     * Applies a right rotation on the node {@code x}, which left child must
+     * not be null.
+     *
+     * @param x the node on which the rotation is applied
+     */
+    protected final void rotateRight(NodeType x) {
+        IBinarySearchNode y = x.getLeft();
+        IBinarySearchNode father = x.getFather();
+
+        tree.recordChange(BinaryTreeChangeType.RIGHT_ROTATION, x.getKey());
+        x.setLeft(y.getRight());
+        if (y.getRight() != null) {
+            y.getRight().setFather(x);
+        }
+        y.setFather(father);
+        if (father == null) {
+            tree.setRoot(y);
+        } else if (x == father.getRight()) {
+            father.setRight(y);
+        } else {
+            father.setLeft(y);
+        }
+        y.setRight(x);
+        x.setFather(y);
+        rotationProcess(x, toNode(y));
+    }
+
+    private NodeType toNode(IBinarySearchNode node) {
+        return nodeClass.cast(node);
+    }
+}
@@ -21,6 +21,7 @@
 
 package algorithm.tree;
 
+import model.tree.BinaryTreeChange.BinaryTreeChangeType;
 import model.tree.IBinarySearchNode;
 import model.tree.IBinarySearchTree;
 
@@ -84,6 +85,7 @@ public abstract class AbstractBinarySearchTreeInsertAlgorithm<NodeType extends I
                 y.setRight(insertNode);
             }
         }
+        tree.recordChange(BinaryTreeChangeType.NODE_INSERTED, insertNode.getKey());
         specificCorrectionProcess(tree, insertNode);
 
         return insertNode;
@@ -0,0 +1,101 @@
+/*
+ * AbstractBinaryTreeAlgorithmStrategy.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import java.util.Arrays;
+
+/**
+ * This abstract class defines the common methods of all the binary tree
+ * algorithm strategies. The operations on several keys are defined here with
+ * the operations on one key, so that the concrete strategies only have to link
+ * their type of binary tree to the insert and delete algorithms. When several
+ * keys are inserted into an empty tree, the concrete strategies can build the
+ * tree directly from the sorted keys. This class is designed for inheritance
+ * thanks to the design pattern template method.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see IBinaryTreeAlgorithmStrategy
+ */
+public abstract class AbstractBinaryTreeAlgorithmStrategy
+        implements IBinaryTreeAlgorithmStrategy {
+
+    private boolean fastPathEnabled = false;
+
+    @Override
+    public final void setFastPathEnabled(boolean enabled) {
+        fastPathEnabled = enabled;
+    }
+
+    @Override
+    public final boolean isFastPathEnabled() {
+        return fastPathEnabled;
+    }
+
+    @Override
+    public final void insertAll(int[] keys) {
+        if ((keys.length < 2) || !isBinaryTreeEmpty()
+                || !buildBinaryTree(sortKeys(keys))) {
+            for (int key : keys) {
+                insertNode(key);
+            }
+        }
+    }
+
+    @Override
+    public final void deleteAll(int[] keys) {
+        for (int key : keys) {
+            deleteNode(key);
+        }
+    }
+
+    /**
+     * Returns a sorted copy of {@code keys}.
+     *
+     * @param keys the keys to sort
+     * @return the sorted keys
+     */
+    protected static int[] sortKeys(int[] keys) {
+        int[] sortedKeys = Arrays.copyOf(keys, keys.length);
+
+        Arrays.sort(sortedKeys);
+        return sortedKeys;
+    }
+
+    /**
+     * Returns true if the binary tree on which the algorithms are applied is
+     * empty, or else false.
+     *
+     * @return true if the binary tree is empty, or else false
+     */
+    protected abstract boolean isBinaryTreeEmpty();
+
+    /**
+     * Handle to build the empty binary tree directly from sorted keys, in
+     * linear time. It returns false if the type of binary tree does not
+     * support it, in which case the keys are inserted one by one.
+     *
+     * @param sortedKeys the keys sorted in ascending order
+     * @return true if the tree has been built, or else false
+     */
+    protected abstract boolean buildBinaryTree(int[] sortedKeys);
+}
@@ -21,6 +21,7 @@
 
 package algorithm.tree;
 
+import model.tree.BinaryTreeChange.BinaryTreeChangeType;
 import model.tree.IBinaryNode;
 import model.tree.IBinaryTree;
 
@@ -66,6 +67,8 @@ public abstract class AbstractBinaryTreeLeftRotationAlgorithm<NodeType extends I
             return null;
         } else {
             NodeType y = (NodeType) node.getRight();
+
+            tree.recordChange(BinaryTreeChangeType.LEFT_ROTATION, node.getKey());
             node.setRight(y.getLeft());
 
             if (y.getLeft() != null) {
@@ -21,6 +21,7 @@
 
 package algorithm.tree;
 
+import model.tree.BinaryTreeChange.BinaryTreeChangeType;
 import model.tree.IBinaryNode;
 import model.tree.IBinaryTree;
 
@@ -66,6 +67,8 @@ public abstract class AbstractBinaryTreeRightRotationAlgorithm<NodeType extends
             return null;
         } else {
             NodeType x = (NodeType) node.getLeft();
+
+            tree.recordChange(BinaryTreeChangeType.RIGHT_ROTATION, node.getKey());
             node.setLeft(x.getRight());
 
             if (x.getRight() != null) {
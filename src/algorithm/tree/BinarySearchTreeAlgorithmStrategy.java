@@ -31,12 +31,14 @@ import model.tree.BinarySearchTree;
  *
  * @author Julien Hannier
  * @version 0.10 18/04/10
- * @see IBinaryTreeAlgorithmStrategy
+ * @see AbstractBinaryTreeAlgorithmStrategy
  */
-public final class BinarySearchTreeAlgorithmStrategy implements IBinaryTreeAlgorithmStrategy {
+public final class BinarySearchTreeAlgorithmStrategy extends AbstractBinaryTreeAlgorithmStrategy {
 
     private BinarySearchTree bsTree;
 
+    private BinarySearchTreeFastPath fastPath;
+
     /**
      * Builds the binary search tree algorithm strategy. It is composed by a
      * binary search tree.
@@ -45,22 +47,41 @@ public final class BinarySearchTreeAlgorithmStrategy implements IBinaryTreeAlgor
      */
     public BinarySearchTreeAlgorithmStrategy(BinarySearchTree tree) {
         bsTree = tree;
+        fastPath = new BinarySearchTreeFastPath(tree);
     }
 
     @Override
     public void insertNode(int key) {
-        new BinarySearchTreeInsertAlgorithm(bsTree,
-                new BinarySearchNode(key)).applyAlgorithm();
+        if (isFastPathEnabled()) {
+            fastPath.insert(key);
+        } else {
+            new BinarySearchTreeInsertAlgorithm(bsTree,
+                    new BinarySearchNode(key)).applyAlgorithm();
+        }
     }
 
     @Override
     public void deleteNode(int key) {
-        Object node = new BinarySearchTreeSearchAlgorithm(bsTree.getRoot(),
-                key).applyAlgorithm();
-        
-        if (node != null) {
-            new BinarySearchTreeDeleteAlgorithm(bsTree,
-                    (BinarySearchNode) node).applyAlgorithm();
+        if (isFastPathEnabled()) {
+            fastPath.delete(key);
+        } else {
+            Object node = new BinarySearchTreeSearchAlgorithm(bsTree.getRoot(),
+                    key).applyAlgorithm();
+
+            if (node != null) {
+                new BinarySearchTreeDeleteAlgorithm(bsTree,
+                        (BinarySearchNode) node).applyAlgorithm();
+            }
         }
     }
+
+    @Override
+    protected boolean isBinaryTreeEmpty() {
+        return bsTree.getRoot() == null;
+    }
+
+    @Override
+    protected boolean buildBinaryTree(int[] sortedKeys) {
+        return false;
+    }
 }
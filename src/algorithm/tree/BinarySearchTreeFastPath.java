@@ -0,0 +1,64 @@
+/*
+ * BinarySearchTreeFastPath.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import model.tree.BinarySearchNode;
+import model.tree.BinarySearchTree;
+
+/**
+ * This class defines the fast path of the binary search tree algorithms. The
+ * tree is never corrected. It is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see AbstractBinarySearchTreeFastPath
+ */
+public final class BinarySearchTreeFastPath
+        extends AbstractBinarySearchTreeFastPath<BinarySearchNode, BinarySearchTree> {
+
+    /**
+     * Builds the fast path of the binary search tree algorithms.
+     *
+     * @param t the binary search tree on which the algorithms are applied
+     */
+    public BinarySearchTreeFastPath(BinarySearchTree t) {
+        super(t, BinarySearchNode.class);
+    }
+
+    @Override
+    protected BinarySearchNode createNode(int key) {
+        return new BinarySearchNode(key);
+    }
+
+    @Override
+    protected void insertCorrection(BinarySearchNode z) {
+    }
+
+    @Override
+    protected void deleteCorrection(BinarySearchNode x, BinarySearchNode xFather,
+            BinarySearchNode y) {
+    }
+
+    @Override
+    protected void rotationProcess(BinarySearchNode x, BinarySearchNode y) {
+    }
+}
@@ -51,4 +51,42 @@ public interface IBinaryTreeAlgorithmStrategy {
      * @param key the key of the node to delete 
      */
     public void deleteNode(int key);
+
+    /**
+     * Inserts a node for each key of {@code keys} into the binary tree, in the
+     * order of the array. The tree contains the same keys as after successive
+     * calls to {@code void insertNode(int key)}, but if the tree is empty, its
+     * shape may differ because balanced trees are then built directly from
+     * the sorted keys.
+     *
+     * @param keys the keys of the nodes to insert
+     */
+    public void insertAll(int[] keys);
+
+    /**
+     * Deletes a node for each key of {@code keys} from the binary tree, in the
+     * order of the array. The keys that are not in the tree are ignored.
+     *
+     * @param keys the keys of the nodes to delete
+     */
+    public void deleteAll(int[] keys);
+
+    /**
+     * Enables or disables the fast path. When it is enabled, the insertions
+     * and the deletions are performed by iterative routines that are reused
+     * for every operation, instead of the step by step algorithms. The result
+     * is a valid tree of the same type, but its shape may differ from the one
+     * obtained with the step by step algorithms. The fast path is disabled by
+     * default.
+     *
+     * @param enabled true to enable the fast path, false to disable it
+     */
+    public void setFastPathEnabled(boolean enabled);
+
+    /**
+     * Returns true if the fast path is enabled, or else false.
+     *
+     * @return true if the fast path is enabled, or else false
+     */
+    public boolean isFastPathEnabled();
 }
@@ -31,12 +31,14 @@ import model.tree.RedBlackTree;
  *
  * @author Julien Hannier
  * @version 0.10 18/04/10
- * @see IBinaryTreeAlgorithmStrategy
+ * @see AbstractBinaryTreeAlgorithmStrategy
  */
-public final class RedBlackTreeAlgorithmStrategy implements IBinaryTreeAlgorithmStrategy {
+public final class RedBlackTreeAlgorithmStrategy extends AbstractBinaryTreeAlgorithmStrategy {
 
     private RedBlackTree rbTree;
 
+    private RedBlackTreeFastPath fastPath;
+
     /**
      * Builds the red black tree algorithm strategy. It is composed by a red
      * black tree.
@@ -45,22 +47,42 @@ public final class RedBlackTreeAlgorithmStrategy implements IBinaryTreeAlgorithm
      */
     public RedBlackTreeAlgorithmStrategy(RedBlackTree tree) {
         rbTree = tree;
+        fastPath = new RedBlackTreeFastPath(tree);
     }
 
     @Override
     public void insertNode(int key) {
-        new RedBlackTreeInsertAlgorithm(rbTree,
-                new RedBlackNode(key)).applyAlgorithm();
+        if (isFastPathEnabled()) {
+            fastPath.insert(key);
+        } else {
+            new RedBlackTreeInsertAlgorithm(rbTree,
+                    new RedBlackNode(key)).applyAlgorithm();
+        }
     }
 
     @Override
     public void deleteNode(int key) {
-        Object node = new BinarySearchTreeSearchAlgorithm(rbTree.getRoot(),
-                key).applyAlgorithm();
+        if (isFastPathEnabled()) {
+            fastPath.delete(key);
+        } else {
+            Object node = new BinarySearchTreeSearchAlgorithm(rbTree.getRoot(),
+                    key).applyAlgorithm();
 
-        if (node != null) {
-            new RedBlackTreeDeleteAlgorithm(rbTree,
-                    (RedBlackNode) node).applyAlgorithm();
+            if (node != null) {
+                new RedBlackTreeDeleteAlgorithm(rbTree,
+                        (RedBlackNode) node).applyAlgorithm();
+            }
         }
     }
+
+    @Override
+    protected boolean isBinaryTreeEmpty() {
+        return rbTree.getRoot() == null;
+    }
+
+    @Override
+    protected boolean buildBinaryTree(int[] sortedKeys) {
+        new RedBlackTreeBuildAlgorithm(rbTree, sortedKeys).applyAlgorithm();
+        return true;
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * RedBlackTreeBuildAlgorithm.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import model.tree.RedBlackNode;
+import model.tree.RedBlackTree;
+import model.tree.RedBlackNode.RedBlackNodeColor;
+
+/**
+ * This class defines the red black tree build algorithm. In the perfectly
+ * balanced tree that is built, all the leaves are on the last two levels. The
+ * nodes of the last level are colored in red and the others in black, so every
+ * path from the root to a leaf has the same number of black nodes and no red
+ * node has a red child. When the tree has only one node, the root is black. It
+ * is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see AbstractBinarySearchTreeBuildAlgorithm
+ */
+public final class RedBlackTreeBuildAlgorithm
+        extends AbstractBinarySearchTreeBuildAlgorithm<RedBlackNode, RedBlackTree> {
+
+    /**
+     * Builds the red black tree build algorithm.
+     *
+     * @param t the red black tree on which the algorithm is applied
+     * @param sortedKeys the keys of the tree sorted in ascending order
+     * @throws IllegalArgumentException
+     */
+    public RedBlackTreeBuildAlgorithm(RedBlackTree t, int[] sortedKeys)
+            throws IllegalArgumentException {
+        super(t, sortedKeys);
+    }
+
+    @Override
+    protected RedBlackNode createNode(int key, int depth, int maxDepthOfTree) {
+        if ((depth == maxDepthOfTree) && (depth > 0)) {
+            return new RedBlackNode(key, RedBlackNodeColor.RED);
+        } else {
+            return new RedBlackNode(key, RedBlackNodeColor.BLACK);
+        }
+    }
+
+    @Override
+    protected void specificProcess(RedBlackNode node) {
+    }
+}
@@ -49,11 +49,14 @@ public final class RedBlackTreeDeleteAlgorithm
     @Override
     protected void specificCorrectionProcess(RedBlackTree t, RedBlackNode x, RedBlackNode y) {
         if (y.isBlack()) {
-            if (x == null) {
-                x = new RedBlackNode(-1, RedBlackNode.RedBlackNodeColor.BLACK);
+            boolean isAbsentNode = (x == null);
+
+            if (isAbsentNode) {
+                x = new RedBlackNode(0, RedBlackNode.RedBlackNodeColor.BLACK);
                 x.setFather(y.getFather());
             }
-            new RedBlackTreeDeleteCorrectionAlgorithm(t, x).applyAlgorithm();
+            new RedBlackTreeDeleteCorrectionAlgorithm(t, x, isAbsentNode)
+                    .applyAlgorithm();
         }
     }
 }
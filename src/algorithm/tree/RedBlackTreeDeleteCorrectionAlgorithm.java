@@ -40,6 +40,8 @@ public final class RedBlackTreeDeleteCorrectionAlgorithm implements IBinaryTreeA
 
     private RedBlackNode node;
 
+    private boolean isAbsentNode;
+
     /**
      * Builds the red black tree delete correction algorithm.
      *
@@ -47,8 +49,25 @@ public final class RedBlackTreeDeleteCorrectionAlgorithm implements IBinaryTreeA
      * @param n the red black node from which the correction is made
      */
     public RedBlackTreeDeleteCorrectionAlgorithm(RedBlackTree t, RedBlackNode n) {
+        this(t, n, false);
+    }
+
+    /**
+     * Builds the red black tree delete correction algorithm. When the node that
+     * has replaced the deleted node is absent, the correction is made from a
+     * temporary black node which is not in the tree but which father is the
+     * father of the deleted node. The temporary node is identified by
+     * {@code absent} rather than by its key, so every key remains valid.
+     *
+     * @param t the red black tree on which the algorithm is applied
+     * @param n the red black node from which the correction is made
+     * @param absent true if n is a temporary node standing for an absent node
+     */
+    public RedBlackTreeDeleteCorrectionAlgorithm(RedBlackTree t, RedBlackNode n,
+            boolean absent) {
         tree = t;
         node = n;
+        isAbsentNode = absent;
     }
 
     @Override
@@ -57,7 +76,7 @@ public final class RedBlackTreeDeleteCorrectionAlgorithm implements IBinaryTreeA
         RedBlackNode x;
         boolean noRedChild;
 
-        if (node.getKey() == -1) {
+        if (isAbsentNode) {
             x = null;
         } else {
             x = node;
@@ -68,8 +87,8 @@ public final class RedBlackTreeDeleteCorrectionAlgorithm implements IBinaryTreeA
                 y = node.getFather().getRight();
                 
                 if (y.isRed()) {
-                    y.setColor(RedBlackNode.RedBlackNodeColor.BLACK);
-                    node.getFather().setColor(RedBlackNode.RedBlackNodeColor.RED);
+                    tree.changeNodeColor(y, RedBlackNode.RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(node.getFather(), RedBlackNode.RedBlackNodeColor.RED);
                     new RedBlackTreeLeftRotationAlgorithm(tree, node.getFather()).applyAlgorithm();
                     y = node.getFather().getRight();
                 }
@@ -77,20 +96,20 @@ public final class RedBlackTreeDeleteCorrectionAlgorithm implements IBinaryTreeA
                         ((y.getRight() != null) && y.getRight().isRed()));
                 
                 if (noRedChild) {
-                    y.setColor(RedBlackNode.RedBlackNodeColor.RED);
+                    tree.changeNodeColor(y, RedBlackNode.RedBlackNodeColor.RED);
                     node = x = node.getFather();
                 } else {
                     if ((y.getRight() == null) || ((y.getRight() != null) && y.getRight().isBlack())) {
-                        y.getLeft().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
-                        y.setColor(RedBlackNode.RedBlackNodeColor.RED);
+                        tree.changeNodeColor(y.getLeft(), RedBlackNode.RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(y, RedBlackNode.RedBlackNodeColor.RED);
                         new RedBlackTreeRightRotationAlgorithm(tree, y).applyAlgorithm();
                         y = node.getFather().getRight();
                     }
-                    y.setColor(node.getFather().getColor());
-                    node.getFather().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(y, node.getFather().getColor());
+                    tree.changeNodeColor(node.getFather(), RedBlackNode.RedBlackNodeColor.BLACK);
 
                     if (y.getRight() != null) {
-                        y.getRight().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(y.getRight(), RedBlackNode.RedBlackNodeColor.BLACK);
                     }
                     new RedBlackTreeLeftRotationAlgorithm(tree, node.getFather()).applyAlgorithm();
                     node = x = tree.getRoot();
@@ -99,28 +118,28 @@ public final class RedBlackTreeDeleteCorrectionAlgorithm implements IBinaryTreeA
                 y = node.getFather().getLeft();
 
                 if (y.isRed()) {
-                    y.setColor(RedBlackNode.RedBlackNodeColor.BLACK);
-                    node.getFather().setColor(RedBlackNode.RedBlackNodeColor.RED);
+                    tree.changeNodeColor(y, RedBlackNode.RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(node.getFather(), RedBlackNode.RedBlackNodeColor.RED);
                     new RedBlackTreeRightRotationAlgorithm(tree, node.getFather()).applyAlgorithm();
                     y = node.getFather().getLeft();
                 }
                 noRedChild = !(((y.getLeft() != null) && y.getLeft().isRed()) || ((y.getRight() != null) && y.getRight().isRed()));
 
                 if (noRedChild) {
-                    y.setColor(RedBlackNode.RedBlackNodeColor.RED);
+                    tree.changeNodeColor(y, RedBlackNode.RedBlackNodeColor.RED);
                     node = x = node.getFather();
                 } else {
                     if ((y.getLeft() == null) || ((y.getLeft() != null) && y.getLeft().isBlack())) {
-                        y.getRight().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
-                        y.setColor(RedBlackNode.RedBlackNodeColor.RED);
+                        tree.changeNodeColor(y.getRight(), RedBlackNode.RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(y, RedBlackNode.RedBlackNodeColor.RED);
                         new RedBlackTreeLeftRotationAlgorithm(tree, y).applyAlgorithm();
                         y = node.getFather().getLeft();
                     }
-                    y.setColor(node.getFather().getColor());
-                    node.getFather().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(y, node.getFather().getColor());
+                    tree.changeNodeColor(node.getFather(), RedBlackNode.RedBlackNodeColor.BLACK);
 
                     if (y.getLeft() != null) {
-                        y.getLeft().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(y.getLeft(), RedBlackNode.RedBlackNodeColor.BLACK);
                     }
                     new RedBlackTreeRightRotationAlgorithm(tree, node.getFather()).applyAlgorithm();
                     node = x = tree.getRoot();
@@ -128,7 +147,7 @@ public final class RedBlackTreeDeleteCorrectionAlgorithm implements IBinaryTreeA
             }
         }
         x = node;
-        node.setColor(RedBlackNode.RedBlackNodeColor.BLACK);
+        tree.changeNodeColor(node, RedBlackNode.RedBlackNodeColor.BLACK);
         
         return tree.getRoot();
     }
@@ -0,0 +1,183 @@
+/*
+ * RedBlackTreeFastPath.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import model.tree.RedBlackNode;
+import model.tree.RedBlackTree;
+import model.tree.RedBlackNode.RedBlackNodeColor;
+
+/**
+ * This class defines the fast path of the red black tree algorithms. The
+ * absent children are considered as black nodes, so the deletion does not need
+ * a temporary node when the removed node has no child : the father of the
+ * missing node is followed instead. It is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see AbstractBinarySearchTreeFastPath
+ */
+public final class RedBlackTreeFastPath
+        extends AbstractBinarySearchTreeFastPath<RedBlackNode, RedBlackTree> {
+
+    /**
+     * Builds the fast path of the red black tree algorithms.
+     *
+     * @param t the red black tree on which the algorithms are applied
+     */
+    public RedBlackTreeFastPath(RedBlackTree t) {
+        super(t, RedBlackNode.class);
+    }
+
+    @Override
+    protected RedBlackNode createNode(int key) {
+        return new RedBlackNode(key, RedBlackNodeColor.RED);
+    }
+
+    @Override
+    protected void insertCorrection(RedBlackNode z) {
+        RedBlackTree tree = getTree();
+        RedBlackNode node = z;
+
+        while ((node.getFather() != null) && node.getFather().isRed()) {
+            RedBlackNode father = node.getFather();
+            RedBlackNode grandFather = father.getFather();
+
+            if (father == grandFather.getLeft()) {
+                RedBlackNode uncle = grandFather.getRight();
+
+                if (isRed(uncle)) {
+                    tree.changeNodeColor(father, RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(uncle, RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(grandFather, RedBlackNodeColor.RED);
+                    node = grandFather;
+                } else {
+                    if (node == father.getRight()) {
+                        node = father;
+                        rotateLeft(node);
+                        father = node.getFather();
+                    }
+                    tree.changeNodeColor(father, RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(grandFather, RedBlackNodeColor.RED);
+                    rotateRight(grandFather);
+                }
+            } else {
+                RedBlackNode uncle = grandFather.getLeft();
+
+                if (isRed(uncle)) {
+                    tree.changeNodeColor(father, RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(uncle, RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(grandFather, RedBlackNodeColor.RED);
+                    node = grandFather;
+                } else {
+                    if (node == father.getLeft()) {
+                        node = father;
+                        rotateRight(node);
+                        father = node.getFather();
+                    }
+                    tree.changeNodeColor(father, RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(grandFather, RedBlackNodeColor.RED);
+                    rotateLeft(grandFather);
+                }
+            }
+        }
+        tree.changeNodeColor(tree.getRoot(), RedBlackNodeColor.BLACK);
+    }
+
+    @Override
+    protected void deleteCorrection(RedBlackNode x, RedBlackNode xFather,
+            RedBlackNode y) {
+        if (y.isRed()) {
+            return;
+        }
+
+        RedBlackTree tree = getTree();
+        RedBlackNode node = x;
+        RedBlackNode father = xFather;
+
+        while ((node != tree.getRoot()) && !isRed(node)) {
+            if (node == father.getLeft()) {
+                RedBlackNode brother = father.getRight();
+
+                if (brother.isRed()) {
+                    tree.changeNodeColor(brother, RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(father, RedBlackNodeColor.RED);
+                    rotateLeft(father);
+                    brother = father.getRight();
+                }
+                if (!isRed(brother.getLeft()) && !isRed(brother.getRight())) {
+                    tree.changeNodeColor(brother, RedBlackNodeColor.RED);
+                    node = father;
+                    father = node.getFather();
+                } else {
+                    if (!isRed(brother.getRight())) {
+                        tree.changeNodeColor(brother.getLeft(), RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(brother, RedBlackNodeColor.RED);
+                        rotateRight(brother);
+                        brother = father.getRight();
+                    }
+                    tree.changeNodeColor(brother, father.getColor());
+                    tree.changeNodeColor(father, RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(brother.getRight(), RedBlackNodeColor.BLACK);
+                    rotateLeft(father);
+                    node = tree.getRoot();
+                }
+            } else {
+                RedBlackNode brother = father.getLeft();
+
+                if (brother.isRed()) {
+                    tree.changeNodeColor(brother, RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(father, RedBlackNodeColor.RED);
+                    rotateRight(father);
+                    brother = father.getLeft();
+                }
+                if (!isRed(brother.getLeft()) && !isRed(brother.getRight())) {
+                    tree.changeNodeColor(brother, RedBlackNodeColor.RED);
+                    node = father;
+                    father = node.getFather();
+                } else {
+                    if (!isRed(brother.getLeft())) {
+                        tree.changeNodeColor(brother.getRight(), RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(brother, RedBlackNodeColor.RED);
+                        rotateLeft(brother);
+                        brother = father.getLeft();
+                    }
+                    tree.changeNodeColor(brother, father.getColor());
+                    tree.changeNodeColor(father, RedBlackNodeColor.BLACK);
+                    tree.changeNodeColor(brother.getLeft(), RedBlackNodeColor.BLACK);
+                    rotateRight(father);
+                    node = tree.getRoot();
+                }
+            }
+        }
+        if (node != null) {
+            tree.changeNodeColor(node, RedBlackNodeColor.BLACK);
+        }
+    }
+
+    @Override
+    protected void rotationProcess(RedBlackNode x, RedBlackNode y) {
+    }
+
+    private static boolean isRed(RedBlackNode node) {
+        return (node != null) && node.isRed();
+    }
+}
@@ -61,40 +61,40 @@ public final class RedBlackTreeInsertCorrectionAlgorithm implements IBinaryTreeA
                     y = node.getFather().getFather().getRight();
 
                     if ((y != null) && y.isRed()) {
-                        node.getFather().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
-                        y.setColor(RedBlackNode.RedBlackNodeColor.BLACK);
-                        node.getFather().getFather().setColor(RedBlackNode.RedBlackNodeColor.RED);
+                        tree.changeNodeColor(node.getFather(), RedBlackNode.RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(y, RedBlackNode.RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(node.getFather().getFather(), RedBlackNode.RedBlackNodeColor.RED);
                         node = node.getFather().getFather();
                     } else {
                         if (node == node.getFather().getRight()) {
                             node = node.getFather();
                             new RedBlackTreeLeftRotationAlgorithm(tree, node).applyAlgorithm();
                         }
-                        node.getFather().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
-                        node.getFather().getFather().setColor(RedBlackNode.RedBlackNodeColor.RED);
+                        tree.changeNodeColor(node.getFather(), RedBlackNode.RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(node.getFather().getFather(), RedBlackNode.RedBlackNodeColor.RED);
                         new RedBlackTreeRightRotationAlgorithm(tree, node.getFather().getFather()).applyAlgorithm();
                     }
                 } else {
                     y = node.getFather().getFather().getLeft();
 
                     if ((y != null) && y.isRed()) {
-                        node.getFather().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
-                        y.setColor(RedBlackNode.RedBlackNodeColor.BLACK);
-                        node.getFather().getFather().setColor(RedBlackNode.RedBlackNodeColor.RED);
+                        tree.changeNodeColor(node.getFather(), RedBlackNode.RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(y, RedBlackNode.RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(node.getFather().getFather(), RedBlackNode.RedBlackNodeColor.RED);
                         node = node.getFather().getFather();
                     } else {
                         if (node == node.getFather().getLeft()) {
                             node = node.getFather();
                             new RedBlackTreeRightRotationAlgorithm(tree, node).applyAlgorithm();
                         }
-                        node.getFather().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
-                        node.getFather().getFather().setColor(RedBlackNode.RedBlackNodeColor.RED);
+                        tree.changeNodeColor(node.getFather(), RedBlackNode.RedBlackNodeColor.BLACK);
+                        tree.changeNodeColor(node.getFather().getFather(), RedBlackNode.RedBlackNodeColor.RED);
                         new RedBlackTreeLeftRotationAlgorithm(tree, node.getFather().getFather()).applyAlgorithm();
                     }
                 }
             }
         }
-        tree.getRoot().setColor(RedBlackNode.RedBlackNodeColor.BLACK);
+        tree.changeNodeColor(tree.getRoot(), RedBlackNode.RedBlackNodeColor.BLACK);
 
         return tree.getRoot();
     }
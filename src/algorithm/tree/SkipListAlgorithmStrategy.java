@@ -0,0 +1,97 @@
+/*
+ * SkipListAlgorithmStrategy.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import model.tree.BinaryTreeChange.BinaryTreeChangeType;
+import model.tree.SkipListTree;
+
+/**
+ * This class defines the skip list algorithm strategy. Its goal is to link the
+ * skip list type with its operations. The keys are inserted into and deleted
+ * from the concurrent skip list, and each insertion or effective deletion is
+ * recorded as a change. The tree that represents the skip list is not built
+ * by the operations but when it is read, for instance for a snapshot, so a
+ * sequence of operations without any read costs no build at all. The skip
+ * list has only one way to insert and delete keys, so the fast path does not
+ * change anything. Like the other strategies, this strategy is not thread
+ * safe: the changes are recorded without any synchronization, so the threads
+ * that modify the same skip list at the same time must either share its
+ * model through a <tt>ConcurrentBinaryTreeModel</tt>, which applies the
+ * modifications one at a time, or use the lock-free methods of
+ * <tt>SkipListTree</tt> directly. It is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see IBinaryTreeAlgorithmStrategy
+ */
+public final class SkipListAlgorithmStrategy implements IBinaryTreeAlgorithmStrategy {
+
+    private SkipListTree slTree;
+
+    private boolean fastPathEnabled = false;
+
+    /**
+     * Builds the skip list algorithm strategy. It is composed by a skip list.
+     *
+     * @param tree the skip list on which algorithms are applied
+     */
+    public SkipListAlgorithmStrategy(SkipListTree tree) {
+        slTree = tree;
+    }
+
+    @Override
+    public void insertNode(int key) {
+        slTree.insertKey(key);
+        slTree.recordChange(BinaryTreeChangeType.NODE_INSERTED, key);
+    }
+
+    @Override
+    public void deleteNode(int key) {
+        if (slTree.deleteKey(key)) {
+            slTree.recordChange(BinaryTreeChangeType.NODE_REMOVED, key);
+        }
+    }
+
+    @Override
+    public void insertAll(int[] keys) {
+        for (int key : keys) {
+            insertNode(key);
+        }
+    }
+
+    @Override
+    public void deleteAll(int[] keys) {
+        for (int key : keys) {
+            deleteNode(key);
+        }
+    }
+
+    @Override
+    public void setFastPathEnabled(boolean enabled) {
+        fastPathEnabled = enabled;
+    }
+
+    @Override
+    public boolean isFastPathEnabled() {
+        return fastPathEnabled;
+    }
+}
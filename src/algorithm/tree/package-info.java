@@ -23,7 +23,8 @@
  * This package contains the tree algorithms of the software. There is
  * principally insertion, deletion, searching and traversal. All the algorithms
  * must implement the interface <tt>IBinaryTreeAlgorithm</tt> in order to be
- * applied to binary trees.
+ * applied to binary trees. The fast paths gather the same operations in
+ * iterative routines for large trees.
  * 
  * @author Julien Hannier
  * @version 0.10 27/02/09
@@ -25,6 +25,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.text.ParseException;
+import io.IProgressListener;
+import model.IDataStructureModel;
 import model.ISoftwareModel;
 import model.UnknownDataStructureException;
 import model.tree.AbstractBinaryTree.BinaryTreeType;
@@ -98,13 +100,33 @@ public final class BinaryTreeController implements IBinaryTreeController {
             AbstractViewFactory viewFactory)
             throws FileNotFoundException, ParseException, IOException,
             UnknownDataStructureException {
-        binaryTreeModel = new BinaryTreeModel(file);
+        initializeDataStructureController(loadDataStructureModel(file, null),
+                viewFactory);
+    }
+
+    @Override
+    public void initializeDataStructureController(IDataStructureModel model,
+            AbstractViewFactory viewFactory)
+            throws IllegalArgumentException {
+        if (!(model instanceof IBinaryTreeModel)) {
+            throw new IllegalArgumentException("You have to pass a" +
+                    " IBinaryTreeModel for the parameter model");
+        }
+        binaryTreeModel = (IBinaryTreeModel) model;
 
         binaryTreeView = viewFactory.createBinaryTreeView(
                 "Type of the Tree : " + binaryTreeModel.getDataStructureType(), this);
         addListener();
     }
 
+    @Override
+    public IBinaryTreeModel loadDataStructureModel(File file,
+            IProgressListener listener)
+            throws FileNotFoundException, ParseException, IOException,
+            UnknownDataStructureException {
+        return new BinaryTreeModel(file, listener);
+    }
+
     @Override
     public void addDataStructureModelToSoftwareModel(ISoftwareModel softwareModel) {
         softwareModel.addDataStructureModel(binaryTreeModel);
@@ -120,6 +142,12 @@ public final class BinaryTreeController implements IBinaryTreeController {
         binaryTreeModel.saveDataStructure(file);
     }
 
+    @Override
+    public void saveDataStructureModel(File file, IProgressListener listener)
+            throws IOException {
+        binaryTreeModel.saveDataStructure(file, listener);
+    }
+
     @Override
     public boolean isDataStructureModelSaved() {
         return binaryTreeModel.isDataStructureSaved();
@@ -138,4 +166,14 @@ public final class BinaryTreeController implements IBinaryTreeController {
     public void deleteNodeFromBinaryTreeModel(int key) {
         binaryTreeModel.deleteNode(key);
     }
+
+    @Override
+    public void addNodesToBinaryTreeModel(int[] keys) {
+        binaryTreeModel.insertAll(keys);
+    }
+
+    @Override
+    public void deleteNodesFromBinaryTreeModel(int[] keys) {
+        binaryTreeModel.deleteAll(keys);
+    }
 }
@@ -0,0 +1,256 @@
+/*
+ * DataStructureIOService.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package controller;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import io.IProgressListener;
+import model.IDataStructureModel;
+
+/**
+ * This class defines the service that performs the file input and output
+ * operations of the data structures in the background, so that the thread of
+ * the views is never blocked by the reading, the checking or the writing of a
+ * large file. The operations are run one after the other by a daemon thread of
+ * the service. Each operation returns a <tt>Future</tt> that can be used to
+ * cancel it: the thread is then interrupted and the operation stops at the
+ * next progress report. At the end of an operation, the callback is called by
+ * the executor given to the service, usually the one of the thread of the
+ * views. Several files can also be loaded at once: they are then parsed and
+ * checked concurrently by a pool of worker threads, one per available
+ * processor. This class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see IIOCallback
+ */
+public final class DataStructureIOService {
+
+    private static final String THREAD_NAME = "Visualgorithm I/O";
+
+    private static final String WORKER_THREAD_NAME = "Visualgorithm I/O worker";
+
+    private final ExecutorService ioExecutor;
+
+    private final ExecutorService workerExecutor;
+
+    private final Executor callbackExecutor;
+
+    /**
+     * Builds the service. The callbacks of the operations are called by
+     * {@code executor}.
+     *
+     * @param executor the executor of the callbacks
+     */
+    public DataStructureIOService(Executor executor) {
+        callbackExecutor = executor;
+        ioExecutor = Executors.newSingleThreadExecutor(
+                createThreadFactory(THREAD_NAME));
+        workerExecutor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(),
+                createThreadFactory(WORKER_THREAD_NAME));
+    }
+
+    /**
+     * Loads in the background the data structure model contained in
+     * {@code file} thanks to {@code controller}, which is not modified. The
+     * model is given to {@code callback}, which may be null, once it is
+     * completely loaded and checked.
+     *
+     * @param controller the data structure controller that loads the model
+     * @param file the file containing the data structure
+     * @param listener the listener of the progress, it may be null
+     * @param callback the callback of the end of the loading
+     * @return the future result of the loading
+     */
+    public Future<IDataStructureModel> loadDataStructureModel(
+            final IDataStructureController controller, final File file,
+            final IProgressListener listener,
+            IIOCallback<? super IDataStructureModel> callback) {
+        return submit(new Callable<IDataStructureModel>() {
+            @Override
+            public IDataStructureModel call() throws Exception {
+                return controller.loadDataStructureModel(file, listener);
+            }
+        }, callback);
+    }
+
+    /**
+     * Loads in the background the data structure models contained in
+     * {@code files}, the model of the i-th file being loaded thanks to the
+     * i-th controller of {@code controllers}. The files are loaded
+     * concurrently by the worker threads, and the result is the list of the
+     * future results of the loading of each file, in the order of
+     * {@code files}, all of them being done. The failure of the loading of a
+     * file does not stop the loading of the others, but the cancellation of
+     * the whole loading does. The progress is given in number of files loaded
+     * and number of bytes of these files, and {@code listener} is called by
+     * the worker threads one at a time.
+     *
+     * @param controllers the data structure controllers that load the models
+     * @param files the files containing the data structures
+     * @param listener the listener of the progress, it may be null
+     * @param callback the callback of the end of the loading
+     * @return the future result of the loading
+     * @throws IllegalArgumentException
+     */
+    public Future<List<Future<IDataStructureModel>>> loadDataStructureModels(
+            List<? extends IDataStructureController> controllers,
+            List<File> files, final IProgressListener listener,
+            IIOCallback<? super List<Future<IDataStructureModel>>> callback)
+            throws IllegalArgumentException {
+        if (controllers.size() != files.size()) {
+            throw new IllegalArgumentException("You have to pass as many" +
+                    " controllers as files");
+        }
+
+        final List<Callable<IDataStructureModel>> operations =
+                new ArrayList<Callable<IDataStructureModel>>(files.size());
+        final Object progressLock = new Object();
+        final long[] progress = new long[2];
+
+        for (int i = 0; i < files.size(); i++) {
+            final IDataStructureController controller = controllers.get(i);
+            final File file = files.get(i);
+
+            operations.add(new Callable<IDataStructureModel>() {
+                @Override
+                public IDataStructureModel call() throws Exception {
+                    IDataStructureModel model =
+                            controller.loadDataStructureModel(file, null);
+
+                    synchronized (progressLock) {
+                        progress[0] += 1;
+                        progress[1] += file.length();
+                        if (listener != null) {
+                            listener.progressHasChanged((int) progress[0],
+                                    progress[1]);
+                        }
+                    }
+                    return model;
+                }
+            });
+        }
+        return submit(new Callable<List<Future<IDataStructureModel>>>() {
+            @Override
+            public List<Future<IDataStructureModel>> call() throws Exception {
+                return workerExecutor.invokeAll(operations);
+            }
+        }, callback);
+    }
+
+    /**
+     * Saves in the background the data structure model of {@code controller}
+     * into {@code file}. The data structure must not be modified until the
+     * callback, which may be null, is called.
+     *
+     * @param controller the data structure controller to save
+     * @param file the file where to save
+     * @param listener the listener of the progress, it may be null
+     * @param callback the callback of the end of the saving
+     * @return the future result of the saving, that is to say the file
+     */
+    public Future<File> saveDataStructureModel(
+            final IDataStructureController controller, final File file,
+            final IProgressListener listener, IIOCallback<? super File> callback) {
+        return submit(new Callable<File>() {
+            @Override
+            public File call() throws Exception {
+                controller.saveDataStructureModel(file, listener);
+                return file;
+            }
+        }, callback);
+    }
+
+    /**
+     * Stops the service. The operation in progress is cancelled and the
+     * operations waiting are not performed.
+     */
+    public void shutdown() {
+        ioExecutor.shutdownNow();
+        workerExecutor.shutdownNow();
+    }
+
+    private static ThreadFactory createThreadFactory(final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, name);
+
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    private <T> Future<T> submit(Callable<T> operation,
+            final IIOCallback<? super T> callback) {
+        FutureTask<T> future = new FutureTask<T>(operation) {
+            @Override
+            protected void done() {
+                if (callback != null) {
+                    final Future<T> result = this;
+
+                    callbackExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            deliverResult(result, callback);
+                        }
+                    });
+                }
+            }
+        };
+
+        ioExecutor.execute(future);
+        return future;
+    }
+
+    private static <T> void deliverResult(Future<T> future,
+            IIOCallback<? super T> callback) {
+        T result = null;
+
+        try {
+            result = future.get();
+        } catch (CancellationException ex) {
+            callback.operationHasFailed(ex);
+            return;
+        } catch (ExecutionException ex) {
+            callback.operationHasFailed(ex.getCause());
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            callback.operationHasFailed(ex);
+            return;
+        }
+        callback.operationHasSucceeded(result);
+    }
+}
@@ -21,6 +21,7 @@
 
 package controller;
 
+import io.tree.CompactTreeFile;
 import io.tree.TreeFile;
 import view.IBinaryTreeView;
 
@@ -40,6 +41,12 @@ public interface IBinaryTreeController extends IDataStructureController {
      */
     public static final String BINARY_TREE_FILE_EXTENSION = TreeFile.FILE_EXTENSION;
 
+    /**
+     * Definition of the extension of the compact binary tree files.
+     */
+    public static final String COMPACT_BINARY_TREE_FILE_EXTENSION =
+            CompactTreeFile.FILE_EXTENSION;
+
     @Override
     public IBinaryTreeView getView();
 
@@ -65,4 +72,20 @@ public interface IBinaryTreeController extends IDataStructureController {
      * @param key the key of the node to delete
      */
     public void deleteNodeFromBinaryTreeModel(int key);
+
+    /**
+     * Adds a node into the binary tree for each key of {@code keys}. The view
+     * is only updated once for the whole batch.
+     *
+     * @param keys the keys of the nodes to add
+     */
+    public void addNodesToBinaryTreeModel(int[] keys);
+
+    /**
+     * Deletes a node from the binary tree for each key of {@code keys}. The
+     * view is only updated once for the whole batch.
+     *
+     * @param keys the keys of the nodes to delete
+     */
+    public void deleteNodesFromBinaryTreeModel(int[] keys);
 }
@@ -25,6 +25,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.text.ParseException;
+import io.IProgressListener;
+import model.IDataStructureModel;
 import model.ISoftwareModel;
 import view.AbstractViewFactory;
 import model.UnknownDataStructureException;
@@ -100,6 +102,42 @@ public interface IDataStructureController extends IController {
             throws FileNotFoundException, ParseException, IOException,
             UnknownDataStructureException;
 
+    /**
+     * Initializes the data structure controller with a data structure model
+     * already built, for example by {@code loadDataStructureModel}. The model
+     * is handed over in one step, so the controller is never seen with a
+     * partially loaded model. If {@code model} is not the type of model
+     * corresponding to the concrete data structure controller then an
+     * IllegalArgumentException is thrown.
+     *
+     * @param model the data structure model
+     * @param viewFactory the view factory
+     * @throws IllegalArgumentException
+     */
+    public void initializeDataStructureController(IDataStructureModel model,
+            AbstractViewFactory viewFactory)
+            throws IllegalArgumentException;
+
+    /**
+     * Loads the data structure model contained in a file, reporting the
+     * progress of the loading to {@code listener}. This method does not modify
+     * the controller nor create any view, so it can be called by another
+     * thread than the one of the view. The loading stops with an
+     * <tt>InterruptedIOException</tt> if the thread is interrupted.
+     *
+     * @param file the file containing the data structure
+     * @param listener the listener of the progress, it may be null
+     * @return the loaded data structure model
+     * @throws UnknownDataStructureException
+     * @throws IOException
+     * @throws ParseException
+     * @throws FileNotFoundException
+     */
+    public IDataStructureModel loadDataStructureModel(File file,
+            IProgressListener listener)
+            throws FileNotFoundException, ParseException, IOException,
+            UnknownDataStructureException;
+
     /**
      * Adds the data structure model to the software model {@code softwareModel}.
      *
@@ -115,6 +153,19 @@ public interface IDataStructureController extends IController {
      */
     public void saveDataStructureModel(File file) throws IOException;
 
+    /**
+     * Saves the data structure model into the selected file, reporting the
+     * progress of the saving to {@code listener}. This method can be called by
+     * another thread than the one of the view as long as the data structure
+     * is not modified in the meantime.
+     *
+     * @param file the file where to save
+     * @param listener the listener of the progress, it may be null
+     * @throws IOException
+     */
+    public void saveDataStructureModel(File file, IProgressListener listener)
+            throws IOException;
+
     /**
      * Returns true if the data structure model corresponding to the controller
      * has been saved.
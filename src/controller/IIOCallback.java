@@ -0,0 +1,51 @@
+/*
+ * IIOCallback.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package controller;
+
+/**
+ * This interface contains the methods called at the end of a file input or
+ * output operation performed in the background by the
+ * <tt>DataStructureIOService</tt>. Exactly one of them is called for each
+ * operation, by the executor of the thread of the views given to the service.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @param <T> the type of the result of the operation
+ * @see DataStructureIOService
+ */
+public interface IIOCallback<T> {
+
+    /**
+     * Invoked when the operation has succeeded.
+     *
+     * @param result the result of the operation
+     */
+    public void operationHasSucceeded(T result);
+
+    /**
+     * Invoked when the operation has failed or has been cancelled. In the
+     * latter case, {@code cause} is a <tt>CancellationException</tt>.
+     *
+     * @param cause the exception that has stopped the operation
+     */
+    public void operationHasFailed(Throwable cause);
+}
@@ -25,6 +25,10 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.Future;
+import io.IProgressListener;
+import model.IDataStructureModel;
 import model.UnknownDataStructureException;
 import view.ISoftwareView;
 
@@ -98,6 +102,59 @@ public interface ISoftwareController extends IController {
             throws IllegalArgumentException, IOException, FileNotFoundException,
             ParseException, UnknownDataStructureException;
 
+    /**
+     * Adds a data structure model and controller from a file containing the
+     * data structure, the file being loaded in the background. The data
+     * structure is added to the software by the thread of the views once it is
+     * completely loaded and checked, just before {@code callback} is called.
+     * If the loading fails or is cancelled, nothing is added. If the extension
+     * of the file does not correspond to a type of data structure controller,
+     * then an IllegalArgumentException is thrown.
+     *
+     * @param file the file containing the data structure
+     * @param listener the listener of the progress, it may be null
+     * @param callback the callback of the end of the loading, it may be null
+     * @return the future result of the loading
+     * @throws IllegalArgumentException
+     */
+    public Future<IDataStructureModel> addDataStructure(File file,
+            IProgressListener listener,
+            IIOCallback<? super IDataStructureModel> callback)
+            throws IllegalArgumentException;
+
+    /**
+     * Adds data structure models and controllers from several files containing
+     * data structures, the files being loaded concurrently in the background.
+     * Once all the files are loaded, the data structures are added to the
+     * software by the thread of the views in the order of {@code files},
+     * whatever the order in which their loading ended, and then
+     * {@code callback} is called with the future results of the loading of
+     * each file. The files that could not be loaded are skipped. If the
+     * extension of one of the files does not correspond to a type of data
+     * structure controller, then an IllegalArgumentException is thrown and no
+     * file is loaded.
+     *
+     * @param files the files containing the data structures
+     * @param listener the listener of the progress, it may be null
+     * @param callback the callback of the end of the loading, it may be null
+     * @return the future result of the loading
+     * @throws IllegalArgumentException
+     */
+    public Future<List<Future<IDataStructureModel>>> addDataStructures(
+            List<File> files, IProgressListener listener,
+            IIOCallback<? super List<Future<IDataStructureModel>>> callback)
+            throws IllegalArgumentException;
+
+    /**
+     * Returns the files of {@code directory} which extension corresponds to a
+     * type of data structure controller, sorted by name. The subdirectories
+     * are not explored.
+     *
+     * @param directory the directory containing the files
+     * @return the files containing data structures
+     */
+    public List<File> getDataStructureFiles(File directory);
+
     /**
      * Removes the data structure model and controller indicated by
      * {@code index}. If the index is out of bounds, then an
@@ -121,6 +178,24 @@ public interface ISoftwareController extends IController {
      */
     public void saveDataStructure(File file, int index)
             throws IndexOutOfBoundsException, IOException;
+
+    /**
+     * Saves in the background the data structure model from the data
+     * structure controller indicated by {@code index} into the selected file.
+     * The data structure must not be modified until {@code callback} is
+     * called. If the index of the data structure controller is out of bounds,
+     * then an IndexOutOfBoundsException is thrown.
+     *
+     * @param file the file where to save
+     * @param index the index of the data structure controller to save
+     * @param listener the listener of the progress, it may be null
+     * @param callback the callback of the end of the saving, it may be null
+     * @return the future result of the saving
+     * @throws IndexOutOfBoundsException
+     */
+    public Future<File> saveDataStructure(File file, int index,
+            IProgressListener listener, IIOCallback<? super File> callback)
+            throws IndexOutOfBoundsException;
     
     /**
      * Removes all data structure models and controllers.
@@ -26,8 +26,13 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import io.IProgressListener;
+import model.IDataStructureModel;
 import model.ISoftwareModel;
 import model.UnknownDataStructureException;
 import view.AbstractViewFactory;
@@ -57,6 +62,8 @@ public final class SoftwareController implements ISoftwareController {
 
     private List<IDataStructureController> dataStructureControllers;
 
+    private DataStructureIOService ioService;
+
     /**
      * The data structure controller prototypes associates each type of data
      * structure with the good type of data structure controller.
@@ -71,6 +78,9 @@ public final class SoftwareController implements ISoftwareController {
     static {
         dataStructureControllerPrototypes.put(
                 BinaryTreeController.BINARY_TREE_FILE_EXTENSION, new BinaryTreeController());
+        dataStructureControllerPrototypes.put(
+                BinaryTreeController.COMPACT_BINARY_TREE_FILE_EXTENSION,
+                new BinaryTreeController());
     }
 
     /**
@@ -85,6 +95,8 @@ public final class SoftwareController implements ISoftwareController {
         dataStructureControllers = new ArrayList<IDataStructureController>();
         softwareModel = model;
         softwareViewFactory = viewFactory;
+        ioService = new DataStructureIOService(
+                softwareViewFactory.getViewExecutor());
         softwareView = softwareViewFactory.createSoftwareView(this);
         
         softwareView.displayView();
@@ -167,6 +179,106 @@ public final class SoftwareController implements ISoftwareController {
         softwareView.addDataStructureView(fileName, dataStructureController.getView());
     }
 
+    @Override
+    public Future<IDataStructureModel> addDataStructure(final File file,
+            IProgressListener listener,
+            final IIOCallback<? super IDataStructureModel> callback)
+            throws IllegalArgumentException {
+        final IDataStructureController dataStructureController =
+                cloneDataStructureController(file);
+
+        return ioService.loadDataStructureModel(dataStructureController, file,
+                listener, new IIOCallback<IDataStructureModel>() {
+            @Override
+            public void operationHasSucceeded(IDataStructureModel model) {
+                try {
+                    dataStructureController.initializeDataStructureController(
+                            model, softwareViewFactory);
+                } catch (IllegalArgumentException ex) {
+                    operationHasFailed(ex);
+                    return;
+                }
+                dataStructureControllers.add(dataStructureController);
+                dataStructureController.addDataStructureModelToSoftwareModel(
+                        softwareModel);
+                softwareView.addDataStructureView(file.getName(),
+                        dataStructureController.getView());
+                if (callback != null) {
+                    callback.operationHasSucceeded(model);
+                }
+            }
+
+            @Override
+            public void operationHasFailed(Throwable cause) {
+                if (callback != null) {
+                    callback.operationHasFailed(cause);
+                }
+            }
+        });
+    }
+
+    @Override
+    public Future<List<Future<IDataStructureModel>>> addDataStructures(
+            final List<File> files, IProgressListener listener,
+            final IIOCallback<? super List<Future<IDataStructureModel>>> callback)
+            throws IllegalArgumentException {
+        final List<IDataStructureController> controllers =
+                new ArrayList<IDataStructureController>(files.size());
+
+        for (File file: files) {
+            controllers.add(cloneDataStructureController(file));
+        }
+        return ioService.loadDataStructureModels(controllers, files, listener,
+                new IIOCallback<List<Future<IDataStructureModel>>>() {
+            @Override
+            public void operationHasSucceeded(
+                    List<Future<IDataStructureModel>> models) {
+                for (int i = 0; i < models.size(); i++) {
+                    IDataStructureController dataStructureController =
+                            controllers.get(i);
+                    IDataStructureModel model = getLoadedModel(models.get(i));
+
+                    if (model != null) {
+                        dataStructureController.initializeDataStructureController(
+                                model, softwareViewFactory);
+                        dataStructureControllers.add(dataStructureController);
+                        dataStructureController.addDataStructureModelToSoftwareModel(
+                                softwareModel);
+                        softwareView.addDataStructureView(files.get(i).getName(),
+                                dataStructureController.getView());
+                    }
+                }
+                if (callback != null) {
+                    callback.operationHasSucceeded(models);
+                }
+            }
+
+            @Override
+            public void operationHasFailed(Throwable cause) {
+                if (callback != null) {
+                    callback.operationHasFailed(cause);
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<File> getDataStructureFiles(File directory) {
+        List<File> dataStructureFiles = new ArrayList<File>();
+        File[] files = directory.listFiles();
+
+        if (files != null) {
+            Arrays.sort(files);
+            for (File file: files) {
+                if (file.isFile() && dataStructureControllerPrototypes
+                        .containsKey(getExtension(file))) {
+                    dataStructureFiles.add(file);
+                }
+            }
+        }
+        return dataStructureFiles;
+    }
+
     @Override
     public void deleteDataStructure(int index) throws IndexOutOfBoundsException {
         if (index >= dataStructureControllers.size()) {
@@ -184,9 +296,46 @@ public final class SoftwareController implements ISoftwareController {
         getDataStructureController(index).saveDataStructureModel(file);
     }
 
+    @Override
+    public Future<File> saveDataStructure(File file, int index,
+            IProgressListener listener, IIOCallback<? super File> callback)
+            throws IndexOutOfBoundsException {
+        return ioService.saveDataStructureModel(
+                getDataStructureController(index), file, listener, callback);
+    }
+
     @Override
     public void removeAllDataStructureModelsAndControllers() {
         softwareModel.removeAllDataStructureModels();
         dataStructureControllers.clear();
     }
+
+    private static IDataStructureModel getLoadedModel(
+            Future<IDataStructureModel> model) {
+        try {
+            return model.get();
+        } catch (ExecutionException ex) {
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String getExtension(File file) {
+        String fileName = file.getName();
+
+        return fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+    }
+
+    private static IDataStructureController cloneDataStructureController(
+            File file) throws IllegalArgumentException {
+        String extension = getExtension(file);
+
+        if (!dataStructureControllerPrototypes.containsKey(extension)) {
+            throw new IllegalArgumentException("The file extension does not" +
+                    "correspond to a data structure controller");
+        }
+        return dataStructureControllerPrototypes.get(extension).clone();
+    }
 }
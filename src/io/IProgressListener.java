@@ -0,0 +1,43 @@
+/*
+ * IProgressListener.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io;
+
+/**
+ * This interface contains the method for the listeners of the progress of a
+ * file input or output operation. The listener is called by the thread that
+ * performs the operation, which is usually not the thread of the view, so an
+ * implementation that updates the view has to transfer the progress to it.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public interface IProgressListener {
+
+    /**
+     * Invoked when the operation has progressed. The values only increase
+     * during an operation.
+     *
+     * @param nbElements the number of elements read or written so far
+     * @param nbBytes the number of bytes read or written so far
+     */
+    public void progressHasChanged(int nbElements, long nbBytes);
+}
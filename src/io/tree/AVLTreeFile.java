@@ -23,7 +23,6 @@ package io.tree;
 
 import model.tree.AVLNode;
 import model.tree.AVLTree;
-import model.tree.IBinaryNode;
 
 /**
  * This class defines the file input and output operations for AVL trees. It is
@@ -55,20 +54,12 @@ final class AVLTreeFile extends TreeFile {
     }
 
     @Override
-    protected void setLeftNode(IBinaryNode node, int childNodeNumber) {
-        assert(node instanceof AVLNode);
-
-        ((AVLNode) node).setLeft(
-                new AVLNode(Integer.parseInt(
-                nodeVector.get(childNodeNumber)[KEY_INDEX])));
+    protected AVLNode createNode(int key) {
+        return new AVLNode(key);
     }
 
     @Override
-    protected void setRightNode(IBinaryNode node, int childNodeNumber) {
-        assert(node instanceof AVLNode);
-
-        ((AVLNode) node).setRight(
-                new AVLNode(Integer.parseInt(
-                nodeVector.get(childNodeNumber)[KEY_INDEX])));
+    protected AVLTreeFile clone() {
+        return new AVLTreeFile();
     }
 }
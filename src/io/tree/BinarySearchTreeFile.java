@@ -23,7 +23,6 @@ package io.tree;
 
 import model.tree.BinarySearchNode;
 import model.tree.BinarySearchTree;
-import model.tree.IBinaryNode;
 
 /**
  * This class defines the file input and output operations for binary search
@@ -55,20 +54,12 @@ final class BinarySearchTreeFile extends TreeFile {
     }
 
     @Override
-    protected void setLeftNode(IBinaryNode node, int childNodeNumber) {
-        assert(node instanceof BinarySearchNode);
-
-        ((BinarySearchNode) node).setLeft(
-                new BinarySearchNode(Integer.parseInt(
-                nodeVector.get(childNodeNumber)[KEY_INDEX])));
+    protected BinarySearchNode createNode(int key) {
+        return new BinarySearchNode(key);
     }
 
     @Override
-    protected void setRightNode(IBinaryNode node, int childNodeNumber) {
-        assert(node instanceof BinarySearchNode);
-
-        ((BinarySearchNode) node).setRight(
-                new BinarySearchNode(Integer.parseInt(
-                nodeVector.get(childNodeNumber)[KEY_INDEX])));
+    protected BinarySearchTreeFile clone() {
+        return new BinarySearchTreeFile();
     }
 }
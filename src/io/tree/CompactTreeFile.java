@@ -0,0 +1,487 @@
+/*
+ * CompactTreeFile.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.zip.CRC32;
+import io.IProgressListener;
+import model.UnknownDataStructureException;
+import model.tree.AVLNode;
+import model.tree.AVLTree;
+import model.tree.BinarySearchNode;
+import model.tree.BinarySearchTree;
+import model.tree.IBinaryNode;
+import model.tree.IBinaryTree;
+import model.tree.IRedBlackNode;
+import model.tree.RedBlackNode;
+import model.tree.RedBlackTree;
+import model.tree.SkipListTree;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import model.tree.RedBlackNode.RedBlackNodeColor;
+
+/**
+ * This class defines the file input and output operations for binary trees in
+ * a compact binary format, next to the readable format of <tt>TreeFile</tt>.
+ * The file begins with a header containing a magic number, the version of the
+ * format, the type of the tree, the number of nodes, the length of the body and
+ * a CRC-32 checksum of the type, the number of nodes and the body. The body
+ * describes the nodes in preorder : first two structure bits per node telling
+ * if it has a left and a right child, then one color bit per node for red black
+ * trees, the bit being set for red nodes, and finally the keys encoded as
+ * zigzag variable length integers, so that small keys only take one byte. Like
+ * <tt>TreeFile</tt>, the loading and saving are static methods, and there are
+ * two more static methods to convert the files from one format to the other.
+ * The nodes are decoded straight from the windows of the file read by
+ * <tt>TreeFileBuffer</tt>, one for the structure bits, one for the color bits
+ * and one for the keys, so the file is never loaded whole in memory.
+ * This class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see TreeFile
+ */
+public final class CompactTreeFile {
+
+    /**
+     * Definition of the extension of the compact binary tree files.
+     */
+    public static final String FILE_EXTENSION = "cbt";
+
+    /**
+     * Definition of the magic number that begins the compact binary tree
+     * files, that is to say {@literal VGBT} in ASCII.
+     */
+    private static final int MAGIC_NUMBER = 0x56474254;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int MINIMUM_HEADER_LENGTH = 4 + 1 + 2;
+
+    private static final int VARINT_BITS = 7;
+
+    private static final int VARINT_MASK = 0x7F;
+
+    private static final int VARINT_CONTINUATION = 0x80;
+
+    private CompactTreeFile() {
+    }
+
+    /**
+     * Creates a binary tree from the loading of a compact file which name is
+     * {@code fileName}. The offset of the parse exceptions is the position in
+     * bytes of the error in the file.
+     *
+     * @param fileName the name of the file where to load the binary tree
+     * @return the loaded binary tree
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     * @throws UnknownDataStructureException
+     */
+    public static IBinaryTree load(String fileName) throws FileNotFoundException,
+            IOException, ParseException, UnknownDataStructureException {
+        return load(fileName, null);
+    }
+
+    /**
+     * Creates a binary tree from the loading of a compact file which name is
+     * {@code fileName}, reporting the number of nodes and bytes decoded to
+     * {@code listener}. Like <tt>TreeFile</tt>, the loading stops with an
+     * <tt>InterruptedIOException</tt> if the current thread is interrupted
+     * before the tree is checked.
+     *
+     * @param fileName the name of the file where to load the binary tree
+     * @param listener the listener of the progress, it may be null
+     * @return the loaded binary tree
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     * @throws UnknownDataStructureException
+     */
+    public static IBinaryTree load(String fileName, IProgressListener listener)
+            throws FileNotFoundException, IOException, ParseException,
+            UnknownDataStructureException {
+        TreeFileBuffer input = TreeFileBuffer.open(fileName);
+
+        try {
+            if ((input.remaining() < MINIMUM_HEADER_LENGTH)
+                    || (input.getInt() != MAGIC_NUMBER)
+                    || ((input.get() & 0xFF) != FORMAT_VERSION)) {
+                throw new ParseException("The file is not a compact binary" +
+                        " tree file", 0);
+            }
+
+            byte[] typeBytes = new byte[input.getShort() & 0xFFFF];
+
+            if (input.remaining() < typeBytes.length + 3 * 4) {
+                throw new ParseException("The file is not a compact binary" +
+                        " tree file", 0);
+            }
+            input.get(typeBytes, 0, typeBytes.length);
+
+            String type = new String(typeBytes, "UTF-8");
+            int nbNodes = input.getInt();
+            int bodyLength = input.getInt();
+            int checksum = input.getInt();
+            int headerLength = computeHeaderLength(type);
+
+            if ((nbNodes < 0) || (bodyLength < 0)
+                    || (bodyLength < computeStructureLength(nbNodes))
+                    || (bodyLength > input.remaining())) {
+                throw new ParseException("The number of nodes " + nbNodes +
+                        " does not match the length of the file", 0);
+            }
+            if (bodyLength < input.remaining()) {
+                throw new ParseException("The file is longer than its header" +
+                        " indicates", headerLength + bodyLength);
+            }
+
+            BinaryTreeType treeType = null;
+
+            try {
+                treeType = BinaryTreeType.valueOf(type);
+            } catch (IllegalArgumentException ex) {
+                throw new ParseException("The tree type " + type +
+                        " is unknown", 5);
+            }
+
+            CRC32 crc = createChecksum(type, nbNodes);
+
+            input.view(input.position(), bodyLength).updateChecksum(crc);
+            if ((int) crc.getValue() != checksum) {
+                throw new ParseException("The checksum of the file does not" +
+                        " match its content", headerLength);
+            }
+
+            IBinaryTree tree = createBinaryTree(treeType, input, nbNodes,
+                    headerLength, listener);
+
+            if (tree.isWellFormedTree()) {
+                return tree;
+            } else {
+                throw new UnknownDataStructureException("The tree does not" +
+                        " satisfy the properties of " + type);
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Saves the binary tree represented by {@code tree} into a compact file
+     * which name is {@code fileName}. The tree is traversed iteratively in
+     * preorder, so the depth of the tree does not matter. Like the readable
+     * files, the file is replaced atomically once it is complete.
+     *
+     * @param tree the binary tree to save
+     * @param fileName the name of the file where to save the binary tree
+     * @throws IOException
+     */
+    public static void save(IBinaryTree tree, String fileName)
+            throws IOException {
+        save(tree, fileName, null);
+    }
+
+    /**
+     * Saves the binary tree represented by {@code tree} into a compact file
+     * which name is {@code fileName}, reporting the number of nodes and bytes
+     * encoded to {@code listener}. If the current thread is interrupted, the
+     * saving stops with an <tt>InterruptedIOException</tt> and the target file
+     * is left unchanged. The tree must not be modified during the saving.
+     *
+     * @param tree the binary tree to save
+     * @param fileName the name of the file where to save the binary tree
+     * @param listener the listener of the progress, it may be null
+     * @throws IOException
+     */
+    public static void save(IBinaryTree tree, String fileName,
+            IProgressListener listener) throws IOException {
+        int nbNodes = tree.computeSize();
+        boolean isColored = tree.getType().equals(
+                BinaryTreeType.REDBLACKTREE.toString());
+        int structureLength = computeStructureLength(nbNodes);
+        int colorLength = isColored ? (nbNodes + 7) / 8 : 0;
+        byte[] body = new byte[structureLength + colorLength + nbNodes];
+        int keyPosition = structureLength + colorLength;
+        IBinaryNode[] stack = new IBinaryNode[tree.computeHeight() + 2];
+        int top = -1;
+        int nodeNumber = 0;
+
+        if (tree.getRoot() != null) {
+            stack[++top] = tree.getRoot();
+        }
+        while (top >= 0) {
+            IBinaryNode node = stack[top--];
+
+            if (node.getLeft() != null) {
+                body[(2 * nodeNumber) >> 3] |= 1 << ((2 * nodeNumber) & 7);
+            }
+            if (node.getRight() != null) {
+                body[(2 * nodeNumber + 1) >> 3] |= 1 << ((2 * nodeNumber + 1) & 7);
+                stack[++top] = node.getRight();
+            }
+            if (node.getLeft() != null) {
+                stack[++top] = node.getLeft();
+            }
+            if (isColored && ((IRedBlackNode) node).isRed()) {
+                body[structureLength + (nodeNumber >> 3)] |= 1 << (nodeNumber & 7);
+            }
+            if (keyPosition + 5 > body.length) {
+                byte[] newBody = new byte[body.length + Math.max(16, body.length / 2)];
+
+                System.arraycopy(body, 0, newBody, 0, keyPosition);
+                body = newBody;
+            }
+            keyPosition = writeKey(body, keyPosition, node.getKey());
+            ++nodeNumber;
+            if ((nodeNumber & TreeFile.PROGRESS_MASK) == 0) {
+                TreeFile.reportProgress(listener, nodeNumber, keyPosition);
+            }
+        }
+        TreeFile.reportProgress(listener, nodeNumber, keyPosition);
+
+        TreeFileOutput output = new TreeFileOutput(fileName);
+
+        try {
+            DataOutputStream stream = new DataOutputStream(
+                    new BufferedOutputStream(output.getStream()));
+
+            stream.writeInt(MAGIC_NUMBER);
+            stream.writeByte(FORMAT_VERSION);
+            stream.writeUTF(tree.getType());
+            stream.writeInt(nbNodes);
+            stream.writeInt(keyPosition);
+
+            CRC32 crc = createChecksum(tree.getType(), nbNodes);
+
+            crc.update(body, 0, keyPosition);
+            stream.writeInt((int) crc.getValue());
+            stream.write(body, 0, keyPosition);
+            stream.flush();
+            output.commit();
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Converts the readable binary tree file which name is
+     * {@code textFileName} into a compact file which name is
+     * {@code compactFileName}.
+     *
+     * @param textFileName the name of the readable file to convert
+     * @param compactFileName the name of the compact file to create
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     * @throws UnknownDataStructureException
+     */
+    public static void convertFromTextFile(String textFileName,
+            String compactFileName) throws FileNotFoundException, IOException,
+            ParseException, UnknownDataStructureException {
+        save(TreeFile.load(textFileName), compactFileName);
+    }
+
+    /**
+     * Converts the compact binary tree file which name is
+     * {@code compactFileName} into a readable file which name is
+     * {@code textFileName}.
+     *
+     * @param compactFileName the name of the compact file to convert
+     * @param textFileName the name of the readable file to create
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     * @throws UnknownDataStructureException
+     */
+    public static void convertToTextFile(String compactFileName,
+            String textFileName) throws FileNotFoundException, IOException,
+            ParseException, UnknownDataStructureException {
+        TreeFile.save(load(compactFileName), textFileName);
+    }
+
+    private static IBinaryTree createBinaryTree(BinaryTreeType type,
+            TreeFileBuffer body, int nbNodes, int bodyOffset,
+            IProgressListener listener) throws ParseException, IOException {
+        boolean isColored = (type == BinaryTreeType.REDBLACKTREE);
+        int structureLength = computeStructureLength(nbNodes);
+        int colorLength = isColored ? (nbNodes + 7) / 8 : 0;
+        int keyPosition = structureLength + colorLength;
+
+        if (body.remaining() < keyPosition) {
+            throw new ParseException("The number of nodes " + nbNodes +
+                    " does not match the length of the file", 0);
+        }
+
+        TreeFileBuffer structure = body.view(body.position(), structureLength);
+        TreeFileBuffer colors = body.view(body.position() + structureLength,
+                colorLength);
+        TreeFileBuffer keys = body.view(body.position() + keyPosition,
+                body.remaining() - keyPosition);
+        int structureByte = 0;
+        int colorByte = 0;
+        IBinaryNode[] nodes = new IBinaryNode[nbNodes];
+        int[] fatherLinks = new int[nbNodes];
+        int[] stack = new int[16];
+        int top = -1;
+        int nextLink = -1;
+
+        for (int nodeNumber = 0; nodeNumber < nbNodes; nodeNumber++) {
+            if ((nodeNumber > 0) && (nextLink == -1)) {
+                throw new ParseException("The structure of the tree does not" +
+                        " match the number of nodes", bodyOffset);
+            }
+
+            long key = 0;
+            int shift = 0;
+            int b = VARINT_CONTINUATION;
+
+            while ((b & VARINT_CONTINUATION) != 0) {
+                if (!keys.hasRemaining() || (shift > 4 * VARINT_BITS)) {
+                    throw new ParseException("The key of the node " + nodeNumber
+                            + " is not well encoded", bodyOffset + keyPosition);
+                }
+                b = keys.get();
+                ++keyPosition;
+                key |= (long) (b & VARINT_MASK) << shift;
+                shift += VARINT_BITS;
+            }
+            if ((nodeNumber & 3) == 0) {
+                structureByte = structure.get();
+            }
+            if (isColored && ((nodeNumber & 7) == 0)) {
+                colorByte = colors.get();
+            }
+
+            int zigzagKey = (int) key;
+            boolean isRed = isColored
+                    && ((colorByte & (1 << (nodeNumber & 7))) != 0);
+
+            nodes[nodeNumber] = createNode(type, (zigzagKey >>> 1)
+                    ^ -(zigzagKey & 1), isRed);
+            fatherLinks[nodeNumber] = nextLink;
+            if ((structureByte & (1 << ((2 * nodeNumber + 1) & 7))) != 0) {
+                if (top + 1 == stack.length) {
+                    int[] newStack = new int[2 * stack.length];
+
+                    System.arraycopy(stack, 0, newStack, 0, stack.length);
+                    stack = newStack;
+                }
+                stack[++top] = nodeNumber;
+            }
+            if (((nodeNumber + 1) & TreeFile.PROGRESS_MASK) == 0) {
+                TreeFile.reportProgress(listener, nodeNumber + 1,
+                        bodyOffset + keyPosition);
+            }
+            if ((structureByte & (1 << ((2 * nodeNumber) & 7))) != 0) {
+                nextLink = 2 * nodeNumber;
+            } else if (top >= 0) {
+                nextLink = 2 * stack[top--] + 1;
+            } else {
+                nextLink = -1;
+            }
+        }
+        if ((nextLink != -1) || keys.hasRemaining()) {
+            throw new ParseException("The structure of the tree does not match" +
+                    " the number of nodes", bodyOffset);
+        }
+        TreeFile.reportProgress(listener, nbNodes, bodyOffset + keyPosition);
+
+        IBinaryTree tree = createEmptyBinaryTree(type);
+
+        for (int nodeNumber = nbNodes - 1; nodeNumber > 0; nodeNumber--) {
+            IBinaryNode father = nodes[fatherLinks[nodeNumber] >> 1];
+
+            if ((fatherLinks[nodeNumber] & 1) == 0) {
+                father.setLeft(nodes[nodeNumber]);
+            } else {
+                father.setRight(nodes[nodeNumber]);
+            }
+        }
+        if (nbNodes > 0) {
+            tree.setRoot(nodes[0]);
+        }
+        return tree;
+    }
+
+    private static IBinaryTree createEmptyBinaryTree(BinaryTreeType type) {
+        switch (type) {
+            case AVLTREE:
+                return new AVLTree();
+            case REDBLACKTREE:
+                return new RedBlackTree();
+            case SKIPLIST:
+                return new SkipListTree();
+            default:
+                return new BinarySearchTree();
+        }
+    }
+
+    private static IBinaryNode createNode(BinaryTreeType type, int key,
+            boolean isRed) {
+        switch (type) {
+            case AVLTREE:
+                return new AVLNode(key);
+            case REDBLACKTREE:
+                return new RedBlackNode(key, isRed ? RedBlackNodeColor.RED
+                        : RedBlackNodeColor.BLACK);
+            default:
+                return new BinarySearchNode(key);
+        }
+    }
+
+    private static int writeKey(byte[] body, int position, int key) {
+        int zigzagKey = (key << 1) ^ (key >> 31);
+        int end = position;
+
+        while ((zigzagKey & ~VARINT_MASK) != 0) {
+            body[end++] = (byte) ((zigzagKey & VARINT_MASK) | VARINT_CONTINUATION);
+            zigzagKey >>>= VARINT_BITS;
+        }
+        body[end++] = (byte) zigzagKey;
+        return end;
+    }
+
+    private static int computeStructureLength(int nbNodes) {
+        return (int) ((2L * nbNodes + 7) / 8);
+    }
+
+    private static int computeHeaderLength(String type) {
+        return 4 + 1 + 2 + type.length() + 4 + 4 + 4;
+    }
+
+    private static CRC32 createChecksum(String type, int nbNodes) {
+        CRC32 crc = new CRC32();
+
+        for (int i = 0; i < type.length(); i++) {
+            crc.update(type.charAt(i));
+        }
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            crc.update(nbNodes >>> shift);
+        }
+        return crc;
+    }
+}
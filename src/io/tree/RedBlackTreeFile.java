@@ -22,6 +22,7 @@
 package io.tree;
 
 import model.tree.IBinaryNode;
+import model.tree.IRedBlackNode;
 import model.tree.RedBlackNode;
 import model.tree.RedBlackTree;
 import model.tree.RedBlackNode.RedBlackNodeColor;
@@ -38,9 +39,11 @@ import model.tree.RedBlackNode.RedBlackNodeColor;
  */
 final class RedBlackTreeFile extends TreeFile {
 
-    private static final String REGEX_COLOR = "(red|black)";
+    private static final String RED = "red";
 
-    private static final int COLOR_INDEX = 4;
+    private static final String BLACK = "black";
+
+    private RedBlackNodeColor parsedColor;
 
     /**
      * Builds the red black tree file. The format of the file is defined in
@@ -51,23 +54,27 @@ final class RedBlackTreeFile extends TreeFile {
     }
 
     @Override
-    protected String transformNodeToString(IBinaryNode node, int currentNodeNumber,
-            String leftNodeNumber, String rightNodeNumber) {
-        assert(node instanceof RedBlackNode);
+    protected void appendNode(StringBuilder line, IBinaryNode node,
+            int currentNodeNumber, int leftNodeNumber, int rightNodeNumber) {
+        assert(node instanceof IRedBlackNode);
 
-        return super.transformNodeToString(node, currentNodeNumber,
-                leftNodeNumber, rightNodeNumber) + SPACE +
-            ((RedBlackNode) node).getColor().toString().toLowerCase();
+        super.appendNode(line, node, currentNodeNumber, leftNodeNumber,
+                rightNodeNumber);
+        line.append(SPACE).append(((IRedBlackNode) node).isRed() ? RED : BLACK);
     }
 
     @Override
-    protected void initREGEX(int currentNodeNumber, int nextNodeNumber) {
-        super.initREGEX(currentNodeNumber, nextNodeNumber);
-        String lineEnd = REGEX_BLANK + REGEX_COLOR;
-        regex2Child += lineEnd;
-        regexLeftChild += lineEnd;
-        regexRightChild += lineEnd;
-        regexNoChild += lineEnd;
+    protected int parseNodeAttributes(char[] line, int position, int length) {
+        int colorPosition = matchSeparator(line, position, length);
+        int end = matchWord(line, colorPosition, length, RED);
+
+        if (end != -1) {
+            parsedColor = RedBlackNodeColor.RED;
+        } else {
+            end = matchWord(line, colorPosition, length, BLACK);
+            parsedColor = RedBlackNodeColor.BLACK;
+        }
+        return end;
     }
 
     @Override
@@ -81,26 +88,12 @@ final class RedBlackTreeFile extends TreeFile {
     }
 
     @Override
-    protected void setLeftNode(IBinaryNode node, int childNodeNumber) {
-        assert(node instanceof RedBlackNode);
-
-        RedBlackNodeColor color =
-                nodeVector.get(childNodeNumber)[COLOR_INDEX].equals("black") ?
-                    RedBlackNodeColor.BLACK : RedBlackNodeColor.RED;
-        ((RedBlackNode) node).setLeft(
-                new RedBlackNode(Integer.parseInt(
-                nodeVector.get(childNodeNumber)[KEY_INDEX]), color));
+    protected RedBlackNode createNode(int key) {
+        return new RedBlackNode(key, parsedColor);
     }
 
     @Override
-    protected void setRightNode(IBinaryNode node, int childNodeNumber) {
-        assert(node instanceof RedBlackNode);
-
-        RedBlackNodeColor color =
-                nodeVector.get(childNodeNumber)[COLOR_INDEX].equals("black") ?
-                    RedBlackNodeColor.BLACK : RedBlackNodeColor.RED;
-        ((RedBlackNode) node).setRight(
-                new RedBlackNode(Integer.parseInt(
-                nodeVector.get(childNodeNumber)[KEY_INDEX]), color));
+    protected RedBlackTreeFile clone() {
+        return new RedBlackTreeFile();
     }
 }
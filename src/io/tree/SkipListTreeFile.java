@@ -0,0 +1,67 @@
+/*
+ * SkipListTreeFile.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import model.tree.BinarySearchNode;
+import model.tree.SkipListTree;
+
+/**
+ * This class defines the file input and output operations for skip lists. The
+ * tree that represents the skip list is saved, and the skip list is filled
+ * with its keys when the loaded tree is modified for the first time. It is not
+ * designed for inheritance. The format of the file is defined in
+ * <tt>TreeFile</tt>.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see TreeFile
+ */
+final class SkipListTreeFile extends TreeFile {
+
+    /**
+     * Builds the skip list file. The format of the file is defined in
+     * <tt>TreeFile</tt>.
+     */
+    SkipListTreeFile() {
+        super();
+    }
+
+    @Override
+    protected SkipListTree createEmptyBinaryTree() {
+        return new SkipListTree();
+    }
+
+    @Override
+    protected SkipListTree createBinaryTree(int key) {
+        return new SkipListTree(key);
+    }
+
+    @Override
+    protected BinarySearchNode createNode(int key) {
+        return new BinarySearchNode(key);
+    }
+
+    @Override
+    protected SkipListTreeFile clone() {
+        return new SkipListTreeFile();
+    }
+}
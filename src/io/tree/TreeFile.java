@@ -21,17 +21,19 @@
 
 package io.tree;
 
-import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
-import java.util.ArrayList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import io.IProgressListener;
 import model.UnknownDataStructureException;
 import model.tree.IBinaryNode;
 import model.tree.IBinaryTree;
@@ -48,7 +50,13 @@ import model.tree.AbstractBinaryTree.BinaryTreeType;
  * trees. Thus, these are static methods from <tt>TreeFile</tt> that are used to
  * save and load binary trees. If you would like to add other tree files, do not
  * forget to register your tree file classes in the data structure
- * {@code fileParser} in this class.
+ * {@code fileParser} in this class. The files are parsed in a single pass by a
+ * hand written tokenizer working on a reused char buffer, and the nodes are
+ * created while the lines are read. The registered tree files are prototypes:
+ * each loading works on a clone, so several files can be loaded at the same
+ * time by different threads. The loading and the saving report their progress
+ * to an optional listener and stop with an <tt>InterruptedIOException</tt> as
+ * soon as the thread that performs them is interrupted.
  *
  * @author Damien Rigoni
  * @version 0.10 02/07/08
@@ -59,23 +67,6 @@ public abstract class TreeFile {
      * Definition of the extension of the binary tree files.
      */
     public static final String FILE_EXTENSION = "bt";
-    
-    /**
-     * Definition of the position of the key in the string tab of the node list.
-     */
-    protected static final int KEY_INDEX = 1;
-
-    /**
-     * Definition of the position of the left child in the string tab of the
-     * node list.
-     */
-    protected static final int LEFT_CHILD_INDEX = 2;
-
-    /**
-     * Definition of the position of the right child in the string tab of the
-     * node list.
-     */
-    protected static final int RIGHT_CHILD_INDEX = 3;
 
     /**
      * Definition of spaces.
@@ -88,55 +79,34 @@ public abstract class TreeFile {
     protected static final String NIL_NODE = "nil";
 
     /**
-     * Definition of the comment regular expression. A comment is defined by
-     * {@literal #} followed by text.
+     * Definition of the maximum number of digits of a key. The key is an
+     * integer of 32 bits, so it is composed by an optional minus sign and one
+     * to ten digits. The keys that do not fit in 32 bits are rejected while
+     * parsing.
      */
-    protected static final String REGEX_COMMENT = "\\p{Blank}*#.*";
+    private static final int MAX_KEY_DIGITS = 10;
 
-    /**
-     * Definition of the line comment regular expression. A comment is defined
-     * by {@literal #} followed by text.
-     */
-    protected static final String REGEX_COMMENT_LINE = "(\\p{Blank}*|" +
-            "\\p{Blank}+#.*)?";
+    private static final int NO_CHILD = 0;
 
-    /**
-     * Definition of the blank regular expression.
-     */
-    protected static final String REGEX_BLANK = "\\p{Blank}+";
+    private static final int LEFT_CHILD = 1;
 
-    /**
-     * Definition of the key regular expression. The key is composed by one or
-     * two digits.
-     */
-    protected static final String REGEX_KEY = "\\d{1,2}";
+    private static final int RIGHT_CHILD = 2;
 
-    /**
-     * Definition of the empty line regular expression.
-     */
-    protected static final String REGEX_EMPTY_LINE = "\\p{Blank}*";
+    private static final int TWO_CHILDREN = LEFT_CHILD | RIGHT_CHILD;
 
-    /**
-     * Definition of the regular expression for nodes that have two children.
-     */
-    protected static String regex2Child;
+    private static final int SYNTAX_ERROR = -1;
 
-    /**
-     * Definition of the regular expression for nodes that have only a left
-     * child.
-     */
-    protected static String regexLeftChild;
+    private static final int UNLINKED_NODE = -1;
 
-    /**
-     * Definition of the regular expression for nodes that have only a right
-     * child.
-     */
-    protected static String regexRightChild;
+    private static final int NO_NODE = -1;
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
 
     /**
-     * Definition of the regular expression for nodes that have no children.
+     * Definition of the mask of the node numbers at which the progress is
+     * reported, that is to say every 4096 nodes.
      */
-    protected static String regexNoChild;
+    static final int PROGRESS_MASK = (1 << 12) - 1;
 
     /**
      * The file parser associates each type of binary tree with the good type of
@@ -145,14 +115,25 @@ public abstract class TreeFile {
     private static final HashMap<String, TreeFile> fileParsers =
             new HashMap<String, TreeFile>();
 
-    private int lineNumber;
+    /**
+     * The nodes created while parsing, indexed by their number in the file. The
+     * root and the nodes that can not be reached from the root are null.
+     */
+    private final List<IBinaryNode> nodes;
 
     /**
-     * The list of the nodes represented as string tab. The string tab contains
-     * one string for each attribute of a node. There are the key and the number
-     * of the children nodes.
+     * The link of each node with its father, that is to say twice the number of
+     * the father, plus one for a right child, or {@code UNLINKED_NODE}.
      */
-    protected List<String[]> nodeVector;
+    private int[] fatherLinks;
+
+    private int rootKey;
+
+    private long parsedKey;
+
+    private int parsedKeyBegin;
+
+    private int parsedKeyEnd;
 
     /**
      * The type of the binary tree.
@@ -169,62 +150,80 @@ public abstract class TreeFile {
         fileParsers.put(BinaryTreeType.AVLTREE.toString(), new AVLTreeFile());
         fileParsers.put(BinaryTreeType.REDBLACKTREE.toString(),
                 new RedBlackTreeFile());
+        fileParsers.put(BinaryTreeType.SKIPLIST.toString(),
+                new SkipListTreeFile());
     }
 
     /**
-     * Builds the tree file with an empty node vector and an empty tree type.
+     * Builds the tree file with an empty node list and an empty tree type.
      */
     protected TreeFile() {
-        nodeVector = new ArrayList<String[]>();
+        nodes = new ArrayList<IBinaryNode>();
+        fatherLinks = new int[0];
         treeType = new String();
     }
 
-    private static TreeFile parse(String fileName) throws ParseException,
-            IOException, FileNotFoundException {
-        BufferedReader reader = new BufferedReader(new FileReader(fileName));
-        String lineToParse = reader.readLine();
+    /**
+     * Reports the progress of an operation to {@code listener}, which may be
+     * null, after having checked that the current thread has not been
+     * interrupted.
+     *
+     * @param listener the listener of the progress or null
+     * @param nbNodes the number of nodes read or written so far
+     * @param nbBytes the number of bytes read or written so far
+     * @throws InterruptedIOException
+     */
+    static void reportProgress(IProgressListener listener, int nbNodes,
+            long nbBytes) throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("The operation has been" +
+                    " cancelled");
+        }
+        if (listener != null) {
+            listener.progressHasChanged(nbNodes, nbBytes);
+        }
+    }
+
+    private static TreeFile parse(String fileName, IProgressListener listener)
+            throws ParseException, IOException, FileNotFoundException {
+        TreeFileReader reader = new TreeFileReader(TreeFileBuffer.open(fileName));
         int line = 0;
-        Pattern pattern = null;
-        Matcher matcher = null;
         TreeFile parser = null;
 
-        while ((lineToParse != null) && (parser == null)) {
-            if (lineToParse.matches(REGEX_COMMENT)
-                    || lineToParse.matches(REGEX_EMPTY_LINE)) {
-                lineToParse = reader.readLine();
-                ++line;
-            } else if (lineToParse.matches(REGEX_EMPTY_LINE + "\\w+"
-                    + REGEX_COMMENT_LINE)) {
-                pattern = Pattern.compile("\\w+");
-                matcher = pattern.matcher(lineToParse);
-                matcher.find();
-                String treeType = matcher.group();
-                if (fileParsers.containsKey(treeType)) {
-                    parser = fileParsers.get(treeType);
-                    parser.nodeVector.clear();
-                    parser.treeType = matcher.group();
-                    try {
-                    	parser.parse(reader);	
-                    } catch (IOException ex) {
-                    	reader.close();
-                    	throw ex;
-                    } catch (ParseException ex) {
-                    	reader.close();
-                    	throw ex;
+        try {
+            while ((parser == null) && reader.readLine()) {
+                char[] lineToParse = reader.getLine();
+                int length = reader.getLineLength();
+                int typeBegin = skipBlanks(lineToParse, 0, length);
+                int typeEnd = typeBegin;
+
+                while ((typeEnd < length)
+                        && isWordCharacter(lineToParse[typeEnd])) {
+                    ++typeEnd;
+                }
+                if (isCommentOrEmptyLine(lineToParse, length)) {
+                    ++line;
+                } else if ((typeEnd > typeBegin)
+                        && isLineEnd(lineToParse, typeEnd, length)) {
+                    String type = new String(lineToParse, typeBegin,
+                            typeEnd - typeBegin);
+
+                    if (fileParsers.containsKey(type)) {
+                        parser = fileParsers.get(type).clone();
+                        parser.treeType = type;
+                        parser.parse(reader, listener);
+                    } else {
+                        throw new ParseException("The tree type " + type +
+                                " is unknown", line);
                     }
-                    parser.lineNumber = ++line;
                 } else {
-                	reader.close();
-                    throw new ParseException("The tree type " + matcher.group() +
-                            " is unknown", line);
+                    throw new ParseException("The type of the tree is not" +
+                            " specified, or specified after the nodes", line);
                 }
-            } else {
-            	reader.close();
-                throw new ParseException("The type of the tree is not" +
-                        " specified, or specified after the nodes", line);
             }
+        } finally {
+            reader.close();
         }
-        reader.close();
         if (parser != null) {
             return parser;
         } else {
@@ -234,12 +233,27 @@ public abstract class TreeFile {
 
     private IBinaryTree createBinaryTree() throws UnknownDataStructureException {
         IBinaryTree tree = null;
-        if (!nodeVector.isEmpty()) {
-            tree = createBinaryTree(Integer.parseInt(nodeVector.get(0)[KEY_INDEX]));
-            generateNode(tree.getRoot(), 0);
+
+        if (!nodes.isEmpty()) {
+            tree = createBinaryTree(rootKey);
+            nodes.set(0, tree.getRoot());
+            for (int nodeNumber = nodes.size() - 1; nodeNumber > 0; nodeNumber--) {
+                IBinaryNode node = nodes.get(nodeNumber);
+
+                if (node != null) {
+                    IBinaryNode father = nodes.get(fatherLinks[nodeNumber] >> 1);
+
+                    if ((fatherLinks[nodeNumber] & 1) == 0) {
+                        father.setLeft(node);
+                    } else {
+                        father.setRight(node);
+                    }
+                }
+            }
         } else {
             tree = createEmptyBinaryTree();
         }
+        nodes.clear();
         if (tree.isWellFormedTree()) {
             return tree;
         } else {
@@ -248,121 +262,319 @@ public abstract class TreeFile {
         }
     }
 
-    private void generateNode(IBinaryNode node, int currentNodeNumber) {
-        if (currentNodeNumber < nodeVector.size()) {
-            if (!nodeVector.get(currentNodeNumber)[LEFT_CHILD_INDEX].equals(NIL_NODE)) {
-                int childNodeNumber = Integer.parseInt(
-                        nodeVector.get(currentNodeNumber)[LEFT_CHILD_INDEX]);
-                setLeftNode(node, childNodeNumber);
-                node.getLeft().setFather(node);
-                generateNode(node.getLeft(), childNodeNumber);
-            }
-            if (!nodeVector.get(currentNodeNumber)[RIGHT_CHILD_INDEX].equals(NIL_NODE)) {
-                int childNodeNumber = Integer.parseInt(
-                        nodeVector.get(currentNodeNumber)[RIGHT_CHILD_INDEX]);
-                setRightNode(node, childNodeNumber);
-                node.getRight().setFather(node);
-                generateNode(node.getRight(), childNodeNumber);
-            }
-        }
-    }
-
-    private void parse(BufferedReader reader) throws IOException, ParseException {
-        String lineToParse = reader.readLine();
+    private void parse(TreeFileReader reader, IProgressListener listener)
+            throws ParseException, IOException {
+        boolean isLineRead = reader.readLine();
+        int lineNumber = 0;
         int currentNodeNumber = 0;
         int nextNodeNumber = 1;
-        Pattern pattern = null;
-        Matcher matcher = null;
 
-        if (lineToParse == null) {
+        nodes.clear();
+        Arrays.fill(fatherLinks, UNLINKED_NODE);
+        if (!isLineRead) {
             ++currentNodeNumber;
         }
-        while (lineToParse != null) {
-            initREGEX(currentNodeNumber, nextNodeNumber);
-            if (lineToParse.matches(regex2Child + REGEX_COMMENT_LINE)) {
-                pattern = Pattern.compile(regex2Child);
-                matcher = pattern.matcher(lineToParse);
-                matcher.find();
-                nodeVector.add(matcher.group().split(REGEX_BLANK));
-                ++currentNodeNumber;
-                nextNodeNumber += 2;
-            } else if (lineToParse.matches(regexLeftChild + REGEX_COMMENT_LINE)) {
-                pattern = Pattern.compile(regexLeftChild);
-                matcher = pattern.matcher(lineToParse);
-                matcher.find();
-                nodeVector.add(matcher.group().split(REGEX_BLANK));
-                ++currentNodeNumber;
-                ++nextNodeNumber;
-            } else if (lineToParse.matches(regexRightChild + REGEX_COMMENT_LINE)) {
-                pattern = Pattern.compile(regexRightChild);
-                matcher = pattern.matcher(lineToParse);
-                matcher.find();
-                nodeVector.add(matcher.group().split(REGEX_BLANK));
-                ++currentNodeNumber;
-                ++nextNodeNumber;
-            } else if (lineToParse.matches(regexNoChild + REGEX_COMMENT_LINE)) {
-                if (currentNodeNumber >= nextNodeNumber) {
-                    throw new ParseException("Too many nodes have been specified",
-                            lineNumber);
-                } else {
-                    pattern = Pattern.compile(regexNoChild);
-                    matcher = pattern.matcher(lineToParse);
-                    matcher.find();
-                    nodeVector.add(matcher.group().split(REGEX_BLANK));
-                    ++currentNodeNumber;
+        while (isLineRead) {
+            char[] lineToParse = reader.getLine();
+            int length = reader.getLineLength();
+            int children = parseNode(lineToParse, length, currentNodeNumber,
+                    nextNodeNumber);
+
+            if (children == SYNTAX_ERROR) {
+                if (!isCommentOrEmptyLine(lineToParse, length)) {
+                    throw new ParseException("There is a syntax error on the " +
+                            "line : " + new String(lineToParse, 0, length)
+                            .replace(SPACE, " "), lineNumber);
                 }
+            } else if ((children == NO_CHILD)
+                    && (currentNodeNumber >= nextNodeNumber)) {
+                throw new ParseException("Too many nodes have been specified",
+                        lineNumber);
             } else {
-                if (!lineToParse.matches(REGEX_COMMENT)
-                        && !lineToParse.matches(REGEX_EMPTY_LINE)) {
-                    throw new ParseException("There is a syntax error on the " +
-                            "line : " + lineToParse.replace(SPACE, " "), lineNumber);
+                addNode(lineToParse, currentNodeNumber, nextNodeNumber,
+                        children, lineNumber);
+                ++currentNodeNumber;
+                nextNodeNumber += Integer.bitCount(children);
+                if ((currentNodeNumber & PROGRESS_MASK) == 0) {
+                    reportProgress(listener, currentNodeNumber,
+                            reader.getBytesRead());
                 }
             }
-            lineToParse = reader.readLine();
+            isLineRead = reader.readLine();
             ++lineNumber;
         }
         if (currentNodeNumber != nextNodeNumber) {
             throw new ParseException("There is not enough nodes", lineNumber);
         }
+        reportProgress(listener, currentNodeNumber, reader.getBytesRead());
+    }
+
+    private int parseNode(char[] line, int length, int currentNodeNumber,
+            int nextNodeNumber) {
+        int children = NO_CHILD;
+        int position = matchNumber(line, 0, length, currentNodeNumber);
+
+        position = matchSeparator(line, position, length);
+        if (position == SYNTAX_ERROR) {
+            return SYNTAX_ERROR;
+        }
+        position = matchKey(line, position, length);
+        position = matchSeparator(line, position, length);
+        if (position == SYNTAX_ERROR) {
+            return SYNTAX_ERROR;
+        }
+        if (matchWord(line, position, length, NIL_NODE) == SYNTAX_ERROR) {
+            position = matchNumber(line, position, length, nextNodeNumber);
+            children = LEFT_CHILD;
+        } else {
+            position += NIL_NODE.length();
+        }
+        position = matchSeparator(line, position, length);
+        if (position == SYNTAX_ERROR) {
+            return SYNTAX_ERROR;
+        }
+        if (matchWord(line, position, length, NIL_NODE) == SYNTAX_ERROR) {
+            position = matchNumber(line, position, length,
+                    (children == LEFT_CHILD) ? nextNodeNumber + 1 : nextNodeNumber);
+            children |= RIGHT_CHILD;
+        } else {
+            position += NIL_NODE.length();
+        }
+        if (position != SYNTAX_ERROR) {
+            position = parseNodeAttributes(line, position, length);
+        }
+        if ((position == SYNTAX_ERROR) || !isLineEnd(line, position, length)) {
+            return SYNTAX_ERROR;
+        }
+        return children;
+    }
+
+    private void addNode(char[] line, int currentNodeNumber,
+            int nextNodeNumber, int children, int lineNumber)
+            throws ParseException {
+        if ((parsedKey < Integer.MIN_VALUE) || (parsedKey > Integer.MAX_VALUE)) {
+            throw new ParseException("The key " + new String(line, parsedKeyBegin,
+                    parsedKeyEnd - parsedKeyBegin) + " is not an integer of 32" +
+                    " bits", lineNumber);
+        }
+        if (nextNodeNumber + 2 > fatherLinks.length) {
+            int[] newFatherLinks = new int[Math.max(16, 2 * (nextNodeNumber + 2))];
+
+            System.arraycopy(fatherLinks, 0, newFatherLinks, 0, fatherLinks.length);
+            Arrays.fill(newFatherLinks, fatherLinks.length,
+                    newFatherLinks.length, UNLINKED_NODE);
+            fatherLinks = newFatherLinks;
+        }
+
+        boolean isLinked = (currentNodeNumber == 0)
+                || (fatherLinks[currentNodeNumber] != UNLINKED_NODE);
+
+        if (currentNodeNumber == 0) {
+            rootKey = (int) parsedKey;
+            nodes.add(null);
+        } else if (isLinked) {
+            nodes.add(createNode((int) parsedKey));
+        } else {
+            nodes.add(null);
+        }
+        if (children == TWO_CHILDREN) {
+            fatherLinks[nextNodeNumber] = isLinked ? 2 * currentNodeNumber
+                    : UNLINKED_NODE;
+            fatherLinks[nextNodeNumber + 1] = isLinked ? 2 * currentNodeNumber + 1
+                    : UNLINKED_NODE;
+        } else if (children == LEFT_CHILD) {
+            fatherLinks[nextNodeNumber] = isLinked ? 2 * currentNodeNumber
+                    : UNLINKED_NODE;
+        } else if (children == RIGHT_CHILD) {
+            fatherLinks[nextNodeNumber] = isLinked ? 2 * currentNodeNumber + 1
+                    : UNLINKED_NODE;
+        }
+    }
+
+    private int matchKey(char[] line, int position, int length) {
+        int digitsBegin = position;
+        boolean isNegative = false;
+
+        if (position == SYNTAX_ERROR) {
+            return SYNTAX_ERROR;
+        }
+        if ((position < length) && (line[position] == '-')) {
+            isNegative = true;
+            ++digitsBegin;
+        }
+
+        int digitsEnd = skipDigits(line, digitsBegin, length);
+
+        if ((digitsEnd == digitsBegin)
+                || (digitsEnd - digitsBegin > MAX_KEY_DIGITS)) {
+            return SYNTAX_ERROR;
+        }
+        parsedKey = 0;
+        for (int i = digitsBegin; i < digitsEnd; i++) {
+            parsedKey = 10 * parsedKey + (line[i] - '0');
+        }
+        if (isNegative) {
+            parsedKey = -parsedKey;
+        }
+        parsedKeyBegin = position;
+        parsedKeyEnd = digitsEnd;
+        return digitsEnd;
+    }
+
+    private static int matchNumber(char[] line, int position, int length,
+            int number) {
+        if (position == SYNTAX_ERROR) {
+            return SYNTAX_ERROR;
+        }
+
+        int end = skipDigits(line, position, length);
+        long value = 0;
+
+        if ((end == position) || (end - position > MAX_KEY_DIGITS)
+                || ((line[position] == '0') && (end - position > 1))) {
+            return SYNTAX_ERROR;
+        }
+        for (int i = position; i < end; i++) {
+            value = 10 * value + (line[i] - '0');
+        }
+        return (value == number) ? end : SYNTAX_ERROR;
+    }
+
+    private static int skipDigits(char[] line, int position, int length) {
+        int end = position;
+
+        while ((end < length) && (line[end] >= '0') && (line[end] <= '9')) {
+            ++end;
+        }
+        return end;
+    }
+
+    private static boolean isCommentOrEmptyLine(char[] line, int length) {
+        int end = skipBlanks(line, 0, length);
+
+        return (end == length) || (line[end] == '#');
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z'))
+                || ((c >= '0') && (c <= '9')) || (c == '_');
+    }
+
+    private static int skipBlanks(char[] line, int position, int length) {
+        int end = position;
+
+        while ((end < length) && ((line[end] == ' ') || (line[end] == '\t'))) {
+            ++end;
+        }
+        return end;
     }
 
     /**
-     * Creates a string corresponding to the binary node. The format is defined
-     * by <tt>TreeFile</tt>. There are the number of the node, the key and the
-     * number of the children nodes. This method must be redefined in a subclass
-     * if there is another new attribute concerning binary nodes to add in the
-     * string representation.
-     * 
-     * @param node the node to transform into a string
-     * @param currentNodeNumber the number of the current node
-     * @param leftNodeNumber the number of the left child
-     * @param rightNodeNumber the number of the right child
-     * @return the string representation of the binary node
+     * Returns true if the end of the line from {@code position} is blank or is
+     * a comment preceded by at least one blank. A comment is defined by
+     * {@literal #} followed by text.
+     *
+     * @param line the buffer containing the line
+     * @param position the position from which the end of the line is checked
+     * @param length the length of the line
+     * @return true if the end of the line is blank or a comment
+     */
+    protected static boolean isLineEnd(char[] line, int position, int length) {
+        int end = skipBlanks(line, position, length);
+
+        return (end == length) || ((line[end] == '#') && (end > position));
+    }
+
+    /**
+     * Returns the position that follows the blanks, that is to say spaces or
+     * tabulations, that separate two attributes from {@code position}, or -1
+     * if there is no blank at this position or if {@code position} is -1.
+     *
+     * @param line the buffer containing the line
+     * @param position the position of the separator
+     * @param length the length of the line
+     * @return the position of the next attribute or -1
+     */
+    protected static int matchSeparator(char[] line, int position, int length) {
+        if (position == SYNTAX_ERROR) {
+            return SYNTAX_ERROR;
+        }
+
+        int end = skipBlanks(line, position, length);
+
+        return (end > position) ? end : SYNTAX_ERROR;
+    }
+
+    /**
+     * Returns the position that follows {@code word} if the line contains it
+     * at {@code position}, or else -1.
+     *
+     * @param line the buffer containing the line
+     * @param position the position of the word
+     * @param length the length of the line
+     * @param word the expected word
+     * @return the position that follows the word or -1
      */
-    protected String transformNodeToString(IBinaryNode node, int currentNodeNumber,
-            String leftNodeNumber, String rightNodeNumber) {
-        return currentNodeNumber + SPACE + node.getKey() + SPACE
-                + leftNodeNumber + SPACE + rightNodeNumber;
+    protected static int matchWord(char[] line, int position, int length,
+            String word) {
+        if ((position == SYNTAX_ERROR) || (position + word.length() > length)) {
+            return SYNTAX_ERROR;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (line[position + i] != word.charAt(i)) {
+                return SYNTAX_ERROR;
+            }
+        }
+        return position + word.length();
     }
 
     /**
-     * Initializes the regular expressions for the current line of the file. The
-     * current line is indicated by {@code currentNodeNumber}. This method must
-     * be redefined in a subclass if there is another new regular expression
-     * concerning binary nodes to initialize.
+     * Appends the string representation of the binary node to {@code line}.
+     * The format is defined by <tt>TreeFile</tt>. There are the number of the
+     * node, the key and the number of the children nodes. This method must be
+     * redefined in a subclass if there is another new attribute concerning
+     * binary nodes to add in the string representation. The line is reused
+     * from one node to the next, so no string is created for the nodes.
      * 
+     * @param line the line where to append the node
+     * @param node the node to append
      * @param currentNodeNumber the number of the current node
-     * @param nextNodeNumber the number of the next node
+     * @param leftNodeNumber the number of the left child, or -1
+     * @param rightNodeNumber the number of the right child, or -1
+     */
+    protected void appendNode(StringBuilder line, IBinaryNode node,
+            int currentNodeNumber, int leftNodeNumber, int rightNodeNumber) {
+        line.append(currentNodeNumber).append(SPACE).append(node.getKey())
+                .append(SPACE);
+        if (leftNodeNumber == NO_NODE) {
+            line.append(NIL_NODE);
+        } else {
+            line.append(leftNodeNumber);
+        }
+        line.append(SPACE);
+        if (rightNodeNumber == NO_NODE) {
+            line.append(NIL_NODE);
+        } else {
+            line.append(rightNodeNumber);
+        }
+    }
+
+    /**
+     * Parses the attributes of the node that follow the number of its right
+     * child in the line, from {@code position}, and returns the position that
+     * follows them, or -1 if they are not well formed. The attributes parsed
+     * are kept by the tree file until the node is created by
+     * {@code createNode(int key)}. This method must be redefined in a subclass
+     * if there is another new attribute concerning binary nodes to parse. By
+     * default, there is no attribute to parse.
+     *
+     * @param line the buffer containing the line
+     * @param position the position that follows the number of the right child
+     * @param length the length of the line
+     * @return the position that follows the attributes or -1
      */
-    protected void initREGEX(int currentNodeNumber, int nextNodeNumber) {
-        String lineBegin = currentNodeNumber + REGEX_BLANK + REGEX_KEY
-                + REGEX_BLANK;
-        
-        regex2Child = lineBegin + nextNodeNumber + REGEX_BLANK
-                + (nextNodeNumber + 1);
-        regexLeftChild = lineBegin + nextNodeNumber + REGEX_BLANK + NIL_NODE;
-        regexRightChild = lineBegin + NIL_NODE + REGEX_BLANK + nextNodeNumber;
-        regexNoChild = lineBegin + NIL_NODE + REGEX_BLANK + NIL_NODE;
+    protected int parseNodeAttributes(char[] line, int position, int length) {
+        return position;
     }
 
     /**
@@ -382,22 +594,24 @@ public abstract class TreeFile {
     protected abstract IBinaryTree createBinaryTree(int key);
 
     /**
-     * Creates the left child of the binary node passed as parameter with the
-     * node indicated by {@code childNodeNumber}.
+     * Creates the binary node which key is {@code key}, without its children,
+     * with the attributes parsed by the last call to
+     * {@code parseNodeAttributes}.
      *
-     * @param node the node from which the left child has to be assigned
-     * @param childNodeNumber the number of the left child of the node
+     * @param key the key of the node
+     * @return the created node
      */
-    protected abstract void setLeftNode(IBinaryNode node, int childNodeNumber);
+    protected abstract IBinaryNode createNode(int key);
 
     /**
-     * Creates the right child of the binary node passed as parameter with the
-     * node indicated by {@code childNodeNumber}.
-     * 
-     * @param node the node from which the right child has to be assigned
-     * @param childNodeNumber the number of the right child of the node
+     * Clones the tree file object that is to say creates a new one, with an
+     * empty node list, and returns it. The registered tree files are used as
+     * prototypes, each loading working on its own clone.
+     *
+     * @return the cloned tree file
      */
-    protected abstract void setRightNode(IBinaryNode node, int childNodeNumber);
+    @Override
+    protected abstract TreeFile clone();
 
     /**
      * Creates a binary tree from the loading of a file which name is
@@ -412,13 +626,37 @@ public abstract class TreeFile {
      */
     public static IBinaryTree load(String fileName) throws FileNotFoundException,
             IOException, ParseException, UnknownDataStructureException {
-        TreeFile parser = TreeFile.parse(fileName);
+        return load(fileName, null);
+    }
+
+    /**
+     * Creates a binary tree from the loading of a file which name is
+     * {@code fileName}, reporting the number of nodes and bytes read to
+     * {@code listener}. The loading stops with an
+     * <tt>InterruptedIOException</tt> if the current thread is interrupted
+     * before the tree is checked.
+     *
+     * @param fileName the name of the file where to load the binary tree
+     * @param listener the listener of the progress, it may be null
+     * @return the loaded binary tree
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     * @throws UnknownDataStructureException
+     */
+    public static IBinaryTree load(String fileName, IProgressListener listener)
+            throws FileNotFoundException, IOException, ParseException,
+            UnknownDataStructureException {
+        TreeFile parser = TreeFile.parse(fileName, listener);
         return parser.createBinaryTree();
     }
 
     /**
      * Saves the binary tree represented by {@code tree} into a file which name
-     * is {@code fileName}.
+     * is {@code fileName}. The tree is traversed directly in breadth first
+     * order and the lines are built in a reused buffer. The file is written
+     * into a temporary file that replaces the target file only once it is
+     * complete, so the target file is never left half written.
      * 
      * @param tree the binary tree to save
      * @param fileName the name of the file where to save the binary tree
@@ -426,34 +664,75 @@ public abstract class TreeFile {
      */
     public static void save(IBinaryTree tree,
             String fileName) throws IOException {
-        FileWriter file = new FileWriter(fileName);
-        int currentNodeNumber = 0;
-        int maxNodeNumber = 0;
-        String leftNodeNumber = null;
-        String rightNodeNumber = null;
-        List<IBinaryNode> heap = tree.buildHeapFromBinaryTree();
-
-        file.write(tree.getType() + "\n");
-        for (IBinaryNode node : heap) {
-            if (node != null) {
-                if (node.getLeft() == null) {
-                    leftNodeNumber = NIL_NODE;
-                } else {
-                    ++maxNodeNumber;
-                    leftNodeNumber = Integer.toString(maxNodeNumber);
+        save(tree, fileName, null);
+    }
+
+    /**
+     * Saves the binary tree represented by {@code tree} into a file which name
+     * is {@code fileName}, reporting the number of nodes and bytes written to
+     * {@code listener}. The saving stops with an
+     * <tt>InterruptedIOException</tt> if the current thread is interrupted, in
+     * which case the target file is left unchanged. The tree must not be
+     * modified during the saving.
+     *
+     * @param tree the binary tree to save
+     * @param fileName the name of the file where to save the binary tree
+     * @param listener the listener of the progress, it may be null
+     * @throws IOException
+     */
+    public static void save(IBinaryTree tree, String fileName,
+            IProgressListener listener) throws IOException {
+        TreeFile treeFile = fileParsers.get(tree.getType());
+        TreeFileOutput output = new TreeFileOutput(fileName);
+
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    output.getStream()), WRITE_BUFFER_SIZE);
+            ArrayDeque<IBinaryNode> queue = new ArrayDeque<IBinaryNode>();
+            StringBuilder line = new StringBuilder();
+            char[] chars = new char[0];
+            int nodeNumber = 0;
+            int nextNodeNumber = 1;
+            long nbBytes = tree.getType().length() + 1;
+
+            writer.write(tree.getType());
+            writer.write('\n');
+            if (tree.getRoot() != null) {
+                queue.add(tree.getRoot());
+            }
+            while (!queue.isEmpty()) {
+                IBinaryNode node = queue.poll();
+                int leftNodeNumber = NO_NODE;
+                int rightNodeNumber = NO_NODE;
+
+                if (node.getLeft() != null) {
+                    leftNodeNumber = nextNodeNumber++;
+                    queue.add(node.getLeft());
                 }
-                if (node.getRight() == null) {
-                    rightNodeNumber = NIL_NODE;
-                } else {
-                    ++maxNodeNumber;
-                    rightNodeNumber = Integer.toString(maxNodeNumber);
+                if (node.getRight() != null) {
+                    rightNodeNumber = nextNodeNumber++;
+                    queue.add(node.getRight());
+                }
+                line.setLength(0);
+                treeFile.appendNode(line, node, nodeNumber, leftNodeNumber,
+                        rightNodeNumber);
+                line.append('\n');
+                if (chars.length < line.length()) {
+                    chars = new char[2 * line.length()];
+                }
+                line.getChars(0, line.length(), chars, 0);
+                writer.write(chars, 0, line.length());
+                nbBytes += line.length();
+                ++nodeNumber;
+                if ((nodeNumber & PROGRESS_MASK) == 0) {
+                    reportProgress(listener, nodeNumber, nbBytes);
                 }
-                file.write(fileParsers.get(
-                        tree.getType().toString()).transformNodeToString(node,
-                        currentNodeNumber, leftNodeNumber, rightNodeNumber) + "\n");
-                ++currentNodeNumber;
             }
+            writer.flush();
+            reportProgress(listener, nodeNumber, nbBytes);
+            output.commit();
+        } finally {
+            output.close();
         }
-        file.close();
     }
 }
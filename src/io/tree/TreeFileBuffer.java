@@ -0,0 +1,294 @@
+/*
+ * TreeFileBuffer.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.Checksum;
+
+/**
+ * This class defines the sequential access to the content of the tree files
+ * through a file channel. The file is read by windows of at most
+ * {@code WINDOW_SIZE} bytes into a buffer that is reused from one window to
+ * the next, so the tree files are read with a constant extra memory whatever
+ * their size. The large files are read into a direct buffer, so the channel
+ * copies them straight out of the file, whereas the small ones are read into a
+ * heap buffer which is cheaper to allocate. The files are not memory mapped:
+ * a mapping is only released by the garbage collector and it keeps the file
+ * open until then, which prevents the atomic replacement of the file on some
+ * systems like Windows. Several buffers may read different parts of the same
+ * file through {@code view(long, long)}, and only the buffer returned by
+ * {@code open(String)} closes the file. This class is not designed for
+ * inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see TreeFile
+ * @see CompactTreeFile
+ */
+final class TreeFileBuffer implements Closeable {
+
+    /**
+     * Definition of the maximum size in bytes of the windows of the file
+     * read at once, from which the windows are direct buffers.
+     */
+    static final int WINDOW_SIZE = 1 << 16;
+
+    private static final int MINIMUM_WINDOW_SIZE = 8;
+
+    private static final int CHECKSUM_CHUNK_SIZE = 8192;
+
+    private final RandomAccessFile file;
+
+    private final FileChannel channel;
+
+    private final long end;
+
+    private final ByteBuffer window;
+
+    private long windowPosition;
+
+    private TreeFileBuffer(RandomAccessFile f, FileChannel c, long begin,
+            long e) {
+        int windowSize = (int) Math.max(MINIMUM_WINDOW_SIZE,
+                Math.min(WINDOW_SIZE, e - begin));
+
+        file = f;
+        channel = c;
+        end = e;
+        window = (windowSize == WINDOW_SIZE)
+                ? ByteBuffer.allocateDirect(windowSize)
+                : ByteBuffer.allocate(windowSize);
+        ((Buffer) window).limit(0);
+        windowPosition = begin;
+    }
+
+    /**
+     * Opens the file which name is {@code fileName} and returns the buffer
+     * reading it from its beginning. The buffer must be closed to close the
+     * file.
+     *
+     * @param fileName the name of the file to read
+     * @return the buffer reading the file
+     * @throws FileNotFoundException
+     * @throws IOException
+     */
+    static TreeFileBuffer open(String fileName) throws FileNotFoundException,
+            IOException {
+        RandomAccessFile file = new RandomAccessFile(fileName, "r");
+
+        try {
+            FileChannel channel = file.getChannel();
+
+            return new TreeFileBuffer(file, channel, 0, channel.size());
+        } catch (IOException ex) {
+            file.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns a new buffer reading the {@code length} bytes of the file which
+     * begin at the position {@code position}. The new buffer does not close
+     * the file, and it must not be used once this buffer is closed.
+     *
+     * @param position the position in the file of the first byte to read
+     * @param length the number of bytes to read
+     * @return the buffer reading the part of the file
+     */
+    TreeFileBuffer view(long position, long length) {
+        return new TreeFileBuffer(null, channel, position, position + length);
+    }
+
+    /**
+     * Returns the position in the file of the next byte to read.
+     *
+     * @return the position of the next byte
+     */
+    long position() {
+        return windowPosition + window.position();
+    }
+
+    /**
+     * Returns the number of bytes remaining to read.
+     *
+     * @return the number of remaining bytes
+     */
+    long remaining() {
+        return end - position();
+    }
+
+    /**
+     * Returns true if there are bytes remaining to read, or else false.
+     *
+     * @return true if there are remaining bytes, or else false
+     */
+    boolean hasRemaining() {
+        return position() < end;
+    }
+
+    /**
+     * Returns the current window of the file. The bytes read from the window
+     * are read from the buffer, and the window is replaced by the next one by
+     * {@code fill()}.
+     *
+     * @return the current window
+     */
+    ByteBuffer getWindow() {
+        return window;
+    }
+
+    /**
+     * Moves the bytes remaining in the window to its beginning and reads the
+     * following bytes of the file after them, as long as there is room in the
+     * window. It returns false if there was no more byte to read, or else
+     * true.
+     *
+     * @return true if bytes have been read, or else false
+     * @throws IOException
+     */
+    boolean fill() throws IOException {
+        int nbRemainingBytes = window.remaining();
+
+        windowPosition += window.position();
+        window.compact();
+        ((Buffer) window).limit((int) Math.min(window.capacity(),
+                end - windowPosition));
+        while (window.hasRemaining()) {
+            if (channel.read(window, windowPosition + window.position()) < 0) {
+                throw new EOFException("The file has been truncated");
+            }
+        }
+        ((Buffer) window).flip();
+        return window.remaining() > nbRemainingBytes;
+    }
+
+    /**
+     * Reads the next byte.
+     *
+     * @return the byte read
+     * @throws IOException
+     */
+    byte get() throws IOException {
+        require(1);
+        return window.get();
+    }
+
+    /**
+     * Reads the next two bytes as a short.
+     *
+     * @return the short read
+     * @throws IOException
+     */
+    short getShort() throws IOException {
+        require(2);
+        return window.getShort();
+    }
+
+    /**
+     * Reads the next four bytes as an int.
+     *
+     * @return the int read
+     * @throws IOException
+     */
+    int getInt() throws IOException {
+        require(4);
+        return window.getInt();
+    }
+
+    /**
+     * Reads the next eight bytes as a long.
+     *
+     * @return the long read
+     * @throws IOException
+     */
+    long getLong() throws IOException {
+        require(8);
+        return window.getLong();
+    }
+
+    /**
+     * Reads the next {@code length} bytes into {@code bytes} from the index
+     * {@code offset}.
+     *
+     * @param bytes the array where to put the bytes read
+     * @param offset the index of the first byte read in the array
+     * @param length the number of bytes to read
+     * @throws IOException
+     */
+    void get(byte[] bytes, int offset, int length) throws IOException {
+        int nbBytesRead = 0;
+
+        while (nbBytesRead < length) {
+            if (!window.hasRemaining() && !fill()) {
+                throw new EOFException("The end of the file has been reached");
+            }
+
+            int nbBytes = Math.min(length - nbBytesRead, window.remaining());
+
+            window.get(bytes, offset + nbBytesRead, nbBytes);
+            nbBytesRead += nbBytes;
+        }
+    }
+
+    /**
+     * Reads all the remaining bytes into {@code checksum}.
+     *
+     * @param checksum the checksum to update
+     * @throws IOException
+     */
+    void updateChecksum(Checksum checksum) throws IOException {
+        byte[] chunk = new byte[(int) Math.min(CHECKSUM_CHUNK_SIZE, remaining())];
+
+        while (hasRemaining()) {
+            int length = (int) Math.min(chunk.length, remaining());
+
+            get(chunk, 0, length);
+            checksum.update(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Closes the file if this buffer has been returned by
+     * {@code open(String)}.
+     *
+     * @throws IOException
+     */
+    public void close() throws IOException {
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    private void require(int nbBytes) throws IOException {
+        if ((window.remaining() < nbBytes) && (!fill()
+                || (window.remaining() < nbBytes))) {
+            throw new EOFException("The end of the file has been reached");
+        }
+    }
+}
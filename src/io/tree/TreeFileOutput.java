@@ -0,0 +1,164 @@
+/*
+ * TreeFileOutput.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class defines the output of the tree files. The content is written into
+ * a temporary file created next to the target file, which is forced to the
+ * disk and then atomically renamed over the target by {@code commit()}. The
+ * directory is then forced to the disk too, so that the rename survives a
+ * crash of the system. If the saving fails before, {@code close()} deletes the
+ * temporary file, so a tree file is either fully replaced or left untouched.
+ * This class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see TreeFile
+ * @see CompactTreeFile
+ */
+final class TreeFileOutput {
+
+    private final File target;
+
+    private final File temporaryFile;
+
+    private final FileOutputStream stream;
+
+    private boolean isClosed;
+
+    /**
+     * Builds the output of the file which name is {@code fileName}, that is to
+     * say creates the temporary file in the same directory. Its name begins
+     * with a dot followed by the name of the target file.
+     *
+     * @param fileName the name of the file to write
+     * @throws IOException
+     */
+    TreeFileOutput(String fileName) throws IOException {
+        target = new File(fileName).getAbsoluteFile();
+        temporaryFile = File.createTempFile("." + target.getName() + ".",
+                ".tmp", target.getParentFile());
+
+        FileOutputStream s = null;
+
+        try {
+            s = new FileOutputStream(temporaryFile);
+        } finally {
+            if (s == null) {
+                temporaryFile.delete();
+            }
+        }
+        stream = s;
+    }
+
+    /**
+     * Returns the stream of the temporary file. It is not buffered.
+     *
+     * @return the stream of the temporary file
+     */
+    OutputStream getStream() {
+        return stream;
+    }
+
+    /**
+     * Forces the content of the temporary file to the disk, closes it and
+     * renames it over the target file, keeping the permissions of the target
+     * file if it exists, and forces the directory to the disk. The content has
+     * to be flushed into the stream before.
+     *
+     * @throws IOException
+     */
+    void commit() throws IOException {
+        stream.getChannel().force(true);
+        isClosed = true;
+        stream.close();
+        if (target.exists()) {
+            try {
+                Files.setPosixFilePermissions(temporaryFile.toPath(),
+                        Files.getPosixFilePermissions(target.toPath()));
+            } catch (UnsupportedOperationException ex) {
+                // The file system has no POSIX permissions, like the ones of
+                // Windows. The access rights of the files are then inherited
+                // from the directory, so the temporary file already has the
+                // same ones as the target file.
+            }
+        }
+        try {
+            Files.move(temporaryFile.toPath(), target.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temporaryFile.toPath(), target.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        forceDirectory();
+    }
+
+    private void forceDirectory() throws IOException {
+        FileChannel directory;
+
+        try {
+            directory = FileChannel.open(target.getParentFile().toPath(),
+                    StandardOpenOption.READ);
+        } catch (IOException ex) {
+            // Some systems, like Windows, can not open a directory. Their
+            // file systems journal the rename themselves, so there is
+            // nothing more to force.
+            return;
+        }
+        try {
+            directory.force(true);
+        } finally {
+            directory.close();
+        }
+    }
+
+    /**
+     * Closes the stream and deletes the temporary file if the output has not
+     * been committed. It does nothing otherwise, so it can be called in a
+     * finally block.
+     *
+     * @throws IOException
+     */
+    void close() throws IOException {
+        if (!isClosed) {
+            isClosed = true;
+            try {
+                stream.close();
+            } finally {
+                temporaryFile.delete();
+            }
+        } else if (temporaryFile.exists()) {
+            temporaryFile.delete();
+        }
+    }
+}
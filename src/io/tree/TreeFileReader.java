@@ -0,0 +1,192 @@
+/*
+ * TreeFileReader.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * This class defines the reader of the lines of the binary tree files. Contrary
+ * to <tt>BufferedReader</tt>, it does not create a string for each line: the
+ * current line is given as the beginning of a char buffer that is reused from
+ * one line to the next, so the tree files are read with a constant extra
+ * memory per line. The characters are decoded with the default charset
+ * straight from the windows of the file read by <tt>TreeFileBuffer</tt>, which
+ * may be direct buffers. A line ends with a line feed, a carriage return or a
+ * carriage return followed by a line feed. The reader must be closed to close
+ * the file. This class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see TreeFile
+ */
+final class TreeFileReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int INITIAL_LINE_SIZE = 128;
+
+    private final TreeFileBuffer input;
+
+    private final CharsetDecoder decoder;
+
+    private final char[] buffer;
+
+    private final CharBuffer charBuffer;
+
+    private boolean isInputDecoded;
+
+    private int bufferPosition;
+
+    private int bufferLimit;
+
+    private char[] line;
+
+    private int lineLength;
+
+    private boolean isLineFeedSkipped;
+
+    /**
+     * Builds the reader of the lines contained in {@code in}. The malformed
+     * characters are replaced like <tt>FileReader</tt> does.
+     *
+     * @param in the buffer reading the bytes of the file
+     */
+    TreeFileReader(TreeFileBuffer in) {
+        input = in;
+        decoder = Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        buffer = new char[BUFFER_SIZE];
+        charBuffer = CharBuffer.wrap(buffer);
+        line = new char[INITIAL_LINE_SIZE];
+    }
+
+    /**
+     * Reads the next line. It returns false if the end of the file has been
+     * reached, or else true. The line read is given by {@code getLine()} and
+     * {@code getLineLength()}, without the line terminator.
+     *
+     * @return true if a line has been read, or else false
+     * @throws IOException
+     */
+    boolean readLine() throws IOException {
+        boolean isCharRead = false;
+
+        lineLength = 0;
+        while (true) {
+            if (bufferPosition == bufferLimit) {
+                bufferLimit = decode();
+                bufferPosition = 0;
+                if (bufferLimit == 0) {
+                    return isCharRead;
+                }
+            }
+
+            char c = buffer[bufferPosition++];
+
+            if (isLineFeedSkipped) {
+                isLineFeedSkipped = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            isCharRead = true;
+            if (c == '\n') {
+                return true;
+            } else if (c == '\r') {
+                isLineFeedSkipped = true;
+                return true;
+            }
+            if (lineLength == line.length) {
+                char[] newLine = new char[2 * line.length];
+
+                System.arraycopy(line, 0, newLine, 0, lineLength);
+                line = newLine;
+            }
+            line[lineLength++] = c;
+        }
+    }
+
+    /**
+     * Returns the buffer containing the last line read. Only the
+     * {@code getLineLength()} first characters belong to the line, and the
+     * buffer is overwritten by the next call to {@code readLine()}.
+     *
+     * @return the buffer containing the line
+     */
+    char[] getLine() {
+        return line;
+    }
+
+    /**
+     * Returns the length of the last line read.
+     *
+     * @return the length of the line
+     */
+    int getLineLength() {
+        return lineLength;
+    }
+
+    /**
+     * Returns the number of bytes of the file decoded so far. The characters
+     * are decoded by blocks, so it is a little ahead of the last line read.
+     *
+     * @return the number of bytes decoded
+     */
+    long getBytesRead() {
+        return input.position();
+    }
+
+    /**
+     * Closes the file read.
+     *
+     * @throws IOException
+     */
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private int decode() throws IOException {
+        ((Buffer) charBuffer).clear();
+        while ((charBuffer.position() == 0) && !isInputDecoded) {
+            ByteBuffer window = input.getWindow();
+            boolean isLastWindow = (window.remaining() == input.remaining());
+            CoderResult result = decoder.decode(window, charBuffer, isLastWindow);
+
+            if (isLastWindow && !window.hasRemaining()) {
+                decoder.flush(charBuffer);
+                isInputDecoded = true;
+            } else if (result.isUnderflow()) {
+                input.fill();
+            }
+        }
+        return charBuffer.position();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * TreeFiles.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.text.ParseException;
+import io.IProgressListener;
+import model.UnknownDataStructureException;
+import model.tree.IBinaryTree;
+
+/**
+ * This class chooses the format of the binary tree files from their
+ * extension. The files ending with the extension of <tt>CompactTreeFile</tt>
+ * are in the compact binary format, and all the other files are in the
+ * readable format of <tt>TreeFile</tt>. This class is not designed for
+ * inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see TreeFile
+ * @see CompactTreeFile
+ */
+public final class TreeFiles {
+
+    /**
+     * Enumeration that defines the formats of the binary tree files.
+     *
+     * @author agent
+     * @version 0.10 18/10/26
+     */
+    public static enum TreeFileFormat {
+        READABLE, COMPACT;
+
+        /**
+         * Creates a binary tree from the loading of a file in this format
+         * which name is {@code fileName}, reporting the progress to
+         * {@code listener}.
+         *
+         * @param fileName the name of the file where to load the binary tree
+         * @param listener the listener of the progress, it may be null
+         * @return the loaded binary tree
+         * @throws FileNotFoundException
+         * @throws IOException
+         * @throws ParseException
+         * @throws UnknownDataStructureException
+         */
+        public IBinaryTree load(String fileName, IProgressListener listener)
+                throws FileNotFoundException, IOException, ParseException,
+                UnknownDataStructureException {
+            if (this == COMPACT) {
+                return CompactTreeFile.load(fileName, listener);
+            } else {
+                return TreeFile.load(fileName, listener);
+            }
+        }
+
+        /**
+         * Saves the binary tree represented by {@code tree} in this format
+         * into a file which name is {@code fileName}, reporting the progress
+         * to {@code listener}.
+         *
+         * @param tree the binary tree to save
+         * @param fileName the name of the file where to save the binary tree
+         * @param listener the listener of the progress, it may be null
+         * @throws IOException
+         */
+        public void save(IBinaryTree tree, String fileName,
+                IProgressListener listener) throws IOException {
+            if (this == COMPACT) {
+                CompactTreeFile.save(tree, fileName, listener);
+            } else {
+                TreeFile.save(tree, fileName, listener);
+            }
+        }
+    }
+
+    private TreeFiles() {
+    }
+
+    /**
+     * Returns the format of the binary tree file {@code file}, that is to say
+     * the compact format if its name ends with the extension of the compact
+     * files, or else the readable format.
+     *
+     * @param file the binary tree file
+     * @return the format of the file
+     */
+    public static TreeFileFormat forFile(File file) {
+        if (file.getName().endsWith("." + CompactTreeFile.FILE_EXTENSION)) {
+            return TreeFileFormat.COMPACT;
+        }
+        return TreeFileFormat.READABLE;
+    }
+
+    /**
+     * Creates a binary tree from the loading of the file {@code file} in the
+     * format given by its extension, reporting the progress to
+     * {@code listener}.
+     *
+     * @param file the file where to load the binary tree
+     * @param listener the listener of the progress, it may be null
+     * @return the loaded binary tree
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     * @throws UnknownDataStructureException
+     */
+    public static IBinaryTree load(File file, IProgressListener listener)
+            throws FileNotFoundException, IOException, ParseException,
+            UnknownDataStructureException {
+        return forFile(file).load(file.getAbsolutePath(), listener);
+    }
+
+    /**
+     * Saves the binary tree represented by {@code tree} into the file
+     * {@code file} in the format given by its extension, reporting the
+     * progress to {@code listener}. If the name of the file ends with neither
+     * the extension of the readable files nor the one of the compact files,
+     * the extension of the readable files is appended to it.
+     *
+     * @param tree the binary tree to save
+     * @param file the file where to save the binary tree
+     * @param listener the listener of the progress, it may be null
+     * @throws IOException
+     */
+    public static void save(IBinaryTree tree, File file,
+            IProgressListener listener) throws IOException {
+        String path = file.getAbsolutePath();
+
+        if (!path.endsWith("." + TreeFile.FILE_EXTENSION)
+                && !path.endsWith("." + CompactTreeFile.FILE_EXTENSION)) {
+            path = path.concat("." + TreeFile.FILE_EXTENSION);
+        }
+        forFile(file).save(tree, path, listener);
+    }
+}
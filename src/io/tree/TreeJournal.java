@@ -0,0 +1,400 @@
+/*
+ * TreeJournal.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.zip.CRC32;
+import algorithm.tree.IBinaryTreeAlgorithmStrategy;
+import model.tree.IBinaryTree;
+
+/**
+ * This class defines the journal of a binary tree file. Instead of rewriting
+ * the whole file after each modification of the tree, the insertions and the
+ * deletions are appended to a journal file next to the tree file, which is
+ * called the checkpoint. From time to time, the tree is saved again into the
+ * checkpoint and the journal is emptied. After a crash, the tree is recovered
+ * by loading the checkpoint and replaying the journal onto it.
+ * <p>
+ * The journal begins with a header containing a magic number, the version of
+ * the format, and the length and the CRC-32 checksum of the checkpoint it
+ * applies to. A journal which does not match its checkpoint is older than it,
+ * that is to say the checkpoint was saved but the journal was not emptied
+ * yet, so it is ignored. Each record contains the type of the operation, the
+ * number of keys, the keys and a CRC-32 checksum of the record. The batch
+ * operations are recorded as a single record, so they are replayed with the
+ * same algorithm as the original ones. A truncated or corrupted record ends
+ * the journal: it is the record being written when the crash occurred.
+ * <p>
+ * The records are written straight to the file without any buffer, so they
+ * survive a crash of the software, but they are not forced to the disk. This
+ * class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see TreeFile
+ */
+public final class TreeJournal {
+
+    /**
+     * Definition of the extension of the journal files.
+     */
+    public static final String FILE_EXTENSION = "btj";
+
+    /**
+     * Definition of the magic number that begins the journal files, that is to
+     * say {@literal VGBJ} in ASCII.
+     */
+    private static final int MAGIC_NUMBER = 0x5647424A;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_LENGTH = 4 + 1 + 8 + 4;
+
+    private static final int RECORD_HEADER_LENGTH = 1 + 4;
+
+    private static final int CHECKSUM_LENGTH = 4;
+
+    private static final byte INSERT_NODE = 1;
+
+    private static final byte DELETE_NODE = 2;
+
+    private static final byte INSERT_ALL = 3;
+
+    private static final byte DELETE_ALL = 4;
+
+    private final String checkpointFileName;
+
+    private final String journalFileName;
+
+    private FileOutputStream stream;
+
+    private final CRC32 crc;
+
+    private byte[] record;
+
+    private int nbRecords;
+
+    private TreeJournal(String fileName) {
+        checkpointFileName = fileName;
+        journalFileName = getJournalFileName(fileName);
+        crc = new CRC32();
+        record = new byte[RECORD_HEADER_LENGTH + 4 + CHECKSUM_LENGTH];
+    }
+
+    /**
+     * Returns the name of the journal of the tree file which name is
+     * {@code fileName}, that is to say the name of the tree file with the
+     * extension of the journal files.
+     *
+     * @param fileName the name of the tree file
+     * @return the name of the journal file
+     */
+    public static String getJournalFileName(String fileName) {
+        String extension = "." + TreeFile.FILE_EXTENSION;
+
+        if (fileName.endsWith(extension)) {
+            return fileName.substring(0, fileName.length() - extension.length())
+                    + "." + FILE_EXTENSION;
+        } else {
+            return fileName + "." + FILE_EXTENSION;
+        }
+    }
+
+    /**
+     * Opens the journal of the tree file which name is {@code fileName}. The
+     * tree is first saved into the tree file, which becomes the checkpoint,
+     * and the journal is emptied.
+     *
+     * @param tree the binary tree to journal
+     * @param fileName the name of the tree file
+     * @return the opened journal
+     * @throws IOException
+     */
+    public static TreeJournal open(IBinaryTree tree, String fileName)
+            throws IOException {
+        TreeJournal journal = new TreeJournal(fileName);
+
+        journal.checkpoint(tree);
+        return journal;
+    }
+
+    /**
+     * Appends the insertion of the node which key is {@code key}.
+     *
+     * @param key the key of the inserted node
+     * @throws IOException
+     */
+    public void appendInsertion(int key) throws IOException {
+        appendRecord(INSERT_NODE, new int[] {key});
+    }
+
+    /**
+     * Appends the deletion of the node which key is {@code key}.
+     *
+     * @param key the key of the deleted node
+     * @throws IOException
+     */
+    public void appendDeletion(int key) throws IOException {
+        appendRecord(DELETE_NODE, new int[] {key});
+    }
+
+    /**
+     * Appends the insertion of the nodes which keys are {@code keys} in a
+     * single operation.
+     *
+     * @param keys the keys of the inserted nodes
+     * @throws IOException
+     */
+    public void appendInsertions(int[] keys) throws IOException {
+        appendRecord(INSERT_ALL, keys);
+    }
+
+    /**
+     * Appends the deletion of the nodes which keys are {@code keys} in a
+     * single operation.
+     *
+     * @param keys the keys of the deleted nodes
+     * @throws IOException
+     */
+    public void appendDeletions(int[] keys) throws IOException {
+        appendRecord(DELETE_ALL, keys);
+    }
+
+    /**
+     * Returns the number of records appended since the last checkpoint.
+     *
+     * @return the number of records of the journal
+     */
+    public int getRecordCount() {
+        return nbRecords;
+    }
+
+    /**
+     * Saves {@code tree} into the checkpoint, in the format given by its
+     * extension, and empties the journal. The checkpoint is saved before the
+     * journal is emptied, so a crash between the two leaves a journal that
+     * does not match the new checkpoint and is thus ignored by the recovery.
+     *
+     * @param tree the binary tree to save
+     * @throws IOException
+     */
+    public void checkpoint(IBinaryTree tree) throws IOException {
+        close();
+        TreeFiles.forFile(new File(checkpointFileName)).save(tree,
+                checkpointFileName, null);
+
+        TreeFileBuffer checkpoint = TreeFileBuffer.open(checkpointFileName);
+        long checkpointLength = checkpoint.remaining();
+        int checkpointChecksum = 0;
+
+        try {
+            checkpointChecksum = computeChecksum(checkpoint);
+        } finally {
+            checkpoint.close();
+        }
+
+        TreeFileOutput output = new TreeFileOutput(journalFileName);
+
+        try {
+            DataOutputStream header = new DataOutputStream(output.getStream());
+
+            header.writeInt(MAGIC_NUMBER);
+            header.writeByte(FORMAT_VERSION);
+            header.writeLong(checkpointLength);
+            header.writeInt(checkpointChecksum);
+            header.flush();
+            output.commit();
+        } finally {
+            output.close();
+        }
+        stream = new FileOutputStream(journalFileName, true);
+        nbRecords = 0;
+    }
+
+    /**
+     * Closes the journal. The records already appended are kept, so the tree
+     * can still be recovered.
+     *
+     * @throws IOException
+     */
+    public void close() throws IOException {
+        if (stream != null) {
+            try {
+                stream.close();
+            } finally {
+                stream = null;
+            }
+        }
+    }
+
+    /**
+     * Replays onto {@code strategy} the records of the journal of the tree
+     * file which name is {@code fileName}, and returns the number of records
+     * replayed. The binary tree of the strategy must have been loaded from the
+     * tree file. Nothing is replayed if there is no journal or if the journal
+     * does not match the tree file. The records after a truncated or corrupted
+     * record are ignored.
+     *
+     * @param fileName the name of the tree file
+     * @param strategy the algorithm strategy of the loaded binary tree
+     * @return the number of records replayed
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     */
+    public static int replay(String fileName,
+            IBinaryTreeAlgorithmStrategy strategy)
+            throws FileNotFoundException, IOException, ParseException {
+        File journalFile = new File(getJournalFileName(fileName));
+
+        if (!journalFile.exists()) {
+            return 0;
+        }
+
+        TreeFileBuffer journal = TreeFileBuffer.open(journalFile.getPath());
+
+        try {
+            if ((journal.remaining() < HEADER_LENGTH)
+                    || (journal.getInt() != MAGIC_NUMBER)
+                    || ((journal.get() & 0xFF) != FORMAT_VERSION)) {
+                throw new ParseException("The file is not a binary tree" +
+                        " journal", 0);
+            }
+
+            long checkpointLength = journal.getLong();
+            int checkpointChecksum = journal.getInt();
+            TreeFileBuffer checkpoint = TreeFileBuffer.open(fileName);
+
+            try {
+                if ((checkpoint.remaining() != checkpointLength)
+                        || (computeChecksum(checkpoint) != checkpointChecksum)) {
+                    return 0;
+                }
+            } finally {
+                checkpoint.close();
+            }
+            return replayRecords(journal, strategy);
+        } finally {
+            journal.close();
+        }
+    }
+
+    private static int replayRecords(TreeFileBuffer journal,
+            IBinaryTreeAlgorithmStrategy strategy) throws IOException {
+        int nbReplayedRecords = 0;
+        CRC32 crc = new CRC32();
+        byte[] recordBytes = new byte[RECORD_HEADER_LENGTH + 4];
+
+        while (journal.remaining() >= RECORD_HEADER_LENGTH) {
+            byte operation = journal.get();
+            int nbKeys = journal.getInt();
+
+            if ((operation < INSERT_NODE) || (operation > DELETE_ALL)
+                    || (nbKeys < 0) || ((long) 4 * nbKeys + CHECKSUM_LENGTH
+                    > journal.remaining())) {
+                break;
+            }
+
+            int length = RECORD_HEADER_LENGTH + 4 * nbKeys;
+            int[] keys = new int[nbKeys];
+
+            if (recordBytes.length < length) {
+                recordBytes = new byte[Math.max(length, 2 * recordBytes.length)];
+            }
+            recordBytes[0] = operation;
+            writeInt(recordBytes, 1, nbKeys);
+            journal.get(recordBytes, RECORD_HEADER_LENGTH, 4 * nbKeys);
+            crc.reset();
+            crc.update(recordBytes, 0, length);
+            if ((int) crc.getValue() != journal.getInt()) {
+                break;
+            }
+            for (int i = 0; i < nbKeys; i++) {
+                keys[i] = readInt(recordBytes, RECORD_HEADER_LENGTH + 4 * i);
+            }
+            switch (operation) {
+                case INSERT_NODE:
+                    strategy.insertNode(keys[0]);
+                    break;
+                case DELETE_NODE:
+                    strategy.deleteNode(keys[0]);
+                    break;
+                case INSERT_ALL:
+                    strategy.insertAll(keys);
+                    break;
+                default:
+                    strategy.deleteAll(keys);
+                    break;
+            }
+            ++nbReplayedRecords;
+        }
+        return nbReplayedRecords;
+    }
+
+    private void appendRecord(byte operation, int[] keys) throws IOException {
+        int length = RECORD_HEADER_LENGTH + 4 * keys.length + CHECKSUM_LENGTH;
+
+        if (stream == null) {
+            throw new IOException("The journal is closed");
+        }
+        if (record.length < length) {
+            record = new byte[Math.max(length, 2 * record.length)];
+        }
+        record[0] = operation;
+        writeInt(record, 1, keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            writeInt(record, RECORD_HEADER_LENGTH + 4 * i, keys[i]);
+        }
+        crc.reset();
+        crc.update(record, 0, length - CHECKSUM_LENGTH);
+        writeInt(record, length - CHECKSUM_LENGTH, (int) crc.getValue());
+        stream.write(record, 0, length);
+        ++nbRecords;
+    }
+
+    private static void writeInt(byte[] buffer, int position, int value) {
+        buffer[position] = (byte) (value >>> 24);
+        buffer[position + 1] = (byte) (value >>> 16);
+        buffer[position + 2] = (byte) (value >>> 8);
+        buffer[position + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] buffer, int position) {
+        return ((buffer[position] & 0xFF) << 24)
+                | ((buffer[position + 1] & 0xFF) << 16)
+                | ((buffer[position + 2] & 0xFF) << 8)
+                | (buffer[position + 3] & 0xFF);
+    }
+
+    private static int computeChecksum(TreeFileBuffer content)
+            throws IOException {
+        CRC32 checkpointCrc = new CRC32();
+
+        content.updateChecksum(checkpointCrc);
+        return (int) checkpointCrc.getValue();
+    }
+}
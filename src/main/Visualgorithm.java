@@ -21,6 +21,7 @@
 
 package main;
 
+import java.util.Arrays;
 import javax.swing.SwingUtilities;
 import view.AbstractViewFactory;
 import view.swing.SwingViewFactory;
@@ -40,12 +41,18 @@ public final class Visualgorithm {
 
     /**
      * This is the main method of the software that creates the model and the
-     * controller with the wanted view factory. The string array {@code args} is
-     * not used.
+     * controller with the wanted view factory. If the first argument is
+     * {@literal -batch}, the software is launched without graphic user
+     * interface by <tt>VisualgorithmBatch</tt> with the other arguments.
      * 
      * @param args possible arguments
      */
     public static void main(String[] args) {
+        if ((args.length > 0) && args[0].equals(VisualgorithmBatch.BATCH_OPTION)) {
+            VisualgorithmBatch.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         final ISoftwareModel model = new SoftwareModel();
         final AbstractViewFactory viewFactory = SwingViewFactory.getFactory();
 
@@ -0,0 +1,198 @@
+/*
+ * VisualgorithmBatch.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package main;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.text.ParseException;
+import model.UnknownDataStructureException;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import model.tree.BinaryTreeBatch;
+
+/**
+ * This class is the main class of the software without graphic user
+ * interface. It loads or creates a binary tree, applies a workload to it with
+ * <tt>BinaryTreeBatch</tt>, checks the final tree, then writes the statistics
+ * and saves the tree. It does not use the view, so it does not start AWT and
+ * can be run on servers without display. The exit status is 0 if the tree is
+ * well formed, 1 if it is not and 2 if the arguments or the files are
+ * invalid. It is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see BinaryTreeBatch
+ */
+public final class VisualgorithmBatch {
+
+    /**
+     * Definition of the option of <tt>Visualgorithm</tt> that launches the
+     * software without graphic user interface.
+     */
+    public static final String BATCH_OPTION = "-batch";
+
+    /**
+     * Definition of the exit status when the final tree is not well formed.
+     */
+    public static final int INVALID_TREE_STATUS = 1;
+
+    /**
+     * Definition of the exit status when the arguments or the files are
+     * invalid.
+     */
+    public static final int ERROR_STATUS = 2;
+
+    private static final String USAGE = String.format(
+            "Usage : VisualgorithmBatch [options]%n"
+            + "  -type <type>     type of the new binary tree : BINARYSEARCHTREE,"
+            + " AVLTREE (default), REDBLACKTREE or SKIPLIST%n"
+            + "  -load <file>     loads the binary tree from a .bt or .cbt file%n"
+            + "  -random <n>      inserts n random keys%n"
+            + "  -seed <seed>     seed of the random keys%n"
+            + "  -script <file>   applies the workload file%n"
+            + "  -fastpath        uses the fast path of the algorithm strategy%n"
+            + "  -output <file>   saves the final binary tree in a .bt or .cbt file%n"
+            + "  -stats <file>    writes the statistics in the file instead of"
+            + " the standard output%n"
+            + "  -help            prints this message");
+
+    private VisualgorithmBatch() {
+    }
+
+    /**
+     * This is the main method of the software without graphic user interface.
+     * The virtual machine exits with the status returned by
+     * {@code int run(String[] args, PrintStream out, PrintStream err)}.
+     *
+     * @param args the options of the batch
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the batch described by the options {@code args}. The statistics
+     * are written on {@code out} unless a statistics file is given, and the
+     * errors are written on {@code err}.
+     *
+     * @param args the options of the batch
+     * @param out the stream of the statistics
+     * @param err the stream of the errors
+     * @return the exit status
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        BinaryTreeType type = BinaryTreeType.AVLTREE;
+        File loadedFile = null;
+        File scriptFile = null;
+        File outputFile = null;
+        File statisticsFile = null;
+        Long seed = null;
+        int nbRandomKeys = 0;
+        boolean isFastPathEnabled = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+
+                if (option.equals("-help")) {
+                    out.println(USAGE);
+                    return 0;
+                } else if (option.equals("-fastpath")) {
+                    isFastPathEnabled = true;
+                } else if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("The option " + option
+                            + " is unknown or needs a value");
+                } else if (option.equals("-type")) {
+                    type = BinaryTreeType.valueOf(args[++i].toUpperCase());
+                } else if (option.equals("-load")) {
+                    loadedFile = new File(args[++i]);
+                } else if (option.equals("-random")) {
+                    nbRandomKeys = Integer.parseInt(args[++i]);
+                } else if (option.equals("-seed")) {
+                    seed = Long.valueOf(args[++i]);
+                } else if (option.equals("-script")) {
+                    scriptFile = new File(args[++i]);
+                } else if (option.equals("-output")) {
+                    outputFile = new File(args[++i]);
+                } else if (option.equals("-stats")) {
+                    statisticsFile = new File(args[++i]);
+                } else {
+                    throw new IllegalArgumentException("The option " + option
+                            + " is unknown");
+                }
+            }
+
+            BinaryTreeBatch batch = (loadedFile != null)
+                    ? new BinaryTreeBatch(loadedFile) : new BinaryTreeBatch(type);
+            boolean isValid;
+
+            batch.setFastPathEnabled(isFastPathEnabled);
+            if (seed != null) {
+                batch.setSeed(seed);
+            }
+            if (nbRandomKeys > 0) {
+                batch.insertRandomKeys(nbRandomKeys);
+            }
+            if (scriptFile != null) {
+                batch.runWorkload(scriptFile);
+            }
+            isValid = batch.validate();
+            writeStatistics(batch, statisticsFile, out);
+            if (outputFile != null) {
+                batch.save(outputFile);
+            }
+            if (!isValid || (batch.getNbFailedValidations() > 0)) {
+                err.println("The binary tree is not well formed");
+                return INVALID_TREE_STATUS;
+            }
+            return 0;
+        } catch (IllegalArgumentException ex) {
+            err.println(ex.getMessage());
+            err.println(USAGE);
+        } catch (ParseException ex) {
+            err.println(ex.getMessage());
+        } catch (UnknownDataStructureException ex) {
+            err.println(ex.getMessage());
+        } catch (IOException ex) {
+            err.println(ex.getMessage());
+        }
+        return ERROR_STATUS;
+    }
+
+    private static void writeStatistics(BinaryTreeBatch batch,
+            File statisticsFile, PrintStream out) throws IOException {
+        if (statisticsFile == null) {
+            batch.writeStatistics(out);
+        } else {
+            PrintStream statisticsStream = new PrintStream(
+                    new FileOutputStream(statisticsFile));
+
+            try {
+                batch.writeStatistics(statisticsStream);
+            } finally {
+                statisticsStream.close();
+            }
+        }
+    }
+}
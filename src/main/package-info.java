@@ -20,8 +20,9 @@
  */
 
 /**
- * This package contains the main class of the software. This is the class to
- * use to launch the software.
+ * This package contains the main classes of the software. <tt>Visualgorithm</tt>
+ * is the class to use to launch the software, and <tt>VisualgorithmBatch</tt>
+ * applies workloads to binary trees without graphic user interface.
  * 
  * @author Julien Hannier
  * @version 0.10 27/02/09
@@ -23,6 +23,7 @@ package model;
 
 import java.io.File;
 import java.io.IOException;
+import io.IProgressListener;
 
 /**
  * This interface is the common interface of all data structure models. It is
@@ -58,4 +59,18 @@ public interface IDataStructureModel extends IModel {
      * @throws IOException
      */
     public void saveDataStructure(File file) throws IOException;
+
+    /**
+     * Saves the data structure of the model into {@code file}, reporting the
+     * progress of the saving to {@code listener}. This method may be called by
+     * another thread than the one of the view, as long as the data structure
+     * is not modified during the saving. The saving stops with an
+     * <tt>InterruptedIOException</tt> if the thread is interrupted.
+     *
+     * @param file the file where to save the data structure
+     * @param listener the listener of the progress, it may be null
+     * @throws IOException
+     */
+    public void saveDataStructure(File file, IProgressListener listener)
+            throws IOException;
 }
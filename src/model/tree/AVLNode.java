@@ -23,7 +23,8 @@ package model.tree;
 
 /**
  * This class defines the nodes of AVL trees. It is not designed for inheritance.
- * These nodes contain a specific attribute which is the height of the node.
+ * The height of these nodes, maintained by <tt>AbstractBinaryNode</tt>, is used
+ * to compute their balance factor.
  * 
  * @author Damien Rigoni
  * @version 0.10 19/05/08
@@ -31,17 +32,14 @@ package model.tree;
  */
 public final class AVLNode extends AbstractBinarySearchNode implements IAVLNode {
 
-    private int height;
-
     /**
      * Builds an AVL node with the key given in parameter. The children and the
-     * father are initialized to null and the height is initialized to 0.
+     * father are initialized to null.
      * 
      * @param key the key of the new AVL node
      */
     public AVLNode(int key) {
         super(key);
-        height = 0;
     }
 
     @Override
@@ -61,7 +59,7 @@ public final class AVLNode extends AbstractBinarySearchNode implements IAVLNode
 
     @Override
     public int getAVLHeight() {
-        return height;
+        return getHeight();
     }
 
     @Override
@@ -69,7 +67,7 @@ public final class AVLNode extends AbstractBinarySearchNode implements IAVLNode
         if ((newNode != null) && !(newNode instanceof AVLNode)) {
             throw new IllegalArgumentException("You have to pass an AVLNode");
         }
-        right = newNode;
+        attachRight(newNode);
     }
 
     @Override
@@ -77,7 +75,7 @@ public final class AVLNode extends AbstractBinarySearchNode implements IAVLNode
         if ((newNode != null) && !(newNode instanceof AVLNode)) {
             throw new IllegalArgumentException("You have to pass an AVLNode");
         }
-        left = newNode;
+        attachLeft(newNode);
     }
 
     @Override
@@ -90,29 +88,14 @@ public final class AVLNode extends AbstractBinarySearchNode implements IAVLNode
 
     @Override
     public void computeAndSetHeight() {
-        int leftHeight = 0;
-        int rightHeight = 0;
-
-        if (getLeft() != null) {
-            leftHeight = getLeft().getAVLHeight() + 1;
-        }
-        if (getRight() != null) {
-            rightHeight = getRight().getAVLHeight() + 1;
-        }
-        height = Math.max(leftHeight, rightHeight);
+        updateHeightAndSize();
     }
 
     @Override
     public int computeBalanceFactor() {
-        int leftBalance = 0;
-        int rightBalance = 0;
+        int leftHeight = (getLeft() == null) ? -1 : getLeft().getHeight();
+        int rightHeight = (getRight() == null) ? -1 : getRight().getHeight();
 
-        if (getLeft() != null) {
-            leftBalance = getLeft().getAVLHeight() + 1;
-        }
-        if (getRight() != null) {
-            rightBalance = getRight().getAVLHeight() + 1;
-        }
-        return rightBalance - leftBalance;
+        return rightHeight - leftHeight;
     }
 }
@@ -21,6 +21,8 @@
 
 package model.tree;
 
+import java.util.Arrays;
+
 /**
  * This class defines AVL trees with as node <tt>AVLNode</tt>. It is not
  * designed for inheritance.
@@ -31,6 +33,8 @@ package model.tree;
  */
 public final class AVLTree extends AbstractBinarySearchTree {
 
+    private static final int INITIAL_STACK_SIZE = 32;
+
     {
         type = BinaryTreeType.AVLTREE;
     }
@@ -68,33 +72,91 @@ public final class AVLTree extends AbstractBinarySearchTree {
 
     @Override
     public boolean isWellFormedTree() {
-        computeHeightOfEachNode(getRoot());
-        return isBalance(getRoot()) && isWellFormedBST(getRoot());
+        return findFirstViolatingNode() == null;
     }
 
-    private void computeHeightOfEachNode(AVLNode node) {
-        if (node != null) {
-            computeHeightOfEachNode(node.getLeft());
-            computeHeightOfEachNode(node.getRight());
-            node.computeAndSetHeight();
+    /**
+     * Returns the first node at which the tree violates the properties of AVL
+     * trees, or null if the tree is well formed. The keys of the left subtree
+     * of a node have to be lesser than or equal to its key and the ones of its
+     * right subtree greater than or equal to it, and the heights of the two
+     * subtrees of a node can not differ by more than one. The heights are
+     * computed during the traversal and compared to the ones maintained by the
+     * nodes. All these properties are checked in a single iterative depth first
+     * traversal which does not modify the tree, so it can be used on huge trees
+     * or while the tree is read by other threads. The stack of the traversal
+     * grows with the depth of the nodes, so a wrong height maintained by the
+     * nodes is reported instead of making the traversal fail.
+     *
+     * @return the first node violating the properties, or null
+     */
+    public AVLNode findFirstViolatingNode() {
+        if (getRoot() == null) {
+            return null;
         }
-    }
 
-    private boolean isBalance(AVLNode node) {
-        boolean isBalance = true;
-        
-        if (node != null) {
-            isBalance = isBalance(node.getLeft());
-            if (isBalance) {
-                isBalance = isBalance(node.getRight());
+        int stackSize = INITIAL_STACK_SIZE;
+        AVLNode[] nodes = new AVLNode[stackSize];
+        long[] lowerBounds = new long[stackSize];
+        long[] upperBounds = new long[stackSize];
+        int[] leftHeights = new int[stackSize];
+        boolean[] isLeftVisited = new boolean[stackSize];
+        int top = 0;
+        int childHeight = -1;
+
+        nodes[0] = getRoot();
+        lowerBounds[0] = Long.MIN_VALUE;
+        upperBounds[0] = Long.MAX_VALUE;
+        isLeftVisited[0] = false;
+        while (top >= 0) {
+            AVLNode node = nodes[top];
+            AVLNode child = null;
+            long lowerBound = 0;
+            long upperBound = 0;
+
+            if (!isLeftVisited[top]) {
+                if ((node.getKey() < lowerBounds[top])
+                        || (node.getKey() > upperBounds[top])) {
+                    return node;
+                }
+                isLeftVisited[top] = true;
+                leftHeights[top] = -2;
+                child = node.getLeft();
+                lowerBound = lowerBounds[top];
+                upperBound = node.getKey();
+                childHeight = -1;
+            } else if (leftHeights[top] == -2) {
+                leftHeights[top] = childHeight;
+                child = node.getRight();
+                lowerBound = node.getKey();
+                upperBound = upperBounds[top];
+                childHeight = -1;
+            } else {
+                int balance = childHeight - leftHeights[top];
+
+                childHeight = Math.max(leftHeights[top], childHeight) + 1;
+                if ((balance < -1) || (balance > 1)
+                        || (node.getHeight() != childHeight)) {
+                    return node;
+                }
+                --top;
             }
-            if (isBalance) {
-                int balance = node.computeBalanceFactor();
-                if ((balance < -1) || (balance > 1)) {
-                    isBalance = false;
+            if (child != null) {
+                if (top + 1 == nodes.length) {
+                    stackSize = 2 * nodes.length;
+                    nodes = Arrays.copyOf(nodes, stackSize);
+                    lowerBounds = Arrays.copyOf(lowerBounds, stackSize);
+                    upperBounds = Arrays.copyOf(upperBounds, stackSize);
+                    leftHeights = Arrays.copyOf(leftHeights, stackSize);
+                    isLeftVisited = Arrays.copyOf(isLeftVisited, stackSize);
                 }
+                ++top;
+                nodes[top] = child;
+                lowerBounds[top] = lowerBound;
+                upperBounds[top] = upperBound;
+                isLeftVisited[top] = false;
             }
         }
-        return isBalance;
+        return null;
     }
 }
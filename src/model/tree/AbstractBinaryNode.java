@@ -24,7 +24,8 @@ package model.tree;
 /**
  * This abstract class defines all the common attributes and methods of all
  * binary nodes. It has been implemented to be inherited by all binary node
- * classes like BinaryNode.
+ * classes like BinaryNode. Each node keeps the height and the size of its
+ * subtree, which are updated when a child is replaced.
  * 
  * @author Damien Rigoni
  * @version 0.10 19/05/08
@@ -52,6 +53,10 @@ public abstract class AbstractBinaryNode implements IBinaryNode {
      */
     protected IBinaryNode father;
 
+    private int height;
+
+    private int size;
+
     /**
      * Builds a node with the key given in parameter, the children and the
      * father are initialized to null.
@@ -61,6 +66,8 @@ public abstract class AbstractBinaryNode implements IBinaryNode {
     protected AbstractBinaryNode(int k) {
         key = k;
         left = right = father = null;
+        height = 0;
+        size = 1;
     }
 
     @Override
@@ -72,4 +79,77 @@ public abstract class AbstractBinaryNode implements IBinaryNode {
     public final void setKey(int newKey) {
         key = newKey;
     }
+
+    @Override
+    public final int getHeight() {
+        return height;
+    }
+
+    @Override
+    public final int getSize() {
+        return size;
+    }
+
+    /**
+     * Replaces the left child of the node by {@code newNode} and makes the node
+     * the father of {@code newNode}. The height and the size are then updated.
+     * This method must be called by {@code void setLeft(IBinaryNode newNode)}
+     * once the type of {@code newNode} is checked.
+     *
+     * @param newNode the new left child of the node
+     */
+    protected final void attachLeft(IBinaryNode newNode) {
+        left = newNode;
+        if (newNode != null) {
+            newNode.setFather(this);
+        }
+        updateHeightAndSize();
+    }
+
+    /**
+     * Replaces the right child of the node by {@code newNode} and makes the
+     * node the father of {@code newNode}. The height and the size are then
+     * updated. This method must be called by
+     * {@code void setRight(IBinaryNode newNode)} once the type of
+     * {@code newNode} is checked.
+     *
+     * @param newNode the new right child of the node
+     */
+    protected final void attachRight(IBinaryNode newNode) {
+        right = newNode;
+        if (newNode != null) {
+            newNode.setFather(this);
+        }
+        updateHeightAndSize();
+    }
+
+    /**
+     * Computes the height and the size of the node from the ones of its
+     * children, then goes up to the fathers while their height or size
+     * change. A subtree that is modified while it is detached from the tree
+     * is thus updated once, when it is attached.
+     */
+    protected final void updateHeightAndSize() {
+        AbstractBinaryNode node = this;
+
+        while (node != null) {
+            int newHeight = Math.max(heightOf(node.left), heightOf(node.right)) + 1;
+            int newSize = sizeOf(node.left) + sizeOf(node.right) + 1;
+
+            if ((newHeight == node.height) && (newSize == node.size)) {
+                return;
+            }
+            node.height = newHeight;
+            node.size = newSize;
+            node = (AbstractBinaryNode) node.father;
+        }
+    }
+
+    private static int heightOf(IBinaryNode node) {
+        return (node == null) ? -1 : node.getHeight();
+    }
+
+    private static int sizeOf(IBinaryNode node) {
+        return (node == null) ? 0 : node.getSize();
+    }
 }
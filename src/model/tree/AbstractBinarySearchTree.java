@@ -21,6 +21,9 @@
 
 package model.tree;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 /**
  * This abstract class defines all the common attributes and methods of all
  * binary search trees. It has been implemented to be inherited by all binary
@@ -37,29 +40,130 @@ public abstract class AbstractBinarySearchTree extends AbstractBinaryTree
      * Returns true if the tree is a well formed binary search tree, or else
      * false. A well formed binary search tree is a tree for which each node has
      * a left child with a lesser key and a right child with a greater key.
+     * The tree is traversed with an explicit stack which grows as needed, so a
+     * degenerate tree of any depth can be checked without relying on the
+     * heights maintained by the nodes.
      * 
      * @param root the root node of the binary search tree
      * @return true if node is a well formed binary search tree, or else false
      */
     protected boolean isWellFormedBST(IBinarySearchNode root) {
-        if (root != null) {
-            if ((root.getLeft() == null) && (root.getRight() == null)) {
-                return true;
-            } else {
-                if (root.getLeft() == null) {
-                    return (root.getRight().getKey() >= root.getKey())
-                            && isWellFormedBST(root.getRight());
-                } else if (root.getRight() == null) {
-                    return (root.getLeft().getKey() <= root.getKey())
-                            && isWellFormedBST(root.getLeft());
-                } else {
-                    return (root.getLeft().getKey() <= root.getKey())
-                            && isWellFormedBST(root.getLeft())
-                            && (root.getRight().getKey() >= root.getKey())
-                            && isWellFormedBST(root.getRight());
+        if (root == null) {
+            return true;
+        }
+
+        Deque<IBinarySearchNode> stack = new ArrayDeque<IBinarySearchNode>();
+
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            IBinarySearchNode node = stack.pop();
+            IBinarySearchNode left = node.getLeft();
+            IBinarySearchNode right = node.getRight();
+
+            if (left != null) {
+                if (left.getKey() > node.getKey()) {
+                    return false;
                 }
+                stack.push(left);
+            }
+            if (right != null) {
+                if (right.getKey() < node.getKey()) {
+                    return false;
+                }
+                stack.push(right);
             }
         }
         return true;
     }
+
+    @Override
+    public final int rank(int key) {
+        return countKeys(key, false);
+    }
+
+    @Override
+    public final IBinarySearchNode select(int k) {
+        IBinarySearchNode node = getRoot();
+        int remainingRank = k;
+
+        if ((k < 0) || (k >= computeSize())) {
+            return null;
+        }
+        while (node != null) {
+            int leftSize = (node.getLeft() == null) ? 0 : node.getLeft().getSize();
+
+            if (remainingRank < leftSize) {
+                node = node.getLeft();
+            } else if (remainingRank == leftSize) {
+                return node;
+            } else {
+                remainingRank -= leftSize + 1;
+                node = node.getRight();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public final int countInRange(int low, int high) {
+        if (low > high) {
+            return 0;
+        }
+        return countKeys(high, true) - countKeys(low, false);
+    }
+
+    @Override
+    public final void rangeScan(int low, int high, IKeyConsumer consumer) {
+        IBinarySearchNode node = getRoot();
+        IBinarySearchNode first = null;
+
+        while (node != null) {
+            if (node.getKey() >= low) {
+                first = node;
+                node = node.getLeft();
+            } else {
+                node = node.getRight();
+            }
+        }
+        node = first;
+        while ((node != null) && (node.getKey() <= high) && (low <= high)) {
+            consumer.consumeKey(node.getKey());
+            node = successor(node);
+        }
+    }
+
+    private int countKeys(int key, boolean isKeyIncluded) {
+        IBinarySearchNode node = getRoot();
+        int count = 0;
+
+        while (node != null) {
+            if ((node.getKey() < key) || (isKeyIncluded && (node.getKey() == key))) {
+                count += ((node.getLeft() == null) ? 0 : node.getLeft().getSize()) + 1;
+                node = node.getRight();
+            } else {
+                node = node.getLeft();
+            }
+        }
+        return count;
+    }
+
+    private static IBinarySearchNode successor(IBinarySearchNode node) {
+        if (node.getRight() != null) {
+            IBinarySearchNode minimum = node.getRight();
+
+            while (minimum.getLeft() != null) {
+                minimum = minimum.getLeft();
+            }
+            return minimum;
+        } else {
+            IBinarySearchNode child = node;
+            IBinarySearchNode father = node.getFather();
+
+            while ((father != null) && (child == father.getRight())) {
+                child = father;
+                father = father.getFather();
+            }
+            return father;
+        }
+    }
 }
@@ -22,7 +22,10 @@
 package model.tree;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import model.tree.BinaryTreeChange.BinaryTreeChangeType;
+import model.tree.RedBlackNode.RedBlackNodeColor;
 
 /**
  * This abstract class defines all the common attributes and methods of all
@@ -46,7 +49,7 @@ public abstract class AbstractBinaryTree implements IBinaryTree {
      */
     public static enum BinaryTreeType {
         AVLTREE(AVLTree.class), BINARYSEARCHTREE(BinarySearchTree.class),
-        REDBLACKTREE(RedBlackTree.class);
+        REDBLACKTREE(RedBlackTree.class), SKIPLIST(SkipListTree.class);
 
         private Class<? extends IBinaryTree> classOfTheBinaryTree;
 
@@ -80,6 +83,8 @@ public abstract class AbstractBinaryTree implements IBinaryTree {
      */
     protected IBinaryNode root;
 
+    private List<BinaryTreeChange> recordedChanges;
+
     @Override
     public final String getType() {
         return type.toString();
@@ -87,7 +92,16 @@ public abstract class AbstractBinaryTree implements IBinaryTree {
 
     @Override
     public final int computeHeight() {
-        return recursiveComputeHeight(root);
+        IBinaryNode treeRoot = getRoot();
+
+        return (treeRoot == null) ? -1 : treeRoot.getHeight();
+    }
+
+    @Override
+    public final int computeSize() {
+        IBinaryNode treeRoot = getRoot();
+
+        return (treeRoot == null) ? 0 : treeRoot.getSize();
     }
 
     @Override
@@ -99,17 +113,66 @@ public abstract class AbstractBinaryTree implements IBinaryTree {
             heap.add(null);
         }
         if (heapLength > 0) {
-            recursiveBuildHeap(heap, 0, root);
+            recursiveBuildHeap(heap, 0, getRoot());
         }
         return heap;
     }
 
-    private int recursiveComputeHeight(IBinaryNode node) {
-        if (node == null) {
-            return -1;
-        } else {
-            return Math.max(recursiveComputeHeight(node.getLeft()),
-                    recursiveComputeHeight(node.getRight())) + 1;
+    @Override
+    public final BinaryTreeSnapshot buildSnapshotFromBinaryTree() {
+        return BinaryTreeSnapshot.buildSnapshot(getType(), getRoot(), 0);
+    }
+
+    @Override
+    public final void startRecordingChanges() {
+        recordedChanges = new ArrayList<BinaryTreeChange>();
+    }
+
+    @Override
+    public final List<BinaryTreeChange> stopRecordingChanges() {
+        List<BinaryTreeChange> changes = recordedChanges;
+
+        recordedChanges = null;
+        if (changes == null) {
+            return Collections.emptyList();
+        }
+        return changes;
+    }
+
+    @Override
+    public final void recordChange(BinaryTreeChangeType changeType, int key) {
+        if (recordedChanges != null) {
+            recordedChanges.add(new BinaryTreeChange(changeType, key, key, null));
+        }
+    }
+
+    @Override
+    public final void recordKeyReplacement(int oldKey, int newKey) {
+        if (recordedChanges != null) {
+            recordedChanges.add(new BinaryTreeChange(
+                    BinaryTreeChangeType.KEY_REPLACED, oldKey, newKey, null));
+        }
+    }
+
+    @Override
+    public final void recordTreeBuilt(int nbNodes) {
+        if (recordedChanges != null) {
+            recordedChanges.add(new BinaryTreeChange(nbNodes));
+        }
+    }
+
+    /**
+     * Records the change of the color of the node which key is {@code key}. It
+     * does nothing if the tree is not recording. This method is only used by
+     * colored trees.
+     *
+     * @param key the key of the node which color changes
+     * @param newColor the new color of the node
+     */
+    protected final void recordColorChange(int key, RedBlackNodeColor newColor) {
+        if (recordedChanges != null) {
+            recordedChanges.add(new BinaryTreeChange(
+                    BinaryTreeChangeType.COLOR_CHANGED, key, key, newColor));
         }
     }
 
@@ -62,7 +62,7 @@ public final class BinarySearchNode extends AbstractBinarySearchNode {
             throw new IllegalArgumentException(
                     "You have to pass a BinarySearchNode");
         }
-        right = newNode;
+        attachRight(newNode);
     }
 
     @Override
@@ -71,7 +71,7 @@ public final class BinarySearchNode extends AbstractBinarySearchNode {
             throw new IllegalArgumentException(
                     "You have to pass a BinarySearchNode");
         }
-        left = newNode;
+        attachLeft(newNode);
     }
 
     @Override
@@ -0,0 +1,459 @@
+/*
+ * BinaryTreeBatch.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import algorithm.tree.IBinaryTreeAlgorithmStrategy;
+import io.tree.TreeFiles;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.text.ParseException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import model.UnknownDataStructureException;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+
+/**
+ * This class applies workloads to a binary tree without graphic user
+ * interface, directly through the algorithm strategy of the tree, and measures
+ * the time spent by each command. Unlike <tt>BinaryTreeModel</tt>, it has no
+ * listener and does not record the changes of the tree, so it can be used on
+ * servers without display. A workload file contains one command per line :
+ * {@literal insert}, {@literal delete} or {@literal search} followed by one
+ * or several keys, {@literal random} followed by a number of random keys to
+ * insert, or {@literal validate} which checks the tree. The empty lines and
+ * the lines starting with {@literal #} are ignored. The keys of one line are
+ * inserted or deleted by one operation of the strategy. This class is not
+ * thread safe and is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see IBinaryTreeAlgorithmStrategy
+ */
+public final class BinaryTreeBatch {
+
+    /**
+     * Definition of the beginning of the comment lines of the workload files.
+     */
+    public static final String COMMENT_PREFIX = "#";
+
+    /**
+     * Definition of the commands of the workload files. The name of a command
+     * in a file is its name in lower case.
+     */
+    public enum BatchCommand {
+        INSERT, DELETE, SEARCH, RANDOM, VALIDATE
+    }
+
+    private final IBinarySearchTree binaryTree;
+
+    private final IBinaryTreeAlgorithmStrategy algorithmStrategy;
+
+    private final Map<BatchCommand, CommandStatistics> statistics =
+            new EnumMap<BatchCommand, CommandStatistics>(BatchCommand.class);
+
+    private Random random = new Random();
+
+    private long nbFoundKeys;
+
+    private long nbMissingKeys;
+
+    private int nbFailedValidations;
+
+    private static final class CommandStatistics {
+
+        private long nbCommands;
+
+        private long nbKeys;
+
+        private long totalTime;
+
+        private long maxTime;
+    }
+
+    /**
+     * Builds the batch with an empty binary tree of the type {@code type}.
+     *
+     * @param type the type of the binary tree
+     */
+    public BinaryTreeBatch(BinaryTreeType type) {
+        this(type.createBinaryTree());
+    }
+
+    /**
+     * Builds the batch with the binary tree contained in the file
+     * {@code file}. The file is read as a compact binary tree file if it has
+     * the compact extension, or else as a readable binary tree file.
+     *
+     * @param file the file containing the binary tree
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     * @throws UnknownDataStructureException
+     */
+    public BinaryTreeBatch(File file) throws FileNotFoundException,
+            ParseException, IOException, UnknownDataStructureException {
+        this(TreeFiles.load(file, null));
+    }
+
+    private BinaryTreeBatch(IBinaryTree tree) {
+        binaryTree = (IBinarySearchTree) tree;
+        algorithmStrategy = BinaryTreeModel.createAlgorithmStrategy(tree);
+    }
+
+    /**
+     * Enables or disables the fast path of the algorithm strategy.
+     *
+     * @param enabled true to enable the fast path, false to disable it
+     */
+    public void setFastPathEnabled(boolean enabled) {
+        algorithmStrategy.setFastPathEnabled(enabled);
+    }
+
+    /**
+     * Sets the seed of the random keys, so that the same workload always
+     * gives the same tree.
+     *
+     * @param seed the seed of the random keys
+     */
+    public void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Returns the type of the binary tree.
+     *
+     * @return the type of the binary tree
+     */
+    public String getType() {
+        return binaryTree.getType();
+    }
+
+    /**
+     * Returns the number of nodes of the binary tree.
+     *
+     * @return the number of nodes
+     */
+    public int getSize() {
+        return binaryTree.computeSize();
+    }
+
+    /**
+     * Returns the height of the binary tree.
+     *
+     * @return the height of the binary tree
+     */
+    public int getHeight() {
+        return binaryTree.computeHeight();
+    }
+
+    /**
+     * Inserts the keys {@code keys} into the binary tree.
+     *
+     * @param keys the keys to insert
+     */
+    public void insertKeys(int[] keys) {
+        long startTime = System.nanoTime();
+
+        algorithmStrategy.insertAll(keys);
+        record(BatchCommand.INSERT, keys.length, startTime);
+    }
+
+    /**
+     * Deletes one occurrence of each key of {@code keys} from the binary tree.
+     *
+     * @param keys the keys to delete
+     */
+    public void deleteKeys(int[] keys) {
+        long startTime = System.nanoTime();
+
+        algorithmStrategy.deleteAll(keys);
+        record(BatchCommand.DELETE, keys.length, startTime);
+    }
+
+    /**
+     * Searches the keys {@code keys} in the binary tree.
+     *
+     * @param keys the keys to search
+     * @return the number of keys found
+     */
+    public int searchKeys(int[] keys) {
+        long startTime = System.nanoTime();
+        int nbFound = 0;
+
+        for (int key : keys) {
+            if (binaryTree.countInRange(key, key) > 0) {
+                ++nbFound;
+            }
+        }
+        record(BatchCommand.SEARCH, keys.length, startTime);
+        nbFoundKeys += nbFound;
+        nbMissingKeys += keys.length - nbFound;
+        return nbFound;
+    }
+
+    /**
+     * Inserts {@code nbKeys} random keys into the binary tree. The keys are
+     * generated like the random nodes of <tt>BinaryTreeModel</tt>.
+     *
+     * @param nbKeys the number of keys to insert
+     */
+    public void insertRandomKeys(int nbKeys) {
+        int[] keys = BinaryTreeModel.createRandomKeys(nbKeys, random);
+        long startTime = System.nanoTime();
+
+        algorithmStrategy.insertAll(keys);
+        record(BatchCommand.RANDOM, keys.length, startTime);
+    }
+
+    /**
+     * Checks that the binary tree is well formed. The failed checks are
+     * counted in the statistics.
+     *
+     * @return true if the binary tree is well formed, or else false
+     */
+    public boolean validate() {
+        long startTime = System.nanoTime();
+        boolean isValid = binaryTree.isWellFormedTree();
+
+        record(BatchCommand.VALIDATE, 0, startTime);
+        if (!isValid) {
+            ++nbFailedValidations;
+        }
+        return isValid;
+    }
+
+    /**
+     * Applies the commands of the workload file {@code file} in the order of
+     * the file. The format of the file is defined in the description of the
+     * class.
+     *
+     * @param file the workload file
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     */
+    public void runWorkload(File file) throws FileNotFoundException,
+            IOException, ParseException {
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+
+        try {
+            runWorkload(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Applies the commands read from {@code reader} until its end. The
+     * commands before an invalid line are applied, and the offset of the
+     * ParseException is the number of the invalid line.
+     *
+     * @param reader the reader of the workload
+     * @throws IOException
+     * @throws ParseException
+     */
+    public void runWorkload(BufferedReader reader) throws IOException,
+            ParseException {
+        String line;
+        int lineNumber = 0;
+
+        while ((line = reader.readLine()) != null) {
+            String trimmedLine = line.trim();
+
+            ++lineNumber;
+            if (!trimmedLine.isEmpty() && !trimmedLine.startsWith(COMMENT_PREFIX)) {
+                runCommand(trimmedLine.split("\\s+"), lineNumber);
+            }
+        }
+    }
+
+    /**
+     * Saves the binary tree in the file {@code file}. The file is written as a
+     * compact binary tree file if it has the compact extension, or else as a
+     * readable binary tree file, which extension is added if it is missing.
+     *
+     * @param file the file in which the binary tree is saved
+     * @throws IOException
+     */
+    public void save(File file) throws IOException {
+        TreeFiles.save(binaryTree, file, null);
+    }
+
+    /**
+     * Returns the number of keys given to the command {@code command} so far.
+     *
+     * @param command the command
+     * @return the number of keys
+     */
+    public long getNbKeys(BatchCommand command) {
+        CommandStatistics commandStatistics = statistics.get(command);
+
+        return (commandStatistics == null) ? 0 : commandStatistics.nbKeys;
+    }
+
+    /**
+     * Returns the number of times the command {@code command} has been
+     * applied so far.
+     *
+     * @param command the command
+     * @return the number of commands
+     */
+    public long getNbCommands(BatchCommand command) {
+        CommandStatistics commandStatistics = statistics.get(command);
+
+        return (commandStatistics == null) ? 0 : commandStatistics.nbCommands;
+    }
+
+    /**
+     * Returns the time spent by the command {@code command} so far.
+     *
+     * @param command the command
+     * @return the time in nanoseconds
+     */
+    public long getTotalTime(BatchCommand command) {
+        CommandStatistics commandStatistics = statistics.get(command);
+
+        return (commandStatistics == null) ? 0 : commandStatistics.totalTime;
+    }
+
+    /**
+     * Returns the number of searched keys which have been found.
+     *
+     * @return the number of keys found
+     */
+    public long getNbFoundKeys() {
+        return nbFoundKeys;
+    }
+
+    /**
+     * Returns the number of searched keys which have not been found.
+     *
+     * @return the number of missing keys
+     */
+    public long getNbMissingKeys() {
+        return nbMissingKeys;
+    }
+
+    /**
+     * Returns the number of validations which have failed.
+     *
+     * @return the number of failed validations
+     */
+    public int getNbFailedValidations() {
+        return nbFailedValidations;
+    }
+
+    /**
+     * Writes the description of the binary tree and the statistics of each
+     * command applied so far to {@code out}.
+     *
+     * @param out the stream on which the statistics are written
+     */
+    public void writeStatistics(PrintStream out) {
+        out.println("Type : " + getType());
+        out.println("Fast path : " + (algorithmStrategy.isFastPathEnabled()
+                ? "enabled" : "disabled"));
+        out.println("Size : " + getSize());
+        out.println("Height : " + getHeight());
+        out.println("Found keys : " + nbFoundKeys + ", missing keys : "
+                + nbMissingKeys);
+        out.println("Failed validations : " + nbFailedValidations);
+        out.println(String.format("%-10s %10s %12s %14s %14s %14s", "Command",
+                "Commands", "Keys", "Total (ms)", "Max (ms)", "Keys/s"));
+        for (Map.Entry<BatchCommand, CommandStatistics> entry
+                : statistics.entrySet()) {
+            CommandStatistics commandStatistics = entry.getValue();
+            double keysPerSecond = (commandStatistics.totalTime == 0) ? 0
+                    : commandStatistics.nbKeys * 1e9 / commandStatistics.totalTime;
+
+            out.println(String.format("%-10s %10d %12d %14.3f %14.3f %14.0f",
+                    entry.getKey().toString().toLowerCase(),
+                    commandStatistics.nbCommands, commandStatistics.nbKeys,
+                    commandStatistics.totalTime / 1e6,
+                    commandStatistics.maxTime / 1e6, keysPerSecond));
+        }
+    }
+
+    private void runCommand(String[] tokens, int lineNumber)
+            throws ParseException {
+        BatchCommand command;
+        int[] arguments = new int[tokens.length - 1];
+
+        try {
+            command = BatchCommand.valueOf(tokens[0].toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ParseException("The command " + tokens[0] + " at line "
+                    + lineNumber + " is unknown", lineNumber);
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            try {
+                arguments[i] = Integer.parseInt(tokens[i + 1]);
+            } catch (NumberFormatException ex) {
+                throw new ParseException("The key " + tokens[i + 1]
+                        + " at line " + lineNumber + " is not an integer",
+                        lineNumber);
+            }
+        }
+        if (command == BatchCommand.VALIDATE) {
+            if (arguments.length != 0) {
+                throw new ParseException("The command validate at line "
+                        + lineNumber + " has no argument", lineNumber);
+            }
+            validate();
+        } else if (command == BatchCommand.RANDOM) {
+            if ((arguments.length != 1) || (arguments[0] < 0)) {
+                throw new ParseException("The command random at line "
+                        + lineNumber + " needs a positive number of keys",
+                        lineNumber);
+            }
+            insertRandomKeys(arguments[0]);
+        } else if (arguments.length == 0) {
+            throw new ParseException("The command " + tokens[0] + " at line "
+                    + lineNumber + " needs at least one key", lineNumber);
+        } else if (command == BatchCommand.INSERT) {
+            insertKeys(arguments);
+        } else if (command == BatchCommand.DELETE) {
+            deleteKeys(arguments);
+        } else {
+            searchKeys(arguments);
+        }
+    }
+
+    private void record(BatchCommand command, int nbKeys, long startTime) {
+        long time = System.nanoTime() - startTime;
+        CommandStatistics commandStatistics = statistics.get(command);
+
+        if (commandStatistics == null) {
+            commandStatistics = new CommandStatistics();
+            statistics.put(command, commandStatistics);
+        }
+        ++commandStatistics.nbCommands;
+        commandStatistics.nbKeys += nbKeys;
+        commandStatistics.totalTime += time;
+        commandStatistics.maxTime = Math.max(commandStatistics.maxTime, time);
+    }
+}
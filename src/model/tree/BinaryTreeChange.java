@@ -0,0 +1,166 @@
+/*
+ * BinaryTreeChange.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import model.tree.RedBlackNode.RedBlackNodeColor;
+
+/**
+ * This class defines an elementary change of a binary tree, like the insertion
+ * of a node or a rotation. The changes are recorded by the binary tree while
+ * the algorithms are applied, in the order in which they occur, and are then
+ * transmitted to the binary tree model listeners. The node concerned by a
+ * change is identified by its key at the time of the change, except for a tree
+ * built at once which is described by its number of nodes. This class is not
+ * designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see IBinaryTree
+ */
+public final class BinaryTreeChange {
+
+    /**
+     * Enumeration that defines the types of changes of binary trees.
+     *
+     * @author agent
+     * @version 0.10 18/10/26
+     */
+    public static enum BinaryTreeChangeType {
+        NODE_INSERTED, NODE_REMOVED, KEY_REPLACED, LEFT_ROTATION,
+        RIGHT_ROTATION, COLOR_CHANGED, TREE_BUILT;
+
+        /**
+         * Returns true if the change modifies the shape of the tree, or else
+         * false. Key replacements and color changes do not modify it.
+         *
+         * @return true if the change modifies the shape of the tree
+         */
+        public boolean isStructural() {
+            return (this != KEY_REPLACED) && (this != COLOR_CHANGED);
+        }
+    }
+
+    private final BinaryTreeChangeType type;
+
+    private final int key;
+
+    private final int newKey;
+
+    private final RedBlackNodeColor newColor;
+
+    private final int nbNodes;
+
+    /**
+     * Builds a change of binary tree. The parameter {@code newKey} is only
+     * meaningful for key replacements and {@code newColor} for color changes.
+     *
+     * @param t the type of the change
+     * @param k the key of the node concerned by the change
+     * @param nk the new key of the node
+     * @param nc the new color of the node
+     */
+    BinaryTreeChange(BinaryTreeChangeType t, int k, int nk, RedBlackNodeColor nc) {
+        type = t;
+        key = k;
+        newKey = nk;
+        newColor = nc;
+        nbNodes = 0;
+    }
+
+    /**
+     * Builds the change of a binary tree built at once with {@code n} nodes.
+     * Such a change concerns no particular node, so its key is 0.
+     *
+     * @param n the number of nodes of the built tree
+     */
+    BinaryTreeChange(int n) {
+        type = BinaryTreeChangeType.TREE_BUILT;
+        key = 0;
+        newKey = 0;
+        newColor = null;
+        nbNodes = n;
+    }
+
+    /**
+     * Returns the type of the change.
+     *
+     * @return the type of the change
+     */
+    public BinaryTreeChangeType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the key of the node concerned by the change. For a rotation, it
+     * is the key of the node at which the rotation is applied, that is to say
+     * the node that goes down. A tree built at once concerns no particular
+     * node, so its key is 0.
+     *
+     * @return the key of the node concerned by the change
+     */
+    public int getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the new key of the node in the case of a key replacement.
+     *
+     * @return the new key of the node
+     */
+    public int getNewKey() {
+        return newKey;
+    }
+
+    /**
+     * Returns the new color of the node in the case of a color change, or else
+     * null.
+     *
+     * @return the new color of the node or null
+     */
+    public RedBlackNodeColor getNewColor() {
+        return newColor;
+    }
+
+    /**
+     * Returns the number of nodes of the tree in the case of a tree built at
+     * once, or else 0.
+     *
+     * @return the number of nodes of the built tree or 0
+     */
+    public int getNbNodes() {
+        return nbNodes;
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case KEY_REPLACED:
+                return type + " " + key + " " + newKey;
+            case COLOR_CHANGED:
+                return type + " " + key + " " + newColor;
+            case TREE_BUILT:
+                return type + " " + nbNodes;
+            default:
+                return type + " " + key;
+        }
+    }
+}
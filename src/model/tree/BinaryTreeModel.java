@@ -25,13 +25,20 @@ import algorithm.tree.AVLTreeAlgorithmStrategy;
 import algorithm.tree.BinarySearchTreeAlgorithmStrategy;
 import algorithm.tree.IBinaryTreeAlgorithmStrategy;
 import algorithm.tree.RedBlackTreeAlgorithmStrategy;
+import algorithm.tree.SkipListAlgorithmStrategy;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.text.ParseException;
 import javax.swing.event.EventListenerList;
-import io.tree.TreeFile;
+import io.IProgressListener;
+import io.tree.TreeFiles;
+import io.tree.TreeJournal;
 import java.util.EventListener;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.WeakHashMap;
 import model.UnknownDataStructureException;
 import model.tree.AbstractBinaryTree.BinaryTreeType;
 
@@ -48,6 +55,12 @@ import model.tree.AbstractBinaryTree.BinaryTreeType;
  */
 public final class BinaryTreeModel implements IBinaryTreeModel {
 
+    private static final long MIN_RANDOM_KEY_BOUND = 100;
+
+    private static final long RANDOM_KEY_BOUND_FACTOR = 10;
+
+    private static final Random RANDOM = new Random();
+
     private IBinaryTree binaryTree;
 
     private IBinaryTreeAlgorithmStrategy algorithmStrategy;
@@ -58,6 +71,20 @@ public final class BinaryTreeModel implements IBinaryTreeModel {
     
     private boolean isBinaryTreeSaved;
 
+    private long version;
+
+    private BinaryTreeSnapshot snapshot;
+
+    private Map<BinaryTreeModelListener, Long> deliveredVersions;
+
+    private TreeJournal journal;
+
+    private int checkpointInterval;
+
+    private IOException journalFailure;
+
+    private IBinaryTreeModel eventSource;
+
     /**
      * Builds the binary tree model from a type of tree. This binary tree model
      * is not considered as saved.
@@ -67,16 +94,20 @@ public final class BinaryTreeModel implements IBinaryTreeModel {
     public BinaryTreeModel(BinaryTreeType type) {
         binaryTree = type.createBinaryTree();
         listeners = new EventListenerList();
+        deliveredVersions = new WeakHashMap<BinaryTreeModelListener, Long>();
         modelfilePath = "";
         isBinaryTreeSaved = false;
+        eventSource = this;
 
         setBinaryTreeAlgorithmStrategy();
     }
 
     /**
      * Builds the binary tree model from a file containing a binary tree. This
-     * binary tree model is considered as saved. The different exceptions that
-     * could be thrown must be translated until the graphic user interface.
+     * binary tree model is considered as saved. The file is read as a compact
+     * binary tree file if it has the compact extension, or else as a readable
+     * binary tree file. The different exceptions that could be thrown must be
+     * translated until the graphic user interface.
      * 
      * @param file the file containing the binary tree
      * @throws FileNotFoundException
@@ -86,28 +117,181 @@ public final class BinaryTreeModel implements IBinaryTreeModel {
      */
     public BinaryTreeModel(File file) throws FileNotFoundException,
             ParseException, IOException, UnknownDataStructureException {
-        binaryTree = TreeFile.load(file.getAbsolutePath());
+        this(file, null);
+    }
+
+    /**
+     * Builds the binary tree model from a file containing a binary tree, like
+     * {@code BinaryTreeModel(File file)}, reporting the progress of the loading
+     * to {@code listener}. The model does not depend on the view, so it can be
+     * built by any thread.
+     *
+     * @param file the file containing the binary tree
+     * @param listener the listener of the progress, it may be null
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     * @throws UnknownDataStructureException
+     */
+    public BinaryTreeModel(File file, IProgressListener listener)
+            throws FileNotFoundException, ParseException, IOException,
+            UnknownDataStructureException {
+        binaryTree = TreeFiles.load(file, listener);
         listeners = new EventListenerList();
+        deliveredVersions = new WeakHashMap<BinaryTreeModelListener, Long>();
         modelfilePath = file.getAbsolutePath();
         isBinaryTreeSaved = true;
+        eventSource = this;
 
         setBinaryTreeAlgorithmStrategy();
     }
 
+    /**
+     * Recovers the binary tree model from a file containing a binary tree and
+     * from its journal, that is to say loads the binary tree and replays the
+     * operations recorded in the journal since the last checkpoint. If there
+     * is no journal or if the journal is older than the file, the model is
+     * only loaded from the file. The model is considered as saved only if
+     * nothing has been replayed.
+     *
+     * @param file the file containing the binary tree
+     * @return the recovered binary tree model
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     * @throws UnknownDataStructureException
+     * @see TreeJournal
+     */
+    public static BinaryTreeModel recover(File file)
+            throws FileNotFoundException, ParseException, IOException,
+            UnknownDataStructureException {
+        BinaryTreeModel model = new BinaryTreeModel(file);
+
+        if (TreeJournal.replay(file.getAbsolutePath(),
+                model.algorithmStrategy) > 0) {
+            model.isBinaryTreeSaved = false;
+        }
+        return model;
+    }
+
+    /**
+     * Starts the journal mode. The binary tree is saved into {@code file} in
+     * the format given by its extension, and then each insertion or deletion
+     * is appended to the journal of this file before the listeners are
+     * notified, so that the binary tree can be recovered after a crash with
+     * {@code recover(File file)}. Every {@code interval} operations, the
+     * binary tree is saved again into {@code file} and the journal is
+     * emptied. If the journal mode was already started, it is restarted.
+     *
+     * @param file the file where to save the binary tree
+     * @param interval the number of operations between two checkpoints
+     * @throws IllegalArgumentException
+     * @throws IOException
+     */
+    public void startJournal(File file, int interval)
+            throws IllegalArgumentException, IOException {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("You have to pass a positive" +
+                    " interval between checkpoints");
+        }
+        stopJournal();
+        journal = TreeJournal.open(binaryTree, file.getAbsolutePath());
+        checkpointInterval = interval;
+        modelfilePath = file.getAbsolutePath();
+        isBinaryTreeSaved = true;
+    }
+
+    /**
+     * Saves the binary tree into the file of the journal and empties the
+     * journal. If an operation could not be appended to the journal since the
+     * last checkpoint, the journal mode has been stopped and the exception is
+     * thrown now.
+     *
+     * @throws IllegalStateException
+     * @throws IOException
+     */
+    public void checkpoint() throws IllegalStateException, IOException {
+        throwJournalFailure();
+        if (journal == null) {
+            throw new IllegalStateException("The journal mode is not started");
+        }
+        journal.checkpoint(binaryTree);
+        isBinaryTreeSaved = true;
+    }
+
+    /**
+     * Stops the journal mode. The journal is kept on the disk, so the binary
+     * tree can still be recovered. If an operation could not be appended to
+     * the journal, the exception is thrown now.
+     *
+     * @throws IOException
+     */
+    public void stopJournal() throws IOException {
+        TreeJournal closedJournal = journal;
+
+        journal = null;
+        if (closedJournal != null) {
+            closedJournal.close();
+        }
+        throwJournalFailure();
+    }
+
+    /**
+     * Returns true if the journal mode is started, or else false.
+     *
+     * @return true if the journal mode is started, or else false
+     */
+    public boolean isJournalStarted() {
+        return journal != null;
+    }
+
     /**
      * Sets the binary tree algorithm strategy in order to call the algorithms
      * corresponding to the type of the binary tree.
      */
     public void setBinaryTreeAlgorithmStrategy() {
-        if (binaryTree instanceof AVLTree) {
-            algorithmStrategy = new AVLTreeAlgorithmStrategy((AVLTree) binaryTree);
-        } else if (binaryTree instanceof RedBlackTree) {
-            algorithmStrategy = new RedBlackTreeAlgorithmStrategy((RedBlackTree) binaryTree);
+        algorithmStrategy = createAlgorithmStrategy(binaryTree);
+    }
+
+    /**
+     * Creates the binary tree algorithm strategy corresponding to the type of
+     * the binary tree {@code tree}.
+     *
+     * @param tree the binary tree on which algorithms are applied
+     * @return the algorithm strategy of the binary tree
+     */
+    static IBinaryTreeAlgorithmStrategy createAlgorithmStrategy(IBinaryTree tree) {
+        if (tree instanceof AVLTree) {
+            return new AVLTreeAlgorithmStrategy((AVLTree) tree);
+        } else if (tree instanceof RedBlackTree) {
+            return new RedBlackTreeAlgorithmStrategy((RedBlackTree) tree);
+        } else if (tree instanceof SkipListTree) {
+            return new SkipListAlgorithmStrategy((SkipListTree) tree);
         } else {
-        	algorithmStrategy = new BinarySearchTreeAlgorithmStrategy((BinarySearchTree) binaryTree);
+            return new BinarySearchTreeAlgorithmStrategy((BinarySearchTree) tree);
         }
     }
 
+    /**
+     * Creates {@code nbNode} random keys. The keys are between 0 and ten times
+     * the number of keys, so that a few of them are duplicated.
+     *
+     * @param nbNode the number of keys
+     * @param random the generator of the keys
+     * @return the random keys
+     */
+    static int[] createRandomKeys(int nbNode, Random random) {
+        int[] keys = new int[Math.max(nbNode, 0)];
+        long keyBound = Math.min(Math.max(MIN_RANDOM_KEY_BOUND,
+                RANDOM_KEY_BOUND_FACTOR * (long) nbNode),
+                (long) Integer.MAX_VALUE + 1);
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (int) (random.nextDouble() * keyBound);
+        }
+        return keys;
+    }
+
     @Override
     public String getDataStructureType() {
         return binaryTree.getType();
@@ -129,14 +313,14 @@ public final class BinaryTreeModel implements IBinaryTreeModel {
 
     @Override
     public void saveDataStructure(File file) throws IOException {
-        String path = file.getAbsolutePath();
+        saveDataStructure(file, null);
+    }
 
-        if (path.endsWith("." + TreeFile.FILE_EXTENSION)) {
-            TreeFile.save(binaryTree, path);
-        } else {
-            TreeFile.save(binaryTree, path.concat("." + TreeFile.FILE_EXTENSION));
-        }
-        modelfilePath = path;
+    @Override
+    public void saveDataStructure(File file, IProgressListener listener)
+            throws IOException {
+        TreeFiles.save(binaryTree, file, listener);
+        modelfilePath = file.getAbsolutePath();
         isBinaryTreeSaved = true;
     }
 
@@ -149,8 +333,9 @@ public final class BinaryTreeModel implements IBinaryTreeModel {
         BinaryTreeModelListener binaryTreeModelListener = (BinaryTreeModelListener)listener;
 
         listeners.add(BinaryTreeModelListener.class, binaryTreeModelListener);
-        binaryTreeModelListener.binaryTreeHasChanged(new BinaryTreeModelEvent(this,
-                    binaryTree.buildHeapFromBinaryTree()));
+        deliveredVersions.put(binaryTreeModelListener, version);
+        binaryTreeModelListener.binaryTreeHasChanged(new BinaryTreeModelEvent(
+                eventSource, eventSource.getSnapshotOfBinaryTree()));
     }
 
     @Override
@@ -159,43 +344,192 @@ public final class BinaryTreeModel implements IBinaryTreeModel {
             throw new IllegalArgumentException("You have to pass a BinaryTreeModelListener");
         }
         listeners.remove(BinaryTreeModelListener.class, (BinaryTreeModelListener)listener);
+        deliveredVersions.remove(listener);
     }
 
     @Override
     public void insertRandomNodes(int nbNode) {
-        for (int i = 0; i < nbNode; i++) {
-            int key = (int) Math.round(Math.random() * 99);
-            
-            algorithmStrategy.insertNode(key);
-        }
         if (nbNode > 0) {
-        updateListeners();
-        isBinaryTreeSaved = false;
+            insertAll(createRandomKeys(nbNode, RANDOM));
         }
     }
 
     @Override
     public void insertNode(int key) throws IllegalArgumentException {
-        algorithmStrategy.insertNode(key);
-        
-        updateListeners();
-        isBinaryTreeSaved = false;
+        List<BinaryTreeChange> changes;
+
+        binaryTree.startRecordingChanges();
+        try {
+            algorithmStrategy.insertNode(key);
+        } finally {
+            changes = binaryTree.stopRecordingChanges();
+        }
+        updateVersion(changes);
+        if (journal != null) {
+            try {
+                journal.appendInsertion(key);
+                checkpointIfNeeded();
+            } catch (IOException ex) {
+                stopJournal(ex);
+            }
+        }
+        updateListeners(changes);
     }
 
     @Override
     public void deleteNode(int key) {
-        algorithmStrategy.deleteNode(key);
+        List<BinaryTreeChange> changes;
 
-        updateListeners();
-        isBinaryTreeSaved = false;
+        binaryTree.startRecordingChanges();
+        try {
+            algorithmStrategy.deleteNode(key);
+        } finally {
+            changes = binaryTree.stopRecordingChanges();
+        }
+        updateVersion(changes);
+        if (journal != null) {
+            try {
+                journal.appendDeletion(key);
+                checkpointIfNeeded();
+            } catch (IOException ex) {
+                stopJournal(ex);
+            }
+        }
+        updateListeners(changes);
+    }
+
+    @Override
+    public void insertAll(int[] keys) {
+        List<BinaryTreeChange> changes;
+
+        binaryTree.startRecordingChanges();
+        try {
+            algorithmStrategy.insertAll(keys);
+        } finally {
+            changes = binaryTree.stopRecordingChanges();
+        }
+        updateVersion(changes);
+        if (journal != null) {
+            try {
+                journal.appendInsertions(keys);
+                checkpointIfNeeded();
+            } catch (IOException ex) {
+                stopJournal(ex);
+            }
+        }
+        updateListeners(changes);
+    }
+
+    @Override
+    public void deleteAll(int[] keys) {
+        List<BinaryTreeChange> changes;
+
+        binaryTree.startRecordingChanges();
+        try {
+            algorithmStrategy.deleteAll(keys);
+        } finally {
+            changes = binaryTree.stopRecordingChanges();
+        }
+        updateVersion(changes);
+        if (journal != null) {
+            try {
+                journal.appendDeletions(keys);
+                checkpointIfNeeded();
+            } catch (IOException ex) {
+                stopJournal(ex);
+            }
+        }
+        updateListeners(changes);
     }
 
-    private void updateListeners() {
-        BinaryTreeModelListener[] listenerTab =
-                listeners.getListeners(BinaryTreeModelListener.class);
-        for (BinaryTreeModelListener listener : listenerTab) {
-            listener.binaryTreeHasChanged(new BinaryTreeModelEvent(this,
-                    binaryTree.buildHeapFromBinaryTree()));
+    private void checkpointIfNeeded() throws IOException {
+        if (journal.getRecordCount() >= checkpointInterval) {
+            journal.checkpoint(binaryTree);
+            isBinaryTreeSaved = true;
+        }
+    }
+
+    private void stopJournal(IOException failure) {
+        try {
+            journal.close();
+        } catch (IOException ex) {
+            failure.addSuppressed(ex);
+        }
+        journal = null;
+        journalFailure = failure;
+    }
+
+    private void throwJournalFailure() throws IOException {
+        IOException failure = journalFailure;
+
+        journalFailure = null;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public BinaryTreeSnapshot getSnapshotOfBinaryTree() {
+        if ((snapshot == null) || (snapshot.getVersion() != version)) {
+            snapshot = BinaryTreeSnapshot.buildSnapshot(binaryTree.getType(),
+                    binaryTree.getRoot(), version);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the version of the binary tree. The version is incremented each
+     * time the binary tree is modified.
+     *
+     * @return the version of the binary tree
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the binary tree of the model.
+     *
+     * @return the binary tree of the model
+     */
+    IBinaryTree getBinaryTree() {
+        return binaryTree;
+    }
+
+    /**
+     * Sets the model that is given as source of the events sent to the
+     * listeners, and thus asked for the snapshots of the binary tree. By
+     * default, it is this model.
+     *
+     * @param source the source of the binary tree model events
+     */
+    void setEventSource(IBinaryTreeModel source) {
+        eventSource = source;
+    }
+
+    private void updateVersion(List<BinaryTreeChange> changes) {
+        if (!changes.isEmpty()) {
+            ++version;
+            isBinaryTreeSaved = false;
+        }
+    }
+
+    private void updateListeners(List<BinaryTreeChange> changes) {
+        if (!changes.isEmpty()) {
+            long eventVersion = version;
+            BinaryTreeModelListener[] listenerTab =
+                    listeners.getListeners(BinaryTreeModelListener.class);
+            BinaryTreeModelEvent event = new BinaryTreeModelEvent(eventSource,
+                    eventVersion, changes);
+
+            for (BinaryTreeModelListener listener : listenerTab) {
+                Long deliveredVersion = deliveredVersions.get(listener);
+
+                if ((deliveredVersion == null) || (deliveredVersion < eventVersion)) {
+                    deliveredVersions.put(listener, eventVersion);
+                    listener.binaryTreeHasChanged(event);
+                }
+            }
         }
     }
 }
@@ -21,42 +21,164 @@
 
 package model.tree;
 
+import java.util.Collections;
 import java.util.EventObject;
 import java.util.List;
 
 /**
  * This class defines the binary tree model event. This event is used to
- * transmit the binary tree of the model to binary tree model listeners. In
- * order to do so, the binary tree of the model is transmit as a heap. It is not
+ * transmit the modifications of the binary tree of the model to binary tree
+ * model listeners. The event contains the list of the elementary changes that
+ * have been applied to the binary tree, like insertions, rotations or color
+ * flips, so that listeners can update only what has changed. The whole binary
+ * tree is also available as a sparse snapshot. The model builds at most one
+ * snapshot per version of the tree and the same event is sent to all the
+ * listeners, so the snapshot is shared. An event without changes list is a full
+ * update, for instance when a listener is added to the model. It is not
  * designed for inheritance.
  * 
  * @author Julien Hannier
  * @version 0.10 16/06/08
+ * @see BinaryTreeChange
+ * @see BinaryTreeSnapshot
  */
 public final class BinaryTreeModelEvent extends EventObject {
 
     private static final long serialVersionUID = 1L;
 
-    private List<IBinaryNode> heapCorrespondingToBinaryTree;
+    private long version;
+
+    private BinaryTreeSnapshot snapshotOfBinaryTree;
+
+    private List<BinaryTreeChange> changes;
+
+    private PersistentBinarySearchTree persistentTree;
 
     /**
-     * Builds a binary tree model event. This event has a parameter {@code heap}
-     * that is the heap corresponding to the binary tree of the model.
+     * Builds a binary tree model event that is a full update. This event has a
+     * parameter {@code snapshot} that is the snapshot of the binary tree of the
+     * model.
      * 
      * @param source the source of the binary tree model event
-     * @param heap the heap corresponding to the binary tree
+     * @param snapshot the snapshot of the binary tree
+     */
+    public BinaryTreeModelEvent(Object source, BinaryTreeSnapshot snapshot) {
+        super(source);
+        version = snapshot.getVersion();
+        snapshotOfBinaryTree = snapshot;
+        changes = null;
+    }
+
+    /**
+     * Builds a binary tree model event that is a full update transmitting the
+     * version {@code tree} of a persistent binary search tree. The snapshot of
+     * this version is built the first time it is needed, and it can be done
+     * by any thread since the version is immutable.
+     *
+     * @param source the source of the binary tree model event
+     * @param tree the version of the persistent binary search tree
      */
-    public BinaryTreeModelEvent(Object source, List<IBinaryNode> heap) {
+    public BinaryTreeModelEvent(IBinaryTreeModel source,
+            PersistentBinarySearchTree tree) {
         super(source);
-        heapCorrespondingToBinaryTree = heap;
+        version = tree.getVersion();
+        persistentTree = tree;
+        changes = null;
+    }
+
+    /**
+     * Builds a binary tree model event that describes the changes
+     * {@code changeList} that lead the binary tree of the model {@code source}
+     * to the version {@code v}. The snapshot of the tree is asked to the model
+     * the first time it is needed.
+     * 
+     * @param source the binary tree model that is the source of the event
+     * @param v the version of the binary tree after the changes
+     * @param changeList the changes applied to the binary tree
+     */
+    public BinaryTreeModelEvent(IBinaryTreeModel source, long v,
+            List<BinaryTreeChange> changeList) {
+        super(source);
+        version = v;
+        changes = Collections.unmodifiableList(changeList);
+    }
+
+    /**
+     * Returns the version of the binary tree transmitted by this event.
+     *
+     * @return the version of the binary tree
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns true if the event is a full update, that is to say if the
+     * listeners have to rebuild everything from the snapshot, or else false.
+     *
+     * @return true if the event is a full update, or else false
+     */
+    public boolean isFullUpdate() {
+        return changes == null;
+    }
+
+    /**
+     * Returns the changes applied to the binary tree, in the order in which
+     * they occurred. The list is empty for a full update.
+     *
+     * @return the changes applied to the binary tree
+     */
+    public List<BinaryTreeChange> getChanges() {
+        if (changes == null) {
+            return Collections.emptyList();
+        }
+        return changes;
+    }
+
+    /**
+     * Returns true if at least one of the changes modifies the shape of the
+     * tree, or if the event is a full update.
+     *
+     * @return true if the shape of the tree may have changed, or else false
+     */
+    public boolean hasStructuralChange() {
+        if (changes == null) {
+            return true;
+        }
+        for (BinaryTreeChange change : changes) {
+            if (change.getType().isStructural()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the version of the persistent binary search tree transmitted by
+     * this event, or null if the model is not persistent.
+     *
+     * @return the version of the persistent binary search tree or null
+     */
+    public PersistentBinarySearchTree getPersistentTree() {
+        return persistentTree;
     }
 
     /**
-     * Returns the heap corresponding to the binary tree of the model.
+     * Returns the snapshot of the binary tree of the model. For an event
+     * describing changes, the snapshot is asked to the model the first time
+     * this method is called, so it has to be called while the event is
+     * handled. Its version may then be greater than the version of the event
+     * if the tree has been modified in the meantime.
      * 
-     * @return the heap corresponding to the binary tree
+     * @return the snapshot of the binary tree
      */
-    public List<IBinaryNode> getHeapCorrespondingToBinaryTree() {
-        return heapCorrespondingToBinaryTree;
+    public BinaryTreeSnapshot getSnapshotOfBinaryTree() {
+        if ((snapshotOfBinaryTree == null) && (persistentTree != null)) {
+            snapshotOfBinaryTree = persistentTree.getSnapshot();
+        } else if (snapshotOfBinaryTree == null) {
+            snapshotOfBinaryTree = ((IBinaryTreeModel) getSource())
+                    .getSnapshotOfBinaryTree();
+        }
+        return snapshotOfBinaryTree;
     }
 }
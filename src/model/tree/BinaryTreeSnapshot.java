@@ -0,0 +1,370 @@
+/*
+ * BinaryTreeSnapshot.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import model.tree.RedBlackNode.RedBlackNodeColor;
+
+/**
+ * This class defines a sparse snapshot of a binary tree. Contrary to the heap
+ * built by {@code List<IBinaryNode> buildHeapFromBinaryTree()}, which needs
+ * {@literal 2^(h+1) - 1} cells for a tree of height h, the snapshot only stores
+ * the present nodes in parallel primitive arrays. Its size is thus linear in
+ * the number of nodes whatever the shape of the tree. The nodes are numbered in
+ * breadth first order, the root having the number 0, that is to say the same
+ * numbering as the one of the binary tree files. An absent child or father is
+ * indicated by {@code NIL}. A snapshot is immutable, so it can be shared by
+ * all the listeners of a model. It has a version number that is the version of
+ * the model at the time it was built. This class is not designed for
+ * inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see IBinaryTree
+ */
+public final class BinaryTreeSnapshot {
+
+    /**
+     * Definition of the number used for absent nodes.
+     */
+    public static final int NIL = -1;
+
+    private static final byte NO_COLOR = 0;
+
+    private static final byte RED_COLOR = 1;
+
+    private static final byte BLACK_COLOR = 2;
+
+    private final String treeType;
+
+    private final int size;
+
+    private final int height;
+
+    private final long version;
+
+    private final int[] keys;
+
+    private final int[] leftChildren;
+
+    private final int[] rightChildren;
+
+    private final int[] fathers;
+
+    private final int[] depths;
+
+    private final byte[] colors;
+
+    private BinaryTreeSnapshot(String type, long v, int nbNodes, int[] k,
+            int[] l, int[] r, int[] f, int[] d, byte[] c, int h) {
+        treeType = type;
+        version = v;
+        size = nbNodes;
+        keys = k;
+        leftChildren = l;
+        rightChildren = r;
+        fathers = f;
+        depths = d;
+        colors = c;
+        height = h;
+    }
+
+    /**
+     * Builds the snapshot of the binary tree which type is {@code type} and
+     * which root is {@code root}. The tree is traversed iteratively in breadth
+     * first order, so the depth of the tree does not matter.
+     *
+     * @param type the type of the binary tree
+     * @param root the root of the binary tree, it may be null
+     * @param version the version of the binary tree
+     * @return the snapshot of the binary tree
+     */
+    static BinaryTreeSnapshot buildSnapshot(String type, IBinaryNode root,
+            long version) {
+        List<IBinaryNode> nodes = new ArrayList<IBinaryNode>();
+
+        if (root != null) {
+            nodes.add(root);
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            IBinaryNode node = nodes.get(i);
+
+            if (node.getLeft() != null) {
+                nodes.add(node.getLeft());
+            }
+            if (node.getRight() != null) {
+                nodes.add(node.getRight());
+            }
+        }
+
+        int nbNodes = nodes.size();
+        int[] k = new int[nbNodes];
+        boolean[] hasLeft = new boolean[nbNodes];
+        boolean[] hasRight = new boolean[nbNodes];
+        byte[] c = new byte[nbNodes];
+
+        for (int i = 0; i < nbNodes; i++) {
+            IBinaryNode node = nodes.get(i);
+
+            k[i] = node.getKey();
+            hasLeft[i] = node.getLeft() != null;
+            hasRight[i] = node.getRight() != null;
+            if (node instanceof IRedBlackNode) {
+                c[i] = ((IRedBlackNode) node).isRed() ? RED_COLOR : BLACK_COLOR;
+            } else {
+                c[i] = NO_COLOR;
+            }
+        }
+        return buildSnapshot(type, version, k, hasLeft, hasRight, c);
+    }
+
+    /**
+     * Builds the snapshot of the persistent binary search tree which type is
+     * {@code type} and which root is {@code root}. The nodes are colored if
+     * {@code isColored} is true.
+     *
+     * @param type the type of the binary tree
+     * @param root the root of the persistent binary search tree, it may be null
+     * @param isColored true if the nodes are colored, or else false
+     * @param version the version of the binary tree
+     * @return the snapshot of the binary tree
+     */
+    static BinaryTreeSnapshot buildSnapshot(String type,
+            PersistentBinarySearchTree.Node root, boolean isColored,
+            long version) {
+        List<PersistentBinarySearchTree.Node> nodes =
+                new ArrayList<PersistentBinarySearchTree.Node>();
+
+        if (root != null) {
+            nodes.add(root);
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            PersistentBinarySearchTree.Node node = nodes.get(i);
+
+            if (node.left != null) {
+                nodes.add(node.left);
+            }
+            if (node.right != null) {
+                nodes.add(node.right);
+            }
+        }
+
+        int nbNodes = nodes.size();
+        int[] k = new int[nbNodes];
+        boolean[] hasLeft = new boolean[nbNodes];
+        boolean[] hasRight = new boolean[nbNodes];
+        byte[] c = new byte[nbNodes];
+
+        for (int i = 0; i < nbNodes; i++) {
+            PersistentBinarySearchTree.Node node = nodes.get(i);
+
+            k[i] = node.key;
+            hasLeft[i] = node.left != null;
+            hasRight[i] = node.right != null;
+            if (isColored) {
+                c[i] = node.isRed ? RED_COLOR : BLACK_COLOR;
+            } else {
+                c[i] = NO_COLOR;
+            }
+        }
+        return buildSnapshot(type, version, k, hasLeft, hasRight, c);
+    }
+
+    private static BinaryTreeSnapshot buildSnapshot(String type, long version,
+            int[] k, boolean[] hasLeft, boolean[] hasRight, byte[] c) {
+        int nbNodes = k.length;
+        int[] l = new int[nbNodes];
+        int[] r = new int[nbNodes];
+        int[] f = new int[nbNodes];
+        int[] d = new int[nbNodes];
+        int nextNodeNumber = 1;
+        int h = -1;
+
+        for (int i = 0; i < nbNodes; i++) {
+            if (i == 0) {
+                f[i] = NIL;
+                d[i] = 0;
+            }
+            if (hasLeft[i]) {
+                l[i] = nextNodeNumber;
+                f[nextNodeNumber] = i;
+                d[nextNodeNumber] = d[i] + 1;
+                ++nextNodeNumber;
+            } else {
+                l[i] = NIL;
+            }
+            if (hasRight[i]) {
+                r[i] = nextNodeNumber;
+                f[nextNodeNumber] = i;
+                d[nextNodeNumber] = d[i] + 1;
+                ++nextNodeNumber;
+            } else {
+                r[i] = NIL;
+            }
+            h = Math.max(h, d[i]);
+        }
+
+        return new BinaryTreeSnapshot(type, version, nbNodes, k, l, r, f, d, c, h);
+    }
+
+    /**
+     * Returns the type of the binary tree from which the snapshot was built.
+     *
+     * @return the type of the binary tree
+     */
+    public String getTreeType() {
+        return treeType;
+    }
+
+    /**
+     * Returns the version of the binary tree from which the snapshot was built.
+     * A snapshot that is not built by a model has the version 0.
+     *
+     * @return the version of the binary tree
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of nodes of the snapshot.
+     *
+     * @return the number of nodes
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns true if the snapshot does not contain any node, or else false.
+     *
+     * @return true if the snapshot is empty, or else false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the height of the binary tree, that is to say -1 for an empty
+     * tree.
+     *
+     * @return the height of the binary tree
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the key of the node which number is {@code node}.
+     *
+     * @param node the number of the node
+     * @return the key of the node
+     */
+    public int getKey(int node) {
+        return keys[node];
+    }
+
+    /**
+     * Returns the number of the left child of the node which number is
+     * {@code node}, or {@code NIL} if there is no left child.
+     *
+     * @param node the number of the node
+     * @return the number of the left child or {@code NIL}
+     */
+    public int getLeft(int node) {
+        return leftChildren[node];
+    }
+
+    /**
+     * Returns the number of the right child of the node which number is
+     * {@code node}, or {@code NIL} if there is no right child.
+     *
+     * @param node the number of the node
+     * @return the number of the right child or {@code NIL}
+     */
+    public int getRight(int node) {
+        return rightChildren[node];
+    }
+
+    /**
+     * Returns the number of the father of the node which number is
+     * {@code node}, or {@code NIL} for the root.
+     *
+     * @param node the number of the node
+     * @return the number of the father or {@code NIL}
+     */
+    public int getFather(int node) {
+        return fathers[node];
+    }
+
+    /**
+     * Returns the depth of the node which number is {@code node}. The root has
+     * the depth 0.
+     *
+     * @param node the number of the node
+     * @return the depth of the node
+     */
+    public int getDepth(int node) {
+        return depths[node];
+    }
+
+    /**
+     * Returns true if the node which number is {@code node} is colored, that
+     * is to say if the snapshot comes from a red black tree.
+     *
+     * @param node the number of the node
+     * @return true if the node is colored, or else false
+     */
+    public boolean isColored(int node) {
+        return colors[node] != NO_COLOR;
+    }
+
+    /**
+     * Returns the color of the node which number is {@code node}, or null if
+     * the node is not colored.
+     *
+     * @param node the number of the node
+     * @return the color of the node or null
+     */
+    public RedBlackNodeColor getColor(int node) {
+        switch (colors[node]) {
+            case RED_COLOR:
+                return RedBlackNodeColor.RED;
+            case BLACK_COLOR:
+                return RedBlackNodeColor.BLACK;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns true if the node which number is {@code node} is red, or else
+     * false.
+     *
+     * @param node the number of the node
+     * @return true if the node is red, or else false
+     */
+    public boolean isRed(int node) {
+        return colors[node] == RED_COLOR;
+    }
+}
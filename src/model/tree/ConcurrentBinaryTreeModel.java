@@ -0,0 +1,477 @@
+/*
+ * ConcurrentBinaryTreeModel.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import io.IProgressListener;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EventListener;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.swing.event.EventListenerList;
+
+/**
+ * This class defines a binary tree model that can be used by several threads
+ * at the same time. It wraps a binary tree model and protects it with a read
+ * write lock: the modifications of the binary tree are applied one at a time
+ * under the write lock, whereas the queries like {@code boolean
+ * containsKey(int key)} are done under the read lock by as many threads as
+ * needed. The last snapshot of the binary tree is published with the version
+ * of the model, so a query or a snapshot request made while the binary tree
+ * has not changed since the last snapshot does not take the lock at all and
+ * is not blocked by a writer. The listeners are notified by the thread that
+ * modifies the binary tree once it has released the write lock, so that a
+ * listener can wait for a thread which reads this model, like the event
+ * dispatch thread, without any deadlock. The events are captured under the
+ * write lock and have this model as source. Since the writers notify the
+ * listeners concurrently, an event older than the last one delivered to a
+ * listener is not delivered to it. This class is not designed for
+ * inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see BinaryTreeModel
+ */
+public final class ConcurrentBinaryTreeModel implements IBinaryTreeModel {
+
+    private final BinaryTreeModel model;
+
+    private final ReentrantReadWriteLock lock;
+
+    private final Lock readLock;
+
+    private final Lock writeLock;
+
+    private volatile long publishedVersion;
+
+    private volatile BinaryTreeSnapshot snapshot;
+
+    private final EventListenerList listeners;
+
+    private final Map<BinaryTreeModelListener, Long> deliveredVersions;
+
+    private List<BinaryTreeModelEvent> capturedEvents;
+
+    /**
+     * Builds the concurrent binary tree model wrapping {@code binaryTreeModel}.
+     * The wrapped model must not be used directly any more.
+     *
+     * @param binaryTreeModel the binary tree model to protect
+     */
+    public ConcurrentBinaryTreeModel(BinaryTreeModel binaryTreeModel) {
+        model = binaryTreeModel;
+        lock = new ReentrantReadWriteLock();
+        readLock = lock.readLock();
+        writeLock = lock.writeLock();
+        publishedVersion = model.getVersion();
+        listeners = new EventListenerList();
+        deliveredVersions = new WeakHashMap<BinaryTreeModelListener, Long>();
+        capturedEvents = new ArrayList<BinaryTreeModelEvent>();
+        model.setEventSource(this);
+        model.addModelListener(new BinaryTreeModelListener() {
+            @Override
+            public void binaryTreeHasChanged(BinaryTreeModelEvent event) {
+                if (!event.isFullUpdate()) {
+                    capturedEvents.add(event);
+                }
+            }
+        });
+    }
+
+    @Override
+    public String getDataStructureType() {
+        return model.getDataStructureType();
+    }
+
+    @Override
+    public boolean isDataStructureSaved() {
+        readLock.lock();
+        try {
+            return model.isDataStructureSaved();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveDataStructure(File file) throws IOException {
+        saveDataStructure(file, null);
+    }
+
+    @Override
+    public void saveDataStructure(File file, IProgressListener listener)
+            throws IOException {
+        writeLock.lock();
+        try {
+            model.saveDataStructure(file, listener);
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    @Override
+    public void addModelListener(EventListener listener)
+            throws IllegalArgumentException {
+        if (!(listener instanceof BinaryTreeModelListener)) {
+            throw new IllegalArgumentException("You have to pass a BinaryTreeModelListener");
+        }
+
+        BinaryTreeModelListener binaryTreeModelListener =
+                (BinaryTreeModelListener) listener;
+        BinaryTreeModelEvent event = new BinaryTreeModelEvent(this,
+                getSnapshotOfBinaryTree());
+
+        synchronized (deliveredVersions) {
+            deliveredVersions.put(binaryTreeModelListener, event.getVersion());
+        }
+        listeners.add(BinaryTreeModelListener.class, binaryTreeModelListener);
+        binaryTreeModelListener.binaryTreeHasChanged(event);
+    }
+
+    @Override
+    public void removeModelListener(EventListener listener)
+            throws IllegalArgumentException {
+        if (!(listener instanceof BinaryTreeModelListener)) {
+            throw new IllegalArgumentException("You have to pass a BinaryTreeModelListener");
+        }
+        listeners.remove(BinaryTreeModelListener.class,
+                (BinaryTreeModelListener) listener);
+        synchronized (deliveredVersions) {
+            deliveredVersions.remove(listener);
+        }
+    }
+
+    @Override
+    public void insertRandomNodes(int nbNode) {
+        writeLock.lock();
+        try {
+            model.insertRandomNodes(nbNode);
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    @Override
+    public void insertNode(int key) {
+        writeLock.lock();
+        try {
+            model.insertNode(key);
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    @Override
+    public void deleteNode(int key) {
+        writeLock.lock();
+        try {
+            model.deleteNode(key);
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Deletes the node which key is {@code key} like {@code void
+     * deleteNode(int key)}, and returns true if the binary tree contained
+     * this key, or else false.
+     *
+     * @param key the key of the node to delete
+     * @return true if a node has been deleted, or else false
+     */
+    public boolean deleteKey(int key) {
+        writeLock.lock();
+        try {
+            long version = model.getVersion();
+
+            model.deleteNode(key);
+            return model.getVersion() != version;
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    @Override
+    public void insertAll(int[] keys) {
+        writeLock.lock();
+        try {
+            model.insertAll(keys);
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    @Override
+    public void deleteAll(int[] keys) {
+        writeLock.lock();
+        try {
+            model.deleteAll(keys);
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Starts the journal mode of the wrapped model.
+     *
+     * @param file the file where to save the binary tree
+     * @param interval the number of operations between two checkpoints
+     * @throws IllegalArgumentException
+     * @throws IOException
+     * @see BinaryTreeModel#startJournal(File, int)
+     */
+    public void startJournal(File file, int interval)
+            throws IllegalArgumentException, IOException {
+        writeLock.lock();
+        try {
+            model.startJournal(file, interval);
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Makes a checkpoint of the journal of the wrapped model.
+     *
+     * @throws IllegalStateException
+     * @throws IOException
+     * @see BinaryTreeModel#checkpoint()
+     */
+    public void checkpoint() throws IllegalStateException, IOException {
+        writeLock.lock();
+        try {
+            model.checkpoint();
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Stops the journal mode of the wrapped model.
+     *
+     * @throws IOException
+     * @see BinaryTreeModel#stopJournal()
+     */
+    public void stopJournal() throws IOException {
+        writeLock.lock();
+        try {
+            model.stopJournal();
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    @Override
+    public BinaryTreeSnapshot getSnapshotOfBinaryTree() {
+        BinaryTreeSnapshot currentSnapshot = snapshot;
+
+        if (isSnapshotPublished(currentSnapshot)) {
+            return currentSnapshot;
+        }
+        readLock.lock();
+        try {
+            long version = model.getVersion();
+
+            currentSnapshot = snapshot;
+            if ((currentSnapshot == null)
+                    || (currentSnapshot.getVersion() != version)) {
+                IBinaryTree binaryTree = model.getBinaryTree();
+
+                currentSnapshot = BinaryTreeSnapshot.buildSnapshot(
+                        binaryTree.getType(), binaryTree.getRoot(), version);
+                snapshot = currentSnapshot;
+            }
+            return currentSnapshot;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the version of the binary tree, that is to say the version of
+     * the wrapped model after the last modification.
+     *
+     * @return the version of the binary tree
+     */
+    public long getVersion() {
+        return publishedVersion;
+    }
+
+    /**
+     * Returns true if the binary tree contains a node which key is
+     * {@code key}, or else false. If the last snapshot is up to date, it is
+     * searched without taking the lock. A skip list is searched directly, so
+     * that its mapped tree is not built again for the search.
+     *
+     * @param key the key to search
+     * @return true if the key is in the binary tree, or else false
+     */
+    public boolean containsKey(int key) {
+        BinaryTreeSnapshot currentSnapshot = snapshot;
+
+        if (isSnapshotPublished(currentSnapshot)) {
+            return containsKey(currentSnapshot, key);
+        }
+        readLock.lock();
+        try {
+            IBinaryTree binaryTree = model.getBinaryTree();
+
+            if (binaryTree instanceof SkipListTree) {
+                return ((SkipListTree) binaryTree).containsKey(key);
+            }
+
+            IBinaryNode node = binaryTree.getRoot();
+
+            while ((node != null) && (node.getKey() != key)) {
+                node = (key < node.getKey()) ? node.getLeft() : node.getRight();
+            }
+            return node != null;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of nodes of the binary tree.
+     *
+     * @return the number of nodes
+     */
+    public int getSize() {
+        readLock.lock();
+        try {
+            IBinaryNode root = model.getBinaryTree().getRoot();
+
+            return (root == null) ? 0 : root.getSize();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of keys of the binary tree strictly less than
+     * {@code key}.
+     *
+     * @param key the key
+     * @return the number of keys less than {@code key}
+     * @see IBinarySearchTree#rank(int)
+     */
+    public int rank(int key) {
+        readLock.lock();
+        try {
+            return ((IBinarySearchTree) model.getBinaryTree()).rank(key);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of keys of the binary tree between {@code low} and
+     * {@code high} inclusive.
+     *
+     * @param low the lower bound of the range
+     * @param high the upper bound of the range
+     * @return the number of keys in the range
+     * @see IBinarySearchTree#countInRange(int, int)
+     */
+    public int countInRange(int low, int high) {
+        readLock.lock();
+        try {
+            return ((IBinarySearchTree) model.getBinaryTree())
+                    .countInRange(low, high);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns true if the binary tree satisfies all the properties of its type,
+     * or else false. The binary tree is checked under the read lock, so the
+     * result describes a state of the tree between two modifications.
+     *
+     * @return true if the binary tree is well formed, or else false
+     * @see IBinaryTree#isWellFormedTree()
+     */
+    public boolean isWellFormedTree() {
+        readLock.lock();
+        try {
+            return model.getBinaryTree().isWellFormedTree();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private static boolean containsKey(BinaryTreeSnapshot treeSnapshot, int key) {
+        int node = treeSnapshot.isEmpty() ? BinaryTreeSnapshot.NIL : 0;
+
+        while ((node != BinaryTreeSnapshot.NIL)
+                && (treeSnapshot.getKey(node) != key)) {
+            node = (key < treeSnapshot.getKey(node))
+                    ? treeSnapshot.getLeft(node) : treeSnapshot.getRight(node);
+        }
+        return node != BinaryTreeSnapshot.NIL;
+    }
+
+    private boolean isSnapshotPublished(BinaryTreeSnapshot currentSnapshot) {
+        return (currentSnapshot != null)
+                && (currentSnapshot.getVersion() == publishedVersion)
+                && !lock.isWriteLockedByCurrentThread();
+    }
+
+    private void unlockWrite() {
+        List<BinaryTreeModelEvent> events = capturedEvents;
+
+        publishedVersion = model.getVersion();
+        if (!events.isEmpty()) {
+            capturedEvents = new ArrayList<BinaryTreeModelEvent>();
+        }
+        writeLock.unlock();
+        for (BinaryTreeModelEvent event : events) {
+            updateListeners(event);
+        }
+    }
+
+    private void updateListeners(BinaryTreeModelEvent event) {
+        BinaryTreeModelListener[] listenerTab =
+                listeners.getListeners(BinaryTreeModelListener.class);
+
+        for (BinaryTreeModelListener listener : listenerTab) {
+            boolean isDelivered = false;
+
+            synchronized (deliveredVersions) {
+                Long deliveredVersion = deliveredVersions.get(listener);
+
+                if ((deliveredVersion == null)
+                        || (deliveredVersion < event.getVersion())) {
+                    deliveredVersions.put(listener, event.getVersion());
+                    isDelivered = true;
+                }
+            }
+            if (isDelivered) {
+                listener.binaryTreeHasChanged(event);
+            }
+        }
+    }
+}
@@ -41,14 +41,17 @@ public interface IAVLNode extends IBinarySearchNode {
     public IAVLNode getFather();
 
     /**
-     * Returns the height of the AVL node.
+     * Returns the height of the AVL node. It is the same as the height
+     * returned by {@code int getHeight()}.
      * 
      * @return the height of the AVL node
      */
     public int getAVLHeight();
 
     /**
-     * Computes and sets the height of the AVL node.
+     * Computes and sets the height of the AVL node from the heights of its
+     * children. Since the heights are maintained by the setters, this is only
+     * useful after a direct modification of the children.
      */
     public void computeAndSetHeight();
 
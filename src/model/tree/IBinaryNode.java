@@ -63,6 +63,24 @@ public interface IBinaryNode {
      */
     public IBinaryNode getFather();
 
+    /**
+     * Returns the height of the subtree which root is the node. A node without
+     * child has the height 0. The height is maintained by the setters of the
+     * children, so it is returned in constant time.
+     * 
+     * @return the height of the subtree
+     */
+    public int getHeight();
+
+    /**
+     * Returns the number of nodes of the subtree which root is the node. The
+     * size is maintained by the setters of the children, so it is returned in
+     * constant time.
+     * 
+     * @return the number of nodes of the subtree
+     */
+    public int getSize();
+
     /**
      * Replaces the key of the node by {@code newKey}.
      * 
@@ -73,7 +91,9 @@ public interface IBinaryNode {
     /**
      * Replaces the right child of the node by {@code newNode}. If 
      * {@code newNode} does not have the same type that the node on which the
-     * method is applied then an IllegalArgumentException is thrown.
+     * method is applied then an IllegalArgumentException is thrown. The node
+     * becomes the father of {@code newNode}, and the heights and the sizes of
+     * the node and of its ancestors are updated.
      * 
      * @param newNode the new right child of the node
      * @throws IllegalArgumentException
@@ -83,7 +103,9 @@ public interface IBinaryNode {
     /**
      * Replaces the left child of the node by {@code newNode}. If
      * {@code newNode} does not have the same type that the node on which the
-     * method is applied then an IllegalArgumentException is thrown.
+     * method is applied then an IllegalArgumentException is thrown. The node
+     * becomes the father of {@code newNode}, and the heights and the sizes of
+     * the node and of its ancestors are updated.
      * 
      * @param newNode the new left child of the node
      * @throws IllegalArgumentException
@@ -34,4 +34,48 @@ public interface IBinarySearchTree extends IBinaryTree {
 
     @Override
     public IBinarySearchNode getRoot();
+
+    /**
+     * Returns the number of keys of the tree that are lesser than {@code key}.
+     * It is computed in a time proportional to the height of the tree thanks to
+     * the sizes of the subtrees.
+     * 
+     * @param key the key to rank
+     * @return the number of keys lesser than key
+     */
+    public int rank(int key);
+
+    /**
+     * Returns the node which key has the rank {@code k} in ascending order,
+     * the first key having the rank 0, or null if {@code k} is not between 0
+     * and the number of nodes minus 1. It is computed in a time proportional to
+     * the height of the tree.
+     * 
+     * @param k the rank of the key to select
+     * @return the node which key has the rank k, or null
+     */
+    public IBinarySearchNode select(int k);
+
+    /**
+     * Returns the number of keys of the tree that are between {@code low} and
+     * {@code high}, both included. It is computed in a time proportional to the
+     * height of the tree.
+     * 
+     * @param low the lowest key of the range
+     * @param high the highest key of the range
+     * @return the number of keys in the range
+     */
+    public int countInRange(int low, int high);
+
+    /**
+     * Gives the keys of the tree that are between {@code low} and
+     * {@code high}, both included, to {@code consumer} in ascending order. It
+     * takes a time proportional to the height of the tree plus the number of
+     * keys found.
+     * 
+     * @param low the lowest key of the range
+     * @param high the highest key of the range
+     * @param consumer the consumer of the keys found
+     */
+    public void rangeScan(int low, int high, IKeyConsumer consumer);
 }
@@ -23,6 +23,7 @@ package model.tree;
 
 import java.util.List;
 import model.IDataStructure;
+import model.tree.BinaryTreeChange.BinaryTreeChangeType;
 
 /**
  * This interface contains all the methods in order to use binary trees. It must
@@ -66,12 +67,21 @@ public interface IBinaryTree extends IDataStructure {
     public boolean isWellFormedTree();
 
     /**
-     * Computes the height of the tree.
+     * Computes the height of the tree, that is to say -1 for an empty tree. It
+     * is the height maintained by the root, so it is computed in constant time.
      * 
      * @return the height of the tree
      */
     public int computeHeight();
 
+    /**
+     * Computes the number of nodes of the tree. It is the size maintained by
+     * the root, so it is computed in constant time.
+     * 
+     * @return the number of nodes of the tree
+     */
+    public int computeSize();
+
     /**
      * Builds a heap corresponding to the binary tree. The heap is contained in
      * an array list. The array list will contain null values for the absent
@@ -80,4 +90,57 @@ public interface IBinaryTree extends IDataStructure {
      * @return the array list containing the heap
      */
     public List<IBinaryNode> buildHeapFromBinaryTree();
+
+    /**
+     * Builds a sparse snapshot corresponding to the binary tree. Contrary to
+     * the heap, the snapshot only contains the present nodes, so its size is
+     * linear in the number of nodes of the tree.
+     *
+     * @return the snapshot of the binary tree
+     */
+    public BinaryTreeSnapshot buildSnapshotFromBinaryTree();
+
+    /**
+     * Starts recording the changes applied to the tree by the algorithms. The
+     * changes that were previously recorded are discarded. When the tree is
+     * not recording, the changes are ignored without any allocation.
+     */
+    public void startRecordingChanges();
+
+    /**
+     * Stops recording the changes applied to the tree and returns the changes
+     * recorded since the last call to {@code void startRecordingChanges()}, in
+     * the order in which they occurred.
+     *
+     * @return the recorded changes, empty if the tree was not recording
+     */
+    public List<BinaryTreeChange> stopRecordingChanges();
+
+    /**
+     * Records a change concerning the node which key is {@code key}. This
+     * method is used by the algorithms for the insertions, the removals and
+     * the rotations. It does nothing if the tree is not recording.
+     *
+     * @param changeType the type of the change
+     * @param key the key of the node concerned by the change
+     */
+    public void recordChange(BinaryTreeChangeType changeType, int key);
+
+    /**
+     * Records the replacement of the key {@code oldKey} by {@code newKey}. It
+     * does nothing if the tree is not recording.
+     *
+     * @param oldKey the replaced key
+     * @param newKey the new key of the node
+     */
+    public void recordKeyReplacement(int oldKey, int newKey);
+
+    /**
+     * Records that the tree has been built at once with {@code nbNodes} nodes,
+     * for instance from sorted keys. It does nothing if the tree is not
+     * recording.
+     *
+     * @param nbNodes the number of nodes of the built tree
+     */
+    public void recordTreeBuilt(int nbNodes);
 }
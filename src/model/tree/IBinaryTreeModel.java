@@ -37,7 +37,10 @@ public interface IBinaryTreeModel extends IDataStructureModel {
      * Inserts {@code nbNode} random nodes into the binary tree. This method
      * uses the insert algorithm corresponding to the type of the binary tree.
      * If it is necessary, the binary tree is corrected. For instance, the
-     * balance of an AVL tree is corrected after multiple insertions.
+     * balance of an AVL tree is corrected after multiple insertions. The keys
+     * are drawn between 0 and 99 for small trees. For larger trees, they are
+     * drawn between 0 and ten times the number of nodes, up to the largest
+     * integer, so that the keys are mostly distinct.
      *
      * @param nbNode the number of random nodes to insert
      */
@@ -62,4 +65,31 @@ public interface IBinaryTreeModel extends IDataStructureModel {
      * @param key the key of the node to delete
      */
     public void deleteNode(int key);
+
+    /**
+     * Inserts a node for each key of {@code keys} into the binary tree. The
+     * whole batch is applied before the listeners are notified, so they only
+     * receive one event for all the insertions.
+     *
+     * @param keys the keys of the nodes to insert
+     */
+    public void insertAll(int[] keys);
+
+    /**
+     * Deletes a node for each key of {@code keys} from the binary tree. The
+     * whole batch is applied before the listeners are notified, so they only
+     * receive one event for all the deletions. The keys that are not in the
+     * tree are ignored.
+     *
+     * @param keys the keys of the nodes to delete
+     */
+    public void deleteAll(int[] keys);
+
+    /**
+     * Returns the snapshot of the current version of the binary tree. The
+     * snapshot is built at most once per version and shared by all the callers.
+     *
+     * @return the snapshot of the binary tree
+     */
+    public BinaryTreeSnapshot getSnapshotOfBinaryTree();
 }
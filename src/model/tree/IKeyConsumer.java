@@ -0,0 +1,41 @@
+/*
+ * IKeyConsumer.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+/**
+ * This interface defines the consumers of the keys found by a range scan of a
+ * binary search tree. The keys are given as primitive integers in ascending
+ * order.
+ * 
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see IBinarySearchTree
+ */
+public interface IKeyConsumer {
+
+    /**
+     * Consumes a key found by the range scan.
+     * 
+     * @param key the key found
+     */
+    public void consumeKey(int key);
+}
@@ -0,0 +1,601 @@
+/*
+ * PersistentBinarySearchTree.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import model.tree.RedBlackNode.RedBlackNodeColor;
+
+/**
+ * This class defines an immutable version of an AVL tree or of a red black
+ * tree. An insertion or a deletion does not modify the tree but returns a new
+ * version of it, which only copies the nodes of the path from the root to the
+ * modified node and shares all the other nodes with the previous version. A
+ * version can thus be read by any number of threads without synchronization
+ * and kept at a logarithmic cost, for instance in order to undo a
+ * modification. The red black trees are left leaning, that is to say a red
+ * node is always a left child, which keeps the deletion simple enough to be
+ * applied by path copying. As in the other binary search trees, a key equal to
+ * the key of a node is inserted on the right. This class is not designed for
+ * inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see PersistentBinaryTreeModel
+ */
+public final class PersistentBinarySearchTree {
+
+    /**
+     * This class defines an immutable node of a persistent binary search tree.
+     * The height of a leaf is 0.
+     *
+     * @author agent
+     * @version 0.10 18/10/26
+     */
+    static final class Node {
+
+        final int key;
+
+        final Node left;
+
+        final Node right;
+
+        final boolean isRed;
+
+        final int height;
+
+        final int size;
+
+        Node(int k, Node l, Node r, boolean red) {
+            key = k;
+            left = l;
+            right = r;
+            isRed = red;
+            height = Math.max(height(l), height(r)) + 1;
+            size = size(l) + size(r) + 1;
+        }
+    }
+
+    private final BinaryTreeType type;
+
+    private final Node root;
+
+    private final long version;
+
+    private volatile BinaryTreeSnapshot snapshot;
+
+    /**
+     * Builds the empty persistent binary search tree which type is
+     * {@code treeType}. Only AVL trees and red black trees can be persistent.
+     *
+     * @param treeType the type of the binary tree
+     * @throws IllegalArgumentException
+     */
+    public PersistentBinarySearchTree(BinaryTreeType treeType)
+            throws IllegalArgumentException {
+        this(checkType(treeType), null, 0);
+    }
+
+    private PersistentBinarySearchTree(BinaryTreeType treeType, Node treeRoot,
+            long v) {
+        type = treeType;
+        root = treeRoot;
+        version = v;
+    }
+
+    /**
+     * Builds the persistent binary search tree containing the keys of
+     * {@code tree}. The shape of an AVL tree is kept, whereas a red black tree
+     * is rebuilt by inserting its keys in order so that it becomes left
+     * leaning.
+     *
+     * @param tree the AVL tree or red black tree to copy
+     * @return the persistent binary search tree
+     * @throws IllegalArgumentException
+     */
+    public static PersistentBinarySearchTree copyOf(IBinarySearchTree tree)
+            throws IllegalArgumentException {
+        final BinaryTreeType treeType = checkType(
+                BinaryTreeType.valueOf(tree.getType()));
+
+        if (treeType == BinaryTreeType.AVLTREE) {
+            return new PersistentBinarySearchTree(treeType,
+                    copyOf(tree.getRoot()), 0);
+        }
+
+        final Node[] rootHolder = new Node[1];
+
+        tree.rangeScan(Integer.MIN_VALUE, Integer.MAX_VALUE, new IKeyConsumer() {
+            public void consumeKey(int key) {
+                rootHolder[0] = blacken(insertRedBlack(rootHolder[0], key));
+            }
+        });
+        return new PersistentBinarySearchTree(treeType, rootHolder[0], 0);
+    }
+
+    /**
+     * Returns the type of the binary tree.
+     *
+     * @return the type of the binary tree
+     */
+    public String getType() {
+        return type.toString();
+    }
+
+    /**
+     * Returns the version of the binary tree. Each insertion or deletion that
+     * modifies the tree returns a version incremented by one.
+     *
+     * @return the version of the binary tree
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of nodes of the binary tree.
+     *
+     * @return the number of nodes
+     */
+    public int getSize() {
+        return size(root);
+    }
+
+    /**
+     * Returns the height of the binary tree, that is to say -1 for an empty
+     * tree.
+     *
+     * @return the height of the binary tree
+     */
+    public int getHeight() {
+        return height(root);
+    }
+
+    /**
+     * Returns the version of the binary tree in which {@code key} has been
+     * inserted.
+     *
+     * @param key the key to insert
+     * @return the new version of the binary tree
+     */
+    public PersistentBinarySearchTree insertNode(int key) {
+        return new PersistentBinarySearchTree(type, insert(root, key),
+                version + 1);
+    }
+
+    /**
+     * Returns the version of the binary tree in which one node which key is
+     * {@code key} has been deleted, or this version if there is no such node.
+     *
+     * @param key the key to delete
+     * @return the new version of the binary tree or this version
+     */
+    public PersistentBinarySearchTree deleteNode(int key) {
+        if (!containsKey(key)) {
+            return this;
+        }
+        return new PersistentBinarySearchTree(type, delete(root, key),
+                version + 1);
+    }
+
+    /**
+     * Returns the version of the binary tree in which all the keys of
+     * {@code keys} have been inserted. The intermediate versions are not
+     * kept, so the version is only incremented by one.
+     *
+     * @param keys the keys to insert
+     * @return the new version of the binary tree or this version
+     */
+    public PersistentBinarySearchTree insertAll(int[] keys) {
+        Node newRoot = root;
+
+        if (keys.length == 0) {
+            return this;
+        }
+        for (int key : keys) {
+            newRoot = insert(newRoot, key);
+        }
+        return new PersistentBinarySearchTree(type, newRoot, version + 1);
+    }
+
+    /**
+     * Returns the version of the binary tree in which one node has been
+     * deleted for each key of {@code keys}, or this version if none of the
+     * keys is in the tree. The intermediate versions are not kept, so the
+     * version is only incremented by one.
+     *
+     * @param keys the keys to delete
+     * @return the new version of the binary tree or this version
+     */
+    public PersistentBinarySearchTree deleteAll(int[] keys) {
+        Node newRoot = root;
+
+        for (int key : keys) {
+            if (containsKey(newRoot, key)) {
+                newRoot = delete(newRoot, key);
+            }
+        }
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentBinarySearchTree(type, newRoot, version + 1);
+    }
+
+    /**
+     * Returns true if the binary tree contains a node which key is
+     * {@code key}, or else false.
+     *
+     * @param key the key to search
+     * @return true if the key is in the binary tree, or else false
+     */
+    public boolean containsKey(int key) {
+        return containsKey(root, key);
+    }
+
+    /**
+     * Returns the number of keys of the binary tree strictly less than
+     * {@code key}.
+     *
+     * @param key the key
+     * @return the number of keys less than {@code key}
+     */
+    public int rank(int key) {
+        return countKeys(key, false);
+    }
+
+    /**
+     * Returns the key of rank {@code k}, that is to say the {@code k}-th
+     * smallest key counted from 0.
+     *
+     * @param k the rank of the key
+     * @return the key of rank {@code k}
+     * @throws IllegalArgumentException
+     */
+    public int select(int k) throws IllegalArgumentException {
+        Node node = root;
+        int remainingRank = k;
+
+        if ((k < 0) || (k >= getSize())) {
+            throw new IllegalArgumentException("You have to pass a rank " +
+                    "between 0 and the number of nodes minus one");
+        }
+        while (remainingRank != size(node.left)) {
+            if (remainingRank < size(node.left)) {
+                node = node.left;
+            } else {
+                remainingRank -= size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return node.key;
+    }
+
+    /**
+     * Returns the number of keys of the binary tree between {@code low} and
+     * {@code high} inclusive.
+     *
+     * @param low the lower bound of the range
+     * @param high the upper bound of the range
+     * @return the number of keys in the range
+     */
+    public int countInRange(int low, int high) {
+        if (low > high) {
+            return 0;
+        }
+        return countKeys(high, true) - countKeys(low, false);
+    }
+
+    /**
+     * Returns the snapshot of this version of the binary tree. It is built
+     * the first time it is asked.
+     *
+     * @return the snapshot of the binary tree
+     */
+    public BinaryTreeSnapshot getSnapshot() {
+        BinaryTreeSnapshot currentSnapshot = snapshot;
+
+        if (currentSnapshot == null) {
+            currentSnapshot = BinaryTreeSnapshot.buildSnapshot(getType(), root,
+                    type == BinaryTreeType.REDBLACKTREE, version);
+            snapshot = currentSnapshot;
+        }
+        return currentSnapshot;
+    }
+
+    /**
+     * Builds the mutable binary search tree having the same shape, the same
+     * keys and the same colors as this version, for instance in order to
+     * save it.
+     *
+     * @return the mutable copy of the binary tree
+     */
+    public IBinarySearchTree toBinarySearchTree() {
+        IBinarySearchTree tree = (IBinarySearchTree) type.createBinaryTree();
+
+        tree.setRoot(toBinarySearchNode(root));
+        return tree;
+    }
+
+    /**
+     * Returns this version of the binary tree with the version number
+     * {@code v}. The nodes are shared.
+     *
+     * @param v the new version number
+     * @return the binary tree with the version number {@code v}
+     */
+    PersistentBinarySearchTree withVersion(long v) {
+        return new PersistentBinarySearchTree(type, root, v);
+    }
+
+    private static BinaryTreeType checkType(BinaryTreeType treeType)
+            throws IllegalArgumentException {
+        if ((treeType != BinaryTreeType.AVLTREE)
+                && (treeType != BinaryTreeType.REDBLACKTREE)) {
+            throw new IllegalArgumentException("You have to pass an AVL tree " +
+                    "or a red black tree");
+        }
+        return treeType;
+    }
+
+    private static int height(Node node) {
+        return (node == null) ? -1 : node.height;
+    }
+
+    private static int size(Node node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    private static boolean containsKey(Node treeRoot, int key) {
+        Node node = treeRoot;
+
+        while ((node != null) && (node.key != key)) {
+            node = (key < node.key) ? node.left : node.right;
+        }
+        return node != null;
+    }
+
+    private int countKeys(int key, boolean isKeyIncluded) {
+        Node node = root;
+        int count = 0;
+
+        while (node != null) {
+            if ((node.key < key) || (isKeyIncluded && (node.key == key))) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private Node insert(Node treeRoot, int key) {
+        if (type == BinaryTreeType.AVLTREE) {
+            return insertAVL(treeRoot, key);
+        }
+        return blacken(insertRedBlack(treeRoot, key));
+    }
+
+    private Node delete(Node treeRoot, int key) {
+        if (type == BinaryTreeType.AVLTREE) {
+            return deleteAVL(treeRoot, key);
+        }
+
+        Node node = treeRoot;
+
+        if (!isRed(node.left) && !isRed(node.right)) {
+            node = paint(node, true);
+        }
+        return blacken(deleteRedBlack(node, key));
+    }
+
+    private static Node copyOf(IBinaryNode node) {
+        if (node == null) {
+            return null;
+        }
+        return new Node(node.getKey(), copyOf(node.getLeft()),
+                copyOf(node.getRight()), false);
+    }
+
+    private IBinaryNode toBinarySearchNode(Node node) {
+        IBinaryNode binaryNode;
+
+        if (node == null) {
+            return null;
+        }
+        if (type == BinaryTreeType.AVLTREE) {
+            binaryNode = new AVLNode(node.key);
+        } else {
+            binaryNode = new RedBlackNode(node.key, node.isRed
+                    ? RedBlackNodeColor.RED : RedBlackNodeColor.BLACK);
+        }
+        binaryNode.setLeft(toBinarySearchNode(node.left));
+        binaryNode.setRight(toBinarySearchNode(node.right));
+        return binaryNode;
+    }
+
+    private static Node insertAVL(Node node, int key) {
+        if (node == null) {
+            return new Node(key, null, null, false);
+        }
+        if (key < node.key) {
+            return balanceAVL(node.key, insertAVL(node.left, key), node.right);
+        }
+        return balanceAVL(node.key, node.left, insertAVL(node.right, key));
+    }
+
+    private static Node deleteAVL(Node node, int key) {
+        if (key < node.key) {
+            return balanceAVL(node.key, deleteAVL(node.left, key), node.right);
+        } else if (key > node.key) {
+            return balanceAVL(node.key, node.left, deleteAVL(node.right, key));
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+
+        Node successor = node.right;
+
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balanceAVL(successor.key, node.left,
+                deleteAVL(node.right, successor.key));
+    }
+
+    private static Node balanceAVL(int key, Node left, Node right) {
+        if (height(left) > height(right) + 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left);
+            }
+            return rotateRight(new Node(key, left, right, false));
+        } else if (height(right) > height(left) + 1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right);
+            }
+            return rotateLeft(new Node(key, left, right, false));
+        }
+        return new Node(key, left, right, false);
+    }
+
+    private static Node insertRedBlack(Node node, int key) {
+        if (node == null) {
+            return new Node(key, null, null, true);
+        }
+        if (key < node.key) {
+            return balanceRedBlack(new Node(node.key,
+                    insertRedBlack(node.left, key), node.right, node.isRed));
+        }
+        return balanceRedBlack(new Node(node.key, node.left,
+                insertRedBlack(node.right, key), node.isRed));
+    }
+
+    private static Node deleteRedBlack(Node node, int key) {
+        // A right rotation brings up a node that may have the same key as the
+        // deleted one, so the deleted node is then searched on the right
+        if (key < node.key) {
+            if (!isRed(node.left) && !isRed(node.left.left)) {
+                node = moveRedLeft(node);
+            }
+            node = new Node(node.key, deleteRedBlack(node.left, key),
+                    node.right, node.isRed);
+        } else {
+            boolean isKeyFound = key == node.key;
+
+            if (isRed(node.left)) {
+                node = rotateRight(node);
+                isKeyFound = false;
+            }
+            if (isKeyFound && (node.right == null)) {
+                return null;
+            }
+            if (!isRed(node.right) && !isRed(node.right.left)) {
+                node = flipColors(node);
+                if (isRed(node.left.left)) {
+                    node = flipColors(rotateRight(node));
+                    isKeyFound = false;
+                }
+            }
+            if (isKeyFound) {
+                Node successor = node.right;
+
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                node = new Node(successor.key, node.left,
+                        deleteMinRedBlack(node.right), node.isRed);
+            } else {
+                node = new Node(node.key, node.left,
+                        deleteRedBlack(node.right, key), node.isRed);
+            }
+        }
+        return balanceRedBlack(node);
+    }
+
+    private static Node deleteMinRedBlack(Node node) {
+        if (node.left == null) {
+            return null;
+        }
+        if (!isRed(node.left) && !isRed(node.left.left)) {
+            node = moveRedLeft(node);
+        }
+        return balanceRedBlack(new Node(node.key,
+                deleteMinRedBlack(node.left), node.right, node.isRed));
+    }
+
+    private static Node balanceRedBlack(Node node) {
+        if (isRed(node.right) && !isRed(node.left)) {
+            node = rotateLeft(node);
+        }
+        if (isRed(node.left) && isRed(node.left.left)) {
+            node = rotateRight(node);
+        }
+        if (isRed(node.left) && isRed(node.right)) {
+            node = flipColors(node);
+        }
+        return node;
+    }
+
+    private static Node moveRedLeft(Node node) {
+        node = flipColors(node);
+        if (isRed(node.right.left)) {
+            node = rotateLeft(new Node(node.key, node.left,
+                    rotateRight(node.right), node.isRed));
+            node = flipColors(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+
+        return new Node(right.key, new Node(node.key, node.left, right.left,
+                right.isRed), right.right, node.isRed);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+
+        return new Node(left.key, left.left, new Node(node.key, left.right,
+                node.right, left.isRed), node.isRed);
+    }
+
+    private static Node flipColors(Node node) {
+        return new Node(node.key, paint(node.left, !node.left.isRed),
+                paint(node.right, !node.right.isRed), !node.isRed);
+    }
+
+    private static boolean isRed(Node node) {
+        return (node != null) && node.isRed;
+    }
+
+    private static Node paint(Node node, boolean red) {
+        if (node.isRed == red) {
+            return node;
+        }
+        return new Node(node.key, node.left, node.right, red);
+    }
+
+    private static Node blacken(Node node) {
+        return (node == null) ? null : paint(node, false);
+    }
+}
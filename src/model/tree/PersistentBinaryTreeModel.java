@@ -0,0 +1,309 @@
+/*
+ * PersistentBinaryTreeModel.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import io.IProgressListener;
+import io.tree.TreeFiles;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EventListener;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.event.EventListenerList;
+import model.UnknownDataStructureException;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+
+/**
+ * This class defines a binary tree model which binary tree is a persistent
+ * binary search tree. The current version of the tree is published through
+ * an atomic reference, so the threads reading the tree, like the views
+ * building the snapshots, never wait for the modifications and always get a
+ * consistent version. The modifications are applied one at a time. Since the
+ * previous versions share most of their nodes with the current one, they are
+ * kept in order to undo and redo the modifications. The listeners receive
+ * full update events carrying the new version of the tree. Only AVL trees and
+ * red black trees can be used. This class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see PersistentBinarySearchTree
+ */
+public final class PersistentBinaryTreeModel implements IBinaryTreeModel {
+
+    /**
+     * Definition of the maximal number of modifications that can be undone.
+     */
+    public static final int MAX_UNDO = 100;
+
+    private static final long MIN_RANDOM_KEY_BOUND = 100;
+
+    private static final long RANDOM_KEY_BOUND_FACTOR = 10;
+
+    private final AtomicReference<PersistentBinarySearchTree> currentTree;
+
+    private final Deque<PersistentBinarySearchTree> undoVersions;
+
+    private final Deque<PersistentBinarySearchTree> redoVersions;
+
+    private final EventListenerList listeners;
+
+    private String modelfilePath;
+
+    private PersistentBinarySearchTree savedTree;
+
+    /**
+     * Builds the persistent binary tree model from a type of tree. This binary
+     * tree model is not considered as saved.
+     *
+     * @param type the type of the binary tree
+     * @throws IllegalArgumentException
+     */
+    public PersistentBinaryTreeModel(BinaryTreeType type)
+            throws IllegalArgumentException {
+        this(new PersistentBinarySearchTree(type), "");
+    }
+
+    /**
+     * Builds the persistent binary tree model from a file containing an AVL
+     * tree or a red black tree. This binary tree model is considered as saved.
+     *
+     * @param file the file containing the binary tree
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws ParseException
+     * @throws UnknownDataStructureException
+     * @throws IllegalArgumentException
+     */
+    public PersistentBinaryTreeModel(File file) throws FileNotFoundException,
+            ParseException, IOException, UnknownDataStructureException,
+            IllegalArgumentException {
+        this(PersistentBinarySearchTree.copyOf(load(file)),
+                file.getAbsolutePath());
+        savedTree = currentTree.get();
+    }
+
+    private PersistentBinaryTreeModel(PersistentBinarySearchTree tree,
+            String filePath) {
+        currentTree = new AtomicReference<PersistentBinarySearchTree>(tree);
+        undoVersions = new ArrayDeque<PersistentBinarySearchTree>();
+        redoVersions = new ArrayDeque<PersistentBinarySearchTree>();
+        listeners = new EventListenerList();
+        modelfilePath = filePath;
+    }
+
+    /**
+     * Returns the current version of the binary tree. It is immutable, so it
+     * can be read without synchronization.
+     *
+     * @return the current version of the binary tree
+     */
+    public PersistentBinarySearchTree getBinarySearchTree() {
+        return currentTree.get();
+    }
+
+    @Override
+    public String getDataStructureType() {
+        return currentTree.get().getType();
+    }
+
+    @Override
+    public synchronized boolean isDataStructureSaved() {
+        if (savedTree != currentTree.get()) {
+            return false;
+        }
+        return modelfilePath.isEmpty() || new File(modelfilePath).exists();
+    }
+
+    @Override
+    public void saveDataStructure(File file) throws IOException {
+        saveDataStructure(file, null);
+    }
+
+    @Override
+    public void saveDataStructure(File file, IProgressListener listener)
+            throws IOException {
+        PersistentBinarySearchTree tree = currentTree.get();
+        IBinaryTree binaryTree = tree.toBinarySearchTree();
+
+        TreeFiles.save(binaryTree, file, listener);
+        synchronized (this) {
+            modelfilePath = file.getAbsolutePath();
+            savedTree = tree;
+        }
+    }
+
+    @Override
+    public synchronized void addModelListener(EventListener listener)
+            throws IllegalArgumentException {
+        if (!(listener instanceof BinaryTreeModelListener)) {
+            throw new IllegalArgumentException("You have to pass a BinaryTreeModelListener");
+        }
+
+        BinaryTreeModelListener binaryTreeModelListener =
+                (BinaryTreeModelListener) listener;
+
+        listeners.add(BinaryTreeModelListener.class, binaryTreeModelListener);
+        binaryTreeModelListener.binaryTreeHasChanged(new BinaryTreeModelEvent(
+                this, currentTree.get()));
+    }
+
+    @Override
+    public synchronized void removeModelListener(EventListener listener)
+            throws IllegalArgumentException {
+        if (!(listener instanceof BinaryTreeModelListener)) {
+            throw new IllegalArgumentException("You have to pass a BinaryTreeModelListener");
+        }
+        listeners.remove(BinaryTreeModelListener.class,
+                (BinaryTreeModelListener) listener);
+    }
+
+    @Override
+    public void insertRandomNodes(int nbNode) {
+        if (nbNode > 0) {
+            int[] keys = new int[nbNode];
+            long keyBound = Math.min(Math.max(MIN_RANDOM_KEY_BOUND,
+                    RANDOM_KEY_BOUND_FACTOR * (long) nbNode),
+                    (long) Integer.MAX_VALUE + 1);
+
+            for (int i = 0; i < nbNode; i++) {
+                keys[i] = (int) (Math.random() * keyBound);
+            }
+            insertAll(keys);
+        }
+    }
+
+    @Override
+    public synchronized void insertNode(int key) {
+        modify(currentTree.get().insertNode(key));
+    }
+
+    @Override
+    public synchronized void deleteNode(int key) {
+        modify(currentTree.get().deleteNode(key));
+    }
+
+    @Override
+    public synchronized void insertAll(int[] keys) {
+        modify(currentTree.get().insertAll(keys));
+    }
+
+    @Override
+    public synchronized void deleteAll(int[] keys) {
+        modify(currentTree.get().deleteAll(keys));
+    }
+
+    /**
+     * Returns true if there is a modification to undo, or else false.
+     *
+     * @return true if a modification can be undone, or else false
+     */
+    public synchronized boolean canUndo() {
+        return !undoVersions.isEmpty();
+    }
+
+    /**
+     * Returns true if there is an undone modification to redo, or else false.
+     *
+     * @return true if a modification can be redone, or else false
+     */
+    public synchronized boolean canRedo() {
+        return !redoVersions.isEmpty();
+    }
+
+    /**
+     * Undoes the last modification of the binary tree, that is to say
+     * publishes the previous version of the tree. The version number keeps
+     * increasing, so the listeners see the undo as a new modification.
+     *
+     * @throws IllegalStateException
+     */
+    public synchronized void undo() throws IllegalStateException {
+        if (undoVersions.isEmpty()) {
+            throw new IllegalStateException("There is no modification to undo");
+        }
+        redoVersions.push(currentTree.get());
+        publish(undoVersions.pop());
+    }
+
+    /**
+     * Redoes the last undone modification of the binary tree. Any other
+     * modification made since the undo prevents the redo.
+     *
+     * @throws IllegalStateException
+     */
+    public synchronized void redo() throws IllegalStateException {
+        if (redoVersions.isEmpty()) {
+            throw new IllegalStateException("There is no modification to redo");
+        }
+        undoVersions.push(currentTree.get());
+        publish(redoVersions.pop());
+    }
+
+    @Override
+    public BinaryTreeSnapshot getSnapshotOfBinaryTree() {
+        return currentTree.get().getSnapshot();
+    }
+
+    private static IBinarySearchTree load(File file)
+            throws FileNotFoundException, ParseException, IOException,
+            UnknownDataStructureException {
+        return (IBinarySearchTree) TreeFiles.load(file, null);
+    }
+
+    private void modify(PersistentBinarySearchTree tree) {
+        PersistentBinarySearchTree previousTree = currentTree.get();
+
+        if (tree != previousTree) {
+            undoVersions.push(previousTree);
+            if (undoVersions.size() > MAX_UNDO) {
+                undoVersions.removeLast();
+            }
+            redoVersions.clear();
+            currentTree.set(tree);
+            updateListeners(tree);
+        }
+    }
+
+    private void publish(PersistentBinarySearchTree tree) {
+        PersistentBinarySearchTree publishedTree =
+                tree.withVersion(currentTree.get().getVersion() + 1);
+
+        if (tree == savedTree) {
+            savedTree = publishedTree;
+        }
+        currentTree.set(publishedTree);
+        updateListeners(publishedTree);
+    }
+
+    private void updateListeners(PersistentBinarySearchTree tree) {
+        BinaryTreeModelListener[] listenerTab =
+                listeners.getListeners(BinaryTreeModelListener.class);
+        BinaryTreeModelEvent event = new BinaryTreeModelEvent(this, tree);
+
+        for (BinaryTreeModelListener listener : listenerTab) {
+            listener.binaryTreeHasChanged(event);
+        }
+    }
+}
@@ -95,7 +95,7 @@ public final class RedBlackNode extends AbstractBinarySearchNode implements
             throw new IllegalArgumentException(
                     "You have to pass a RedBlackNode");
         }
-        right = newNode;
+        attachRight(newNode);
     }
 
     @Override
@@ -104,7 +104,7 @@ public final class RedBlackNode extends AbstractBinarySearchNode implements
             throw new IllegalArgumentException(
                     "You have to pass a RedBlackNode");
         }
-        left = newNode;
+        attachLeft(newNode);
     }
 
     @Override
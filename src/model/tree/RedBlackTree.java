@@ -21,6 +21,9 @@
 
 package model.tree;
 
+import java.util.Arrays;
+import model.tree.RedBlackNode.RedBlackNodeColor;
+
 /**
  * This class defines red black trees with as node <tt>RedBlackNode</tt>. It is
  * not designed for inheritance.
@@ -31,6 +34,8 @@ package model.tree;
  */
 public final class RedBlackTree extends AbstractBinarySearchTree {
 
+    private static final int INITIAL_STACK_SIZE = 32;
+
     {
         type = BinaryTreeType.REDBLACKTREE;
     }
@@ -66,57 +71,111 @@ public final class RedBlackTree extends AbstractBinarySearchTree {
         root = newNode;
     }
 
+    /**
+     * Changes the color of {@code node} and records the change if the color is
+     * really modified. The algorithms use this method instead of setting the
+     * color directly so that the color flips are transmitted to the listeners.
+     *
+     * @param node the node which color changes
+     * @param newColor the new color of the node
+     */
+    public void changeNodeColor(RedBlackNode node, RedBlackNodeColor newColor) {
+        if (node.getColor() != newColor) {
+            node.setColor(newColor);
+            recordColorChange(node.getKey(), newColor);
+        }
+    }
+
     @Override
     public boolean isWellFormedTree() {
-        return (getRoot() == null)
-                || ((getRoot()).isBlack() && isWellFormedBST(getRoot())
-                        && hasRedNodeWithBlackChild(getRoot())
-                        && hasGoodHeight(getRoot()));
+        return findFirstViolatingNode() == null;
     }
 
-    private boolean hasGoodHeight(RedBlackNode node) {
-        boolean hasGoodHeight = true;
-
-        if (node != null) {
-            hasGoodHeight = hasGoodHeight(node.getLeft());
-            if (hasGoodHeight) {
-                hasGoodHeight = hasGoodHeight(node.getRight());
-            }
-            if (hasGoodHeight) {
-                int leftHeight = node.calculateLeftBlackHeight();
-                int rightHeight = node.calculateRightBlackHeight();
-                hasGoodHeight = (leftHeight == rightHeight);
-            }
+    /**
+     * Returns the first node at which the tree violates the properties of red
+     * black trees, or null if the tree is well formed. The root has to be
+     * black, the keys of the left subtree of a node have to be lesser than or
+     * equal to its key and the ones of its right subtree greater than or equal
+     * to it, a red node can not have a red child and all the paths from a node
+     * to its descendant leaves have to contain the same number of black nodes.
+     * All these properties are checked in a single iterative depth first
+     * traversal, so it takes a linear time whatever the height of the tree.
+     * The stack of the traversal grows with the depth of the nodes, so the
+     * tree is checked without relying on its computed height.
+     *
+     * @return the first node violating the properties, or null
+     */
+    public RedBlackNode findFirstViolatingNode() {
+        if (getRoot() == null) {
+            return null;
         }
-        return hasGoodHeight;
-    }
+        if (getRoot().isRed()) {
+            return getRoot();
+        }
+
+        int stackSize = INITIAL_STACK_SIZE;
+        RedBlackNode[] nodes = new RedBlackNode[stackSize];
+        long[] lowerBounds = new long[stackSize];
+        long[] upperBounds = new long[stackSize];
+        int[] leftBlackHeights = new int[stackSize];
+        boolean[] isLeftVisited = new boolean[stackSize];
+        int top = 0;
+        int childBlackHeight = 0;
 
-    private boolean hasRedNodeWithBlackChild(RedBlackNode node) {
-        boolean hasRedNodeWithBlackChild = true;
+        nodes[0] = getRoot();
+        lowerBounds[0] = Long.MIN_VALUE;
+        upperBounds[0] = Long.MAX_VALUE;
+        isLeftVisited[0] = false;
+        while (top >= 0) {
+            RedBlackNode node = nodes[top];
+            RedBlackNode child = null;
+            long lowerBound = 0;
+            long upperBound = 0;
 
-        if (node != null) {
-            hasRedNodeWithBlackChild = hasRedNodeWithBlackChild(node.getLeft());
-            if (hasRedNodeWithBlackChild) {
-                hasRedNodeWithBlackChild =
-                        hasRedNodeWithBlackChild(node.getRight());
+            if (!isLeftVisited[top]) {
+                if ((node.getKey() < lowerBounds[top])
+                        || (node.getKey() > upperBounds[top])
+                        || (node.isRed() && (top > 0) && nodes[top - 1].isRed())) {
+                    return node;
+                }
+                isLeftVisited[top] = true;
+                leftBlackHeights[top] = -1;
+                child = node.getLeft();
+                lowerBound = lowerBounds[top];
+                upperBound = node.getKey();
+                childBlackHeight = 0;
+            } else if (leftBlackHeights[top] < 0) {
+                leftBlackHeights[top] = childBlackHeight;
+                child = node.getRight();
+                lowerBound = node.getKey();
+                upperBound = upperBounds[top];
+                childBlackHeight = 0;
+            } else {
+                if (leftBlackHeights[top] != childBlackHeight) {
+                    return node;
+                }
+                if (node.isBlack()) {
+                    ++childBlackHeight;
+                }
+                --top;
             }
-            if (hasRedNodeWithBlackChild) {
-                if (node.isRed()) {
-                    if (node.getLeft() != null) {
-                        if (node.getLeft().isRed()
-                                || (node.getRight() == null)) {
-                            hasRedNodeWithBlackChild = false;
-                        }
-                    }
-                    if (node.getRight() != null) {
-                        if (node.getRight().isRed()
-                                || (node.getLeft() == null)) {
-                            hasRedNodeWithBlackChild = false;
-                        }
-                    }
+            if (child != null) {
+                if (top + 1 == nodes.length) {
+                    stackSize = 2 * nodes.length;
+                    nodes = Arrays.copyOf(nodes, stackSize);
+                    lowerBounds = Arrays.copyOf(lowerBounds, stackSize);
+                    upperBounds = Arrays.copyOf(upperBounds, stackSize);
+                    leftBlackHeights = Arrays.copyOf(leftBlackHeights,
+                            stackSize);
+                    isLeftVisited = Arrays.copyOf(isLeftVisited, stackSize);
                 }
+                ++top;
+                nodes[top] = child;
+                lowerBounds[top] = lowerBound;
+                upperBounds[top] = upperBound;
+                isLeftVisited[top] = false;
             }
         }
-        return hasRedNodeWithBlackChild;
+        return null;
     }
 }
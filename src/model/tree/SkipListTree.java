@@ -0,0 +1,285 @@
+/*
+ * SkipListTree.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class defines skip lists, which keys are stored in a lock-free
+ * concurrent skip list. The keys can be inserted, deleted and searched by any
+ * number of threads at the same time with {@code void insertKey(int key)},
+ * {@code boolean deleteKey(int key)} and {@code boolean containsKey(int key)}.
+ * In order to be visualized and saved like the other binary trees, the skip
+ * list is mapped to a binary search tree with as node
+ * <tt>BinarySearchNode</tt> by {@code void buildTreeFromSkipList()}: the key
+ * which tower is the highest becomes the root and the keys on its left and on
+ * its right become its subtrees, so the height of the tree is logarithmic on
+ * average like the number of levels of the skip list. The level of a key only
+ * depends on the key and on its number of occurrences, so the same keys always
+ * give the same tree. The keys are inserted and deleted without touching the
+ * mapped tree, which is built again only when it is read after a modification,
+ * so a sequence of operations costs one build at most. The build is done by
+ * one thread at a time and replaces the nodes instead of modifying them, but
+ * the nodes of the mapped tree must not be modified by the readers. Only the
+ * three methods above are lock-free: the algorithm strategy and the model of
+ * the skip list record the changes without synchronization, like those of the
+ * other trees. It is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see IBinarySearchTree
+ */
+public final class SkipListTree extends AbstractBinarySearchTree {
+
+    private static final int MAX_LEVEL = 31;
+
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private static final int OCCURRENCE_MULTIPLIER = 0x85EBCA6B;
+
+    private final AtomicInteger nbInsertions = new AtomicInteger();
+
+    /**
+     * The number of insertions and deletions of keys since the creation of
+     * the skip list, and this number when the mapped tree was built. The
+     * mapped tree is outdated when they differ.
+     */
+    private final AtomicLong nbModifications = new AtomicLong();
+
+    private volatile long nbModificationsOfTree;
+
+    /**
+     * The entries of the skip list, that is to say the keys in the high bits
+     * and a distinct insertion number in the low bits, so that a key can be
+     * inserted several times. They are created from the nodes of the tree the
+     * first time they are needed since the root has been set.
+     */
+    private volatile ConcurrentSkipListSet<Long> entries;
+
+    {
+        type = BinaryTreeType.SKIPLIST;
+    }
+
+    /**
+     * Builds an empty skip list. The root node is initialized to null.
+     */
+    public SkipListTree() {
+        root = null;
+    }
+
+    /**
+     * Builds a skip list with the key given in parameter. The children and the
+     * father of the root node are initialized to null.
+     *
+     * @param key the key of the root node
+     */
+    public SkipListTree(int key) {
+        root = new BinarySearchNode(key);
+    }
+
+    @Override
+    public BinarySearchNode getRoot() {
+        if (nbModificationsOfTree != nbModifications.get()) {
+            synchronized (this) {
+                if (nbModificationsOfTree != nbModifications.get()) {
+                    buildTreeFromSkipList();
+                }
+            }
+        }
+        return (BinarySearchNode) root;
+    }
+
+    @Override
+    public void setRoot(IBinaryNode newNode) throws IllegalArgumentException {
+        if ((newNode != null) && !(newNode instanceof BinarySearchNode)) {
+            throw new IllegalArgumentException(
+                    "You have to pass a BinarySearchNode");
+        }
+        synchronized (this) {
+            root = newNode;
+            entries = null;
+            nbModificationsOfTree = nbModifications.get();
+        }
+    }
+
+    @Override
+    public boolean isWellFormedTree() {
+        return isWellFormedBST(getRoot());
+    }
+
+    /**
+     * Inserts {@code key} into the skip list. This method can be called by
+     * several threads at the same time. The mapped tree is not modified, it
+     * is built again the next time it is read.
+     *
+     * @param key the key to insert
+     */
+    public void insertKey(int key) {
+        getEntries().add(toEntry(key, nbInsertions.getAndIncrement()));
+        nbModifications.incrementAndGet();
+    }
+
+    /**
+     * Deletes one occurrence of {@code key} from the skip list. This method
+     * can be called by several threads at the same time. The mapped tree is
+     * not modified, it is built again the next time it is read.
+     *
+     * @param key the key to delete
+     * @return true if the key has been deleted, or else false if it was not
+     *         in the skip list
+     */
+    public boolean deleteKey(int key) {
+        ConcurrentSkipListSet<Long> skipList = getEntries();
+        Long entry = skipList.ceiling(toEntry(key, 0));
+
+        while ((entry != null) && (keyOf(entry) == key)) {
+            if (skipList.remove(entry)) {
+                nbModifications.incrementAndGet();
+                return true;
+            }
+            entry = skipList.ceiling(entry);
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the skip list contains {@code key}, or else false. This
+     * method can be called by several threads at the same time.
+     *
+     * @param key the key to search
+     * @return true if the key is in the skip list, or else false
+     */
+    public boolean containsKey(int key) {
+        Long entry = getEntries().ceiling(toEntry(key, 0));
+
+        return (entry != null) && (keyOf(entry) == key);
+    }
+
+    /**
+     * Replaces the nodes of the tree by the mapping of the current keys of the
+     * skip list. The tree is built in linear time from the ordered keys with a
+     * stack containing the right border of the tree built so far. The nodes of
+     * the border are only linked to their right child once it is complete, so
+     * that attaching a node never updates the height and the size of more than
+     * one node. The keys inserted or deleted during the build may be missed,
+     * in which case the tree is built again the next time it is read.
+     */
+    public synchronized void buildTreeFromSkipList() {
+        List<BinarySearchNode> rightBorder = new ArrayList<BinarySearchNode>();
+        List<Integer> borderLevels = new ArrayList<Integer>();
+        BinarySearchNode rightChild = null;
+        long nbModificationsOfBuild = nbModifications.get();
+        int previousKey = 0;
+        int occurrence = 0;
+
+        for (Long entry : getEntries()) {
+            int key = keyOf(entry);
+            BinarySearchNode node = new BinarySearchNode(key);
+            BinarySearchNode leftChild = null;
+            int level;
+
+            occurrence = (!rightBorder.isEmpty() && (key == previousKey))
+                    ? occurrence + 1 : 0;
+            previousKey = key;
+            level = levelOf(key, occurrence);
+            while (!rightBorder.isEmpty()
+                    && (borderLevels.get(borderLevels.size() - 1) < level)) {
+                BinarySearchNode removedNode =
+                        rightBorder.remove(rightBorder.size() - 1);
+
+                borderLevels.remove(borderLevels.size() - 1);
+                if (leftChild != null) {
+                    removedNode.setRight(leftChild);
+                }
+                leftChild = removedNode;
+            }
+            if (leftChild != null) {
+                node.setLeft(leftChild);
+            }
+            rightBorder.add(node);
+            borderLevels.add(level);
+        }
+        for (int i = rightBorder.size() - 1; i >= 0; i--) {
+            BinarySearchNode node = rightBorder.get(i);
+
+            if (rightChild != null) {
+                node.setRight(rightChild);
+            }
+            rightChild = node;
+        }
+        root = rightChild;
+        nbModificationsOfTree = nbModificationsOfBuild;
+    }
+
+    private ConcurrentSkipListSet<Long> getEntries() {
+        ConcurrentSkipListSet<Long> skipList = entries;
+
+        if (skipList == null) {
+            synchronized (this) {
+                skipList = entries;
+                if (skipList == null) {
+                    skipList = createEntries();
+                    entries = skipList;
+                }
+            }
+        }
+        return skipList;
+    }
+
+    private ConcurrentSkipListSet<Long> createEntries() {
+        ConcurrentSkipListSet<Long> skipList = new ConcurrentSkipListSet<Long>();
+        List<IBinaryNode> stack = new ArrayList<IBinaryNode>();
+        IBinaryNode node = root;
+
+        while ((node != null) || !stack.isEmpty()) {
+            while (node != null) {
+                stack.add(node);
+                node = node.getLeft();
+            }
+            node = stack.remove(stack.size() - 1);
+            skipList.add(toEntry(node.getKey(), nbInsertions.getAndIncrement()));
+            node = node.getRight();
+        }
+        return skipList;
+    }
+
+    private static long toEntry(int key, int insertionNumber) {
+        return ((long) key << 32) | (insertionNumber & 0xFFFFFFFFL);
+    }
+
+    private static int keyOf(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    private static int levelOf(int key, int occurrence) {
+        int hash = (key * HASH_MULTIPLIER) ^ (occurrence * OCCURRENCE_MULTIPLIER);
+
+        hash ^= hash >>> 16;
+        hash *= HASH_MULTIPLIER;
+        hash ^= hash >>> 15;
+        return Integer.numberOfTrailingZeros(hash | (1 << MAX_LEVEL));
+    }
+}
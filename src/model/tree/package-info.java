@@ -24,9 +24,10 @@
  * trees. Currently, only binary trees have been implemented but the creation of
  * other trees is possible. The current implementation of binary trees is
  * quite simple and it is designed for inheritance in order to create other
- * types of binary trees. This package contains binary search trees, AVL trees
- * and red black trees. If you would like to create other trees, do not forget
- * to implement the interface <tt>IDataStructure</tt> from the parent package.
+ * types of binary trees. This package contains binary search trees, AVL trees,
+ * red black trees and skip lists, which are represented as binary search
+ * trees. If you would like to create other trees, do not forget to implement
+ * the interface <tt>IDataStructure</tt> from the parent package.
  * 
  * @author Julien Hannier
  * @version 0.10 10/02/09
@@ -21,6 +21,7 @@
 
 package view;
 
+import java.util.concurrent.Executor;
 import controller.ISoftwareController;
 import controller.IBinaryTreeController;
 
@@ -56,4 +57,22 @@ public abstract class AbstractViewFactory {
      */
     public abstract IBinaryTreeView createBinaryTreeView(String type,
             IBinaryTreeController controller);
+
+    /**
+     * Returns the executor that runs tasks in the thread of the views. The
+     * controllers use it to come back to the views at the end of an operation
+     * performed in the background. By default, the tasks are run directly by
+     * the thread that submits them, which suits the technologies that do not
+     * have a thread dedicated to the views.
+     *
+     * @return the executor of the thread of the views
+     */
+    public Executor getViewExecutor() {
+        return new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                task.run();
+            }
+        };
+    }
 }
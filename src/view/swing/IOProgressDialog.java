@@ -0,0 +1,206 @@
+/*
+ * IOProgressDialog.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package view.swing;
+
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.WindowConstants;
+import io.IProgressListener;
+
+/**
+ * This class defines the dialog showing the progress of a file input or output
+ * operation performed in the background. It is composed by a label describing
+ * the operation, a progress bar, a label giving the number of nodes and bytes
+ * processed, and a button to cancel the operation. The dialog is modal, so the
+ * data structures can not be modified during the operation while the views
+ * are still repainted. It is only shown if the operation lasts more than a
+ * fraction of second. This class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+final class IOProgressDialog extends JDialog implements IProgressListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long DISPLAY_DELAY = 200;
+
+    private static final int POLLING_DELAY = 100;
+
+    private static final long BYTES_PER_KILOBYTE = 1024;
+
+    private Future<?> operation;
+
+    private final String elementsName;
+
+    private final JLabel progressLabel;
+
+    /**
+     * Builds the progress dialog. The dialog has to be given as the listener
+     * of the progress of the operation, and the operation is then given to
+     * {@code waitForOperation}.
+     *
+     * @param parent the parent frame of the progress dialog
+     * @param title the title of the dialog
+     * @param message the description of the operation
+     * @param elements the name of the elements processed, like nodes or files
+     */
+    IOProgressDialog(JFrame parent, String title, String message,
+            String elements) {
+        super(parent, title, true);
+
+        elementsName = elements;
+        progressLabel = new JLabel(formatProgress(0, 0));
+
+        setContentPane(createDialogPanel(message));
+        setResizable(false);
+        pack();
+        setLocationRelativeTo(parent);
+        setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+
+            @Override
+            public void windowClosing(WindowEvent event) {
+                cancelOperation();
+            }
+        });
+    }
+
+    private JPanel createDialogPanel(String message) {
+        JPanel contentPane = new JPanel(new GridBagLayout());
+        GridBagConstraints contentPaneConstraints = new GridBagConstraints();
+        JProgressBar progressBar = new JProgressBar();
+        JButton cancelButton = new JButton("Cancel");
+
+        progressBar.setIndeterminate(true);
+        cancelButton.addActionListener(new ActionListener() {
+
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                cancelOperation();
+            }
+        });
+        contentPaneConstraints.insets = new Insets(10, 10, 0, 10);
+        contentPaneConstraints.fill = GridBagConstraints.HORIZONTAL;
+        contentPaneConstraints.gridx = 0;
+        contentPaneConstraints.gridy = 0;
+        contentPane.add(new JLabel(message), contentPaneConstraints);
+        contentPaneConstraints.gridy = 1;
+        contentPane.add(progressBar, contentPaneConstraints);
+        contentPaneConstraints.gridy = 2;
+        contentPane.add(progressLabel, contentPaneConstraints);
+        contentPaneConstraints.insets = new Insets(10, 10, 10, 10);
+        contentPaneConstraints.fill = GridBagConstraints.NONE;
+        contentPaneConstraints.gridy = 3;
+        contentPane.add(cancelButton, contentPaneConstraints);
+
+        return contentPane;
+    }
+
+    private void cancelOperation() {
+        if (operation != null) {
+            operation.cancel(true);
+        }
+    }
+
+    private String formatProgress(int nbElements, long nbBytes) {
+        return nbElements + " " + elementsName + ", "
+                + (nbBytes / BYTES_PER_KILOBYTE) + " KB processed";
+    }
+
+    /**
+     * Waits for the end of the operation which result is {@code future}. The
+     * dialog is shown if the operation is not finished after a short delay,
+     * and it is closed as soon as the operation is finished or cancelled. If
+     * the operation has failed, the cause of the failure is returned, or else
+     * null. The cancellation of the operation is given by a
+     * <tt>CancellationException</tt>.
+     *
+     * @param future the future result of the operation
+     * @return the cause of the failure of the operation or null
+     */
+    Throwable waitForOperation(Future<?> future) {
+        operation = future;
+        try {
+            try {
+                operation.get(DISPLAY_DELAY, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                showUntilOperationIsDone();
+                operation.get();
+            }
+            return null;
+        } catch (CancellationException ex) {
+            return ex;
+        } catch (ExecutionException ex) {
+            return ex.getCause();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return ex;
+        }
+    }
+
+    private void showUntilOperationIsDone() {
+        Timer timer = new Timer(POLLING_DELAY, new ActionListener() {
+
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                if (operation.isDone()) {
+                    setVisible(false);
+                    dispose();
+                }
+            }
+        });
+
+        timer.start();
+        setVisible(true);
+        timer.stop();
+    }
+
+    @Override
+    public void progressHasChanged(final int nbElements, final long nbBytes) {
+        SwingUtilities.invokeLater(new Runnable() {
+
+            @Override
+            public void run() {
+                progressLabel.setText(formatProgress(nbElements, nbBytes));
+            }
+        });
+    }
+}
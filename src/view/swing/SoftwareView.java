@@ -39,6 +39,7 @@ import controller.ISoftwareController;
 import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
@@ -151,6 +152,7 @@ public final class SoftwareView extends JFrame implements ISoftwareView {
     private JMenu createFileMenu() {
         JMenu fileMenu = new JMenu("File");
         JMenuItem openMenuItem = new JMenuItem("Open");
+        JMenuItem openSeveralMenuItem = new JMenuItem("Open Several");
         JMenuItem saveMenuItem = new JMenuItem("Save");
 
         fileMenu.setMnemonic('F');
@@ -163,6 +165,16 @@ public final class SoftwareView extends JFrame implements ISoftwareView {
                 softwareViewIOOperation.openFileOperation();
             }
         });
+        openSeveralMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_O,
+                openMenuItem.getAccelerator().getModifiers()
+                | InputEvent.SHIFT_DOWN_MASK));
+        openSeveralMenuItem.addActionListener(new ActionListener() {
+
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                softwareViewIOOperation.openFilesOperation();
+            }
+        });
         saveMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_S,
                 Toolkit.getDefaultToolkit().getMenuShortcutKeyMask()));
         saveMenuItem.addActionListener(new ActionListener() {
@@ -190,6 +202,7 @@ public final class SoftwareView extends JFrame implements ISoftwareView {
             }
         });
         fileMenu.add(openMenuItem);
+        fileMenu.add(openSeveralMenuItem);
         fileMenu.add(saveMenuItem);
 
         String osName = System.getProperty("os.name").toLowerCase();
@@ -23,8 +23,10 @@ package view.swing;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.text.ParseException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.filechooser.FileFilter;
@@ -32,6 +34,7 @@ import controller.ISoftwareController;
 import java.util.ArrayList;
 import java.util.List;
 import javax.swing.JFrame;
+import model.IDataStructureModel;
 import model.UnknownDataStructureException;
 import view.swing.tree.BinaryTreeFileFilter;
 
@@ -42,7 +45,9 @@ import view.swing.tree.BinaryTreeFileFilter;
  * <tt>SoftwareViewIOOperation</tt> is implemented to manage IO operations
  * between users and the software. If you would like to add other data structure
  * file filters, do not forget to register your data structure file filters in
- * the data structure {@code dataStructureFileFilters} in this class.
+ * the data structure {@code dataStructureFileFilters} in this class. The files
+ * are loaded and saved in the background by the software controller while a
+ * progress dialog lets users follow or cancel the operation.
  * 
  * @author Julien Hannier
  * @version 0.10 27/09/08
@@ -61,6 +66,8 @@ final class SoftwareViewIOOperation {
      */
     private static final List<FileFilter> dataStructureFileFilters = new ArrayList<FileFilter>();
 
+    private static final int MAX_LISTED_FAILURES = 10;
+
     /**
      * Registration of the data structure file filters according to the types of
      * data structures. You have to register new data structure file filters here.
@@ -113,29 +120,152 @@ final class SoftwareViewIOOperation {
         int userChoice = softwareFileChooser.showOpenDialog(softwareFileChooserParent);
         
         if (userChoice == JFileChooser.APPROVE_OPTION) {
+            File file = softwareFileChooser.getSelectedFile();
+            IOProgressDialog progressDialog = new IOProgressDialog(
+                    softwareFileChooserParent, "Open Operation", "Loading "
+                    + file.getName() + "...", "nodes");
+            Throwable failure = null;
+
             try {
-                softwareController.addDataStructure(softwareFileChooser.getSelectedFile());
-            } catch (FileNotFoundException ex) {
-                showErrorMessage("The file you indicated does not exist.", "Open Error");
+                failure = progressDialog.waitForOperation(
+                        softwareController.addDataStructure(file,
+                        progressDialog, null));
             } catch (IllegalArgumentException ex) {
+                failure = ex;
+            }
+            if (failure instanceof FileNotFoundException) {
+                showErrorMessage("The file you indicated does not exist.", "Open Error");
+            } else if (failure instanceof IllegalArgumentException) {
                 showErrorMessage("An irrecoverable error occurs and the" +
                         " software is about\nto shut down. Sorry for the" +
                         " inconvenience.", "Software Error");
                 System.exit(1);
-            } catch (ParseException ex) {
+            } else if (failure instanceof ParseException) {
+                ParseException ex = (ParseException) failure;
+
                 showErrorMessage("The file you indicated contains an error on" +
                         " the line : " + ex.getErrorOffset() + ". The error" +
                         " message is :\n" + ex.getMessage(), "Open Error");
-            } catch (IOException ex) {
+            } else if (failure instanceof UnknownDataStructureException) {
+                showErrorMessage(failure.getMessage(), "Open Error");
+            } else if ((failure != null)
+                    && !(failure instanceof CancellationException)) {
                 showErrorMessage("A problem occurs with the file you indicated.",
                         "Open Error");
-            } catch (UnknownDataStructureException ex) {
-                showErrorMessage(ex.getMessage(), "Open Error");
             }
         }
         softwareFileChooser.setSelectedFile(null);
     }
 
+    /**
+     * Asks the user to open several files or directories containing data
+     * structures and adds them all to the software. The files are loaded
+     * concurrently, and the files of a directory are added in the order of
+     * their names. The files that could not be loaded are listed in a single
+     * error message.
+     */
+    void openFilesOperation() {
+        softwareFileChooser.setMultiSelectionEnabled(true);
+        softwareFileChooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+
+        int userChoice = softwareFileChooser.showOpenDialog(softwareFileChooserParent);
+        File[] selectedFiles = softwareFileChooser.getSelectedFiles();
+
+        softwareFileChooser.setMultiSelectionEnabled(false);
+        softwareFileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
+        if (userChoice == JFileChooser.APPROVE_OPTION) {
+            List<File> files = new ArrayList<File>();
+
+            for (File selectedFile: selectedFiles) {
+                if (selectedFile.isDirectory()) {
+                    files.addAll(softwareController.getDataStructureFiles(selectedFile));
+                } else {
+                    files.add(selectedFile);
+                }
+            }
+            if (files.isEmpty()) {
+                showErrorMessage("There is no data structure file in the" +
+                        " directories you indicated.", "Open Error");
+            } else {
+                try {
+                    IOProgressDialog progressDialog = new IOProgressDialog(
+                            softwareFileChooserParent, "Open Operation",
+                            "Loading " + files.size() + " files...", "files");
+                    Future<List<Future<IDataStructureModel>>> models =
+                            softwareController.addDataStructures(files,
+                            progressDialog, null);
+
+                    if (progressDialog.waitForOperation(models) == null) {
+                        showOpenFailures(files, getResult(models));
+                    }
+                } catch (IllegalArgumentException ex) {
+                    showErrorMessage("An irrecoverable error occurs and the" +
+                            " software is about\nto shut down. Sorry for the" +
+                            " inconvenience.", "Software Error");
+                    System.exit(1);
+                }
+            }
+        }
+        softwareFileChooser.setSelectedFile(null);
+    }
+
+    private void showOpenFailures(List<File> files,
+            List<Future<IDataStructureModel>> models) {
+        StringBuilder message = new StringBuilder();
+        int nbFailures = 0;
+
+        for (int i = 0; i < models.size(); i++) {
+            Throwable failure = getFailure(models.get(i));
+
+            if ((failure != null) && (nbFailures++ < MAX_LISTED_FAILURES)) {
+                message.append("\n").append(files.get(i).getName())
+                        .append(" : ").append(describeOpenFailure(failure));
+            }
+        }
+        if (nbFailures > MAX_LISTED_FAILURES) {
+            message.append("\nand ").append(nbFailures - MAX_LISTED_FAILURES)
+                    .append(" other files.");
+        }
+        if (nbFailures > 0) {
+            showErrorMessage(nbFailures + " of the " + files.size() + " files" +
+                    " you indicated could not be opened :" + message, "Open Error");
+        }
+    }
+
+    private static String describeOpenFailure(Throwable failure) {
+        if (failure instanceof FileNotFoundException) {
+            return "the file does not exist.";
+        } else if (failure instanceof ParseException) {
+            return "error on the line " + ((ParseException) failure)
+                    .getErrorOffset() + ", " + failure.getMessage() + ".";
+        } else if (failure instanceof UnknownDataStructureException) {
+            return failure.getMessage() + ".";
+        } else {
+            return "a problem occurs with the file.";
+        }
+    }
+
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Throwable getFailure(Future<?> future) {
+        try {
+            future.get();
+            return null;
+        } catch (ExecutionException ex) {
+            return ex.getCause();
+        } catch (InterruptedException ex) {
+            return ex;
+        }
+    }
+
     /**
      * Saves the data structure indicated by {@code selectedIndex} by asking
      * users where to save it. If the operation is successfull then the name of
@@ -161,11 +291,19 @@ final class SoftwareViewIOOperation {
 
             if ((!file.exists()) || (userChoice == JOptionPane.YES_OPTION)) {
                 try {
-                    softwareController.saveDataStructure(file, selectedIndex);
-                    fileName = file.getName();
-                } catch (IOException ex) {
-                    showErrorMessage("A problem occurs with the file you indicated.",
-                    "Save Error");
+                    IOProgressDialog progressDialog = new IOProgressDialog(
+                            softwareFileChooserParent, "Save Operation",
+                            "Saving " + file.getName() + "...", "nodes");
+                    Throwable failure = progressDialog.waitForOperation(
+                            softwareController.saveDataStructure(file,
+                            selectedIndex, progressDialog, null));
+
+                    if (failure == null) {
+                        fileName = file.getName();
+                    } else if (!(failure instanceof CancellationException)) {
+                        showErrorMessage("A problem occurs with the file you indicated.",
+                        "Save Error");
+                    }
                 } catch (IndexOutOfBoundsException ex) {
                     showErrorMessage("An irrecoverable error occurs and the" +
                         " software is about\nto shut down. Sorry for the" +
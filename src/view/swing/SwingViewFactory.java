@@ -21,6 +21,8 @@
 
 package view.swing;
 
+import java.util.concurrent.Executor;
+import javax.swing.SwingUtilities;
 import controller.ISoftwareController;
 import controller.IBinaryTreeController;
 import view.IBinaryTreeView;
@@ -68,4 +70,14 @@ public final class SwingViewFactory extends AbstractViewFactory {
             IBinaryTreeController controller) {
         return new BinaryTreeView(type, controller);
     }
+
+    @Override
+    public Executor getViewExecutor() {
+        return new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                SwingUtilities.invokeLater(task);
+            }
+        };
+    }
 }
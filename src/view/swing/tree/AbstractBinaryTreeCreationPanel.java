@@ -24,12 +24,11 @@ package view.swing.tree;
 import controller.IBinaryTreeController;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
 import javax.swing.JButton;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
-import model.tree.IBinaryNode;
+import model.tree.BinaryTreeSnapshot;
 
 /**
  * This class defines the binary tree creation panel. It is composed by a binary
@@ -96,6 +95,15 @@ abstract class AbstractBinaryTreeCreationPanel extends JPanel {
         deleteNodeText.setHorizontalAlignment(SwingConstants.CENTER);
     }
 
+    private static boolean isKey(String nodeValue) {
+        try {
+            Integer.parseInt(nodeValue);
+            return true;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
     private JButton createInsertNodeButton() {
         JButton insertButton = new JButton("Insert");
 
@@ -107,19 +115,8 @@ abstract class AbstractBinaryTreeCreationPanel extends JPanel {
                 String nodeValue = insertNodeText.getText();
 
                 if ((nodeValue != null) && !emptyString.equals(nodeValue)) {
-                    if (nodeValue.length() == 2) {
-                        if ((nodeValue.charAt(0) >= '0')
-                                && (nodeValue.charAt(0) <= '9')) {
-                            if ((nodeValue.charAt(1) >= '0')
-                                    && (nodeValue.charAt(1) <= '9')) {
-                                insertNodeActionWithText(nodeValue);
-                            }
-                        }
-                    } else if (nodeValue.length() == 1) {
-                        if ((nodeValue.charAt(0) >= '0')
-                                && (nodeValue.charAt(0) <= '9')) {
-                            insertNodeActionWithText(nodeValue);
-                        }
+                    if (isKey(nodeValue)) {
+                        insertNodeActionWithText(nodeValue);
                     }
                     insertNodeText.setText(null);
                 } else {
@@ -142,19 +139,8 @@ abstract class AbstractBinaryTreeCreationPanel extends JPanel {
                 String nodeValue = deleteNodeText.getText();
 
                 if ((nodeValue != null) && !emptyString.equals(nodeValue)) {
-                    if (nodeValue.length() == 2) {
-                        if ((nodeValue.charAt(0) >= '0')
-                                && (nodeValue.charAt(0) <= '9')) {
-                            if ((nodeValue.charAt(1) >= '0')
-                                    && (nodeValue.charAt(1) <= '9')) {
-                                deleteNodeActionWithText(nodeValue);
-                            }
-                        }
-                    } else if (nodeValue.length() == 1) {
-                        if ((nodeValue.charAt(0) >= '0')
-                                && (nodeValue.charAt(0) <= '9')) {
-                            deleteNodeActionWithText(nodeValue);
-                        }
+                    if (isKey(nodeValue)) {
+                        deleteNodeActionWithText(nodeValue);
                     }
                     deleteNodeText.setText(null);
                 } else {
@@ -196,11 +182,11 @@ abstract class AbstractBinaryTreeCreationPanel extends JPanel {
 
     /**
      * Updates the binary tree visualization with the last version of the tree
-     * as heap representation.
+     * as snapshot.
      *
-     * @param heapRepresentation the last version of the tree as heap
+     * @param snapshot the last version of the tree as snapshot
      */
-    <N extends IBinaryNode> void updateTreeVisualization(List<N> heapRepresentation) {
-        binaryTreeVisualization.updateTreeVisualization(heapRepresentation);
+    void updateTreeVisualization(BinaryTreeSnapshot snapshot) {
+        binaryTreeVisualization.updateTreeVisualization(snapshot);
     }
 }
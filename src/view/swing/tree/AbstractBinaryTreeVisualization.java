@@ -37,8 +37,7 @@ import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
 import javax.swing.JScrollPane;
 import javax.swing.ScrollPaneConstants;
-import model.tree.IBinaryNode;
-import model.tree.RedBlackNode;
+import model.tree.BinaryTreeSnapshot;
 import view.swing.tree.GraphicNode.GraphicNodeColor;
 import view.swing.tree.GraphicNode.GraphicNodeSize;
 
@@ -46,7 +45,10 @@ import view.swing.tree.GraphicNode.GraphicNodeSize;
  * This class defines the binary tree visualization. It is composed by graphic
  * nodes that represent a binary tree. These graphic nodes can be moved on the
  * visualization and always return to there first place. Moreover, the color of
- * the selected node is not the same as the others. This class is designed for
+ * the selected node is not the same as the others. The graphic nodes are
+ * indexed with the numbers of the nodes in the snapshot of the binary tree and
+ * each node has its own column given by its rank in the inorder traversal, so
+ * the layout is linear in the number of nodes. This class is designed for
  * inheritance in order to create specific binary tree visualization thanks to
  * the design pattern template method.
  * 
@@ -67,6 +69,12 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
 
     private List<GraphicNode> graphicNodes;
 
+    private BinaryTreeSnapshot snapshotOfBinaryTree;
+
+    private int[] graphicNodeHeights;
+
+    private int[] graphicNodeColumns;
+
     private int indexOfSelectedNode;
 
     private int xPositionOfSelectedNode;
@@ -116,6 +124,8 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
 
         binaryTreeController = c;
         graphicNodes = new ArrayList<GraphicNode>();
+        graphicNodeHeights = new int[0];
+        graphicNodeColumns = new int[0];
         sizeOfNodes = GraphicNodeSize.ONE;
         yPositionOfRootNode = ROOT_NODE_Y_POSITION_SHIFT + sizeOfNodes.getSizeAsInt() / 2;
         heightBetweenNodes = INITIAL_HEIGHT_BETWEEN_NODES;
@@ -194,18 +204,15 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
 
         for (int i = 0; i < graphicNodes.size(); i++) {
             GraphicNode currentNode = graphicNodes.get(i);
-
-            if (currentNode != null) {
-                int currentNodeSize = currentNode.getNodeSize().getSizeAsInt();
-                int currentNodeXPosition = currentNode.getXPosition();
-                int currentNodeYPosition = currentNode.getYPosition();
-
-                if ((x < currentNodeXPosition + currentNodeSize / 2)
-                        && (x > currentNodeXPosition - currentNodeSize / 2)
-                        && (y < currentNodeYPosition + currentNodeSize / 2)
-                        && (y > currentNodeYPosition - currentNodeSize / 2)) {
-                    index = i;
-                }
+            int currentNodeSize = currentNode.getNodeSize().getSizeAsInt();
+            int currentNodeXPosition = currentNode.getXPosition();
+            int currentNodeYPosition = currentNode.getYPosition();
+
+            if ((x < currentNodeXPosition + currentNodeSize / 2)
+                    && (x > currentNodeXPosition - currentNodeSize / 2)
+                    && (y < currentNodeYPosition + currentNodeSize / 2)
+                    && (y > currentNodeYPosition - currentNodeSize / 2)) {
+                index = i;
             }
         }
 
@@ -221,15 +228,8 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
      * @return the index of the parent graphic node or else -1
      */
     protected int findIndexOfParentNode(int index) {
-        if ((index >= 0) && (index < graphicNodes.size())
-                && (graphicNodes.get(index) != null)) {
-            if (index != 0) {
-                if (index % 2 == 0) {
-                    return (index - 2) / 2;
-                } else {
-                    return (index - 1) / 2;
-                }
-            }
+        if (isGraphicNodeIndex(index)) {
+            return snapshotOfBinaryTree.getFather(index);
         }
 
         return -1;
@@ -247,10 +247,9 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
         int currentIndex = index;
         int minNodeIndex = -1;
 
-        while ((currentIndex >= 0) && (currentIndex < graphicNodes.size())
-                && (graphicNodes.get(currentIndex) != null)) {
+        while (isGraphicNodeIndex(currentIndex)) {
             minNodeIndex = currentIndex;
-            currentIndex = 2 * currentIndex + 1;
+            currentIndex = snapshotOfBinaryTree.getLeft(currentIndex);
         }
 
         return minNodeIndex;
@@ -268,10 +267,9 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
         int currentIndex = index;
         int maxNodeIndex = -1;
 
-        while ((currentIndex >= 0) && (currentIndex < graphicNodes.size())
-                && (graphicNodes.get(currentIndex) != null)) {
+        while (isGraphicNodeIndex(currentIndex)) {
             maxNodeIndex = currentIndex;
-            currentIndex = 2 * currentIndex + 2;
+            currentIndex = snapshotOfBinaryTree.getRight(currentIndex);
         }
 
         return maxNodeIndex;
@@ -286,8 +284,7 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
      * @return the key of the graphic node or else -1
      */
     protected int findNodeKey(int index) {
-        if ((index >= 0) && (index < graphicNodes.size())
-                && (graphicNodes.get(index) != null)) {
+        if (isGraphicNodeIndex(index)) {
             return graphicNodes.get(index).getNodeKey();
         }
 
@@ -297,19 +294,22 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
     /**
      * Computes the height of the graphic node indicated with {@code index}. If
      * {@code index} is out of bounds or there is no node at this index, then -1
-     * is returned.
+     * is returned. The heights are computed once for each new snapshot, so this
+     * method runs in constant time.
      *
      * @param index the index of the current node
      * @return the height of the graphic node or else -1
      */
     protected int computeGraphicNodeHeight(int index) {
-        if ((index < 0) || (index >= graphicNodes.size())
-                || (graphicNodes.get(index) == null)) {
-            return -1;
-        } else {
-            return Math.max(computeGraphicNodeHeight(2 * index + 1),
-                    computeGraphicNodeHeight(2 * index + 2)) + 1;
+        if (isGraphicNodeIndex(index)) {
+            return graphicNodeHeights[index];
         }
+
+        return -1;
+    }
+
+    private boolean isGraphicNodeIndex(int index) {
+        return (index >= 0) && (index < graphicNodes.size());
     }
 
     private void changeGraphicNodeColor(int index, GraphicNodeColor color) {
@@ -369,50 +369,38 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
     }
 
     private void moveGraphicSubNodes(int index, int shiftX, int shiftY) {
-        if (2 * index + 1 < graphicNodes.size()) {
-            GraphicNode leftNode = graphicNodes.get(2 * index + 1);
+        int[] stack = new int[graphicNodeHeights[index] + 2];
+        int top = 0;
 
-            if (leftNode != null) {
-                moveGraphicSubNodes(2 * index + 1, shiftX, shiftY);
-                leftNode.changeNodePosition(leftNode.getXPosition() + shiftX,
-                        leftNode.getYPosition() + shiftY);
-            }
+        if (snapshotOfBinaryTree.getLeft(index) != BinaryTreeSnapshot.NIL) {
+            stack[top++] = snapshotOfBinaryTree.getLeft(index);
         }
-        if (2 * index + 2 < graphicNodes.size()) {
-            GraphicNode rightNode = graphicNodes.get(2 * index + 2);
-
-            if (rightNode != null) {
-                moveGraphicSubNodes(2 * index + 2, shiftX, shiftY);
-                rightNode.changeNodePosition(rightNode.getXPosition() + shiftX,
-                        rightNode.getYPosition() + shiftY);
+        if (snapshotOfBinaryTree.getRight(index) != BinaryTreeSnapshot.NIL) {
+            stack[top++] = snapshotOfBinaryTree.getRight(index);
+        }
+        while (top > 0) {
+            int currentIndex = stack[--top];
+            GraphicNode currentNode = graphicNodes.get(currentIndex);
+
+            currentNode.changeNodePosition(currentNode.getXPosition() + shiftX,
+                    currentNode.getYPosition() + shiftY);
+            if (snapshotOfBinaryTree.getLeft(currentIndex) != BinaryTreeSnapshot.NIL) {
+                stack[top++] = snapshotOfBinaryTree.getLeft(currentIndex);
+            }
+            if (snapshotOfBinaryTree.getRight(currentIndex) != BinaryTreeSnapshot.NIL) {
+                stack[top++] = snapshotOfBinaryTree.getRight(currentIndex);
             }
         }
     }
 
     private void paintEdges(Graphics graphics) {
-        int index = 0;
-
-        while (2 * index + 1 < graphicNodes.size()) {
-            GraphicNode fatherNode = graphicNodes.get(index);
-
-            if (fatherNode != null) {
-                GraphicNode leftNode = graphicNodes.get(2 * index + 1);
-
-                if (leftNode != null) {
-                    graphics.drawLine(fatherNode.getXPosition(), fatherNode.getYPosition(),
-                            leftNode.getXPosition(), leftNode.getYPosition());
-                }
-                if ((2 * index + 2) < graphicNodes.size()) {
-                    GraphicNode rightNode = graphicNodes.get(2 * index + 2);
+        for (int index = 1; index < graphicNodes.size(); index++) {
+            GraphicNode childNode = graphicNodes.get(index);
+            GraphicNode fatherNode = graphicNodes.get(
+                    snapshotOfBinaryTree.getFather(index));
 
-                    if (rightNode != null) {
-                        graphics.drawLine(fatherNode.getXPosition(), fatherNode.getYPosition(),
-                                rightNode.getXPosition(), rightNode.getYPosition());
-                    }
-                }
-            }
-
-            index++;
+            graphics.drawLine(fatherNode.getXPosition(), fatherNode.getYPosition(),
+                    childNode.getXPosition(), childNode.getYPosition());
         }
     }
 
@@ -422,9 +410,7 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
 
         paintEdges(graphics);
         for (GraphicNode node : graphicNodes) {
-            if (node != null) {
-                node.paintNode(graphics);
-            }
+            node.paintNode(graphics);
         }
         paintExtraComponent(graphics);
     }
@@ -444,24 +430,11 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
 
         int nbNodes = graphicNodes.size();
         if (nbNodes > 0) {
-            int height = 0;
             int nodeSize = sizeOfNodes.getSizeAsInt();
-            int nbOfNodesOnTheLastWidth = 1;
-            int nbWidthBetweenBrotherNodes = 0;
-            int nbWidthBetweenDifferentNodes = 0;
-
-            if (nbNodes > 1) {
-                height = (int) (Math.log((nbNodes + 1) / 2) / Math.log(2));
-                nbOfNodesOnTheLastWidth = (int) Math.pow(2, height);
-                nbWidthBetweenBrotherNodes = nbOfNodesOnTheLastWidth / 2;
-                nbWidthBetweenDifferentNodes = nbOfNodesOnTheLastWidth / 2 - 1;
-            }
 
-            widthSize = nbOfNodesOnTheLastWidth * nodeSize
-                    + nbWidthBetweenBrotherNodes * widthBetweenBrotherNodes
-                    + nbWidthBetweenDifferentNodes * widthBetweenDifferentNodes
-                    + yPositionOfRootNode;
-            heightSize = height * heightBetweenNodes
+            widthSize = (nbNodes - 1) * computeWidthBetweenColumns()
+                    + 2 * yPositionOfRootNode;
+            heightSize = snapshotOfBinaryTree.getHeight() * heightBetweenNodes
                     + yPositionOfRootNode + nodeSize / 2 + 10;
         }
 
@@ -501,9 +474,7 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
                         + sizeOfNodes.getSizeAsInt() / 2;
 
                 for (GraphicNode node : graphicNodes) {
-                    if (node != null) {
-                        node.changeNodeSize(sizeOfNodes);
-                    }
+                    node.changeNodeSize(sizeOfNodes);
                 }
 
                 sizeVisualizationArea();
@@ -536,70 +507,55 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
     }
 
     private void updateNodesPosition() {
-        int nbNodes = graphicNodes.size();
-
-        if (nbNodes > 0) {
-            int treeHeight = 0;
-            int nodeSize = sizeOfNodes.getSizeAsInt();
-            int nbOfNodesOnTheWidth = 1;
-            int widthBetweenCurrentNodeChildren = 0;
-            int indexOfLastNodeOnTheWidth = 1;
-            int indexOfCurrentNode = 0;
-            int xPositionOfCurrentNode = getPreferredSize().width / 2;
-            int yPositionOfCurrentNode;
-
-            if (nbNodes > 1) {
-                treeHeight = (int) (Math.log((nbNodes + 1) / 2) / Math.log(2));
-            }
-            widthBetweenCurrentNodeChildren = computeWidthBetweenRootChildren(treeHeight);
+        int widthBetweenColumns = computeWidthBetweenColumns();
 
-            for (int level = 0; level <= treeHeight; level++) {
-                while (indexOfCurrentNode < indexOfLastNodeOnTheWidth) {
-                    GraphicNode currentNode = graphicNodes.get(indexOfCurrentNode);
-
-                    if (currentNode != null) {
-                        yPositionOfCurrentNode = yPositionOfRootNode + level * heightBetweenNodes;
-                        currentNode.changeNodePosition(xPositionOfCurrentNode, yPositionOfCurrentNode);
-                    }
-
-                    if (level < treeHeight) {
-                        if ((level > 0) && (indexOfCurrentNode < indexOfLastNodeOnTheWidth - 1)) {
-                            xPositionOfCurrentNode += widthBetweenCurrentNodeChildren;
-                        }
-                    } else {
-                        if ((indexOfCurrentNode % 2) == 0) {
-                            xPositionOfCurrentNode += widthBetweenDifferentNodes + nodeSize;
-                        } else {
-                            xPositionOfCurrentNode += widthBetweenBrotherNodes + nodeSize;
-                        }
-                    }
-
-                    indexOfCurrentNode++;
-                }
-
-                xPositionOfCurrentNode -= (nbOfNodesOnTheWidth - 1) * widthBetweenCurrentNodeChildren;
-                if (level < treeHeight - 1) {
-                    if (level > 0) {
-                        widthBetweenCurrentNodeChildren = widthBetweenCurrentNodeChildren / 2;
-                    }
-                    xPositionOfCurrentNode -= widthBetweenCurrentNodeChildren / 2;
-                } else {
-                    xPositionOfCurrentNode -= widthBetweenBrotherNodes / 2 + nodeSize / 2;
-                }
-                nbOfNodesOnTheWidth *= 2;
-                indexOfLastNodeOnTheWidth += nbOfNodesOnTheWidth;
-            }
+        for (int index = 0; index < graphicNodes.size(); index++) {
+            graphicNodes.get(index).changeNodePosition(
+                    yPositionOfRootNode + graphicNodeColumns[index] * widthBetweenColumns,
+                    yPositionOfRootNode + snapshotOfBinaryTree.getDepth(index) * heightBetweenNodes);
         }
     }
 
-    private int computeWidthBetweenRootChildren(int height) {
-        if ((height == 0) || (height == 1)) {
-            return 0;
-        } else if (height == 2) {
-            return widthBetweenBrotherNodes + widthBetweenDifferentNodes
-                    + 2 * sizeOfNodes.getSizeAsInt();
-        } else {
-            return 2 * computeWidthBetweenRootChildren(height - 1);
+    /**
+     * Computes the width between two consecutive columns. Two consecutive nodes
+     * in the inorder traversal are never at the same depth, so half the space
+     * between two brother nodes is enough.
+     */
+    private int computeWidthBetweenColumns() {
+        return (sizeOfNodes.getSizeAsInt() + widthBetweenBrotherNodes) / 2;
+    }
+
+    /**
+     * Computes the column of each node, that is to say its rank in the inorder
+     * traversal, and the height of each node. The snapshot numbers the nodes in
+     * breadth first order so the heights are computed from the last node to the
+     * root.
+     */
+    private void computeColumnsAndHeights() {
+        int nbNodes = snapshotOfBinaryTree.getSize();
+        int[] stack = new int[snapshotOfBinaryTree.getHeight() + 1];
+        int top = 0;
+        int column = 0;
+        int currentIndex = nbNodes > 0 ? 0 : BinaryTreeSnapshot.NIL;
+
+        graphicNodeHeights = new int[nbNodes];
+        graphicNodeColumns = new int[nbNodes];
+        for (int index = nbNodes - 1; index >= 0; index--) {
+            int left = snapshotOfBinaryTree.getLeft(index);
+            int right = snapshotOfBinaryTree.getRight(index);
+
+            graphicNodeHeights[index] = Math.max(
+                    left == BinaryTreeSnapshot.NIL ? -1 : graphicNodeHeights[left],
+                    right == BinaryTreeSnapshot.NIL ? -1 : graphicNodeHeights[right]) + 1;
+        }
+        while ((currentIndex != BinaryTreeSnapshot.NIL) || (top > 0)) {
+            while (currentIndex != BinaryTreeSnapshot.NIL) {
+                stack[top++] = currentIndex;
+                currentIndex = snapshotOfBinaryTree.getLeft(currentIndex);
+            }
+            currentIndex = stack[--top];
+            graphicNodeColumns[currentIndex] = column++;
+            currentIndex = snapshotOfBinaryTree.getRight(currentIndex);
         }
     }
 
@@ -616,38 +572,34 @@ abstract class AbstractBinaryTreeVisualization extends JPanel {
 
     /**
      * Updates the binary tree visualization with the last version of the binary
-     * tree as heap.
+     * tree as snapshot.
      *
-     * @param heapRepresentation the last version of the tree as heap
+     * @param snapshot the last version of the tree as snapshot
      */
-    <N extends IBinaryNode> void updateTreeVisualization(List<N> heapRepresentation) {
-        if (heapRepresentation.size() >= 0) {
-            graphicNodes.clear();
-
-            for (IBinaryNode node : heapRepresentation) {
-                if (node != null) {
-                    GraphicNodeColor color;
-
-                    if (node instanceof RedBlackNode) {
-                        if (((RedBlackNode) node).isRed()) {
-                            color = GraphicNodeColor.RED;
-                        } else {
-                            color = GraphicNodeColor.BLACK;
-                        }
-                    } else {
-                        color = GraphicNodeColor.YELLOW;
-                    }
+    void updateTreeVisualization(BinaryTreeSnapshot snapshot) {
+        graphicNodes.clear();
+        snapshotOfBinaryTree = snapshot;
+
+        for (int index = 0; index < snapshot.getSize(); index++) {
+            GraphicNodeColor color;
 
-                    graphicNodes.add(new GraphicNode(node.getKey(), 0, 0,
-                            sizeOfNodes, color));
+            if (snapshot.isColored(index)) {
+                if (snapshot.isRed(index)) {
+                    color = GraphicNodeColor.RED;
                 } else {
-                    graphicNodes.add(null);
+                    color = GraphicNodeColor.BLACK;
                 }
+            } else {
+                color = GraphicNodeColor.YELLOW;
             }
 
-            sizeVisualizationArea();
-            updateNodesPosition();
-            repaint();
+            graphicNodes.add(new GraphicNode(snapshot.getKey(index), 0, 0,
+                    sizeOfNodes, color));
         }
+
+        computeColumnsAndHeights();
+        sizeVisualizationArea();
+        updateNodesPosition();
+        repaint();
     }
 }
@@ -54,7 +54,9 @@ public final class BinaryTreeFileFilter extends FileFilter {
         if ((indexOfLastPoint > 0) && (indexOfLastPoint < fileName.length() - 1)) {
             String extension = fileName.substring(indexOfLastPoint + 1).toLowerCase();
 
-            return extension.equals(IBinaryTreeController.BINARY_TREE_FILE_EXTENSION);
+            return extension.equals(IBinaryTreeController.BINARY_TREE_FILE_EXTENSION)
+                    || extension.equals(
+                            IBinaryTreeController.COMPACT_BINARY_TREE_FILE_EXTENSION);
         }
         
         return false;
@@ -62,6 +64,8 @@ public final class BinaryTreeFileFilter extends FileFilter {
 
     @Override
     public String getDescription() {
-        return "Binary Tree  ( ." + IBinaryTreeController.BINARY_TREE_FILE_EXTENSION + " )";
+        return "Binary Tree  ( ." + IBinaryTreeController.BINARY_TREE_FILE_EXTENSION
+                + ", ." + IBinaryTreeController.COMPACT_BINARY_TREE_FILE_EXTENSION
+                + " )";
     }
 }
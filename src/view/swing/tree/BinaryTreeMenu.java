@@ -61,6 +61,7 @@ public final class BinaryTreeMenu extends AbstractDataStructureMenu {
         JMenuItem avlTreeMenuItem = new JMenuItem("AVL Tree");
         JMenuItem binarySearchTreeMenuItem = new JMenuItem("Binary Search Tree");
         JMenuItem redBlackTreeMenuItem = new JMenuItem("Red Black Tree");
+        JMenuItem skipListMenuItem = new JMenuItem("Skip List");
 
         randomTreeMenuItem.addActionListener(new ActionListener() {
 
@@ -98,10 +99,20 @@ public final class BinaryTreeMenu extends AbstractDataStructureMenu {
                         BinaryTreeType.REDBLACKTREE);
             }
         });
+        skipListMenuItem.addActionListener(new ActionListener() {
+
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                softwareController.addDataStructure(
+                        IBinaryTreeController.BINARY_TREE_FILE_EXTENSION,
+                        BinaryTreeType.SKIPLIST);
+            }
+        });
         newTreeMenuItems.add(randomTreeMenuItem);
         newTreeMenuItems.add(binarySearchTreeMenuItem);
         newTreeMenuItems.add(avlTreeMenuItem);
         newTreeMenuItems.add(redBlackTreeMenuItem);
+        newTreeMenuItems.add(skipListMenuItem);
         
         return newTreeMenuItems;
     }
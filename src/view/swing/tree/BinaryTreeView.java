@@ -31,12 +31,17 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import view.IBinaryTreeView;
 import model.tree.BinaryTreeModelEvent;
+import model.tree.BinaryTreeSnapshot;
 
 /**
  * This class defines the binary tree view. The binary tree view is composed by
  * two different panels that can be interchanged, the fast creation panel and
  * the pedagogical creation panel. There is also a title which contains the type
- * of the binary tree. This class is not designed for inheritance.
+ * of the binary tree. Only the displayed panel is updated when the binary tree
+ * changes, the other one is updated when it is displayed. The panels lay the
+ * nodes out by inorder rank, so an insertion or a deletion moves all the nodes
+ * on its right and each panel is rebuilt from the snapshot rather than patched
+ * with the changes of the event. This class is not designed for inheritance.
  * 
  * @author Julien Hannier
  * @version 0.10 16/06/08
@@ -54,6 +59,8 @@ public final class BinaryTreeView extends JPanel implements IBinaryTreeView {
 
     private boolean isFastBinaryTreeCreationPanel;
 
+    private BinaryTreeSnapshot pendingSnapshot;
+
     /**
      * Builds the binary tree view. The binary tree view is composed by the fast
      * binary tree creation panel and the pedagogical binary tree creation
@@ -101,6 +108,10 @@ public final class BinaryTreeView extends JPanel implements IBinaryTreeView {
                             BorderLayout.CENTER);
                     isFastBinaryTreeCreationPanel = true;
                 }
+                if (pendingSnapshot != null) {
+                    getDisplayedPanel().updateTreeVisualization(pendingSnapshot);
+                    pendingSnapshot = null;
+                }
                 revalidate();
                 repaint();
             }
@@ -109,11 +120,17 @@ public final class BinaryTreeView extends JPanel implements IBinaryTreeView {
         return buttonBetweenPanels;
     }
 
+    private AbstractBinaryTreeCreationPanel getDisplayedPanel() {
+        return isFastBinaryTreeCreationPanel ? fastBinaryTreeCreationPanel
+                : pedagogicalBinaryTreeCreationPanel;
+    }
+
     @Override
     public void binaryTreeHasChanged(BinaryTreeModelEvent event) {
-        fastBinaryTreeCreationPanel.updateTreeVisualization(
-                event.getHeapCorrespondingToBinaryTree());
-        pedagogicalBinaryTreeCreationPanel.updateTreeVisualization(
-                event.getHeapCorrespondingToBinaryTree());
+        if (event.isFullUpdate() || !event.getChanges().isEmpty()) {
+            getDisplayedPanel().updateTreeVisualization(
+                    event.getSnapshotOfBinaryTree());
+            pendingSnapshot = event.getSnapshotOfBinaryTree();
+        }
     }
 }
@@ -23,6 +23,7 @@ package view.swing.tree;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import util.ImageLoadingUtility;
@@ -257,25 +258,30 @@ final class GraphicNode {
     }
 
     /**
-     * Paints the graphic node and its key.
+     * Paints the graphic node and its key. The key is centered on the node.
+     * The font grows with the size of the node and shrinks when the key is too
+     * long to fit in the node, down to a minimal size.
      * 
      * @param graphics the graphics to paint the node
      */
     void paintNode(Graphics graphics) {
         int currentNodeSize = nodeSize.getSizeAsInt();
-        int smallestNodeSize = GraphicNodeSize.ONE.getSizeAsInt();
         int smallestFontSize = 12;
+        int minimalFontSize = 7;
         int fontSizeFactor = currentNodeSize / 15 - 2;
         int differenceBetweenFontSize = 8;
-        int initialYPositionKeyString = 4;
-        int initialXPositionOneCharKeyString = 4;
-        int initialXPositionTwoCharKeyString = 7;
-        int yDifferenceBetweenFont = 3;
-        int xDifferenceBetweenOneCharFont = 3;
-        int xDifferenceBetweenTwoCharFont = 5;
-        int xPositionKeyString = 0;
-        int yPositionKeyString = 0;
+        int availableWidth = currentNodeSize - currentNodeSize / 5;
+        int fontSize = smallestFontSize + differenceBetweenFontSize * fontSizeFactor;
         String nodeKeyString = Integer.toString(nodeKey);
+        Font font = new Font(null, Font.PLAIN, fontSize);
+        FontMetrics metrics = graphics.getFontMetrics(font);
+
+        while ((fontSize > minimalFontSize)
+                && (metrics.stringWidth(nodeKeyString) > availableWidth)) {
+            --fontSize;
+            font = font.deriveFont((float) fontSize);
+            metrics = graphics.getFontMetrics(font);
+        }
 
         graphics.drawImage(nodeImage, xPosition - currentNodeSize / 2,
                 yPosition - currentNodeSize / 2, currentNodeSize,
@@ -287,29 +293,9 @@ final class GraphicNode {
         } else {
             graphics.setColor(Color.BLACK);
         }
-        if (currentNodeSize == smallestNodeSize) {
-            graphics.setFont(new Font(null, Font.PLAIN, smallestFontSize));
-            yPositionKeyString = yPosition + initialYPositionKeyString;
-            
-            if (nodeKeyString.length() == 1) {
-                xPositionKeyString = xPosition - initialXPositionOneCharKeyString;
-            } else if (nodeKeyString.length() == 2) {
-                xPositionKeyString = xPosition - initialXPositionTwoCharKeyString;
-            }
-        } else {
-            graphics.setFont(new Font(null, Font.PLAIN,
-                    smallestFontSize + differenceBetweenFontSize * fontSizeFactor));
-            yPositionKeyString = yPosition + initialYPositionKeyString +
-                    yDifferenceBetweenFont * fontSizeFactor;
-
-            if (nodeKeyString.length() == 1) {
-                xPositionKeyString = xPosition - (initialXPositionOneCharKeyString +
-                        xDifferenceBetweenOneCharFont * fontSizeFactor);
-            } else if (nodeKeyString.length() == 2) {
-                xPositionKeyString = xPosition - (initialXPositionTwoCharKeyString +
-                        xDifferenceBetweenTwoCharFont * fontSizeFactor);
-            }
-        }
-        graphics.drawString(nodeKeyString, xPositionKeyString, yPositionKeyString);
+        graphics.setFont(font);
+        graphics.drawString(nodeKeyString,
+                xPosition - metrics.stringWidth(nodeKeyString) / 2,
+                yPosition + (metrics.getAscent() - metrics.getDescent()) / 2);
     }
 }
@@ -59,6 +59,8 @@ final class RandomBinaryTreeCreationDialog extends JDialog {
 
     private static final String RED_BLACK_TREE = "Red Black Tree";
 
+    private static final String SKIP_LIST = "Skip List";
+
     private ISoftwareController softwareController;
 
     private JComboBox treeListComboBox;
@@ -75,7 +77,8 @@ final class RandomBinaryTreeCreationDialog extends JDialog {
     RandomBinaryTreeCreationDialog(JFrame parent, ISoftwareController c) {
         super(parent, "Random Tree", true);
 
-        String[] treeListStrings = {AVL_TREE, BINARY_SEARCH_TREE, RED_BLACK_TREE};
+        String[] treeListStrings = {AVL_TREE, BINARY_SEARCH_TREE, RED_BLACK_TREE,
+                SKIP_LIST};
         SpinnerNumberModel spinnerModel = new SpinnerNumberModel(new Integer(15),
                 new Integer(1), new Integer(64), new Integer(1));
         softwareController = c;
@@ -155,6 +158,10 @@ final class RandomBinaryTreeCreationDialog extends JDialog {
                     softwareController.addDataStructure(
                             BinaryTreeController.BINARY_TREE_FILE_EXTENSION,
                             BinaryTreeType.REDBLACKTREE, nbNode);
+                } else if (treeType.equals(SKIP_LIST)) {
+                    softwareController.addDataStructure(
+                            BinaryTreeController.BINARY_TREE_FILE_EXTENSION,
+                            BinaryTreeType.SKIPLIST, nbNode);
                 }
 
                 setVisible(false);
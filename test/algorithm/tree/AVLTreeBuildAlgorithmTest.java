@@ -0,0 +1,84 @@
+/*
+ * AVLTreeBuildAlgorithmTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import model.tree.AVLTree;
+
+/**
+ * Test of the AVL tree build algorithm.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class AVLTreeBuildAlgorithmTest {
+
+    private AVLTree avlTree;
+
+    @Before
+    public void setUp() {
+        avlTree = new AVLTree();
+    }
+
+    @Test
+    public void testBuildAlgorithm() {
+        new AVLTreeBuildAlgorithm(avlTree, new int[] {2, 3, 4, 6, 8, 8, 10})
+                .applyAlgorithm();
+        assertEquals(avlTree.getRoot().getKey(), 6);
+        assertEquals(avlTree.getRoot().getLeft().getKey(), 3);
+        assertEquals(avlTree.getRoot().getRight().getKey(), 8);
+        assertEquals(avlTree.getRoot().getRight().getLeft().getKey(), 8);
+        assertEquals(avlTree.getRoot().getLeft().getFather().getKey(), 6);
+        assertNull(avlTree.getRoot().getFather());
+        assertEquals(avlTree.getRoot().getAVLHeight(), 2);
+        assertEquals(avlTree.getRoot().computeBalanceFactor(), 0);
+        assertTrue(avlTree.isWellFormedTree());
+    }
+
+    @Test
+    public void testBuildLargeTree() {
+        int nbNodes = 100000;
+        int[] keys = new int[nbNodes];
+
+        for (int i = 0; i < nbNodes; i++) {
+            keys[i] = i;
+        }
+        new AVLTreeBuildAlgorithm(avlTree, keys).applyAlgorithm();
+        assertEquals(avlTree.computeHeight(), 16);
+        assertTrue(avlTree.isWellFormedTree());
+    }
+
+    @Test
+    public void testBuildEmptyTree() {
+        new AVLTreeBuildAlgorithm(avlTree, new int[0]).applyAlgorithm();
+        assertNull(avlTree.getRoot());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedKeys() {
+        new AVLTreeBuildAlgorithm(avlTree, new int[] {3, 2});
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * LatencyHistogram.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+/**
+ * Histogram of the latencies of the operations, in nanoseconds. The bucket
+ * {@code i} counts the latencies between 2^(i-1) and 2^i - 1, so a latency is
+ * recorded in constant time and the percentiles are known up to a factor of
+ * two. A histogram is not thread safe, each thread has to fill its own
+ * histogram and the histograms are added when the threads are finished. This
+ * class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public final class LatencyHistogram {
+
+    private static final int NB_BUCKETS = 64;
+
+    private static final int BAR_WIDTH = 50;
+
+    private final long[] bucketCounts = new long[NB_BUCKETS];
+
+    private long count;
+
+    private long totalLatency;
+
+    private long maxLatency;
+
+    /**
+     * Records the latency {@code latency} of one operation.
+     *
+     * @param latency the latency in nanoseconds
+     */
+    public void record(long latency) {
+        long positiveLatency = Math.max(latency, 0);
+
+        ++bucketCounts[NB_BUCKETS - Long.numberOfLeadingZeros(positiveLatency)];
+        ++count;
+        totalLatency += positiveLatency;
+        maxLatency = Math.max(maxLatency, positiveLatency);
+    }
+
+    /**
+     * Adds the latencies recorded by the histogram {@code histogram} to this
+     * histogram.
+     *
+     * @param histogram the histogram to add
+     */
+    public void add(LatencyHistogram histogram) {
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            bucketCounts[i] += histogram.bucketCounts[i];
+        }
+        count += histogram.count;
+        totalLatency += histogram.totalLatency;
+        maxLatency = Math.max(maxLatency, histogram.maxLatency);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the recorded latencies, or 0 if there is none.
+     *
+     * @return the mean latency in nanoseconds
+     */
+    public long getMean() {
+        return (count == 0) ? 0 : totalLatency / count;
+    }
+
+    /**
+     * Returns the highest recorded latency.
+     *
+     * @return the highest latency in nanoseconds
+     */
+    public long getMax() {
+        return maxLatency;
+    }
+
+    /**
+     * Returns an upper bound of the percentile {@code percentile} of the
+     * recorded latencies, that is to say the upper bound of the bucket which
+     * contains it. It is never higher than the highest recorded latency.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the upper bound of the percentile in nanoseconds
+     * @throws IllegalArgumentException
+     */
+    public long getPercentile(double percentile) throws IllegalArgumentException {
+        if ((percentile < 0) || (percentile > 100)) {
+            throw new IllegalArgumentException(
+                    "You have to pass a percentile between 0 and 100");
+        }
+
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            seen += bucketCounts[i];
+            if ((seen >= rank) && (seen > 0)) {
+                return Math.min(upperBoundOf(i), maxLatency);
+            }
+        }
+        return maxLatency;
+    }
+
+    /**
+     * Returns the summary of the latencies followed by one line per non empty
+     * bucket with a bar proportional to its number of latencies.
+     *
+     * @return the description of the histogram
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        long highestBucketCount = 0;
+
+        builder.append("count=").append(count).append(" mean=")
+                .append(getMean()).append("ns p50<=").append(getPercentile(50))
+                .append("ns p99<=").append(getPercentile(99))
+                .append("ns p99.9<=").append(getPercentile(99.9))
+                .append("ns max=").append(maxLatency).append("ns");
+        for (long bucketCount : bucketCounts) {
+            highestBucketCount = Math.max(highestBucketCount, bucketCount);
+        }
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            if (bucketCounts[i] > 0) {
+                long lowerBound = (i == 0) ? 0 : upperBoundOf(i - 1) + 1;
+                int barLength = (int) Math.max(1,
+                        bucketCounts[i] * BAR_WIDTH / highestBucketCount);
+
+                builder.append(String.format("%n  %12d - %12d ns %10d ",
+                        lowerBound, upperBoundOf(i), bucketCounts[i]));
+                for (int j = 0; j < barLength; j++) {
+                    builder.append('#');
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return (bucket >= NB_BUCKETS - 1) ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * LinearizabilityChecker.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Checker of the linearizability of the histories of operations applied by
+ * several threads to a tree which keys can be inserted several times. Each
+ * thread records its operations with their invocation time and their response
+ * time in its own history. The operations on different keys commute, so the
+ * histories are split by key and the history of each key is checked on its
+ * own against a counter of occurrences, with the algorithm of Wing and Gong
+ * improved by Lowe: the operations are linearized one by one in the order of
+ * their invocations, and the search backtracks when an operation returns
+ * before being linearized. The sets of linearized operations already explored
+ * with the same counter are remembered so that they are not explored twice.
+ * This class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public final class LinearizabilityChecker {
+
+    /**
+     * Definition of the result of an operation which result is not returned,
+     * like the deletion of a key in a model.
+     */
+    public static final int UNKNOWN_RESULT = -1;
+
+    /**
+     * Definition of the types of operations. The result of an insertion is
+     * ignored, the result of a deletion and of a search is 1 if the key was
+     * found or 0, and the result of a count is the number of occurrences of
+     * the key.
+     */
+    public enum OperationType {
+        INSERT, DELETE, SEARCH, COUNT
+    }
+
+    private final List<History> histories = new ArrayList<History>();
+
+    /**
+     * This class contains the operations recorded by one thread. It is not
+     * thread safe.
+     */
+    public static final class History {
+
+        private final List<Operation> operations = new ArrayList<Operation>();
+
+        private History() {
+        }
+
+        /**
+         * Records an operation of the thread.
+         *
+         * @param type the type of the operation
+         * @param key the key of the operation
+         * @param result the result of the operation
+         * @param invocationTime the time before the invocation in nanoseconds
+         * @param responseTime the time after the response in nanoseconds
+         */
+        public void record(OperationType type, int key, int result,
+                long invocationTime, long responseTime) {
+            operations.add(new Operation(type, key, result, invocationTime,
+                    responseTime));
+        }
+
+        /**
+         * Returns the number of recorded operations.
+         *
+         * @return the number of recorded operations
+         */
+        public int getSize() {
+            return operations.size();
+        }
+    }
+
+    private static final class Operation {
+
+        private final OperationType type;
+
+        private final int key;
+
+        private final int result;
+
+        private final long invocationTime;
+
+        private final long responseTime;
+
+        private int id;
+
+        private Operation(OperationType type, int key, int result,
+                long invocationTime, long responseTime) {
+            this.type = type;
+            this.key = key;
+            this.result = result;
+            this.invocationTime = invocationTime;
+            this.responseTime = responseTime;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Operation operation;
+
+        private final boolean isCall;
+
+        private final long time;
+
+        private Entry match;
+
+        private Entry previous;
+
+        private Entry next;
+
+        private Entry(Operation operation, boolean isCall) {
+            this.operation = operation;
+            this.isCall = isCall;
+            time = (operation == null) ? Long.MIN_VALUE
+                    : (isCall ? operation.invocationTime : operation.responseTime);
+        }
+    }
+
+    private static final class ExploredState {
+
+        private final BitSet linearized;
+
+        private final int count;
+
+        private ExploredState(BitSet linearized, int count) {
+            this.linearized = linearized;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof ExploredState)) {
+                return false;
+            }
+
+            ExploredState state = (ExploredState) object;
+
+            return (count == state.count) && linearized.equals(state.linearized);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * linearized.hashCode() + count;
+        }
+    }
+
+    /**
+     * Creates a new empty history. It must be filled by one thread, and must
+     * not be modified anymore when the histories are checked.
+     *
+     * @return the new history
+     */
+    public synchronized History newHistory() {
+        History history = new History();
+
+        histories.add(history);
+        return history;
+    }
+
+    /**
+     * Checks the histories recorded so far, assuming that the tree was empty
+     * before the first operation. The keys which history cannot be linearized
+     * are returned in ascending order.
+     *
+     * @return the keys which history is not linearizable, empty if the whole
+     *         history is linearizable
+     */
+    public synchronized List<Integer> checkHistories() {
+        Map<Integer, List<Operation>> operationsByKey =
+                new TreeMap<Integer, List<Operation>>();
+        List<Integer> failedKeys = new ArrayList<Integer>();
+
+        for (History history : histories) {
+            for (Operation operation : history.operations) {
+                List<Operation> operations = operationsByKey.get(operation.key);
+
+                if (operations == null) {
+                    operations = new ArrayList<Operation>();
+                    operationsByKey.put(operation.key, operations);
+                }
+                operations.add(operation);
+            }
+        }
+        for (Map.Entry<Integer, List<Operation>> keyOperations
+                : operationsByKey.entrySet()) {
+            if (!isLinearizable(keyOperations.getValue())) {
+                failedKeys.add(keyOperations.getKey());
+            }
+        }
+        return failedKeys;
+    }
+
+    private static boolean isLinearizable(List<Operation> operations) {
+        Entry head = buildEntries(operations);
+        Entry entry = head.next;
+        Deque<Entry> linearizedCalls = new ArrayDeque<Entry>();
+        Deque<Integer> previousCounts = new ArrayDeque<Integer>();
+        Set<ExploredState> exploredStates = new HashSet<ExploredState>();
+        BitSet linearized = new BitSet(operations.size());
+        int count = 0;
+
+        while (head.next != null) {
+            if (entry.isCall) {
+                int newCount = apply(count, entry.operation);
+
+                if (newCount >= 0) {
+                    linearized.set(entry.operation.id);
+                    if (exploredStates.add(new ExploredState(
+                            (BitSet) linearized.clone(), newCount))) {
+                        linearizedCalls.push(entry);
+                        previousCounts.push(count);
+                        count = newCount;
+                        lift(entry);
+                        entry = head.next;
+                        continue;
+                    }
+                    linearized.clear(entry.operation.id);
+                }
+                entry = entry.next;
+            } else {
+                if (linearizedCalls.isEmpty()) {
+                    return false;
+                }
+                entry = linearizedCalls.pop();
+                count = previousCounts.pop();
+                linearized.clear(entry.operation.id);
+                unlift(entry);
+                entry = entry.next;
+            }
+        }
+        return true;
+    }
+
+    private static Entry buildEntries(List<Operation> operations) {
+        List<Entry> entries = new ArrayList<Entry>();
+        Entry head = new Entry(null, false);
+        Entry previous = head;
+
+        for (int i = 0; i < operations.size(); i++) {
+            Operation operation = operations.get(i);
+            Entry call = new Entry(operation, true);
+            Entry response = new Entry(operation, false);
+
+            operation.id = i;
+            call.match = response;
+            entries.add(call);
+            entries.add(response);
+        }
+        Collections.sort(entries, new Comparator<Entry>() {
+            public int compare(Entry entry1, Entry entry2) {
+                if (entry1.time != entry2.time) {
+                    return (entry1.time < entry2.time) ? -1 : 1;
+                }
+                if (entry1.isCall != entry2.isCall) {
+                    return entry1.isCall ? -1 : 1;
+                }
+                return 0;
+            }
+        });
+        for (Entry entry : entries) {
+            previous.next = entry;
+            entry.previous = previous;
+            previous = entry;
+        }
+        return head;
+    }
+
+    private static int apply(int count, Operation operation) {
+        switch (operation.type) {
+        case INSERT:
+            return count + 1;
+        case DELETE:
+            if (operation.result == UNKNOWN_RESULT) {
+                return Math.max(count - 1, 0);
+            } else if ((operation.result == 1) == (count > 0)) {
+                return Math.max(count - 1, 0);
+            }
+            return -1;
+        case SEARCH:
+            return ((operation.result == 1) == (count > 0)) ? count : -1;
+        default:
+            return (operation.result == count) ? count : -1;
+        }
+    }
+
+    private static void lift(Entry call) {
+        Entry response = call.match;
+
+        call.previous.next = call.next;
+        call.next.previous = call.previous;
+        response.previous.next = response.next;
+        if (response.next != null) {
+            response.next.previous = response.previous;
+        }
+    }
+
+    private static void unlift(Entry call) {
+        Entry response = call.match;
+
+        response.previous.next = response;
+        if (response.next != null) {
+            response.next.previous = response;
+        }
+        call.previous.next = call;
+        call.next.previous = call;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * RedBlackTreeBuildAlgorithmTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import model.tree.RedBlackTree;
+
+/**
+ * Test of the red black tree build algorithm.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class RedBlackTreeBuildAlgorithmTest {
+
+    private RedBlackTree rbTree;
+
+    @Before
+    public void setUp() {
+        rbTree = new RedBlackTree();
+    }
+
+    @Test
+    public void testBuildAlgorithm() {
+        new RedBlackTreeBuildAlgorithm(rbTree, new int[] {1, 2, 3, 4, 5, 6})
+                .applyAlgorithm();
+        assertEquals(rbTree.getRoot().getKey(), 3);
+        assertTrue(rbTree.getRoot().isBlack());
+        assertTrue(rbTree.getRoot().getLeft().isBlack());
+        assertTrue(rbTree.getRoot().getRight().getRight().isRed());
+        assertTrue(rbTree.getRoot().getLeft().getRight().isRed());
+        assertTrue(rbTree.isWellFormedTree());
+    }
+
+    @Test
+    public void testBuildOneNodeTree() {
+        new RedBlackTreeBuildAlgorithm(rbTree, new int[] {7}).applyAlgorithm();
+        assertTrue(rbTree.getRoot().isBlack());
+        assertTrue(rbTree.isWellFormedTree());
+    }
+
+    @Test
+    public void testBuildAllSizes() {
+        for (int nbNodes = 2; nbNodes < 70; nbNodes++) {
+            int[] keys = new int[nbNodes];
+
+            for (int i = 0; i < nbNodes; i++) {
+                keys[i] = i;
+            }
+            rbTree = new RedBlackTree();
+            new RedBlackTreeBuildAlgorithm(rbTree, keys).applyAlgorithm();
+            assertTrue(rbTree.isWellFormedTree());
+        }
+    }
+}
@@ -89,4 +89,20 @@ public class RedBlackTreeDeleteAlgorithmTest {
                 RedBlackNode.RedBlackNodeColor.BLACK);
         assertTrue(rbTree.isWellFormedTree());
     }
+
+    @Test
+    public void testDeleteNegativeKeys() {
+        int[] keys = {-1, -7, Integer.MIN_VALUE, 5, -1, Integer.MAX_VALUE, -3, 0};
+
+        for (int key : keys) {
+            new RedBlackTreeInsertAlgorithm(rbTree, new RedBlackNode(key)).applyAlgorithm();
+        }
+        for (int key : keys) {
+            new RedBlackTreeDeleteAlgorithm(rbTree, (RedBlackNode)
+                    new BinarySearchTreeSearchAlgorithm(rbTree.getRoot(), key)
+                            .applyAlgorithm()).applyAlgorithm();
+            assertTrue(rbTree.isWellFormedTree());
+        }
+        assertEquals(rbTree.getRoot(), null);
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * RedBlackTreeFastPathTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Before;
+import org.junit.Test;
+import model.tree.RedBlackNode;
+import model.tree.RedBlackTree;
+
+/**
+ * Test of the fast path of the red black tree algorithms.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class RedBlackTreeFastPathTest {
+
+    private RedBlackTree tree;
+
+    private RedBlackTreeFastPath fastPath;
+
+    @Before
+    public void setUp() {
+        tree = new RedBlackTree();
+        fastPath = new RedBlackTreeFastPath(tree);
+    }
+
+    @Test
+    public void testSameShapeAsInsertAlgorithm() {
+        RedBlackTree referenceTree = new RedBlackTree();
+        int[] keys = {4, 2, 3, 6, 8, 10, 8, 1, 5};
+
+        for (int key : keys) {
+            fastPath.insert(key);
+            new RedBlackTreeInsertAlgorithm(referenceTree,
+                    new RedBlackNode(key)).applyAlgorithm();
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(tree.buildSnapshotFromBinaryTree().getKey(i),
+                    referenceTree.buildSnapshotFromBinaryTree().getKey(i));
+            assertEquals(tree.buildSnapshotFromBinaryTree().getColor(i),
+                    referenceTree.buildSnapshotFromBinaryTree().getColor(i));
+        }
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        TreeMap<Integer, Integer> counts = new TreeMap<Integer, Integer>();
+        int size = 0;
+
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(500);
+            Integer count = counts.get(key);
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(fastPath.delete(key), count != null);
+                if (count != null) {
+                    --size;
+                    if (count == 1) {
+                        counts.remove(key);
+                    } else {
+                        counts.put(key, count - 1);
+                    }
+                }
+            } else {
+                fastPath.insert(key);
+                ++size;
+                counts.put(key, (count == null) ? 1 : count + 1);
+            }
+            if (i % 1000 == 0) {
+                assertTrue(tree.isWellFormedTree());
+            }
+        }
+        assertTrue(tree.isWellFormedTree());
+        assertEquals(tree.buildSnapshotFromBinaryTree().getSize(), size);
+        assertEquals(tree.computeSize(), size);
+        assertEquals(tree.computeHeight(),
+                tree.buildSnapshotFromBinaryTree().getHeight());
+        for (int key = 0; key < 500; key++) {
+            assertEquals(fastPath.search(key) != null, counts.containsKey(key));
+        }
+    }
+
+    @Test
+    public void testDeleteAll() {
+        for (int key = 0; key < 1000; key++) {
+            fastPath.insert(key);
+        }
+        for (int key = 0; key < 1000; key++) {
+            assertTrue(fastPath.delete(key));
+        }
+        assertNull(tree.getRoot());
+        assertFalse(fastPath.delete(0));
+    }
+}
@@ -0,0 +1,703 @@
+/*
+ * TreeStressHarness.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import algorithm.tree.LinearizabilityChecker.History;
+import algorithm.tree.LinearizabilityChecker.OperationType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import model.tree.AVLTree;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import model.tree.BinarySearchTree;
+import model.tree.BinaryTreeModel;
+import model.tree.ConcurrentBinaryTreeModel;
+import model.tree.IBinarySearchTree;
+import model.tree.IKeyConsumer;
+import model.tree.PersistentBinaryTreeModel;
+import model.tree.RedBlackTree;
+import model.tree.SkipListTree;
+
+/**
+ * Stress harness of the binary trees. Each algorithm strategy is driven by
+ * random insertions, deletions and searches, with and without its fast path,
+ * and compared with an oracle which counts the occurrences of each key. The
+ * tree is checked with {@code boolean isWellFormedTree()} and its keys are
+ * compared with the oracle at regular intervals. The trees which can be shared
+ * by several threads are driven by several threads at the same time, then the
+ * recorded histories are checked by <tt>LinearizabilityChecker</tt>. The
+ * throughput and the histogram of the latencies of each type of operation are
+ * reported with the result of the checks. The harness is run by the target
+ * {@literal stress} of the build with as optional arguments the number of
+ * operations of each strategy, the number of threads and the number of
+ * operations on each shared tree. This class is not designed for inheritance.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ * @see LinearizabilityChecker
+ */
+public final class TreeStressHarness {
+
+    /**
+     * Definition of the default number of operations of each strategy.
+     */
+    public static final long DEFAULT_NB_OPERATIONS = 1000000;
+
+    /**
+     * Definition of the default number of threads sharing a tree.
+     */
+    public static final int DEFAULT_NB_THREADS = 4;
+
+    /**
+     * Definition of the default number of operations on each shared tree.
+     */
+    public static final int DEFAULT_NB_SHARED_OPERATIONS = 200000;
+
+    private static final int KEY_RANGE = 1024;
+
+    private static final int SHARED_KEY_RANGE = 256;
+
+    private static final int CHECK_INTERVAL = 10000;
+
+    private static final long SEED = 42;
+
+    /**
+     * Definition of the trees which can be shared by several threads. The
+     * concurrent trees are binary tree models protected by
+     * <tt>ConcurrentBinaryTreeModel</tt>, the persistent trees are
+     * <tt>PersistentBinaryTreeModel</tt> and the lock-free skip list is a
+     * <tt>SkipListTree</tt> which keys are modified without its strategy.
+     */
+    public enum SharedTreeType {
+        CONCURRENT_BINARYSEARCHTREE, CONCURRENT_AVLTREE,
+        CONCURRENT_REDBLACKTREE, CONCURRENT_SKIPLIST, PERSISTENT_AVLTREE,
+        PERSISTENT_REDBLACKTREE, LOCK_FREE_SKIPLIST
+    }
+
+    /**
+     * This class contains the result of a stress test: the number of
+     * operations, their duration, the histograms of their latencies and the
+     * first error found, if any.
+     */
+    public static final class StressResult {
+
+        private final String name;
+
+        private final Map<OperationType, LatencyHistogram> histograms =
+                new EnumMap<OperationType, LatencyHistogram>(OperationType.class);
+
+        private long nbOperations;
+
+        private long duration;
+
+        private String error;
+
+        private StressResult(String resultName) {
+            name = resultName;
+        }
+
+        /**
+         * Returns the name of the stress test.
+         *
+         * @return the name of the stress test
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of operations applied before the end of the test
+         * or the first error.
+         *
+         * @return the number of operations
+         */
+        public long getNbOperations() {
+            return nbOperations;
+        }
+
+        /**
+         * Returns the number of operations per second, without the time spent
+         * by the checks.
+         *
+         * @return the throughput in operations per second
+         */
+        public double getThroughput() {
+            return (duration == 0) ? 0 : nbOperations * 1e9 / duration;
+        }
+
+        /**
+         * Returns the histogram of the latencies of the operations of type
+         * {@code type}. It is empty if no such operation was applied.
+         *
+         * @param type the type of the operations
+         * @return the histogram of the latencies
+         */
+        public LatencyHistogram getHistogram(OperationType type) {
+            LatencyHistogram histogram = histograms.get(type);
+
+            return (histogram == null) ? new LatencyHistogram() : histogram;
+        }
+
+        /**
+         * Returns true if no error has been found, or else false.
+         *
+         * @return true if the test is successful, or else false
+         */
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+        /**
+         * Returns the description of the first error, or null if the test is
+         * successful.
+         *
+         * @return the first error or null
+         */
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+
+            builder.append(name).append(" : ").append(nbOperations)
+                    .append(" operations, ")
+                    .append(String.format("%.0f", getThroughput()))
+                    .append(" operations/s, ")
+                    .append(isSuccessful() ? "OK" : "FAILED : " + error);
+            for (Map.Entry<OperationType, LatencyHistogram> histogram
+                    : histograms.entrySet()) {
+                builder.append(String.format("%n")).append(histogram.getKey())
+                        .append(" ").append(histogram.getValue());
+            }
+            return builder.toString();
+        }
+
+        private void record(OperationType type, long latency) {
+            getOrCreateHistogram(type).record(latency);
+        }
+
+        private void add(StressResult result) {
+            for (Map.Entry<OperationType, LatencyHistogram> histogram
+                    : result.histograms.entrySet()) {
+                getOrCreateHistogram(histogram.getKey()).add(histogram.getValue());
+            }
+            nbOperations += result.nbOperations;
+            if (error == null) {
+                error = result.error;
+            }
+        }
+
+        private LatencyHistogram getOrCreateHistogram(OperationType type) {
+            LatencyHistogram histogram = histograms.get(type);
+
+            if (histogram == null) {
+                histogram = new LatencyHistogram();
+                histograms.put(type, histogram);
+            }
+            return histogram;
+        }
+    }
+
+    private interface ISharedTree {
+
+        void insert(int key);
+
+        int delete(int key);
+
+        boolean search(int key);
+
+        void finish();
+
+        int count(int key);
+
+        int getSize();
+
+        boolean isWellFormed();
+    }
+
+    private static final class Worker implements Runnable {
+
+        private final ISharedTree tree;
+
+        private final History history;
+
+        private final StressResult result;
+
+        private final CountDownLatch startSignal;
+
+        private final int nbOperations;
+
+        private final int keyRange;
+
+        private final Random random;
+
+        private Worker(ISharedTree sharedTree, History threadHistory,
+                String name, CountDownLatch signal, int nbThreadOperations,
+                int range, long seed) {
+            tree = sharedTree;
+            history = threadHistory;
+            result = new StressResult(name);
+            startSignal = signal;
+            nbOperations = nbThreadOperations;
+            keyRange = range;
+            random = new Random(seed);
+        }
+
+        public void run() {
+            try {
+                startSignal.await();
+                for (int i = 0; i < nbOperations; i++) {
+                    int key = random.nextInt(keyRange);
+                    int choice = random.nextInt(10);
+                    OperationType type;
+                    int operationResult = 0;
+                    long invocationTime = System.nanoTime();
+                    long responseTime;
+
+                    if (choice < 4) {
+                        type = OperationType.INSERT;
+                        tree.insert(key);
+                    } else if (choice < 8) {
+                        type = OperationType.DELETE;
+                        operationResult = tree.delete(key);
+                    } else {
+                        type = OperationType.SEARCH;
+                        operationResult = tree.search(key) ? 1 : 0;
+                    }
+                    responseTime = System.nanoTime();
+                    history.record(type, key, operationResult, invocationTime,
+                            responseTime);
+                    result.record(type, responseTime - invocationTime);
+                    ++result.nbOperations;
+                }
+            } catch (InterruptedException ex) {
+                result.error = "Interrupted thread";
+            } catch (RuntimeException ex) {
+                result.error = "Operation " + result.nbOperations + " : " + ex;
+            }
+        }
+    }
+
+    private TreeStressHarness() {
+    }
+
+    /**
+     * Runs the stress tests of every strategy, then of every shared tree, and
+     * prints their results. The optional arguments are the number of
+     * operations of each strategy, the number of threads and the number of
+     * operations on each shared tree. The virtual machine exits with the
+     * status 1 if a test has failed.
+     *
+     * @param args the optional arguments
+     * @throws InterruptedException
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long nbOperations = (args.length > 0) ? Long.parseLong(args[0])
+                : DEFAULT_NB_OPERATIONS;
+        int nbThreads = (args.length > 1) ? Integer.parseInt(args[1])
+                : DEFAULT_NB_THREADS;
+        int nbSharedOperations = (args.length > 2) ? Integer.parseInt(args[2])
+                : DEFAULT_NB_SHARED_OPERATIONS;
+        boolean isSuccessful = true;
+
+        for (BinaryTreeType type : BinaryTreeType.values()) {
+            for (boolean fastPathEnabled : new boolean[] {false, true}) {
+                StressResult result = stressStrategy(type, fastPathEnabled,
+                        nbOperations, KEY_RANGE, CHECK_INTERVAL, SEED);
+
+                System.out.println(result);
+                isSuccessful &= result.isSuccessful();
+            }
+        }
+        for (SharedTreeType type : SharedTreeType.values()) {
+            StressResult result = stressSharedTree(type, nbThreads,
+                    nbSharedOperations / nbThreads, SHARED_KEY_RANGE, SEED);
+
+            System.out.println(result);
+            isSuccessful &= result.isSuccessful();
+        }
+        if (!isSuccessful) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Applies {@code nbOperations} random operations on keys between 0 and
+     * {@code keyRange - 1} to an empty tree of type {@code type} with its
+     * algorithm strategy. The insertions and the deletions are equally
+     * likely, and one operation out of five is a search. The tree is checked
+     * every {@code checkInterval} operations and after the last one. The test
+     * stops at the first error.
+     *
+     * @param type the type of the tree
+     * @param fastPathEnabled true if the fast path of the strategy is used
+     * @param nbOperations the number of operations
+     * @param keyRange the number of distinct keys
+     * @param checkInterval the number of operations between two checks
+     * @param seed the seed of the random operations
+     * @return the result of the stress test
+     */
+    public static StressResult stressStrategy(BinaryTreeType type,
+            boolean fastPathEnabled, long nbOperations, int keyRange,
+            int checkInterval, long seed) {
+        IBinarySearchTree tree = createBinaryTree(type);
+        IBinaryTreeAlgorithmStrategy strategy = createStrategy(tree);
+        TreeMap<Integer, Integer> counts = new TreeMap<Integer, Integer>();
+        StressResult result = new StressResult(type + " strategy"
+                + (fastPathEnabled ? " with fast path" : ""));
+        Random random = new Random(seed);
+        long checkDuration = 0;
+        long startTime = System.nanoTime();
+
+        strategy.setFastPathEnabled(fastPathEnabled);
+        try {
+            while ((result.nbOperations < nbOperations) && result.isSuccessful()) {
+                int key = random.nextInt(keyRange);
+                int choice = random.nextInt(10);
+                Integer count = counts.get(key);
+                int expectedCount = (count == null) ? 0 : count;
+                long invocationTime = System.nanoTime();
+
+                ++result.nbOperations;
+                if (choice < 4) {
+                    strategy.insertNode(key);
+                    result.record(OperationType.INSERT,
+                            System.nanoTime() - invocationTime);
+                    counts.put(key, expectedCount + 1);
+                } else if (choice < 8) {
+                    strategy.deleteNode(key);
+                    result.record(OperationType.DELETE,
+                            System.nanoTime() - invocationTime);
+                    if (expectedCount == 1) {
+                        counts.remove(key);
+                    } else if (expectedCount > 1) {
+                        counts.put(key, expectedCount - 1);
+                    }
+                } else {
+                    int foundCount = tree.countInRange(key, key);
+
+                    result.record(OperationType.SEARCH,
+                            System.nanoTime() - invocationTime);
+                    if (foundCount != expectedCount) {
+                        result.error = "Operation " + result.nbOperations + " : "
+                                + foundCount + " occurrences of " + key
+                                + " instead of " + expectedCount;
+                    }
+                }
+                if (result.isSuccessful()
+                        && ((result.nbOperations % checkInterval == 0)
+                                || (result.nbOperations == nbOperations))) {
+                    long checkTime = System.nanoTime();
+
+                    result.error = checkTree(tree, counts, result.nbOperations);
+                    checkDuration += System.nanoTime() - checkTime;
+                }
+            }
+        } catch (RuntimeException ex) {
+            result.error = "Operation " + result.nbOperations + " : " + ex;
+        }
+        result.duration = System.nanoTime() - startTime - checkDuration;
+        return result;
+    }
+
+    /**
+     * Applies {@code nbOperations} random operations on keys between 0 and
+     * {@code keyRange - 1} with each of the {@code nbThreads} threads to an
+     * empty shared tree of type {@code type}. When the threads are finished,
+     * the number of occurrences of each key is counted, the tree is checked,
+     * and the history of the operations is checked by
+     * <tt>LinearizabilityChecker</tt>. The time of the check grows quickly
+     * with the number of concurrent operations on the same key, that is why
+     * the number of operations per key has to stay reasonable.
+     *
+     * @param type the type of the shared tree
+     * @param nbThreads the number of threads
+     * @param nbOperations the number of operations of each thread
+     * @param keyRange the number of distinct keys
+     * @param seed the seed of the random operations
+     * @return the result of the stress test
+     * @throws InterruptedException
+     */
+    public static StressResult stressSharedTree(SharedTreeType type,
+            int nbThreads, int nbOperations, int keyRange, long seed)
+            throws InterruptedException {
+        ISharedTree tree = createSharedTree(type);
+        LinearizabilityChecker checker = new LinearizabilityChecker();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<Thread>();
+        List<Worker> workers = new ArrayList<Worker>();
+        StressResult result = new StressResult(type + " with " + nbThreads
+                + " threads");
+        long startTime;
+
+        for (int i = 0; i < nbThreads; i++) {
+            Worker worker = new Worker(tree, checker.newHistory(),
+                    result.getName(), startSignal, nbOperations, keyRange,
+                    seed + i);
+            Thread thread = new Thread(worker);
+
+            workers.add(worker);
+            threads.add(thread);
+            thread.start();
+        }
+        startTime = System.nanoTime();
+        startSignal.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        result.duration = System.nanoTime() - startTime;
+        for (Worker worker : workers) {
+            result.add(worker.result);
+        }
+        if (result.isSuccessful()) {
+            result.error = checkSharedTree(tree, checker.newHistory(), keyRange);
+        }
+        if (result.isSuccessful()) {
+            List<Integer> failedKeys = checker.checkHistories();
+
+            if (!failedKeys.isEmpty()) {
+                result.error = "Histories of the keys " + failedKeys
+                        + " are not linearizable";
+            }
+        }
+        return result;
+    }
+
+    private static String checkTree(IBinarySearchTree tree,
+            TreeMap<Integer, Integer> counts, long nbOperations) {
+        final List<Integer> keys = new ArrayList<Integer>();
+        Iterator<Integer> keyIterator;
+
+        if (!tree.isWellFormedTree()) {
+            return "Operation " + nbOperations + " : the tree is not well formed";
+        }
+        tree.rangeScan(Integer.MIN_VALUE, Integer.MAX_VALUE, new IKeyConsumer() {
+            public void consumeKey(int key) {
+                keys.add(key);
+            }
+        });
+        keyIterator = keys.iterator();
+        for (Map.Entry<Integer, Integer> count : counts.entrySet()) {
+            for (int i = 0; i < count.getValue(); i++) {
+                if (!keyIterator.hasNext()) {
+                    return "Operation " + nbOperations + " : the key "
+                            + count.getKey() + " is missing";
+                }
+
+                int key = keyIterator.next();
+
+                if (key != count.getKey()) {
+                    return "Operation " + nbOperations + " : the key " + key
+                            + " is found instead of " + count.getKey();
+                }
+            }
+        }
+        if (keyIterator.hasNext()) {
+            return "Operation " + nbOperations + " : the key "
+                    + keyIterator.next() + " is not expected";
+        }
+        return null;
+    }
+
+    private static String checkSharedTree(ISharedTree tree, History history,
+            int keyRange) {
+        int totalCount = 0;
+
+        tree.finish();
+        for (int key = 0; key < keyRange; key++) {
+            long invocationTime = System.nanoTime();
+            int count = tree.count(key);
+
+            history.record(OperationType.COUNT, key, count, invocationTime,
+                    System.nanoTime());
+            totalCount += count;
+        }
+        if (tree.getSize() != totalCount) {
+            return "The tree contains " + tree.getSize() + " keys instead of "
+                    + totalCount;
+        }
+        if (!tree.isWellFormed()) {
+            return "The tree is not well formed";
+        }
+        return null;
+    }
+
+    private static IBinarySearchTree createBinaryTree(BinaryTreeType type) {
+        switch (type) {
+        case AVLTREE:
+            return new AVLTree();
+        case REDBLACKTREE:
+            return new RedBlackTree();
+        case SKIPLIST:
+            return new SkipListTree();
+        default:
+            return new BinarySearchTree();
+        }
+    }
+
+    private static IBinaryTreeAlgorithmStrategy createStrategy(
+            IBinarySearchTree tree) {
+        if (tree instanceof AVLTree) {
+            return new AVLTreeAlgorithmStrategy((AVLTree) tree);
+        } else if (tree instanceof RedBlackTree) {
+            return new RedBlackTreeAlgorithmStrategy((RedBlackTree) tree);
+        } else if (tree instanceof SkipListTree) {
+            return new SkipListAlgorithmStrategy((SkipListTree) tree);
+        } else {
+            return new BinarySearchTreeAlgorithmStrategy((BinarySearchTree) tree);
+        }
+    }
+
+    private static ISharedTree createSharedTree(SharedTreeType type) {
+        switch (type) {
+        case CONCURRENT_BINARYSEARCHTREE:
+            return createConcurrentTree(BinaryTreeType.BINARYSEARCHTREE);
+        case CONCURRENT_AVLTREE:
+            return createConcurrentTree(BinaryTreeType.AVLTREE);
+        case CONCURRENT_REDBLACKTREE:
+            return createConcurrentTree(BinaryTreeType.REDBLACKTREE);
+        case CONCURRENT_SKIPLIST:
+            return createConcurrentTree(BinaryTreeType.SKIPLIST);
+        case PERSISTENT_AVLTREE:
+            return createPersistentTree(BinaryTreeType.AVLTREE);
+        case PERSISTENT_REDBLACKTREE:
+            return createPersistentTree(BinaryTreeType.REDBLACKTREE);
+        default:
+            return createLockFreeSkipList();
+        }
+    }
+
+    private static ISharedTree createConcurrentTree(BinaryTreeType type) {
+        final ConcurrentBinaryTreeModel model = new ConcurrentBinaryTreeModel(
+                new BinaryTreeModel(type));
+
+        return new ISharedTree() {
+            public void insert(int key) {
+                model.insertNode(key);
+            }
+
+            public int delete(int key) {
+                return model.deleteKey(key) ? 1 : 0;
+            }
+
+            public boolean search(int key) {
+                return model.containsKey(key);
+            }
+
+            public void finish() {
+            }
+
+            public int count(int key) {
+                return model.countInRange(key, key);
+            }
+
+            public int getSize() {
+                return model.getSize();
+            }
+
+            public boolean isWellFormed() {
+                return model.isWellFormedTree();
+            }
+        };
+    }
+
+    private static ISharedTree createPersistentTree(BinaryTreeType type) {
+        final PersistentBinaryTreeModel model = new PersistentBinaryTreeModel(type);
+
+        return new ISharedTree() {
+            public void insert(int key) {
+                model.insertNode(key);
+            }
+
+            public int delete(int key) {
+                synchronized (model) {
+                    boolean isFound = model.getBinarySearchTree()
+                            .containsKey(key);
+
+                    model.deleteNode(key);
+                    return isFound ? 1 : 0;
+                }
+            }
+
+            public boolean search(int key) {
+                return model.getBinarySearchTree().containsKey(key);
+            }
+
+            public void finish() {
+            }
+
+            public int count(int key) {
+                return model.getBinarySearchTree().countInRange(key, key);
+            }
+
+            public int getSize() {
+                return model.getBinarySearchTree().getSize();
+            }
+
+            public boolean isWellFormed() {
+                return model.getBinarySearchTree().toBinarySearchTree()
+                        .isWellFormedTree();
+            }
+        };
+    }
+
+    private static ISharedTree createLockFreeSkipList() {
+        final SkipListTree slTree = new SkipListTree();
+
+        return new ISharedTree() {
+            public void insert(int key) {
+                slTree.insertKey(key);
+            }
+
+            public int delete(int key) {
+                return slTree.deleteKey(key) ? 1 : 0;
+            }
+
+            public boolean search(int key) {
+                return slTree.containsKey(key);
+            }
+
+            public void finish() {
+                slTree.buildTreeFromSkipList();
+            }
+
+            public int count(int key) {
+                return slTree.countInRange(key, key);
+            }
+
+            public int getSize() {
+                return slTree.computeSize();
+            }
+
+            public boolean isWellFormed() {
+                return slTree.isWellFormedTree();
+            }
+        };
+    }
+}
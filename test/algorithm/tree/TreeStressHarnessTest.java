@@ -0,0 +1,125 @@
+/*
+ * TreeStressHarnessTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package algorithm.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import algorithm.tree.LinearizabilityChecker.History;
+import algorithm.tree.LinearizabilityChecker.OperationType;
+import algorithm.tree.TreeStressHarness.SharedTreeType;
+import algorithm.tree.TreeStressHarness.StressResult;
+import java.util.Arrays;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import org.junit.Test;
+
+/**
+ * Test of the stress harness with a small number of operations, and of the
+ * linearizability checker and the latency histograms it uses.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class TreeStressHarnessTest {
+
+    @Test
+    public void testStrategies() {
+        for (BinaryTreeType type : BinaryTreeType.values()) {
+            for (boolean fastPathEnabled : new boolean[] {false, true}) {
+                StressResult result = TreeStressHarness.stressStrategy(type,
+                        fastPathEnabled, 20000, 200, 1000, 7);
+
+                assertEquals(result.getError(), null);
+                assertEquals(result.getNbOperations(), 20000);
+                assertEquals(result.getHistogram(OperationType.INSERT).getCount()
+                        + result.getHistogram(OperationType.DELETE).getCount()
+                        + result.getHistogram(OperationType.SEARCH).getCount(),
+                        20000);
+            }
+        }
+    }
+
+    @Test
+    public void testSharedTrees() throws InterruptedException {
+        for (SharedTreeType type : SharedTreeType.values()) {
+            StressResult result = TreeStressHarness.stressSharedTree(type, 4,
+                    2000, 64, 7);
+
+            assertEquals(result.getError(), null);
+            assertEquals(result.getNbOperations(), 8000);
+            assertTrue(result.getThroughput() > 0);
+        }
+    }
+
+    @Test
+    public void testLinearizableHistory() {
+        LinearizabilityChecker checker = new LinearizabilityChecker();
+        History history1 = checker.newHistory();
+        History history2 = checker.newHistory();
+
+        history1.record(OperationType.INSERT, 1, 0, 0, 10);
+        history2.record(OperationType.SEARCH, 1, 1, 5, 6);
+        history2.record(OperationType.DELETE, 1, 1, 7, 20);
+        history1.record(OperationType.SEARCH, 1, 1, 11, 12);
+        history1.record(OperationType.COUNT, 1, 0, 21, 22);
+        history1.record(OperationType.DELETE, 2, 0, 0, 1);
+        history2.record(OperationType.DELETE, 2, LinearizabilityChecker.UNKNOWN_RESULT,
+                2, 3);
+
+        assertTrue(checker.checkHistories().isEmpty());
+    }
+
+    @Test
+    public void testNonLinearizableHistory() {
+        LinearizabilityChecker checker = new LinearizabilityChecker();
+        History history1 = checker.newHistory();
+        History history2 = checker.newHistory();
+
+        history1.record(OperationType.INSERT, 1, 0, 0, 10);
+        history1.record(OperationType.DELETE, 1, 1, 11, 12);
+        history2.record(OperationType.SEARCH, 1, 1, 13, 14);
+        history1.record(OperationType.INSERT, 2, 0, 0, 1);
+        history2.record(OperationType.INSERT, 2, 0, 0, 1);
+        history2.record(OperationType.COUNT, 2, 1, 2, 3);
+        history1.record(OperationType.INSERT, 3, 0, 0, 1);
+
+        assertEquals(checker.checkHistories(), Arrays.asList(1, 2));
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram otherHistogram = new LatencyHistogram();
+
+        for (int latency = 1; latency <= 1000; latency++) {
+            histogram.record(latency);
+        }
+        otherHistogram.record(100000);
+        histogram.add(otherHistogram);
+
+        assertEquals(histogram.getCount(), 1001);
+        assertEquals(histogram.getMax(), 100000);
+        assertEquals(histogram.getPercentile(50), 511);
+        assertEquals(histogram.getPercentile(99), 1023);
+        assertEquals(histogram.getPercentile(100), 100000);
+        assertEquals(histogram.getPercentile(0), 1);
+    }
+}
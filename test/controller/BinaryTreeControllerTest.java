@@ -103,5 +103,10 @@ public class BinaryTreeControllerTest {
         btController2.deleteNodeFromBinaryTreeModel(23);
         btController3.addNodeToBinaryTreeModel(45);
         btController3.deleteNodeFromBinaryTreeModel(23);
+
+        btController1.addNodesToBinaryTreeModel(new int[] {3, 14, 15, 92, 65});
+        btController1.deleteNodesFromBinaryTreeModel(new int[] {14, 92, 7});
+        btController3.addNodesToBinaryTreeModel(new int[0]);
+        btController3.deleteNodesFromBinaryTreeModel(new int[] {45});
     }
 }
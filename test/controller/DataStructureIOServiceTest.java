@@ -0,0 +1,204 @@
+/*
+ * DataStructureIOServiceTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import io.IProgressListener;
+import model.IDataStructureModel;
+import model.tree.BinaryTreeModel;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test of the background input and output operations of data structures.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class DataStructureIOServiceTest {
+
+    private static final int NB_NODES = 20000;
+
+    private DataStructureIOService ioService;
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        BinaryTreeModel model = new BinaryTreeModel(BinaryTreeType.AVLTREE);
+
+        ioService = new DataStructureIOService(ViewFactoryMock.getFactory()
+                .getViewExecutor());
+        file = File.createTempFile("loadAVLT", ".bt");
+        int[] keys = new int[NB_NODES];
+
+        for (int i = 0; i < NB_NODES; i++) {
+            keys[i] = i;
+        }
+        model.insertAll(keys);
+        model.saveDataStructure(file);
+    }
+
+    @After
+    public void tearDown() {
+        ioService.shutdown();
+        file.delete();
+    }
+
+    @Test
+    public void testProgress() throws Exception {
+        ProgressRecorder loadRecorder = new ProgressRecorder();
+        ProgressRecorder saveRecorder = new ProgressRecorder();
+        File savedFile = File.createTempFile("saveAVLT", ".bt");
+
+        try {
+            IDataStructureModel model = ioService.loadDataStructureModel(
+                    new BinaryTreeController(), file, loadRecorder, null)
+                    .get(10, TimeUnit.SECONDS);
+
+            assertEquals(model.getDataStructureType(), "AVLTREE");
+            assertEquals(loadRecorder.isIncreasing, true);
+            assertEquals(loadRecorder.nbElements, NB_NODES);
+            assertEquals(loadRecorder.nbBytes, file.length());
+
+            BinaryTreeController controller = new BinaryTreeController();
+
+            controller.initializeDataStructureController(model,
+                    ViewFactoryMock.getFactory());
+            assertEquals(ioService.saveDataStructureModel(controller, savedFile,
+                    saveRecorder, null).get(10, TimeUnit.SECONDS), savedFile);
+            assertEquals(saveRecorder.isIncreasing, true);
+            assertEquals(saveRecorder.nbElements, NB_NODES);
+            assertEquals(saveRecorder.nbBytes, savedFile.length());
+            assertEquals(savedFile.length(), file.length());
+        } finally {
+            savedFile.delete();
+        }
+    }
+
+    @Test
+    public void testCancellation() throws Exception {
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch callbackLatch = new CountDownLatch(1);
+        final Throwable[] failures = new Throwable[1];
+        IProgressListener blockingListener = new IProgressListener() {
+            @Override
+            public void progressHasChanged(int nbElements, long nbBytes) {
+                startLatch.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        Future<IDataStructureModel> future = ioService.loadDataStructureModel(
+                new BinaryTreeController(), file, blockingListener,
+                new IIOCallback<IDataStructureModel>() {
+            @Override
+            public void operationHasSucceeded(IDataStructureModel model) {
+                callbackLatch.countDown();
+            }
+
+            @Override
+            public void operationHasFailed(Throwable cause) {
+                failures[0] = cause;
+                callbackLatch.countDown();
+            }
+        });
+
+        assertEquals(startLatch.await(10, TimeUnit.SECONDS), true);
+        assertEquals(future.cancel(true), true);
+        assertEquals(callbackLatch.await(10, TimeUnit.SECONDS), true);
+        assertTrue(failures[0] instanceof CancellationException);
+
+        IDataStructureModel model = ioService.loadDataStructureModel(
+                new BinaryTreeController(), file, null, null)
+                .get(10, TimeUnit.SECONDS);
+
+        assertNotNull(model);
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        final CountDownLatch callbackLatch = new CountDownLatch(1);
+        final boolean[] isExecuted = new boolean[1];
+        final Throwable[] failures = new Throwable[1];
+        DataStructureIOService service = new DataStructureIOService(
+                new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                isExecuted[0] = true;
+                task.run();
+            }
+        });
+
+        try {
+            service.loadDataStructureModel(new BinaryTreeController(),
+                    new File(file.getPath() + ".missing"), null,
+                    new IIOCallback<IDataStructureModel>() {
+                @Override
+                public void operationHasSucceeded(IDataStructureModel model) {
+                    callbackLatch.countDown();
+                }
+
+                @Override
+                public void operationHasFailed(Throwable cause) {
+                    failures[0] = cause;
+                    callbackLatch.countDown();
+                }
+            });
+            assertEquals(callbackLatch.await(10, TimeUnit.SECONDS), true);
+            assertEquals(isExecuted[0], true);
+            assertTrue(failures[0] instanceof FileNotFoundException);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static final class ProgressRecorder implements IProgressListener {
+
+        private boolean isIncreasing = true;
+
+        private int nbElements;
+
+        private long nbBytes;
+
+        @Override
+        public void progressHasChanged(int elements, long bytes) {
+            isIncreasing &= (elements >= nbElements) && (bytes >= nbBytes);
+            nbElements = elements;
+            nbBytes = bytes;
+        }
+    }
+}
@@ -22,13 +22,24 @@
 package controller;
 
 import java.io.File;
+import java.io.FileWriter;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import model.IDataStructureModel;
 import model.ISoftwareModel;
 import model.SoftwareModel;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import org.junit.Before;
 import org.junit.Test;
+import model.tree.BinaryTreeModel;
 import model.tree.AbstractBinaryTree.BinaryTreeType;
 import view.AbstractViewFactory;
 
@@ -113,4 +124,121 @@ public class SoftwareControllerTest {
         } catch (Exception e) {
         }
     }
+
+    @Test
+    public void testBackgroundIOOperations() throws Exception {
+        final CountDownLatch loadLatch = new CountDownLatch(1);
+        final IDataStructureModel[] loadedModels = new IDataStructureModel[1];
+        File file = File.createTempFile("saveBST", ".bt");
+
+        try {
+            softwareController.addDataStructure(new File(FILE_PATH + "loadBST.bt"),
+                    null, new IIOCallback<IDataStructureModel>() {
+                @Override
+                public void operationHasSucceeded(IDataStructureModel model) {
+                    loadedModels[0] = model;
+                    loadLatch.countDown();
+                }
+
+                @Override
+                public void operationHasFailed(Throwable cause) {
+                    loadLatch.countDown();
+                }
+            });
+            assertEquals(loadLatch.await(10, TimeUnit.SECONDS), true);
+            assertNotNull(loadedModels[0]);
+            assertEquals(loadedModels[0].getDataStructureType(), "BINARYSEARCHTREE");
+            assertEquals(softwareController.getDataStructureController(0).
+                    isDataStructureModelSaved(), true);
+
+            softwareController.addDataStructure("bt", BinaryTreeType.AVLTREE, 9);
+            assertEquals(softwareController.getDataStructureController(1).
+                    isDataStructureModelSaved(), false);
+            assertEquals(softwareController.saveDataStructure(file, 1, null, null)
+                    .get(10, TimeUnit.SECONDS), file);
+            assertEquals(softwareController.getDataStructureController(1).
+                    isDataStructureModelSaved(), true);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testAddDataStructures() throws Exception {
+        BinaryTreeType[] types = BinaryTreeType.values();
+        int nbFiles = 30;
+        int badFileNumber = 17;
+        File directory = File.createTempFile("loadTrees", "");
+        final CountDownLatch loadLatch = new CountDownLatch(1);
+
+        directory.delete();
+        directory.mkdir();
+        try {
+            for (int i = 0; i < nbFiles; i++) {
+                File file = new File(directory, String.format("tree%02d.bt", i));
+
+                if (i == badFileNumber) {
+                    FileWriter writer = new FileWriter(file);
+
+                    writer.write("AVLTREE\n0\t1\tnil\tnil\n1\t2\tnil\tnil\n");
+                    writer.close();
+                } else {
+                    BinaryTreeModel model = new BinaryTreeModel(
+                            types[i % types.length]);
+
+                    model.insertRandomNodes(100 + i);
+                    model.saveDataStructure(file);
+                }
+            }
+            new File(directory, "notes.txt").createNewFile();
+
+            List<File> files = softwareController.getDataStructureFiles(directory);
+
+            assertEquals(files.size(), nbFiles);
+            assertEquals(files.get(badFileNumber).getName(), "tree17.bt");
+
+            Future<List<Future<IDataStructureModel>>> models =
+                    softwareController.addDataStructures(files, null,
+                    new IIOCallback<List<Future<IDataStructureModel>>>() {
+                @Override
+                public void operationHasSucceeded(
+                        List<Future<IDataStructureModel>> result) {
+                    loadLatch.countDown();
+                }
+
+                @Override
+                public void operationHasFailed(Throwable cause) {
+                }
+            });
+
+            assertEquals(loadLatch.await(30, TimeUnit.SECONDS), true);
+            assertEquals(models.get().size(), nbFiles);
+            for (int i = 0, index = 0; i < nbFiles; i++) {
+                if (i == badFileNumber) {
+                    try {
+                        models.get().get(i).get();
+                        fail();
+                    } catch (ExecutionException ex) {
+                        assertTrue(ex.getCause() instanceof ParseException);
+                    }
+                } else {
+                    assertEquals(softwareModel.getDataStructureModel(index)
+                            .getDataStructureType(), types[i % types.length].toString());
+                    assertEquals(softwareController.getDataStructureController(index)
+                            .isDataStructureModelSaved(), true);
+                    ++index;
+                }
+            }
+            try {
+                softwareController.getDataStructureController(nbFiles - 1);
+                fail();
+            } catch (IndexOutOfBoundsException ex) {
+            }
+        } finally {
+            for (File file: directory.listFiles()) {
+                file.delete();
+            }
+            directory.delete();
+        }
+    }
 }
@@ -21,10 +21,14 @@
 
 package io.tree;
 
+import algorithm.tree.AVLTreeFastPath;
 import java.io.File;
+import java.util.Random;
 import model.tree.AVLNode;
 import model.tree.AVLTree;
+import model.tree.IBinaryTree;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -82,4 +86,39 @@ public class AVLTreeFileTest {
         } catch (Exception e) {
         }
     }
+
+    @Test
+    public void testLoadLargeFiles() throws Exception {
+        AVLTree largeTree = new AVLTree();
+        AVLTreeFastPath fastPath = new AVLTreeFastPath(largeTree);
+        Random random = new Random(15);
+        File textFile = File.createTempFile("large", "." + TreeFile.FILE_EXTENSION);
+        File compactFile = File.createTempFile("large",
+                "." + CompactTreeFile.FILE_EXTENSION);
+
+        for (int i = 0; i < 300000; i++) {
+            fastPath.insert(random.nextInt());
+        }
+        try {
+            TreeFile.save(largeTree, textFile.getAbsolutePath());
+            CompactTreeFile.save(largeTree, compactFile.getAbsolutePath());
+            assertTrue(compactFile.length() > 2 * TreeFileBuffer.WINDOW_SIZE);
+
+            IBinaryTree t = TreeFile.load(textFile.getAbsolutePath());
+            assertEquals(t.computeSize(), largeTree.computeSize());
+            assertEquals(t.computeHeight(), largeTree.computeHeight());
+            assertEquals(t.getRoot().getKey(), largeTree.getRoot().getKey());
+
+            t = CompactTreeFile.load(compactFile.getAbsolutePath());
+            assertEquals(t.computeSize(), largeTree.computeSize());
+            assertEquals(t.computeHeight(), largeTree.computeHeight());
+            assertEquals(t.getRoot().getKey(), largeTree.getRoot().getKey());
+
+            CompactTreeFile.save(t, compactFile.getAbsolutePath());
+            assertEquals(compactFile.delete(), true);
+        } finally {
+            textFile.delete();
+            compactFile.delete();
+        }
+    }
 }
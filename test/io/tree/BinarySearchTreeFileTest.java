@@ -22,9 +22,15 @@
 package io.tree;
 
 import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.ParseException;
+import model.UnknownDataStructureException;
 import model.tree.BinarySearchNode;
 import model.tree.BinarySearchTree;
+import model.tree.IBinaryTree;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -77,4 +83,119 @@ public class BinarySearchTreeFileTest {
         } catch (Exception e) {
         }
     }
+
+    @Test
+    public void testLargeKeys() throws Exception {
+        BinarySearchTree largeKeysTree = new BinarySearchTree(0);
+
+        largeKeysTree.getRoot().setLeft(new BinarySearchNode(Integer.MIN_VALUE));
+        largeKeysTree.getRoot().setRight(new BinarySearchNode(Integer.MAX_VALUE));
+        largeKeysTree.getRoot().getLeft().setFather(largeKeysTree.getRoot());
+        largeKeysTree.getRoot().getRight().setFather(largeKeysTree.getRoot());
+        File file = File.createTempFile("largeKeys", "." + TreeFile.FILE_EXTENSION);
+
+        try {
+            TreeFile.save(largeKeysTree, file.getAbsolutePath());
+
+            BinarySearchTree t = (BinarySearchTree) TreeFile.load(file.getAbsolutePath());
+            assertEquals(t.getRoot().getKey(), 0);
+            assertEquals(t.getRoot().getLeft().getKey(), Integer.MIN_VALUE);
+            assertEquals(t.getRoot().getRight().getKey(), Integer.MAX_VALUE);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = ParseException.class)
+    public void testKeyOutOfRange() throws Exception {
+        File file = File.createTempFile("overflow", "." + TreeFile.FILE_EXTENSION);
+        FileWriter writer = new FileWriter(file);
+
+        try {
+            writer.write("BINARYSEARCHTREE\n0\t2147483648\tnil\tnil\n");
+        } finally {
+            writer.close();
+        }
+        try {
+            TreeFile.load(file.getAbsolutePath());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testAtomicSave() throws Exception {
+        File directory = File.createTempFile("atomic", "");
+        File file = new File(directory, "atomic." + TreeFile.FILE_EXTENSION);
+
+        directory.delete();
+        directory.mkdir();
+        try {
+            FileWriter writer = new FileWriter(file);
+
+            try {
+                writer.write("previous content that is longer than the new one"
+                        + " so that a partial overwrite would be noticed\n");
+            } finally {
+                writer.close();
+            }
+            TreeFile.save(tree, file.getAbsolutePath());
+            assertEquals(directory.list().length, 1);
+
+            BinarySearchTree t = (BinarySearchTree) TreeFile.load(file.getAbsolutePath());
+            assertEquals(t.computeSize(), 5);
+            assertEquals(t.getRoot().getLeft().getLeft().getRight().getKey(), 4);
+
+            try {
+                TreeFile.save(tree, new File(new File(directory, "missing"),
+                        "missing." + TreeFile.FILE_EXTENSION).getAbsolutePath());
+                fail();
+            } catch (IOException e) {
+            }
+            assertEquals(directory.list().length, 1);
+        } finally {
+            file.delete();
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void testDegenerateTree() throws Exception {
+        int nbNodes = 100000;
+        BinarySearchNode[] nodes = new BinarySearchNode[nbNodes];
+        BinarySearchTree degenerateTree = new BinarySearchTree();
+        File file = File.createTempFile("degenerate", "." + TreeFile.FILE_EXTENSION);
+        File compactFile = File.createTempFile("degenerate",
+                "." + CompactTreeFile.FILE_EXTENSION);
+
+        for (int i = 0; i < nbNodes; i++) {
+            nodes[i] = new BinarySearchNode(i);
+        }
+        for (int i = nbNodes - 2; i >= 0; i--) {
+            nodes[i].setRight(nodes[i + 1]);
+        }
+        degenerateTree.setRoot(nodes[0]);
+        try {
+            TreeFile.save(degenerateTree, file.getAbsolutePath());
+            CompactTreeFile.convertFromTextFile(file.getAbsolutePath(),
+                    compactFile.getAbsolutePath());
+
+            IBinaryTree t = CompactTreeFile.load(compactFile.getAbsolutePath());
+            assertEquals(t.computeSize(), nbNodes);
+            assertEquals(t.computeHeight(), nbNodes - 1);
+            assertEquals(((BinarySearchTree) t).select(nbNodes - 1).getKey(),
+                    nbNodes - 1);
+
+            nodes[nbNodes - 1].setKey(0);
+            TreeFile.save(degenerateTree, file.getAbsolutePath());
+            try {
+                TreeFile.load(file.getAbsolutePath());
+                fail();
+            } catch (UnknownDataStructureException e) {
+            }
+        } finally {
+            file.delete();
+            compactFile.delete();
+        }
+    }
 }
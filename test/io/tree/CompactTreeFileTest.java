@@ -0,0 +1,162 @@
+/*
+ * CompactTreeFileTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import algorithm.tree.AVLTreeFastPath;
+import algorithm.tree.BinarySearchTreeFastPath;
+import algorithm.tree.RedBlackTreeFastPath;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.text.ParseException;
+import java.util.Random;
+import model.tree.AVLTree;
+import model.tree.BinarySearchTree;
+import model.tree.IBinaryNode;
+import model.tree.IBinaryTree;
+import model.tree.IRedBlackNode;
+import model.tree.RedBlackTree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test of the loading, saving and conversion of the compact binary tree files.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class CompactTreeFileTest {
+
+    private File compactFile;
+
+    private File textFile;
+
+    private BinarySearchTree bsTree;
+
+    private AVLTree avlTree;
+
+    private RedBlackTree rbTree;
+
+    @Before
+    public void setUp() throws Exception {
+        Random random = new Random(14);
+        BinarySearchTreeFastPath bsFastPath = new BinarySearchTreeFastPath(
+                bsTree = new BinarySearchTree());
+        AVLTreeFastPath avlFastPath = new AVLTreeFastPath(avlTree = new AVLTree());
+        RedBlackTreeFastPath rbFastPath = new RedBlackTreeFastPath(
+                rbTree = new RedBlackTree());
+
+        for (int i = 0; i < 2000; i++) {
+            int key = (i % 10 == 0) ? random.nextInt() : random.nextInt(1000) - 500;
+
+            bsFastPath.insert(key);
+            avlFastPath.insert(key);
+            rbFastPath.insert(key);
+        }
+        compactFile = File.createTempFile("compact", "." + CompactTreeFile.FILE_EXTENSION);
+        textFile = File.createTempFile("text", "." + TreeFile.FILE_EXTENSION);
+    }
+
+    @After
+    public void tearDown() {
+        compactFile.delete();
+        textFile.delete();
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        IBinaryTree[] trees = {bsTree, avlTree, rbTree, new AVLTree(),
+                new RedBlackTree(-7)};
+
+        for (IBinaryTree tree : trees) {
+            CompactTreeFile.save(tree, compactFile.getAbsolutePath());
+
+            IBinaryTree t = CompactTreeFile.load(compactFile.getAbsolutePath());
+            assertEquals(t.getType(), tree.getType());
+            assertEquals(t.computeSize(), tree.computeSize());
+            assertEquals(t.computeHeight(), tree.computeHeight());
+            assertEquals(describe(t.getRoot()), describe(tree.getRoot()));
+        }
+    }
+
+    @Test
+    public void testConversion() throws Exception {
+        TreeFile.save(rbTree, textFile.getAbsolutePath());
+        CompactTreeFile.convertFromTextFile(textFile.getAbsolutePath(),
+                compactFile.getAbsolutePath());
+        assertTrue(compactFile.length() * 4 < textFile.length());
+
+        textFile.delete();
+        CompactTreeFile.convertToTextFile(compactFile.getAbsolutePath(),
+                textFile.getAbsolutePath());
+        assertEquals(describe(TreeFile.load(textFile.getAbsolutePath()).getRoot()),
+                describe(rbTree.getRoot()));
+    }
+
+    @Test(expected = ParseException.class)
+    public void testCorruptedFile() throws Exception {
+        CompactTreeFile.save(avlTree, compactFile.getAbsolutePath());
+
+        RandomAccessFile file = new RandomAccessFile(compactFile, "rw");
+
+        try {
+            file.seek(file.length() - 1);
+
+            int lastByte = file.read();
+
+            file.seek(file.length() - 1);
+            file.write(lastByte ^ 1);
+        } finally {
+            file.close();
+        }
+        CompactTreeFile.load(compactFile.getAbsolutePath());
+    }
+
+    @Test(expected = ParseException.class)
+    public void testTextFile() throws Exception {
+        TreeFile.save(avlTree, compactFile.getAbsolutePath());
+        CompactTreeFile.load(compactFile.getAbsolutePath());
+    }
+
+    private static String describe(IBinaryNode node) {
+        StringBuilder description = new StringBuilder();
+
+        describe(node, description);
+        return description.toString();
+    }
+
+    private static void describe(IBinaryNode node, StringBuilder description) {
+        if (node == null) {
+            description.append('.');
+        } else {
+            description.append('(').append(node.getKey());
+            if (node instanceof IRedBlackNode) {
+                description.append(((IRedBlackNode) node).isRed() ? 'r' : 'b');
+            }
+            describe(node.getLeft(), description);
+            describe(node.getRight(), description);
+            description.append(')');
+        }
+    }
+}
@@ -22,10 +22,13 @@
 package io.tree;
 
 import java.io.File;
+import java.io.FileWriter;
+import java.text.ParseException;
 import model.tree.RedBlackNode;
 import model.tree.RedBlackTree;
 import model.tree.RedBlackNode.RedBlackNodeColor;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -89,4 +92,58 @@ public class RedBlackTreeFileTest {
         } catch (Exception e) {
         }
     }
+
+    @Test
+    public void testParse() throws Exception {
+        File file = File.createTempFile("parse", "." + TreeFile.FILE_EXTENSION);
+
+        try {
+            write(file, "# comment\r\n  REDBLACKTREE # type\r\n0\t6\t1\tnil" +
+                    "\tblack  # root\r\n\t# comment\r\n1 -4 nil nil red\r\n");
+            RedBlackTree t = (RedBlackTree) TreeFile.load(file.getAbsolutePath());
+            assertEquals(t.getRoot().getKey(), 6);
+            assertEquals(t.getRoot().getLeft().getKey(), -4);
+            assertEquals(t.getRoot().getLeft().getColor(), RedBlackNodeColor.RED);
+
+            checkParseException(file, "REDBLACKTREE\n0\t6\t1\tnil\tblack\n" +
+                    "1\t4\tnil\tnil\tgreen\n", "There is a syntax error on the" +
+                    " line : 1 4 nil nil green", 1);
+            checkParseException(file, "REDBLACKTREE\n0\t6\t1\tnil\tblack#\n",
+                    "There is a syntax error on the line : 0 6 1 nil black#", 0);
+            checkParseException(file, "REDBLACKTREE\n0\t6\t1\tnil\tblack\n",
+                    "There is not enough nodes", 1);
+            checkParseException(file, "REDBLACKTREE\n0\t6\tnil\tnil\tblack\n" +
+                    "1\t4\tnil\tnil\tred\n", "Too many nodes have been specified", 1);
+            checkParseException(file, "\n# comment\n0\t6\tnil\tnil\tblack\n",
+                    "The type of the tree is not specified, or specified after" +
+                    " the nodes", 2);
+            checkParseException(file, "GREENTREE\n", "The tree type GREENTREE" +
+                    " is unknown", 0);
+            checkParseException(file, "# comment\n", "The file is empty", 1);
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void write(File file, String content) throws Exception {
+        FileWriter writer = new FileWriter(file);
+
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static void checkParseException(File file, String content,
+            String message, int line) throws Exception {
+        write(file, content);
+        try {
+            TreeFile.load(file.getAbsolutePath());
+            fail();
+        } catch (ParseException e) {
+            assertEquals(e.getMessage(), message);
+            assertEquals(e.getErrorOffset(), line);
+        }
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * TreeFilesTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import algorithm.tree.RedBlackTreeFastPath;
+import io.tree.TreeFiles.TreeFileFormat;
+import java.io.File;
+import model.tree.IBinaryTree;
+import model.tree.RedBlackTree;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Test of the choice of the format of the binary tree files from their
+ * extension.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class TreeFilesTest {
+
+    @Test
+    public void testForFile() {
+        assertEquals(TreeFiles.forFile(new File("tree.cbt")), TreeFileFormat.COMPACT);
+        assertEquals(TreeFiles.forFile(new File("tree.bt")), TreeFileFormat.READABLE);
+        assertEquals(TreeFiles.forFile(new File("tree")), TreeFileFormat.READABLE);
+        assertEquals(TreeFiles.forFile(new File("tree.cbt.bt")), TreeFileFormat.READABLE);
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        RedBlackTree tree = new RedBlackTree();
+        RedBlackTreeFastPath fastPath = new RedBlackTreeFastPath(tree);
+        File compactFile = File.createTempFile("tree", "." + CompactTreeFile.FILE_EXTENSION);
+        File noExtensionFile = File.createTempFile("tree", "");
+        File textFile = new File(noExtensionFile.getPath() + "." + TreeFile.FILE_EXTENSION);
+
+        try {
+            for (int key = 0; key < 100; key++) {
+                fastPath.insert(key);
+            }
+            TreeFiles.save(tree, compactFile, null);
+            TreeFiles.save(tree, noExtensionFile, null);
+
+            IBinaryTree compactTree = CompactTreeFile.load(compactFile.getPath());
+            IBinaryTree textTree = TreeFiles.load(textFile, null);
+
+            assertEquals(compactTree.computeSize(), 100);
+            assertEquals(textTree.computeSize(), 100);
+            assertEquals(TreeFiles.load(compactFile, null).isWellFormedTree(), true);
+        } finally {
+            compactFile.delete();
+            noExtensionFile.delete();
+            textFile.delete();
+        }
+    }
+
+    @Test
+    public void testSaveShortName() throws Exception {
+        RedBlackTree tree = new RedBlackTree();
+        File directory = File.createTempFile("directory", "");
+        File file = new File(directory, "t");
+
+        try {
+            new RedBlackTreeFastPath(tree).insert(1);
+            assertEquals(directory.delete() && directory.mkdir(), true);
+            TreeFile.save(tree, file.getPath());
+            CompactTreeFile.save(tree, file.getPath());
+            assertEquals(TreeFileFormat.COMPACT.load(file.getPath(), null)
+                    .computeSize(), 1);
+            assertEquals(directory.list().length, 1);
+        } finally {
+            file.delete();
+            directory.delete();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * TreeJournalTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package io.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import model.tree.BinaryTreeModel;
+import model.tree.BinaryTreeModelEvent;
+import model.tree.BinaryTreeModelListener;
+import model.tree.BinaryTreeSnapshot;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test of the journal of the binary tree files.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class TreeJournalTest {
+
+    private File directory;
+
+    private File file;
+
+    private File journalFile;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = File.createTempFile("journal", "");
+        directory.delete();
+        directory.mkdir();
+        file = new File(directory, "tree." + TreeFile.FILE_EXTENSION);
+        journalFile = new File(TreeJournal.getJournalFileName(file.getPath()));
+    }
+
+    @After
+    public void tearDown() {
+        for (File f : directory.listFiles()) {
+            f.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testJournalFileName() {
+        assertEquals(TreeJournal.getJournalFileName("tree.bt"), "tree.btj");
+        assertEquals(TreeJournal.getJournalFileName("tree"), "tree.btj");
+    }
+
+    @Test
+    public void testRecovery() throws Exception {
+        for (BinaryTreeType type : BinaryTreeType.values()) {
+            BinaryTreeModel model = new BinaryTreeModel(type);
+
+            model.startJournal(file, 1000);
+            model.insertAll(new int[] {8, 3, 12, 1, 5, 10, 14, 3, 7});
+            for (int key = 20; key < 60; key++) {
+                model.insertNode(key);
+            }
+            model.deleteNode(3);
+            model.deleteNode(100);
+            model.deleteAll(new int[] {21, 22, 40, 8});
+            assertEquals(model.isJournalStarted(), true);
+
+            BinaryTreeModel recoveredModel = BinaryTreeModel.recover(file);
+
+            assertSameTree(recoveredModel, model);
+            assertEquals(recoveredModel.isDataStructureSaved(), false);
+            model.stopJournal();
+        }
+    }
+
+    @Test
+    public void testCheckpoint() throws Exception {
+        BinaryTreeModel model = new BinaryTreeModel(BinaryTreeType.AVLTREE);
+        long emptyJournalLength;
+
+        model.startJournal(file, 10);
+        emptyJournalLength = journalFile.length();
+        for (int key = 0; key < 25; key++) {
+            model.insertNode(key);
+        }
+        assertEquals(journalFile.length(), emptyJournalLength + 5 * (1 + 4 + 4 + 4));
+        assertEquals(BinaryTreeModel.recover(file).getSnapshotOfBinaryTree()
+                .getSize(), 25);
+
+        model.checkpoint();
+        assertEquals(journalFile.length(), emptyJournalLength);
+        assertEquals(model.isDataStructureSaved(), true);
+
+        BinaryTreeModel recoveredModel = BinaryTreeModel.recover(file);
+
+        assertSameTree(recoveredModel, model);
+        assertEquals(recoveredModel.isDataStructureSaved(), true);
+        model.stopJournal();
+    }
+
+    @Test
+    public void testCompactCheckpoint() throws Exception {
+        File compactFile = new File(directory, "tree." + CompactTreeFile.FILE_EXTENSION);
+        BinaryTreeModel model = new BinaryTreeModel(BinaryTreeType.REDBLACKTREE);
+
+        model.startJournal(compactFile, 10);
+        for (int key = 0; key < 25; key++) {
+            model.insertNode(key);
+        }
+        assertEquals(CompactTreeFile.load(compactFile.getPath()).computeSize(), 20);
+
+        BinaryTreeModel recoveredModel = BinaryTreeModel.recover(compactFile);
+
+        assertSameTree(recoveredModel, model);
+        model.stopJournal();
+    }
+
+    @Test
+    public void testFailingListener() throws Exception {
+        BinaryTreeModel model = new BinaryTreeModel(BinaryTreeType.AVLTREE);
+
+        model.startJournal(file, 1000);
+        model.addModelListener(new BinaryTreeModelListener() {
+
+            @Override
+            public void binaryTreeHasChanged(BinaryTreeModelEvent event) {
+                if (!event.isFullUpdate()) {
+                    throw new IllegalStateException();
+                }
+            }
+        });
+        try {
+            model.insertNode(42);
+            fail();
+        } catch (IllegalStateException ex) {
+        }
+        assertSameTree(BinaryTreeModel.recover(file), model);
+        assertEquals(model.getSnapshotOfBinaryTree().getSize(), 1);
+        model.stopJournal();
+    }
+
+    @Test
+    public void testTruncatedRecord() throws Exception {
+        BinaryTreeModel model = new BinaryTreeModel(BinaryTreeType.REDBLACKTREE);
+        BinaryTreeModel expectedModel = new BinaryTreeModel(BinaryTreeType.REDBLACKTREE);
+
+        model.startJournal(file, 1000);
+        for (int key = 0; key < 30; key++) {
+            model.insertNode(key);
+            expectedModel.insertNode(key);
+        }
+        model.insertAll(new int[] {100, 101, 102});
+        model.stopJournal();
+
+        RandomAccessFile journal = new RandomAccessFile(journalFile, "rw");
+
+        try {
+            journal.setLength(journal.length() - 3);
+        } finally {
+            journal.close();
+        }
+        assertSameTree(BinaryTreeModel.recover(file), expectedModel);
+
+        expectedModel = new BinaryTreeModel(BinaryTreeType.REDBLACKTREE);
+        for (int key = 0; key < 29; key++) {
+            expectedModel.insertNode(key);
+        }
+        journal = new RandomAccessFile(journalFile, "rw");
+        try {
+            journal.seek(journal.length() - 18 - 13 + 8);
+            journal.write(0xFF);
+        } finally {
+            journal.close();
+        }
+        assertSameTree(BinaryTreeModel.recover(file), expectedModel);
+    }
+
+    @Test
+    public void testOutdatedJournal() throws Exception {
+        BinaryTreeModel model = new BinaryTreeModel(BinaryTreeType.BINARYSEARCHTREE);
+        File oldJournalFile = new File(directory, "old.btj");
+
+        model.startJournal(file, 1000);
+        model.insertAll(new int[] {5, 2, 9});
+        Files.copy(journalFile.toPath(), oldJournalFile.toPath());
+        model.checkpoint();
+        model.stopJournal();
+        Files.copy(oldJournalFile.toPath(), journalFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        BinaryTreeModel recoveredModel = BinaryTreeModel.recover(file);
+
+        assertSameTree(recoveredModel, model);
+        assertEquals(recoveredModel.isDataStructureSaved(), true);
+    }
+
+    private static void assertSameTree(BinaryTreeModel model,
+            BinaryTreeModel expectedModel) {
+        BinaryTreeSnapshot snapshot = model.getSnapshotOfBinaryTree();
+        BinaryTreeSnapshot expectedSnapshot = expectedModel.getSnapshotOfBinaryTree();
+
+        assertEquals(snapshot.getTreeType(), expectedSnapshot.getTreeType());
+        assertEquals(snapshot.getSize(), expectedSnapshot.getSize());
+        for (int i = 0; i < snapshot.getSize(); i++) {
+            assertEquals(snapshot.getKey(i), expectedSnapshot.getKey(i));
+            assertEquals(snapshot.getLeft(i), expectedSnapshot.getLeft(i));
+            assertEquals(snapshot.getRight(i), expectedSnapshot.getRight(i));
+            assertEquals(snapshot.getColor(i), expectedSnapshot.getColor(i));
+        }
+    }
+}
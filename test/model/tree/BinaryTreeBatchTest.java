@@ -0,0 +1,176 @@
+/*
+ * BinaryTreeBatchTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import io.tree.CompactTreeFile;
+import io.tree.TreeFile;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.text.ParseException;
+import main.VisualgorithmBatch;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import model.tree.BinaryTreeBatch.BatchCommand;
+import org.junit.Test;
+
+/**
+ * Test of the batches of binary trees and of the software without graphic user
+ * interface.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class BinaryTreeBatchTest {
+
+    private static final String WORKLOAD = "# workload\n"
+            + "insert 5 3 8 1 4\n"
+            + "\n"
+            + "insert 7\n"
+            + "delete 3 9\n"
+            + "search 1 3 7\n"
+            + "validate\n"
+            + "random 20\n";
+
+    @Test
+    public void testWorkload() throws Exception {
+        for (BinaryTreeType type : BinaryTreeType.values()) {
+            for (boolean fastPathEnabled : new boolean[] {false, true}) {
+                BinaryTreeBatch batch = new BinaryTreeBatch(type);
+
+                batch.setFastPathEnabled(fastPathEnabled);
+                batch.setSeed(42);
+                batch.runWorkload(new BufferedReader(new StringReader(WORKLOAD)));
+
+                assertEquals(batch.getType(), type.toString());
+                assertEquals(batch.getSize(), 25);
+                assertEquals(batch.getNbKeys(BatchCommand.INSERT), 6);
+                assertEquals(batch.getNbCommands(BatchCommand.INSERT), 2);
+                assertEquals(batch.getNbKeys(BatchCommand.DELETE), 2);
+                assertEquals(batch.getNbKeys(BatchCommand.RANDOM), 20);
+                assertEquals(batch.getNbFoundKeys(), 2);
+                assertEquals(batch.getNbMissingKeys(), 1);
+                assertEquals(batch.getNbCommands(BatchCommand.VALIDATE), 1);
+                assertEquals(batch.getNbFailedValidations(), 0);
+                assertEquals(batch.validate(), true);
+            }
+        }
+    }
+
+    @Test
+    public void testSameSeedSameTree() throws Exception {
+        BinaryTreeBatch batch1 = new BinaryTreeBatch(BinaryTreeType.REDBLACKTREE);
+        BinaryTreeBatch batch2 = new BinaryTreeBatch(BinaryTreeType.REDBLACKTREE);
+        File file1 = File.createTempFile("batch", "." + TreeFile.FILE_EXTENSION);
+        File file2 = File.createTempFile("batch", "." + CompactTreeFile.FILE_EXTENSION);
+
+        try {
+            batch1.setSeed(7);
+            batch2.setSeed(7);
+            batch1.insertRandomKeys(300);
+            batch2.insertRandomKeys(300);
+            batch1.save(file1);
+            batch2.save(file2);
+
+            BinaryTreeModel model1 = new BinaryTreeModel(file1);
+            BinaryTreeModel model2 = new BinaryTreeModel(file2);
+            BinaryTreeSnapshot snapshot1 = model1.getSnapshotOfBinaryTree();
+            BinaryTreeSnapshot snapshot2 = model2.getSnapshotOfBinaryTree();
+
+            assertEquals(snapshot1.getSize(), 300);
+            assertEquals(snapshot2.getSize(), 300);
+            for (int i = 0; i < snapshot1.getSize(); i++) {
+                assertEquals(snapshot1.getKey(i), snapshot2.getKey(i));
+                assertEquals(snapshot1.isRed(i), snapshot2.isRed(i));
+            }
+            assertEquals(new BinaryTreeBatch(file2).getSize(), 300);
+        } finally {
+            file1.delete();
+            file2.delete();
+        }
+    }
+
+    @Test
+    public void testInvalidWorkload() {
+        String[] workloads = {"insert 1\nremove 2\n", "insert 1\ndelete x\n",
+                "search\n", "random 5 6\n", "validate 1\n"};
+        int[] lineNumbers = {2, 2, 1, 1, 1};
+
+        for (int i = 0; i < workloads.length; i++) {
+            BinaryTreeBatch batch = new BinaryTreeBatch(BinaryTreeType.AVLTREE);
+
+            try {
+                batch.runWorkload(new BufferedReader(new StringReader(workloads[i])));
+                fail();
+            } catch (ParseException ex) {
+                assertEquals(ex.getErrorOffset(), lineNumbers[i]);
+            } catch (Exception ex) {
+                fail();
+            }
+        }
+    }
+
+    @Test
+    public void testCommandLine() throws Exception {
+        File script = File.createTempFile("workload", ".txt");
+        File output = File.createTempFile("batch", "." + TreeFile.FILE_EXTENSION);
+        File statistics = File.createTempFile("statistics", ".txt");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        FileWriter writer = new FileWriter(script);
+
+        try {
+            writer.write(WORKLOAD);
+            writer.close();
+
+            assertEquals(VisualgorithmBatch.run(new String[] {"-type",
+                    "skiplist", "-random", "100", "-seed", "1", "-script",
+                    script.getPath(), "-output", output.getPath(), "-fastpath"},
+                    new PrintStream(out), new PrintStream(err)), 0);
+            assertEquals(out.toString().contains("Size : 125"), true);
+            assertEquals(new BinaryTreeBatch(output).getSize(), 125);
+
+            assertEquals(VisualgorithmBatch.run(new String[] {"-load",
+                    output.getPath(), "-stats", statistics.getPath()},
+                    new PrintStream(out), new PrintStream(err)), 0);
+            assertEquals(statistics.length() > 0, true);
+
+            assertEquals(VisualgorithmBatch.run(new String[] {"-type", "heap"},
+                    new PrintStream(out), new PrintStream(err)),
+                    VisualgorithmBatch.ERROR_STATUS);
+            assertEquals(VisualgorithmBatch.run(new String[] {"-script"},
+                    new PrintStream(out), new PrintStream(err)),
+                    VisualgorithmBatch.ERROR_STATUS);
+            assertEquals(VisualgorithmBatch.run(new String[] {"-load",
+                    script.getPath()}, new PrintStream(out),
+                    new PrintStream(err)), VisualgorithmBatch.ERROR_STATUS);
+        } finally {
+            script.delete();
+            output.delete();
+            statistics.delete();
+        }
+    }
+}
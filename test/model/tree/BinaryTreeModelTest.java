@@ -22,11 +22,14 @@
 package model.tree;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import org.junit.Before;
 import org.junit.Test;
 import model.tree.AbstractBinaryTree.BinaryTreeType;
+import model.tree.BinaryTreeChange.BinaryTreeChangeType;
 
 /**
  * Test of the binary tree model.
@@ -94,4 +97,109 @@ public class BinaryTreeModelTest {
         btModel2.insertRandomNodes(-1);
         assertEquals(btModel2.isDataStructureSaved(), true);
     }
+
+    @Test
+    public void modificationsAreTransmittedAsChanges() {
+        final List<BinaryTreeModelEvent> events = new ArrayList<BinaryTreeModelEvent>();
+
+        btModel3.addModelListener(new BinaryTreeModelListener() {
+
+            @Override
+            public void binaryTreeHasChanged(BinaryTreeModelEvent event) {
+                events.add(event);
+            }
+        });
+        assertEquals(events.size(), 1);
+        assertEquals(events.get(0).isFullUpdate(), true);
+
+        btModel3.insertNode(10);
+        btModel3.insertNode(20);
+        btModel3.insertNode(30);
+        assertEquals(events.size(), 4);
+
+        List<BinaryTreeChange> changes = events.get(3).getChanges();
+
+        assertEquals(events.get(3).isFullUpdate(), false);
+        assertEquals(changes.get(0).getType(), BinaryTreeChangeType.NODE_INSERTED);
+        assertEquals(changes.get(0).getKey(), 30);
+        assertEquals(changes.get(changes.size() - 1).getType(),
+                BinaryTreeChangeType.LEFT_ROTATION);
+        assertEquals(changes.get(changes.size() - 1).getKey(), 10);
+        assertEquals(events.get(3).getSnapshotOfBinaryTree().getKey(0), 20);
+
+        btModel3.deleteNode(99);
+        assertEquals(events.size(), 4);
+    }
+
+    @Test
+    public void snapshotIsSharedAndListenersUpToDateAreSkipped() {
+        final List<BinaryTreeModelEvent> firstEvents = new ArrayList<BinaryTreeModelEvent>();
+        final List<BinaryTreeModelEvent> secondEvents = new ArrayList<BinaryTreeModelEvent>();
+
+        btModel1.addModelListener(new BinaryTreeModelListener() {
+
+            @Override
+            public void binaryTreeHasChanged(BinaryTreeModelEvent event) {
+                firstEvents.add(event);
+                if (firstEvents.size() == 3) {
+                    btModel1.insertNode(12);
+                }
+            }
+        });
+        btModel1.addModelListener(new BinaryTreeModelListener() {
+
+            @Override
+            public void binaryTreeHasChanged(BinaryTreeModelEvent event) {
+                secondEvents.add(event);
+            }
+        });
+
+        btModel1.insertNode(5);
+        assertEquals(firstEvents.get(1) == secondEvents.get(1), true);
+        assertEquals(firstEvents.get(1).getSnapshotOfBinaryTree()
+                == secondEvents.get(1).getSnapshotOfBinaryTree(), true);
+        assertEquals(secondEvents.get(1).getSnapshotOfBinaryTree().getVersion(), 1L);
+
+        btModel1.insertNode(7);
+        for (int i = 1; i < secondEvents.size(); i++) {
+            assertEquals(secondEvents.get(i - 1).getVersion()
+                    < secondEvents.get(i).getVersion(), true);
+        }
+        for (int i = 1; i < firstEvents.size(); i++) {
+            assertEquals(firstEvents.get(i - 1).getVersion()
+                    < firstEvents.get(i).getVersion(), true);
+        }
+        assertEquals(secondEvents.get(secondEvents.size() - 1).getVersion(), 3L);
+        assertEquals(secondEvents.get(secondEvents.size() - 1)
+                .getSnapshotOfBinaryTree().getSize(), 3);
+    }
+
+    @Test
+    public void batchesAreTransmittedInOneEvent() {
+        final List<BinaryTreeModelEvent> events = new ArrayList<BinaryTreeModelEvent>();
+
+        btModel1.addModelListener(new BinaryTreeModelListener() {
+
+            @Override
+            public void binaryTreeHasChanged(BinaryTreeModelEvent event) {
+                events.add(event);
+            }
+        });
+        btModel1.insertAll(new int[] {1, 2, 3, 4, 5, 6, 7});
+        assertEquals(events.size(), 2);
+        assertEquals(events.get(1).getSnapshotOfBinaryTree().getSize(), 7);
+        assertEquals(events.get(1).getSnapshotOfBinaryTree().getKey(0), 4);
+        assertEquals(events.get(1).getChanges().size(), 1);
+        assertEquals(events.get(1).getChanges().get(0).getType(),
+                BinaryTreeChangeType.TREE_BUILT);
+        assertEquals(events.get(1).getChanges().get(0).getNbNodes(), 7);
+
+        btModel1.deleteAll(new int[] {1, 7, 42});
+        assertEquals(events.size(), 3);
+        assertEquals(events.get(2).getSnapshotOfBinaryTree().getSize(), 5);
+
+        btModel1.deleteAll(new int[] {42});
+        btModel1.insertAll(new int[0]);
+        assertEquals(events.size(), 3);
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * BinaryTreeSnapshotTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import model.tree.RedBlackNode.RedBlackNodeColor;
+import org.junit.Test;
+
+/**
+ * Test of the sparse snapshot of binary trees.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class BinaryTreeSnapshotTest {
+
+    @Test
+    public void testEmptyTree() {
+        BinaryTreeSnapshot snapshot = new BinarySearchTree().buildSnapshotFromBinaryTree();
+
+        assertEquals(snapshot.getTreeType(), "BINARYSEARCHTREE");
+        assertEquals(snapshot.getSize(), 0);
+        assertEquals(snapshot.isEmpty(), true);
+        assertEquals(snapshot.getHeight(), -1);
+    }
+
+    @Test
+    public void testBreadthFirstNumbering() {
+        RedBlackTree rbTree = new RedBlackTree(15);
+
+        rbTree.getRoot().setLeft(new RedBlackNode(3, RedBlackNodeColor.BLACK));
+        rbTree.getRoot().setRight(new RedBlackNode(23));
+        rbTree.getRoot().getRight().setLeft(new RedBlackNode(17, RedBlackNodeColor.BLACK));
+        rbTree.getRoot().getRight().setRight(new RedBlackNode(43, RedBlackNodeColor.BLACK));
+
+        BinaryTreeSnapshot snapshot = rbTree.buildSnapshotFromBinaryTree();
+
+        assertEquals(snapshot.getSize(), 5);
+        assertEquals(snapshot.getHeight(), 2);
+        assertEquals(snapshot.getKey(0), 15);
+        assertEquals(snapshot.getKey(2), 23);
+        assertEquals(snapshot.getLeft(1), BinaryTreeSnapshot.NIL);
+        assertEquals(snapshot.getLeft(2), 3);
+        assertEquals(snapshot.getRight(2), 4);
+        assertEquals(snapshot.getKey(4), 43);
+        assertEquals(snapshot.getFather(0), BinaryTreeSnapshot.NIL);
+        assertEquals(snapshot.getFather(4), 2);
+        assertEquals(snapshot.getDepth(3), 2);
+        assertEquals(snapshot.getColor(0), RedBlackNodeColor.BLACK);
+        assertEquals(snapshot.isRed(2), true);
+    }
+
+    @Test
+    public void testDegenerateTree() {
+        int nbNodes = 10000;
+        BinarySearchTree bsTree = new BinarySearchTree(0);
+        BinarySearchNode node = bsTree.getRoot();
+
+        for (int i = 1; i < nbNodes; i++) {
+            node.setRight(new BinarySearchNode(i));
+            node = node.getRight();
+        }
+
+        BinaryTreeSnapshot snapshot = bsTree.buildSnapshotFromBinaryTree();
+
+        assertEquals(snapshot.getSize(), nbNodes);
+        assertEquals(snapshot.getHeight(), nbNodes - 1);
+        assertEquals(snapshot.getKey(nbNodes - 1), nbNodes - 1);
+        assertEquals(snapshot.getRight(nbNodes - 2), nbNodes - 1);
+        assertNull(snapshot.getColor(0));
+    }
+}
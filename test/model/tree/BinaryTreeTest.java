@@ -23,8 +23,15 @@ package model.tree;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import model.tree.AbstractBinaryTree.BinaryTreeType;
 import model.tree.RedBlackNode.RedBlackNodeColor;
+import algorithm.tree.AVLTreeFastPath;
+import algorithm.tree.BinarySearchTreeFastPath;
+import algorithm.tree.RedBlackTreeFastPath;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -87,6 +94,22 @@ public class BinaryTreeTest {
         assertEquals(bsTree.buildHeapFromBinaryTree().get(2).getKey(), 23);
         assertEquals(bsTree.buildHeapFromBinaryTree().get(5).getKey(), 17);
         assertEquals(bsTree.buildHeapFromBinaryTree().get(6).getKey(), 44);
+
+        BinarySearchTree staleTree = new BinarySearchTree(0);
+        BinarySearchNode deepNode = new BinarySearchNode(1);
+
+        staleTree.getRoot().setRight(deepNode);
+        deepNode.setFather(null);
+        for (int i = 2; i < 100; i++) {
+            BinarySearchNode child = new BinarySearchNode(i);
+
+            deepNode.setRight(child);
+            deepNode = child;
+        }
+        assertEquals(staleTree.computeHeight(), 1);
+        assertEquals(staleTree.isWellFormedTree(), true);
+        deepNode.setKey(-1);
+        assertEquals(staleTree.isWellFormedTree(), false);
     }
 
     @Test
@@ -123,6 +146,49 @@ public class BinaryTreeTest {
         assertNull(avlTree.buildHeapFromBinaryTree().get(13));
     }
 
+    @Test
+    public void testAVLTViolatingNode() {
+        assertNull(new AVLTree().findFirstViolatingNode());
+        assertNull(avlTree.findFirstViolatingNode());
+
+        avlTree.getRoot().setLeft(new AVLNode(5));
+        avlTree.getRoot().getLeft().setRight(new AVLNode(12));
+        assertEquals(avlTree.findFirstViolatingNode().getKey(), 12);
+
+        avlTree.getRoot().getLeft().getRight().setKey(7);
+        assertEquals(avlTree.findFirstViolatingNode().getKey(), 11);
+
+        avlTree.getRoot().setRight(new AVLNode(11));
+        assertNull(avlTree.findFirstViolatingNode());
+        assertEquals(avlTree.getRoot().getHeight(), 2);
+
+        AVLTree degenerateTree = new AVLTree();
+        AVLNode node = null;
+
+        for (int i = 99999; i >= 0; i--) {
+            AVLNode father = new AVLNode(i);
+
+            father.setRight(node);
+            node = father;
+        }
+        degenerateTree.setRoot(node);
+        assertEquals(degenerateTree.findFirstViolatingNode().getKey(), 99997);
+
+        AVLTree staleTree = new AVLTree(0);
+        AVLNode deepNode = new AVLNode(1);
+
+        staleTree.getRoot().setRight(deepNode);
+        deepNode.setFather(null);
+        for (int i = 2; i < 100; i++) {
+            AVLNode child = new AVLNode(i);
+
+            deepNode.setRight(child);
+            deepNode = child;
+        }
+        assertEquals(staleTree.computeHeight(), 1);
+        assertEquals(staleTree.findFirstViolatingNode().getKey(), 97);
+    }
+
     @Test
     public void testRBT() {
         assertEquals(rbTreeType.createBinaryTree().getType(), "REDBLACKTREE");
@@ -165,4 +231,141 @@ public class BinaryTreeTest {
         assertEquals(rbTree.buildHeapFromBinaryTree().get(6).getKey(), 43);
         assertNull(rbTree.buildHeapFromBinaryTree().get(13));
     }
+
+    @Test
+    public void testRBTViolatingNode() {
+        assertNull(rbTree.findFirstViolatingNode());
+        rbTree.setRoot(new RedBlackNode(15));
+        assertEquals(rbTree.findFirstViolatingNode().getKey(), 15);
+
+        rbTree.getRoot().setColor(RedBlackNodeColor.BLACK);
+        rbTree.getRoot().setLeft(new RedBlackNode(8, RedBlackNodeColor.BLACK));
+        rbTree.getRoot().setRight(new RedBlackNode(23, RedBlackNodeColor.BLACK));
+        rbTree.getRoot().getLeft().setRight(new RedBlackNode(16));
+        assertEquals(rbTree.findFirstViolatingNode().getKey(), 16);
+
+        rbTree.getRoot().getLeft().getRight().setKey(12);
+        rbTree.getRoot().getLeft().getRight().setLeft(new RedBlackNode(10));
+        assertEquals(rbTree.findFirstViolatingNode().getKey(), 10);
+
+        rbTree.getRoot().getLeft().getRight().setLeft(null);
+        rbTree.getRoot().getLeft().getRight().setColor(RedBlackNodeColor.BLACK);
+        assertEquals(rbTree.findFirstViolatingNode().getKey(), 8);
+
+        rbTree.getRoot().getLeft().setLeft(new RedBlackNode(5, RedBlackNodeColor.BLACK));
+        assertEquals(rbTree.findFirstViolatingNode().getKey(), 15);
+
+        rbTree.getRoot().getRight().setRight(new RedBlackNode(30, RedBlackNodeColor.BLACK));
+        rbTree.getRoot().getRight().setLeft(new RedBlackNode(15, RedBlackNodeColor.BLACK));
+        assertNull(rbTree.findFirstViolatingNode());
+        assertEquals(rbTree.isWellFormedTree(), true);
+
+        RedBlackTree degenerateTree = new RedBlackTree();
+        RedBlackNode node = null;
+
+        for (int i = 99999; i >= 0; i--) {
+            RedBlackNode father = new RedBlackNode(i, RedBlackNodeColor.BLACK);
+
+            father.setRight(node);
+            node = father;
+        }
+        degenerateTree.setRoot(node);
+        assertEquals(degenerateTree.findFirstViolatingNode().getKey(), 99998);
+
+        RedBlackTree staleTree = new RedBlackTree(0);
+        RedBlackNode deepNode = new RedBlackNode(1, RedBlackNodeColor.BLACK);
+
+        staleTree.getRoot().setRight(deepNode);
+        deepNode.setFather(null);
+        for (int i = 2; i < 100; i++) {
+            RedBlackNode child = new RedBlackNode(i, RedBlackNodeColor.BLACK);
+
+            deepNode.setRight(child);
+            deepNode = child;
+        }
+        assertEquals(staleTree.computeHeight(), 1);
+        assertEquals(staleTree.findFirstViolatingNode().getKey(), 98);
+    }
+
+    @Test
+    public void testCachedHeightAndSize() {
+        assertEquals(bsTree.computeHeight(), -1);
+        assertEquals(bsTree.computeSize(), 0);
+        assertEquals(avlTree.computeHeight(), 0);
+        assertEquals(avlTree.computeSize(), 1);
+
+        avlTree.getRoot().setLeft(new AVLNode(5));
+        avlTree.getRoot().getLeft().setRight(new AVLNode(7));
+        avlTree.getRoot().getLeft().getRight().setLeft(new AVLNode(6));
+        assertEquals(avlTree.getRoot().getLeft().getRight().getFather().getKey(), 5);
+        assertEquals(avlTree.computeHeight(), 3);
+        assertEquals(avlTree.computeSize(), 4);
+        assertEquals(avlTree.getRoot().getLeft().getHeight(), 2);
+        assertEquals(avlTree.getRoot().getLeft().getSize(), 3);
+
+        avlTree.getRoot().getLeft().setRight(null);
+        assertEquals(avlTree.computeHeight(), 1);
+        assertEquals(avlTree.computeSize(), 2);
+    }
+
+    @Test
+    public void testOrderStatistics() {
+        Random random = new Random(10);
+        int[] keys = new int[500];
+
+        bsTree = new BinarySearchTree();
+        avlTree = new AVLTree();
+        rbTree = new RedBlackTree();
+        BinarySearchTreeFastPath bsFastPath = new BinarySearchTreeFastPath(bsTree);
+        AVLTreeFastPath avlFastPath = new AVLTreeFastPath(avlTree);
+        RedBlackTreeFastPath rbFastPath = new RedBlackTreeFastPath(rbTree);
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(200) - 100;
+            bsFastPath.insert(keys[i]);
+            avlFastPath.insert(keys[i]);
+            rbFastPath.insert(keys[i]);
+        }
+        Arrays.sort(keys);
+        checkOrderStatistics(bsTree, keys);
+        checkOrderStatistics(avlTree, keys);
+        checkOrderStatistics(rbTree, keys);
+        assertNull(new RedBlackTree().select(0));
+        assertEquals(new AVLTree().rank(5), 0);
+    }
+
+    private static void checkOrderStatistics(AbstractBinarySearchTree tree, int[] sortedKeys) {
+        for (int k = 0; k < sortedKeys.length; k++) {
+            assertEquals(tree.select(k).getKey(), sortedKeys[k]);
+        }
+        assertNull(tree.select(-1));
+        assertNull(tree.select(sortedKeys.length));
+        for (int key = -102; key <= 102; key++) {
+            int rank = 0;
+
+            while ((rank < sortedKeys.length) && (sortedKeys[rank] < key)) {
+                ++rank;
+            }
+            assertEquals(tree.rank(key), rank);
+        }
+        for (int low = -102; low <= 102; low += 7) {
+            for (int high = low - 3; high <= 102; high += 11) {
+                final List<Integer> scannedKeys = new ArrayList<Integer>();
+                List<Integer> expectedKeys = new ArrayList<Integer>();
+
+                for (int key : sortedKeys) {
+                    if ((key >= low) && (key <= high)) {
+                        expectedKeys.add(key);
+                    }
+                }
+                tree.rangeScan(low, high, new IKeyConsumer() {
+                    public void consumeKey(int key) {
+                        scannedKeys.add(key);
+                    }
+                });
+                assertEquals(tree.countInRange(low, high), expectedKeys.size());
+                assertEquals(scannedKeys, expectedKeys);
+            }
+        }
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * ConcurrentBinaryTreeModelTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import org.junit.Test;
+
+/**
+ * Test of the binary tree model used by several threads.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class ConcurrentBinaryTreeModelTest {
+
+    private static final int NB_KEYS = 3000;
+
+    private static final int NB_READERS = 4;
+
+    @Test
+    public void testListenerSnapshot() {
+        final ConcurrentBinaryTreeModel model = new ConcurrentBinaryTreeModel(
+                new BinaryTreeModel(BinaryTreeType.AVLTREE));
+        final List<Long> versions = new ArrayList<Long>();
+
+        model.insertNode(10);
+        assertEquals(model.getSnapshotOfBinaryTree().getSize(), 1);
+        model.addModelListener(new BinaryTreeModelListener() {
+            public void binaryTreeHasChanged(BinaryTreeModelEvent event) {
+                assertSame(event.getSource(), model);
+                assertEquals(event.getSnapshotOfBinaryTree().getVersion(),
+                        event.getVersion());
+                versions.add(event.getVersion());
+            }
+        });
+        model.insertNode(20);
+        model.deleteNode(10);
+
+        assertEquals(versions.size(), 3);
+        assertEquals(model.getVersion(), 3);
+        assertEquals(model.containsKey(10), false);
+        assertEquals(model.containsKey(20), true);
+        assertEquals(model.getSize(), 1);
+    }
+
+    @Test
+    public void testListenerWaitingForReader() {
+        final ConcurrentBinaryTreeModel model = new ConcurrentBinaryTreeModel(
+                new BinaryTreeModel(BinaryTreeType.REDBLACKTREE));
+        final List<Integer> sizes = new ArrayList<Integer>();
+
+        model.addModelListener(new BinaryTreeModelListener() {
+            public void binaryTreeHasChanged(BinaryTreeModelEvent event) {
+                Thread reader = new Thread(new Runnable() {
+                    public void run() {
+                        sizes.add(model.getSize());
+                    }
+                });
+
+                reader.start();
+                try {
+                    reader.join(10000);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        model.insertNode(10);
+        model.insertAll(new int[] {20, 30});
+
+        assertEquals(sizes.size(), 3);
+        assertEquals(sizes.get(2).intValue(), 3);
+    }
+
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        testConcurrentReaders(BinaryTreeType.BINARYSEARCHTREE);
+        testConcurrentReaders(BinaryTreeType.AVLTREE);
+        testConcurrentReaders(BinaryTreeType.REDBLACKTREE);
+    }
+
+    private void testConcurrentReaders(BinaryTreeType type)
+            throws InterruptedException {
+        final ConcurrentBinaryTreeModel model = new ConcurrentBinaryTreeModel(
+                new BinaryTreeModel(type));
+        final AtomicBoolean isWriting = new AtomicBoolean(true);
+        final AtomicReference<String> error = new AtomicReference<String>();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> readers = new ArrayList<Thread>();
+
+        for (int i = 0; i < NB_READERS; i++) {
+            final boolean isSearching = (i % 2) == 0;
+            Thread reader = new Thread(new Runnable() {
+                public void run() {
+                    long lastVersion = 0;
+
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    while (isWriting.get() && (error.get() == null)) {
+                        if (isSearching) {
+                            int size = model.getSize();
+
+                            if ((size > 0) && !model.containsKey(0)) {
+                                error.compareAndSet(null, "key 0 not found");
+                            }
+                        } else {
+                            BinaryTreeSnapshot snapshot =
+                                    model.getSnapshotOfBinaryTree();
+
+                            if (snapshot.getVersion() < lastVersion) {
+                                error.compareAndSet(null, "version went back");
+                            }
+                            lastVersion = snapshot.getVersion();
+                            checkSnapshot(snapshot, error);
+                        }
+                    }
+                }
+            });
+
+            readers.add(reader);
+            reader.start();
+        }
+        start.countDown();
+        for (int i = 0; i < NB_KEYS; i++) {
+            model.insertNode(i);
+        }
+        for (int i = NB_KEYS - 1; i > 0; i -= 2) {
+            model.deleteNode(i);
+        }
+        isWriting.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(error.get());
+        assertEquals(model.getSize(), NB_KEYS / 2);
+        assertEquals(model.rank(NB_KEYS), NB_KEYS / 2);
+        assertEquals(model.countInRange(0, 9), 5);
+        assertEquals(model.getSnapshotOfBinaryTree().getSize(), NB_KEYS / 2);
+    }
+
+    private static void checkSnapshot(BinaryTreeSnapshot snapshot,
+            AtomicReference<String> error) {
+        for (int i = 0; i < snapshot.getSize(); i++) {
+            int left = snapshot.getLeft(i);
+            int right = snapshot.getRight(i);
+
+            if (((left != BinaryTreeSnapshot.NIL)
+                    && (snapshot.getKey(left) > snapshot.getKey(i)))
+                    || ((right != BinaryTreeSnapshot.NIL)
+                    && (snapshot.getKey(right) < snapshot.getKey(i)))) {
+                error.compareAndSet(null, "snapshot not ordered");
+            }
+        }
+    }
+}
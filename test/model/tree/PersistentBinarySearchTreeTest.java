@@ -0,0 +1,183 @@
+/*
+ * PersistentBinarySearchTreeTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import org.junit.Test;
+
+/**
+ * Test of the persistent binary search trees and of their model.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class PersistentBinarySearchTreeTest {
+
+    private static final int NB_OPERATIONS = 2000;
+
+    @Test
+    public void testRandomOperations() {
+        testRandomOperations(BinaryTreeType.AVLTREE);
+        testRandomOperations(BinaryTreeType.REDBLACKTREE);
+    }
+
+    private void testRandomOperations(BinaryTreeType type) {
+        Random random = new Random(42);
+        PersistentBinarySearchTree tree = new PersistentBinarySearchTree(type);
+        List<Integer> keys = new ArrayList<Integer>();
+
+        for (int i = 0; i < NB_OPERATIONS; i++) {
+            int key = random.nextInt(500);
+
+            if (random.nextInt(3) == 0) {
+                PersistentBinarySearchTree newTree = tree.deleteNode(key);
+
+                if (keys.remove(Integer.valueOf(key))) {
+                    assertEquals(newTree.getVersion(), tree.getVersion() + 1);
+                } else {
+                    assertSame(newTree, tree);
+                }
+                tree = newTree;
+            } else {
+                tree = tree.insertNode(key);
+                keys.add(key);
+            }
+        }
+        Collections.sort(keys);
+
+        int nbSmallKeys = 0;
+
+        while ((nbSmallKeys < keys.size()) && (keys.get(nbSmallKeys) < 250)) {
+            ++nbSmallKeys;
+        }
+        assertEquals(tree.getSize(), keys.size());
+        assertEquals(tree.toBinarySearchTree().isWellFormedTree(), true);
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(tree.select(i), keys.get(i).intValue());
+        }
+        assertEquals(tree.rank(250), nbSmallKeys);
+        assertEquals(tree.getSnapshot().getSize(), keys.size());
+        assertEquals(tree.getSnapshot().getHeight(), tree.getHeight());
+    }
+
+    @Test
+    public void testVersionsAreKept() {
+        PersistentBinarySearchTree tree1 = new PersistentBinarySearchTree(
+                BinaryTreeType.REDBLACKTREE).insertAll(new int[] {1, 2, 3, 4, 5});
+        PersistentBinarySearchTree tree2 = tree1.deleteAll(new int[] {2, 4});
+        PersistentBinarySearchTree tree3 = tree2.insertNode(2);
+
+        assertEquals(tree1.getVersion(), 1);
+        assertEquals(tree1.getSize(), 5);
+        assertEquals(tree1.containsKey(4), true);
+        assertEquals(tree2.getSize(), 3);
+        assertEquals(tree2.containsKey(4), false);
+        assertEquals(tree3.countInRange(1, 3), 3);
+        assertEquals(tree1.getSnapshot().isRed(0), false);
+        assertSame(tree1.getSnapshot(), tree1.getSnapshot());
+    }
+
+    @Test
+    public void testCopyOf() {
+        RedBlackTree rbTree = new RedBlackTree(15);
+
+        rbTree.getRoot().setLeft(new RedBlackNode(3, RedBlackNode.RedBlackNodeColor.BLACK));
+        rbTree.getRoot().setRight(new RedBlackNode(23, RedBlackNode.RedBlackNodeColor.BLACK));
+        rbTree.getRoot().getRight().setRight(new RedBlackNode(43));
+
+        PersistentBinarySearchTree tree = PersistentBinarySearchTree.copyOf(rbTree);
+
+        assertEquals(tree.getSize(), 4);
+        assertEquals(tree.toBinarySearchTree().isWellFormedTree(), true);
+        assertEquals(tree.deleteNode(15).toBinarySearchTree().isWellFormedTree(), true);
+        try {
+            PersistentBinarySearchTree.copyOf(new BinarySearchTree(1));
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testUndoRedo() throws Exception {
+        PersistentBinaryTreeModel model = new PersistentBinaryTreeModel(
+                BinaryTreeType.AVLTREE);
+        final List<Long> versions = new ArrayList<Long>();
+
+        model.addModelListener(new BinaryTreeModelListener() {
+            public void binaryTreeHasChanged(BinaryTreeModelEvent event) {
+                assertEquals(event.isFullUpdate(), true);
+                assertEquals(event.getSnapshotOfBinaryTree().getVersion(),
+                        event.getVersion());
+                versions.add(event.getVersion());
+            }
+        });
+        model.insertAll(new int[] {10, 20, 30});
+        model.deleteNode(20);
+        model.deleteNode(99);
+        model.undo();
+        assertEquals(model.getBinarySearchTree().containsKey(20), true);
+        model.redo();
+        assertEquals(model.getBinarySearchTree().containsKey(20), false);
+        model.undo();
+        model.undo();
+        assertEquals(model.getSnapshotOfBinaryTree().getSize(), 0);
+        assertEquals(model.canUndo(), false);
+        try {
+            model.undo();
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        model.insertNode(5);
+        assertEquals(model.canRedo(), false);
+        assertEquals(versions.size(), 8);
+        assertEquals(versions.get(7).longValue(), 7);
+
+        File file = File.createTempFile("persistent", "." +
+                io.tree.TreeFile.FILE_EXTENSION);
+
+        try {
+            model.saveDataStructure(file);
+            assertEquals(model.isDataStructureSaved(), true);
+            model.insertNode(7);
+            assertEquals(model.isDataStructureSaved(), false);
+            model.undo();
+            assertEquals(model.isDataStructureSaved(), true);
+
+            PersistentBinaryTreeModel loadedModel =
+                    new PersistentBinaryTreeModel(file);
+
+            assertEquals(loadedModel.getDataStructureType(), "AVLTREE");
+            assertEquals(loadedModel.getBinarySearchTree().select(0), 5);
+            assertEquals(loadedModel.isDataStructureSaved(), true);
+        } finally {
+            file.delete();
+        }
+    }
+}
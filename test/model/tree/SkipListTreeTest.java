@@ -0,0 +1,158 @@
+/*
+ * SkipListTreeTest.java v0.10 18/10/26
+ *
+ * Visualgorithm
+ * Copyright (C) Hannier, Pironin, Rigoni (visualgo@googlegroups.com)
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+
+package model.tree;
+
+import static org.junit.Assert.assertEquals;
+import io.tree.CompactTreeFile;
+import io.tree.TreeFile;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import model.tree.AbstractBinaryTree.BinaryTreeType;
+import org.junit.Test;
+
+/**
+ * Test of the skip lists.
+ *
+ * @author agent
+ * @version 0.10 18/10/26
+ */
+public class SkipListTreeTest {
+
+    private static final int NB_THREADS = 4;
+
+    private static final int NB_KEYS_PER_THREAD = 5000;
+
+    @Test
+    public void testConcurrentWriters() throws InterruptedException {
+        final SkipListTree slTree = new SkipListTree();
+        List<Thread> writers = new ArrayList<Thread>();
+
+        for (int i = 0; i < NB_THREADS; i++) {
+            final int firstKey = i * NB_KEYS_PER_THREAD;
+            Thread writer = new Thread(new Runnable() {
+                public void run() {
+                    for (int key = firstKey; key < firstKey + NB_KEYS_PER_THREAD; key++) {
+                        slTree.insertKey(key);
+                        slTree.insertKey(key);
+                    }
+                    for (int key = firstKey; key < firstKey + NB_KEYS_PER_THREAD; key += 2) {
+                        slTree.deleteKey(key);
+                        slTree.deleteKey(key);
+                    }
+                }
+            });
+
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        slTree.buildTreeFromSkipList();
+
+        assertEquals(slTree.computeSize(), NB_THREADS * NB_KEYS_PER_THREAD);
+        assertEquals(slTree.isWellFormedTree(), true);
+        assertEquals(slTree.containsKey(2), false);
+        assertEquals(slTree.containsKey(3), true);
+        assertEquals(slTree.deleteKey(2), false);
+        assertEquals(slTree.countInRange(0, 9), 10);
+        assertEquals(slTree.computeHeight() < 100, true);
+    }
+
+    @Test
+    public void testLazyBuild() {
+        SkipListTree slTree = new SkipListTree();
+
+        for (int key = 0; key < 100; key++) {
+            slTree.insertKey(key);
+        }
+        assertEquals(slTree.computeSize(), 100);
+        assertEquals(slTree.getRoot() == slTree.getRoot(), true);
+
+        IBinaryNode root = slTree.getRoot();
+
+        slTree.deleteKey(42);
+        assertEquals(slTree.getRoot() == root, false);
+        assertEquals(slTree.computeSize(), 99);
+        assertEquals(slTree.isWellFormedTree(), true);
+    }
+
+    @Test
+    public void testCanonicalTree() {
+        BinaryTreeModel model1 = new BinaryTreeModel(BinaryTreeType.SKIPLIST);
+        BinaryTreeModel model2 = new BinaryTreeModel(BinaryTreeType.SKIPLIST);
+
+        model1.insertAll(new int[] {5, 1, 9, 5, 3, 7});
+        model2.insertNode(9);
+        model2.insertNode(5);
+        model2.insertAll(new int[] {7, 3, 5, 1, 4});
+        model2.deleteNode(4);
+        model2.deleteNode(4);
+
+        assertSameSnapshot(model1.getSnapshotOfBinaryTree(),
+                model2.getSnapshotOfBinaryTree());
+        assertEquals(model2.getVersion(), 4);
+        assertEquals(model1.getSnapshotOfBinaryTree().getSize(), 6);
+    }
+
+    @Test
+    public void testFiles() throws Exception {
+        BinaryTreeModel model = new BinaryTreeModel(BinaryTreeType.SKIPLIST);
+        File file = File.createTempFile("skipList", "." + TreeFile.FILE_EXTENSION);
+        File compactFile = File.createTempFile("skipList", "." +
+                CompactTreeFile.FILE_EXTENSION);
+
+        try {
+            model.insertRandomNodes(500);
+            model.saveDataStructure(file);
+            model.saveDataStructure(compactFile);
+
+            BinaryTreeModel loadedModel = new BinaryTreeModel(file);
+            BinaryTreeModel compactModel = new BinaryTreeModel(compactFile);
+
+            assertEquals(loadedModel.getDataStructureType(), "SKIPLIST");
+            assertSameSnapshot(loadedModel.getSnapshotOfBinaryTree(),
+                    model.getSnapshotOfBinaryTree());
+            assertSameSnapshot(compactModel.getSnapshotOfBinaryTree(),
+                    model.getSnapshotOfBinaryTree());
+
+            loadedModel.insertNode(-1);
+            model.insertNode(-1);
+            assertSameSnapshot(loadedModel.getSnapshotOfBinaryTree(),
+                    model.getSnapshotOfBinaryTree());
+        } finally {
+            file.delete();
+            compactFile.delete();
+        }
+    }
+
+    private static void assertSameSnapshot(BinaryTreeSnapshot snapshot,
+            BinaryTreeSnapshot expectedSnapshot) {
+        assertEquals(snapshot.getSize(), expectedSnapshot.getSize());
+        for (int i = 0; i < snapshot.getSize(); i++) {
+            assertEquals(snapshot.getKey(i), expectedSnapshot.getKey(i));
+            assertEquals(snapshot.getLeft(i), expectedSnapshot.getLeft(i));
+            assertEquals(snapshot.getRight(i), expectedSnapshot.getRight(i));
+        }
+    }
+}